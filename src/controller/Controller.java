@@ -1,10 +1,8 @@
 package controller;
 
-import java.util.Iterator;
 import java.util.Scanner;
 
 import model.Comparendo;
-import model.LlaveComparendo;
 import model.logic.Modelo;
 import view.View;
 
@@ -37,9 +35,8 @@ public class Controller {
 			int option = lector.nextInt();
 			switch(option){
 			case 1:
-				modelo.darArbolRedBlack();
 				view.printMessage("\nLectura de comparendorendos: ");
-				view.printMessage("El numero de comparendos es de: " + modelo.darArbolRedBlack().size());
+				view.printMessage("El numero de comparendos es de: " + modelo.darNumeroComparendos());
 				view.printMessage("El comparendo con el mayor OBJECTID es: "+ modelo.darObjectidMayor());
 				view.printMessage("El comparendo con el menor OBJECTID es: "+ modelo.darObjectidMenor() + " \n");
 				break;
@@ -65,17 +62,10 @@ public class Controller {
 				int pObjectSup = lector.nextInt();
 				view.printMessage("Los comparendos que se encuntran dentro de este rango son: ");
 				
-				Iterator<LlaveComparendo> it1 = modelo.darComparendosEntreDosObjectId(pObjectInf, pObjectSup).keys().iterator();
-				Iterator<Comparendo> it2 = modelo.darComparendosEntreDosObjectId(pObjectInf, pObjectSup).Values().iterator();
-				
-				while(it1.hasNext() && it2.hasNext())
+				for(Comparendo Comparendo : modelo.darComparendosEntreDosObjectId(pObjectInf, pObjectSup))
 				{
-					LlaveComparendo llaveComparendo =  it1.next();
-					Comparendo Comparendo = it2.next();
-					
-					view.printMessage(llaveComparendo.getObjectid() + ", " + Comparendo.getFecha_hora() + ", " + Comparendo.getTipo_servi() + ", " +
+					view.printMessage(Comparendo.getObjective() + ", " + Comparendo.getFecha_hora() + ", " + Comparendo.getTipo_servi() + ", " +
 		                              Comparendo.getClase_vehi() + ", " + Comparendo.getInfraccion());
-					
 				}
 				break;
 
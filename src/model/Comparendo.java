@@ -1,5 +1,6 @@
 package model;
 
+import java.time.Instant;
 import java.util.Date;
 
 /**
@@ -8,6 +9,11 @@ import java.util.Date;
  */
 public class Comparendo implements Comparable<Comparendo>
 {
+	/**
+	 * Valor de fecha_hora de los comparendos sin fecha
+	 */
+	public static final long SIN_FECHA = Long.MIN_VALUE;
+
 	// Atributos
 	
 	/**
@@ -16,9 +22,9 @@ public class Comparendo implements Comparable<Comparendo>
 	private int objectId;
 	
 	/**
-	 * Fecha en la cual fue tomado el comparendo
+	 * Fecha en la cual fue tomado el comparendo, en milisegundos desde 1970-01-01T00:00:00Z o SIN_FECHA
 	 */
-	private Date fecha_hora;
+	private long fecha_hora;
 	
 	/**
 	 * Descripcion del comparendo detalladamente
@@ -82,6 +88,25 @@ public class Comparendo implements Comparable<Comparendo>
 	 * @param pLongitud Longitud del comparendo
 	 */
 	public Comparendo(int objeId, Date fecha, String descripcion, String detencion, String claseVeh, String tipoSer, String codInfraccion, String localidadP, String municipioP, double lonP, double latP)
+	{
+		this(objeId, (fecha == null) ? SIN_FECHA : fecha.getTime(), descripcion, detencion, claseVeh, tipoSer, codInfraccion, localidadP, municipioP, lonP, latP);
+	}
+
+	/**
+	 * Metodo constructor del comparendo con la fecha en milisegundos, no crea ningun objeto Date
+	 * @param objeId Objectid del comparendo
+	 * @param fecha Milisegundos desde 1970-01-01T00:00:00Z de la fecha del comparendo o SIN_FECHA
+	 * @param descripcion Des_infrac del comparendo
+	 * @param detencion Medio_dete del comparendo
+	 * @param claseVeh Clase_vehi del comparendo
+	 * @param tipoSer Tipo_servi del comparendo
+	 * @param codInfraccion Infraccion del comparendo
+	 * @param localidadP Localidad del comparendo
+	 * @param municipioP Municipio del comparendo
+	 * @param lonP Longitud del comparendo
+	 * @param latP Latitud del comparendo
+	 */
+	public Comparendo(int objeId, long fecha, String descripcion, String detencion, String claseVeh, String tipoSer, String codInfraccion, String localidadP, String municipioP, double lonP, double latP)
 	{
 		objectId = objeId;
 		fecha_hora = fecha;
@@ -96,6 +121,15 @@ public class Comparendo implements Comparable<Comparendo>
 		latitud = latP;
 	}
 
+	/**
+	 * Constructor de las subclases que no guardan los datos en los atributos de esta clase,
+	 * como las vistas de ComparendoStore. Deben redefinir getObjective, getFecha, getLatitud, getLongitud y los getters de los campos de texto
+	 */
+	protected Comparendo()
+	{
+		fecha_hora = SIN_FECHA;
+	}
+
 	// Metodos
 
 	/**
@@ -117,10 +151,30 @@ public class Comparendo implements Comparable<Comparendo>
 	}
 
 	/**
-	 * Da la fecha y la hora a la cual se tomo el comparendo
-	 * @return Fecha y Hora
+	 * Da la fecha y la hora a la cual se tomo el comparendo, crea un Date nuevo en cada llamado
+	 * @return Fecha y Hora, null si el comparendo no tiene fecha
 	 */
 	public Date getFecha_hora() 
+	{
+		long fecha = getFecha();
+		return (fecha == SIN_FECHA) ? null : new Date(fecha);
+	}
+
+	/**
+	 * Da la fecha y la hora a la cual se tomo el comparendo como un Instant
+	 * @return Fecha y Hora, null si el comparendo no tiene fecha
+	 */
+	public Instant getInstante() 
+	{
+		long fecha = getFecha();
+		return (fecha == SIN_FECHA) ? null : Instant.ofEpochMilli(fecha);
+	}
+
+	/**
+	 * Da la fecha y la hora a la cual se tomo el comparendo sin crear objetos
+	 * @return Milisegundos desde 1970-01-01T00:00:00Z o SIN_FECHA
+	 */
+	public long getFecha() 
 	{
 		return fecha_hora;
 	}
@@ -131,7 +185,7 @@ public class Comparendo implements Comparable<Comparendo>
 	 */
 	public void setFecha_hora(Date fecha_hora) 
 	{
-		this.fecha_hora = fecha_hora;
+		this.fecha_hora = (fecha_hora == null) ? SIN_FECHA : fecha_hora.getTime();
 	}
 
 	/**
@@ -327,10 +381,10 @@ public class Comparendo implements Comparable<Comparendo>
 	@Override
 	public String toString() 
 	{
-		return "Comparendo [OBJECTID=" + objectId + ", FECHA_HORA=" + fecha_hora + ", DES_INFRAC=" + des_infrac
-				+ ", MEDIO_DETE=" + medio_dete + ", CLASE_VEHI=" + clase_vehi + ", TIPO_SERVI=" + tipo_servi
-				+ ", INFRACCION=" + infraccion + ", LOCALIDAD=" + localidad + ", MUNICIPIO=" + municipio + ", latitud=" + latitud + ", longitud="
-				+ longitud + "]";
+		return "Comparendo [OBJECTID=" + getObjective() + ", FECHA_HORA=" + getFecha_hora() + ", DES_INFRAC=" + getDes_infrac()
+				+ ", MEDIO_DETE=" + getMedio_dete() + ", CLASE_VEHI=" + getClase_vehi() + ", TIPO_SERVI=" + getTipo_servi()
+				+ ", INFRACCION=" + getInfraccion() + ", LOCALIDAD=" + getLocalidad() + ", MUNICIPIO=" + getMunicipio() + ", latitud=" + getLatitud() + ", longitud="
+				+ getLongitud() + "]";
 	}
 
 }
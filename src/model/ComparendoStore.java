@@ -0,0 +1,746 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import model.data_structures.Diccionario;
+
+/**
+ * Almacen de comparendos por columnas: cada campo se guarda en su propio arreglo primitivo y un comparendo es una fila (posicion) de todos los arreglos.
+ * Evita un objeto por comparendo; los arboles e indices guardan el numero de fila y piden la vista del comparendo solo cuando la necesitan.
+ * Los campos categoricos se guardan como codigos short de diccionarios propios del almacen: cada carga llena los de su almacen
+ * y los codigos de un almacen no sirven en otro.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class ComparendoStore
+{
+	// Columnas categoricas, posicion de cada una en categoricas y en diccionarios
+
+	/**
+	 * Columna DES_INFRACCION
+	 */
+	public static final int DES_INFRACCION = 0;
+
+	/**
+	 * Columna MEDIO_DETECCION
+	 */
+	public static final int MEDIO_DETECCION = 1;
+
+	/**
+	 * Columna CLASE_VEHICULO
+	 */
+	public static final int CLASE_VEHICULO = 2;
+
+	/**
+	 * Columna TIPO_SERVICIO
+	 */
+	public static final int TIPO_SERVICIO = 3;
+
+	/**
+	 * Columna INFRACCION
+	 */
+	public static final int INFRACCION = 4;
+
+	/**
+	 * Columna LOCALIDAD
+	 */
+	public static final int LOCALIDAD = 5;
+
+	/**
+	 * Columna MUNICIPIO
+	 */
+	public static final int MUNICIPIO = 6;
+
+	/**
+	 * Numero de columnas categoricas
+	 */
+	public static final int NUMERO_CATEGORICAS = 7;
+
+	/**
+	 * Capacidad inicial por defecto
+	 */
+	private static final int CAPACIDAD_INICIAL = 16;
+
+	// Atributos
+
+	/**
+	 * Numero de filas
+	 */
+	private int size;
+
+	/**
+	 * Objectid de cada fila
+	 */
+	private int[] objectIds;
+
+	/**
+	 * Fecha de cada fila en milisegundos desde 1970-01-01T00:00:00Z o Comparendo.SIN_FECHA
+	 */
+	private long[] fechas;
+
+	/**
+	 * Latitud de cada fila
+	 */
+	private double[] latitudes;
+
+	/**
+	 * Longitud de cada fila
+	 */
+	private double[] longitudes;
+
+	/**
+	 * Codigos de cada columna categorica, categoricas[columna][fila]
+	 */
+	private short[][] categoricas;
+
+	/**
+	 * Diccionario de cada columna categorica, los codigos de categoricas[columna] son de diccionarios[columna]
+	 */
+	private final Diccionario[] diccionarios;
+
+	// Metodo Constructor
+
+	/**
+	 * Crea un almacen vacio
+	 */
+	public ComparendoStore()
+	{
+		this(CAPACIDAD_INICIAL);
+	}
+
+	/**
+	 * Crea un almacen vacio con espacio para el numero de filas dado
+	 * @param pCapacidad Numero de filas esperado
+	 */
+	public ComparendoStore(int pCapacidad)
+	{
+		int capacidad = Math.max(pCapacidad, 1);
+		objectIds = new int[capacidad];
+		fechas = new long[capacidad];
+		latitudes = new double[capacidad];
+		longitudes = new double[capacidad];
+		categoricas = new short[NUMERO_CATEGORICAS][capacidad];
+		diccionarios = new Diccionario[NUMERO_CATEGORICAS];
+		for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+		{
+			diccionarios[c] = new Diccionario(Short.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Crea un almacen lleno que toma como propias las columnas dadas, sin copiarlas; no se deben modificar despues.
+	 * Sirve para cargar columnas completas leidas de una vez, como las de SnapshotComparendos
+	 * @param pObjectIds Objectid de cada fila
+	 * @param pFechas Fecha de cada fila en milisegundos o Comparendo.SIN_FECHA
+	 * @param pLatitudes Latitud de cada fila
+	 * @param pLongitudes Longitud de cada fila
+	 * @param pCategoricas Codigos de cada columna categorica, pCategoricas[columna][fila]
+	 * @param pValores Valores distintos de cada columna categorica, el codigo d de la columna c es pValores[c][d]
+	 * @throws IllegalArgumentException si las columnas no tienen el mismo numero de filas, si una columna tiene valores repetidos o null,
+	 * o si un codigo no es Diccionario.NULO ni un valor de su columna
+	 */
+	public ComparendoStore(int[] pObjectIds, long[] pFechas, double[] pLatitudes, double[] pLongitudes, short[][] pCategoricas, String[][] pValores)
+	{
+		int n = pObjectIds.length;
+		if(pFechas.length != n || pLatitudes.length != n || pLongitudes.length != n || pCategoricas.length != NUMERO_CATEGORICAS || pValores.length != NUMERO_CATEGORICAS)
+		{
+			throw new IllegalArgumentException("columns of different sizes");
+		}
+		diccionarios = new Diccionario[NUMERO_CATEGORICAS];
+		for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+		{
+			if(pCategoricas[c].length != n) throw new IllegalArgumentException("columns of different sizes");
+			diccionarios[c] = new Diccionario(Short.MAX_VALUE);
+			for(int d = 0; d < pValores[c].length; d++)
+			{
+				if(pValores[c][d] == null || diccionarios[c].codificar(pValores[c][d]) != d)
+				{
+					throw new IllegalArgumentException("null or repeated value in column " + c + ": " + pValores[c][d]);
+				}
+			}
+			for(short codigo : pCategoricas[c])
+			{
+				if(codigo < Diccionario.NULO || codigo >= pValores[c].length) throw new IllegalArgumentException("unknown code in column " + c + ": " + codigo);
+			}
+		}
+		objectIds = pObjectIds;
+		fechas = pFechas;
+		latitudes = pLatitudes;
+		longitudes = pLongitudes;
+		categoricas = pCategoricas;
+		size = n;
+	}
+
+	// Metodos
+
+	/**
+	 * Da el diccionario de una columna categorica de este almacen
+	 * @param pColumna Columna, por ejemplo LOCALIDAD
+	 * @return Diccionario de la columna
+	 */
+	public Diccionario darDiccionario(int pColumna)
+	{
+		if(pColumna < 0 || pColumna >= NUMERO_CATEGORICAS) throw new IllegalArgumentException("unknown column: " + pColumna);
+		return diccionarios[pColumna];
+	}
+
+	/**
+	 * Retorna el numero de filas
+	 * @return Numero de comparendos del almacen
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Determina si el almacen esta vacio
+	 * @return True si no hay filas
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Agrega una fila con los datos del comparendo, codificando sus campos de texto en los diccionarios del almacen
+	 * @param pComparendo Comparendo a agregar
+	 * @return Numero de la fila agregada
+	 * @throws IllegalStateException si alguna columna supera Short.MAX_VALUE valores distintos
+	 */
+	public int agregar(Comparendo pComparendo)
+	{
+		return agregar(pComparendo.getObjective(), pComparendo.getFecha(), pComparendo.getLatitud(), pComparendo.getLongitud(),
+				codificar(DES_INFRACCION, pComparendo.getDes_infrac()), codificar(MEDIO_DETECCION, pComparendo.getMedio_dete()),
+				codificar(CLASE_VEHICULO, pComparendo.getClase_vehi()), codificar(TIPO_SERVICIO, pComparendo.getTipo_servi()),
+				codificar(INFRACCION, pComparendo.getInfraccion()), codificar(LOCALIDAD, pComparendo.getLocalidad()),
+				codificar(MUNICIPIO, pComparendo.getMunicipio()));
+	}
+
+	/**
+	 * Da el codigo de un valor en el diccionario de una columna, registrandolo si es nuevo
+	 * @param pColumna Columna, por ejemplo LOCALIDAD
+	 * @param pValor Valor o null
+	 * @return Codigo del valor, Diccionario.NULO si es null
+	 * @throws IllegalStateException si la columna supera Short.MAX_VALUE valores distintos
+	 */
+	public short codificar(int pColumna, String pValor)
+	{
+		return (short) darDiccionario(pColumna).codificar(pValor);
+	}
+
+	/**
+	 * Agrega una fila con los datos ya codificados en los diccionarios de este almacen
+	 * @param pObjectId Objectid
+	 * @param pFecha Fecha en milisegundos o Comparendo.SIN_FECHA
+	 * @param pLatitud Latitud
+	 * @param pLongitud Longitud
+	 * @param pDescripcion Codigo de DES_INFRACCION
+	 * @param pMedio Codigo de MEDIO_DETECCION
+	 * @param pClase Codigo de CLASE_VEHICULO
+	 * @param pTipo Codigo de TIPO_SERVICIO
+	 * @param pInfraccion Codigo de INFRACCION
+	 * @param pLocalidad Codigo de LOCALIDAD
+	 * @param pMunicipio Codigo de MUNICIPIO
+	 * @return Numero de la fila agregada
+	 */
+	public int agregar(int pObjectId, long pFecha, double pLatitud, double pLongitud, short pDescripcion, short pMedio, short pClase,
+			short pTipo, short pInfraccion, short pLocalidad, short pMunicipio)
+	{
+		if(size == objectIds.length)
+		{
+			redimensionar(2 * size);
+		}
+		objectIds[size] = pObjectId;
+		fechas[size] = pFecha;
+		latitudes[size] = pLatitud;
+		longitudes[size] = pLongitud;
+		categoricas[DES_INFRACCION][size] = pDescripcion;
+		categoricas[MEDIO_DETECCION][size] = pMedio;
+		categoricas[CLASE_VEHICULO][size] = pClase;
+		categoricas[TIPO_SERVICIO][size] = pTipo;
+		categoricas[INFRACCION][size] = pInfraccion;
+		categoricas[LOCALIDAD][size] = pLocalidad;
+		categoricas[MUNICIPIO][size] = pMunicipio;
+		return size++;
+	}
+
+	/**
+	 * Cambia la capacidad de todas las columnas
+	 * @param pCapacidad Nueva capacidad, mayor o igual a size
+	 */
+	private void redimensionar(int pCapacidad)
+	{
+		objectIds = Arrays.copyOf(objectIds, pCapacidad);
+		fechas = Arrays.copyOf(fechas, pCapacidad);
+		latitudes = Arrays.copyOf(latitudes, pCapacidad);
+		longitudes = Arrays.copyOf(longitudes, pCapacidad);
+		for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+		{
+			categoricas[c] = Arrays.copyOf(categoricas[c], pCapacidad);
+		}
+	}
+
+	/**
+	 * Deja las columnas con el tamanio exacto del numero de filas
+	 */
+	public void ajustar()
+	{
+		if(size < objectIds.length)
+		{
+			redimensionar(Math.max(size, 1));
+		}
+	}
+
+	/**
+	 * Ordena las filas por objectid, las filas con el mismo objectid conservan su orden.
+	 * Los numeros de fila cambian, los indices construidos antes dejan de ser validos
+	 */
+	public void ordenarPorObjectId()
+	{
+		// objectid en los 32 bits altos y fila en los bajos: ordenar los long da la permutacion estable
+		long[] orden = new long[size];
+		boolean ordenado = true;
+		for(int i = 0; i < size; i++)
+		{
+			orden[i] = ((long) objectIds[i] << 32) | i;
+			ordenado &= (i == 0 || objectIds[i - 1] <= objectIds[i]);
+		}
+		if(ordenado)
+		{
+			return;
+		}
+		Arrays.sort(orden);
+
+		int[] nuevosObjectIds = new int[size];
+		long[] nuevasFechas = new long[size];
+		double[] nuevasLatitudes = new double[size];
+		double[] nuevasLongitudes = new double[size];
+		short[][] nuevasCategoricas = new short[NUMERO_CATEGORICAS][size];
+		for(int i = 0; i < size; i++)
+		{
+			int fila = (int) orden[i];
+			nuevosObjectIds[i] = objectIds[fila];
+			nuevasFechas[i] = fechas[fila];
+			nuevasLatitudes[i] = latitudes[fila];
+			nuevasLongitudes[i] = longitudes[fila];
+			for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+			{
+				nuevasCategoricas[c][i] = categoricas[c][fila];
+			}
+		}
+		objectIds = nuevosObjectIds;
+		fechas = nuevasFechas;
+		latitudes = nuevasLatitudes;
+		longitudes = nuevasLongitudes;
+		categoricas = nuevasCategoricas;
+	}
+
+	/**
+	 * Une almacenes ordenados por objectid en uno nuevo tambien ordenado, en una sola pasada con un monticulo de la fila actual de cada almacen.
+	 * Con objectid iguales van primero las filas del almacen que esta antes en los parametros.
+	 * Los codigos de cada almacen se traducen a los diccionarios del nuevo una sola vez por valor distinto
+	 * @param pAlmacenes Almacenes ordenados por objectid
+	 * @return Almacen con las filas de todos en orden de objectid
+	 * @throws IllegalStateException si la union tiene mas filas de las que caben en un arreglo
+	 * o si alguna columna supera Short.MAX_VALUE valores distintos
+	 */
+	public static ComparendoStore mezclar(ComparendoStore... pAlmacenes)
+	{
+		long total = 0;
+		for(ComparendoStore almacen : pAlmacenes)
+		{
+			total += almacen.size;
+		}
+		if(total > Integer.MAX_VALUE - 8) throw new IllegalStateException("too many rows to merge: " + total);
+
+		ComparendoStore mezcla = new ComparendoStore((int) total);
+		short[][][] traducciones = new short[pAlmacenes.length][][];
+		int[] siguientes = new int[pAlmacenes.length];
+		int[] monticulo = new int[pAlmacenes.length];
+		int tamanio = 0;
+		for(int a = 0; a < pAlmacenes.length; a++)
+		{
+			traducciones[a] = mezcla.traduccion(pAlmacenes[a]);
+			if(pAlmacenes[a].size > 0)
+			{
+				monticulo[tamanio++] = a;
+			}
+		}
+		for(int k = tamanio / 2 - 1; k >= 0; k--)
+		{
+			hundir(monticulo, tamanio, k, pAlmacenes, siguientes);
+		}
+
+		while(tamanio > 0)
+		{
+			int a = monticulo[0];
+			mezcla.copiarFila(pAlmacenes[a], siguientes[a]++, traducciones[a]);
+			if(siguientes[a] == pAlmacenes[a].size)
+			{
+				monticulo[0] = monticulo[--tamanio];
+			}
+			hundir(monticulo, tamanio, 0, pAlmacenes, siguientes);
+		}
+		return mezcla;
+	}
+
+	/**
+	 * Baja en el monticulo de mezclar el almacen de la posicion k hasta que su fila actual no sea mayor que las de sus hijos
+	 * @param pMonticulo Indices de los almacenes que aun tienen filas
+	 * @param pTamanio Numero de almacenes en el monticulo
+	 * @param k Posicion a bajar
+	 * @param pAlmacenes Almacenes que se mezclan
+	 * @param pSiguientes Fila actual de cada almacen
+	 */
+	private static void hundir(int[] pMonticulo, int pTamanio, int k, ComparendoStore[] pAlmacenes, int[] pSiguientes)
+	{
+		while(2 * k + 1 < pTamanio)
+		{
+			int hijo = 2 * k + 1;
+			if(hijo + 1 < pTamanio && antes(pMonticulo[hijo + 1], pMonticulo[hijo], pAlmacenes, pSiguientes)) hijo++;
+			if(!antes(pMonticulo[hijo], pMonticulo[k], pAlmacenes, pSiguientes)) return;
+			int temporal = pMonticulo[k];
+			pMonticulo[k] = pMonticulo[hijo];
+			pMonticulo[hijo] = temporal;
+			k = hijo;
+		}
+	}
+
+	/**
+	 * Determina si la fila actual del almacen a va antes que la del almacen b: menor objectid o, si son iguales, almacen anterior
+	 */
+	private static boolean antes(int a, int b, ComparendoStore[] pAlmacenes, int[] pSiguientes)
+	{
+		int objectIdA = pAlmacenes[a].objectIds[pSiguientes[a]];
+		int objectIdB = pAlmacenes[b].objectIds[pSiguientes[b]];
+		return objectIdA < objectIdB || (objectIdA == objectIdB && a < b);
+	}
+
+	/**
+	 * Registra en los diccionarios de este almacen todos los valores de los diccionarios de otro
+	 * @param pOrigen Almacen cuyos codigos se traducen
+	 * @return Codigo en este almacen de cada codigo de pOrigen, traduccion[columna][codigo]
+	 */
+	private short[][] traduccion(ComparendoStore pOrigen)
+	{
+		short[][] traduccion = new short[NUMERO_CATEGORICAS][];
+		for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+		{
+			Diccionario origen = pOrigen.diccionarios[c];
+			traduccion[c] = new short[origen.size()];
+			for(int codigo = 0; codigo < traduccion[c].length; codigo++)
+			{
+				traduccion[c][codigo] = codificar(c, origen.decodificar(codigo));
+			}
+		}
+		return traduccion;
+	}
+
+	/**
+	 * Agrega al final una copia de una fila de otro almacen, hay espacio porque la capacidad se reservo antes
+	 * @param pOrigen Almacen de la fila
+	 * @param pFila Numero de fila en pOrigen
+	 * @param pTraduccion Codigos en este almacen de los codigos de pOrigen
+	 */
+	private void copiarFila(ComparendoStore pOrigen, int pFila, short[][] pTraduccion)
+	{
+		objectIds[size] = pOrigen.objectIds[pFila];
+		fechas[size] = pOrigen.fechas[pFila];
+		latitudes[size] = pOrigen.latitudes[pFila];
+		longitudes[size] = pOrigen.longitudes[pFila];
+		for(int c = 0; c < NUMERO_CATEGORICAS; c++)
+		{
+			short codigo = pOrigen.categoricas[c][pFila];
+			categoricas[c][size] = (codigo == Diccionario.NULO) ? codigo : pTraduccion[c][codigo];
+		}
+		size++;
+	}
+
+	/**
+	 * Verifica que la fila exista
+	 * @param pFila Numero de fila
+	 * @throws IndexOutOfBoundsException si la fila no existe
+	 */
+	private void validar(int pFila)
+	{
+		if(pFila < 0 || pFila >= size) throw new IndexOutOfBoundsException("row " + pFila + " of " + size);
+	}
+
+	/**
+	 * Da el objectid de una fila
+	 * @param pFila Numero de fila
+	 * @return Objectid
+	 */
+	public int darObjectId(int pFila)
+	{
+		validar(pFila);
+		return objectIds[pFila];
+	}
+
+	/**
+	 * Da la fecha de una fila
+	 * @param pFila Numero de fila
+	 * @return Milisegundos desde 1970-01-01T00:00:00Z o Comparendo.SIN_FECHA
+	 */
+	public long darFecha(int pFila)
+	{
+		validar(pFila);
+		return fechas[pFila];
+	}
+
+	/**
+	 * Da la latitud de una fila
+	 * @param pFila Numero de fila
+	 * @return Latitud
+	 */
+	public double darLatitud(int pFila)
+	{
+		validar(pFila);
+		return latitudes[pFila];
+	}
+
+	/**
+	 * Da la longitud de una fila
+	 * @param pFila Numero de fila
+	 * @return Longitud
+	 */
+	public double darLongitud(int pFila)
+	{
+		validar(pFila);
+		return longitudes[pFila];
+	}
+
+	/**
+	 * Da el codigo de una columna categorica en una fila
+	 * @param pColumna Columna, por ejemplo LOCALIDAD
+	 * @param pFila Numero de fila
+	 * @return Codigo en el diccionario de la columna, Diccionario.NULO si no tiene valor
+	 */
+	public short darCodigo(int pColumna, int pFila)
+	{
+		validar(pFila);
+		return categoricas[pColumna][pFila];
+	}
+
+	/**
+	 * Da el valor de una columna categorica en una fila
+	 * @param pColumna Columna, por ejemplo LOCALIDAD
+	 * @param pFila Numero de fila
+	 * @return Valor de la columna o null
+	 */
+	public String darValor(int pColumna, int pFila)
+	{
+		return diccionarios[pColumna].decodificar(darCodigo(pColumna, pFila));
+	}
+
+	/**
+	 * Da los objectid de las filas 0 a size - 1, ordenados si se llamo ordenarPorObjectId
+	 * @return Copia de la columna de objectid
+	 */
+	public int[] darObjectIds()
+	{
+		return Arrays.copyOf(objectIds, size);
+	}
+
+	/**
+	 * Da una copia de la columna de fechas
+	 * @return Fechas de las filas 0 a size - 1
+	 */
+	public long[] darFechas()
+	{
+		return Arrays.copyOf(fechas, size);
+	}
+
+	/**
+	 * Da una copia de la columna de latitudes
+	 * @return Latitudes de las filas 0 a size - 1
+	 */
+	public double[] darLatitudes()
+	{
+		return Arrays.copyOf(latitudes, size);
+	}
+
+	/**
+	 * Da una copia de la columna de longitudes
+	 * @return Longitudes de las filas 0 a size - 1
+	 */
+	public double[] darLongitudes()
+	{
+		return Arrays.copyOf(longitudes, size);
+	}
+
+	/**
+	 * Da una copia de los codigos de una columna categorica
+	 * @param pColumna Columna, por ejemplo LOCALIDAD
+	 * @return Codigos de las filas 0 a size - 1
+	 */
+	public short[] darCodigos(int pColumna)
+	{
+		return Arrays.copyOf(categoricas[pColumna], size);
+	}
+
+	/**
+	 * Da el comparendo de una fila. Es una vista de solo lectura que no copia los datos:
+	 * cada getter lee la columna correspondiente del almacen
+	 * @param pFila Numero de fila
+	 * @return Vista del comparendo de la fila
+	 */
+	public Comparendo darComparendo(int pFila)
+	{
+		validar(pFila);
+		return new Vista(pFila);
+	}
+
+	/**
+	 * Comparendo de solo lectura que lee sus datos de una fila del almacen
+	 */
+	private class Vista extends Comparendo
+	{
+		/**
+		 * Fila del comparendo
+		 */
+		private final int fila;
+
+		/**
+		 * Crea la vista de una fila
+		 * @param pFila Numero de fila
+		 */
+		public Vista(int pFila)
+		{
+			fila = pFila;
+		}
+
+		@Override
+		public int getObjective()
+		{
+			return objectIds[fila];
+		}
+
+		@Override
+		public long getFecha()
+		{
+			return fechas[fila];
+		}
+
+		@Override
+		public double getLatitud()
+		{
+			return latitudes[fila];
+		}
+
+		@Override
+		public double getLongitud()
+		{
+			return longitudes[fila];
+		}
+
+		@Override
+		public String getDes_infrac()
+		{
+			return diccionarios[DES_INFRACCION].decodificar(categoricas[DES_INFRACCION][fila]);
+		}
+
+		@Override
+		public String getMedio_dete()
+		{
+			return diccionarios[MEDIO_DETECCION].decodificar(categoricas[MEDIO_DETECCION][fila]);
+		}
+
+		@Override
+		public String getClase_vehi()
+		{
+			return diccionarios[CLASE_VEHICULO].decodificar(categoricas[CLASE_VEHICULO][fila]);
+		}
+
+		@Override
+		public String getTipo_servi()
+		{
+			return diccionarios[TIPO_SERVICIO].decodificar(categoricas[TIPO_SERVICIO][fila]);
+		}
+
+		@Override
+		public String getInfraccion()
+		{
+			return diccionarios[INFRACCION].decodificar(categoricas[INFRACCION][fila]);
+		}
+
+		@Override
+		public String getLocalidad()
+		{
+			return diccionarios[LOCALIDAD].decodificar(categoricas[LOCALIDAD][fila]);
+		}
+
+		@Override
+		public String getMunicipio()
+		{
+			return diccionarios[MUNICIPIO].decodificar(categoricas[MUNICIPIO][fila]);
+		}
+
+		@Override
+		public void setObjective(int objective)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setFecha_hora(Date fecha_hora)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setMedio_dete(String medio_dete)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setClase_vehi(String clase_vehi)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setTipo_servi(String tipo_servi)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setInfraccion(String infraccion)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setDes_infrac(String des_infrac)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setLocalidad(String localidad)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setMunicipio(String municipio)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setLatitud(double latitud)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+
+		@Override
+		public void setLongitud(double longitud)
+		{
+			throw new UnsupportedOperationException("read-only view of a ComparendoStore row");
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package model;
+
+/**
+ * Clase LlaveFecha que se basa por la fecha y hora del comparendo y, entre comparendos de la misma fecha, por el objectid
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class LlaveFecha implements Comparable<LlaveFecha>
+{
+	/**
+	 * Fecha y hora del comparendo en milisegundos desde la epoca (UTC)
+	 */
+	private long fecha;
+
+	/**
+	 * Objectid del comparendo
+	 */
+	private int objectid;
+
+	// Metodo Constructor
+
+	/**
+	 * Metodo constructor de la llave del comparendo
+	 * @param pFecha Fecha en milisegundos desde la epoca
+	 * @param pObjectid Objectid del comparendo
+	 */
+	public LlaveFecha(long pFecha, int pObjectid)
+	{
+		fecha = pFecha;
+		objectid = pObjectid;
+	}
+
+	/**
+	 * Da la menor llave con la fecha dada, sirve como limite inferior inclusivo de un rango de fechas
+	 * @param pFecha Fecha en milisegundos desde la epoca
+	 * @return Llave con la fecha y el menor objectid posible
+	 */
+	public static LlaveFecha desde(long pFecha)
+	{
+		return new LlaveFecha(pFecha, Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Da la mayor llave con la fecha dada, sirve como limite superior inclusivo de un rango de fechas
+	 * @param pFecha Fecha en milisegundos desde la epoca
+	 * @return Llave con la fecha y el mayor objectid posible
+	 */
+	public static LlaveFecha hasta(long pFecha)
+	{
+		return new LlaveFecha(pFecha, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Retorna la fecha del comparendo
+	 * @return Fecha en milisegundos desde la epoca
+	 */
+	public long getFecha()
+	{
+		return fecha;
+	}
+
+	/**
+	 * Retorna el objectid del comparendo
+	 * @return Objectid
+	 */
+	public int getObjectid()
+	{
+		return objectid;
+	}
+
+	/**
+	 * CompareTo para verificar si estan organizados por la fecha y luego por el objectid
+	 */
+	@Override
+	public int compareTo(LlaveFecha pObjeto)
+	{
+		int resultado = Long.compare(fecha, pObjeto.fecha);
+		if(resultado == 0)
+		{
+			resultado = Integer.compare(objectid, pObjeto.objectid);
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * Clase LlaveHilbert que se basa por la posicion de la ubicacion del comparendo en la curva de Hilbert
+ * y, entre comparendos de la misma celda, por el objectid
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class LlaveHilbert implements Comparable<LlaveHilbert>
+{
+	/**
+	 * Posicion en la curva de Hilbert de la celda del comparendo
+	 */
+	private long hilbert;
+
+	/**
+	 * Objectid del comparendo
+	 */
+	private int objectid;
+
+	// Metodo Constructor
+
+	/**
+	 * Metodo constructor de la llave del comparendo
+	 * @param pHilbert Posicion en la curva de Hilbert, ver CurvaHilbert.codificar
+	 * @param pObjectid Objectid del comparendo
+	 */
+	public LlaveHilbert(long pHilbert, int pObjectid)
+	{
+		hilbert = pHilbert;
+		objectid = pObjectid;
+	}
+
+	/**
+	 * Da la menor llave con la posicion dada, sirve como limite inferior inclusivo de un rango de la curva
+	 * @param pHilbert Posicion en la curva
+	 * @return Llave con la posicion y el menor objectid posible
+	 */
+	public static LlaveHilbert desde(long pHilbert)
+	{
+		return new LlaveHilbert(pHilbert, Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Da la mayor llave con la posicion dada, sirve como limite superior inclusivo de un rango de la curva
+	 * @param pHilbert Posicion en la curva
+	 * @return Llave con la posicion y el mayor objectid posible
+	 */
+	public static LlaveHilbert hasta(long pHilbert)
+	{
+		return new LlaveHilbert(pHilbert, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Retorna la posicion en la curva de Hilbert
+	 * @return Posicion en la curva
+	 */
+	public long getHilbert()
+	{
+		return hilbert;
+	}
+
+	/**
+	 * Retorna el objectid del comparendo
+	 * @return Objectid
+	 */
+	public int getObjectid()
+	{
+		return objectid;
+	}
+
+	/**
+	 * CompareTo para verificar si estan organizados por la posicion en la curva y luego por el objectid
+	 */
+	@Override
+	public int compareTo(LlaveHilbert pObjeto)
+	{
+		int resultado = Long.compare(hilbert, pObjeto.hilbert);
+		if(resultado == 0)
+		{
+			resultado = Integer.compare(objectid, pObjeto.objectid);
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,1080 @@
+package model.data_structures;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Arbol RedBlackBST que guarda sus nodos en arreglos paralelos en lugar de un objeto por nodo.
+ * Cada nodo es una posicion de los arreglos: los hijos son indices int, el color y el tamanio del subarbol
+ * van empacados en un solo int y las posiciones de los nodos eliminados se reutilizan con una lista de libres.
+ * Tiene la misma API que RedBlackBST y esta pensado para cargas de millones de registros.
+ * @author Julian Padilla - Pablo Pastrana
+ * Los algoritmos son los del Libro Algorithms 4 edition, los autores son: Robert Sedgewick y Kevin Wayne.
+ * @param <Key> Key de tipo generico
+ * @param <Value> Value de tipo generico
+ */
+public class ArenaRedBlackBST <Key extends Comparable<Key>, Value> implements IRedBlackBST<Key, Value>
+{
+	// Constants
+
+	/**
+	 * Index used as the null link, the position 0 of the arrays is never a node
+	 */
+	private static final int NIL = 0;
+
+	/**
+	 * Bit of the packed field for the color of the parent link, set if RED
+	 */
+	private static final int RED = 1;
+
+	/**
+	 * Default capacity of the arrays
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	// Atributes
+
+	/**
+	 * keys of the nodes
+	 */
+	private Object[] keys;
+
+	/**
+	 * values of the nodes
+	 */
+	private Object[] vals;
+
+	/**
+	 * index of the left child of each node, for a free position the next free position
+	 */
+	private int[] left;
+
+	/**
+	 * index of the right child of each node
+	 */
+	private int[] right;
+
+	/**
+	 * size of the subtree shifted one bit to the left, the lowest bit is the color
+	 */
+	private int[] meta;
+
+	/**
+	 * index of the root
+	 */
+	private int root;
+
+	/**
+	 * first position never used of the arrays
+	 */
+	private int next;
+
+	/**
+	 * first position of the list of freed positions, NIL if there is none
+	 */
+	private int free;
+
+	/**
+	 * number of nodes taken and freed, the iterators fail if it changes while they walk the tree
+	 */
+	private int modCount;
+
+	/**
+	 * Initializes an empty symbol table.
+	 */
+	public ArenaRedBlackBST()
+	{
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Initializes an empty symbol table with room for the given number of keys before growing the arrays.
+	 * @param capacity expected number of keys
+	 * @throws IllegalArgumentException if {@code capacity} is negative
+	 */
+	public ArenaRedBlackBST(int capacity)
+	{
+		if (capacity < 0) throw new IllegalArgumentException("capacity of ArenaRedBlackBST() is negative");
+		allocate(capacity + 1);
+	}
+
+	/**
+	 * Initializes a symbol table with the given key-value pairs, built bottom-up in linear time
+	 * when the keys are already in ascending order. It behaves as the constructor of RedBlackBST with arrays.
+	 * @param ks keys of the pairs
+	 * @param vs values of the pairs, {@code vs[i]} is associated with {@code ks[i]}
+	 * @throws IllegalArgumentException if the arrays are {@code null}, have different lengths or contain a {@code null} key
+	 */
+	public ArenaRedBlackBST(Key[] ks, Value[] vs)
+	{
+		if (ks == null || vs == null) throw new IllegalArgumentException("arguments to ArenaRedBlackBST() are null");
+		if (ks.length != vs.length) throw new IllegalArgumentException("keys and values have different lengths");
+
+		int n = ks.length;
+		boolean sorted = true;
+		for (int i = 0; i < n; i++)
+		{
+			if (ks[i] == null) throw new IllegalArgumentException("key " + i + " is null");
+			if (vs[i] == null || (i > 0 && ks[i - 1].compareTo(ks[i]) >= 0)) sorted = false;
+		}
+
+		if (!sorted)
+		{
+			// the same result as put() in order: the last value of each key wins and null removes the key
+			RedBlackBST<Key, Value> sortedTree = new RedBlackBST<Key, Value>(ks, vs);
+			n = sortedTree.size();
+			ks = Arrays.copyOf(ks, n);
+			vs = Arrays.copyOf(vs, n);
+			int i = 0;
+			for (Map.Entry<Key, Value> e : sortedTree.entries())
+			{
+				ks[i] = e.getKey();
+				vs[i] = e.getValue();
+				i++;
+			}
+		}
+
+		allocate(n + 1);
+		if (n == 0) return;
+
+		// the levels above the deepest one are full; if the deepest level is not full its nodes are red
+		int deepest = 31 - Integer.numberOfLeadingZeros(n);
+		int redDepth = (n == (1 << (deepest + 1)) - 1) ? -1 : deepest;
+		root = build(ks, vs, 0, n - 1, 0, redDepth);
+		setRed(root, false);
+	}
+
+	/**
+	 * Creates the arrays with the given capacity (including the NIL position)
+	 * @param capacity length of the arrays
+	 */
+	private void allocate(int capacity)
+	{
+		capacity = Math.max(capacity, 2);
+		keys = new Object[capacity];
+		vals = new Object[capacity];
+		left = new int[capacity];
+		right = new int[capacity];
+		meta = new int[capacity];
+		root = NIL;
+		next = 1;
+		free = NIL;
+	}
+
+	/**
+	 * Build the subtree with the keys in [lo, hi] of the sorted arrays, splitting at the middle
+	 * and applying the fix-ups of put() bottom-up.
+	 * @return index of the root of the subtree
+	 */
+	private int build(Key[] ks, Value[] vs, int lo, int hi, int depth, int redDepth)
+	{
+		if (lo > hi) return NIL;
+		int mid = (lo + hi) >>> 1;
+		int h = newNode(ks[mid], vs[mid], depth == redDepth);
+		int l = build(ks, vs, lo, mid - 1, depth + 1, redDepth);
+		int r = build(ks, vs, mid + 1, hi, depth + 1, redDepth);
+		left[h] = l;
+		right[h] = r;
+		updateSize(h);
+
+		if (isRed(right[h]) && !isRed(left[h]))       h = rotateLeft(h);
+		if (isRed(left[h])  &&  isRed(left[left[h]])) h = rotateRight(h);
+		if (isRed(left[h])  &&  isRed(right[h]))      flipColors(h);
+		return h;
+	}
+
+	// Node storage
+
+	/**
+	 * Takes a free position (or a new one, growing the arrays if needed) for a node of size 1
+	 * @param key key of the node
+	 * @param val value of the node
+	 * @param red color of the parent link
+	 * @return index of the node
+	 */
+	private int newNode(Key key, Value val, boolean red)
+	{
+		modCount++;
+		int x;
+		if (free != NIL)
+		{
+			x = free;
+			free = left[x];
+		}
+		else
+		{
+			if (next == keys.length) grow();
+			x = next++;
+		}
+		keys[x] = key;
+		vals[x] = val;
+		left[x] = NIL;
+		right[x] = NIL;
+		meta[x] = (1 << 1) | (red ? RED : 0);
+		return x;
+	}
+
+	/**
+	 * Returns the position of a removed node to the list of free positions
+	 * @param x index of the node
+	 */
+	private void freeNode(int x)
+	{
+		modCount++;
+		keys[x] = null;
+		vals[x] = null;
+		right[x] = NIL;
+		meta[x] = 0;
+		left[x] = free;
+		free = x;
+	}
+
+	/**
+	 * Doubles the capacity of the arrays
+	 */
+	private void grow()
+	{
+		int capacity = 2 * keys.length;
+		keys = Arrays.copyOf(keys, capacity);
+		vals = Arrays.copyOf(vals, capacity);
+		left = Arrays.copyOf(left, capacity);
+		right = Arrays.copyOf(right, capacity);
+		meta = Arrays.copyOf(meta, capacity);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Key key(int x)
+	{
+		return (Key) keys[x];
+	}
+
+	@SuppressWarnings("unchecked")
+	private Value val(int x)
+	{
+		return (Value) vals[x];
+	}
+
+	/**
+	 * is node x red; false if x is NIL ?
+	 * @param x index of the node
+	 * @return Is the node red?
+	 */
+	private boolean isRed(int x)
+	{
+		return (meta[x] & RED) != 0;
+	}
+
+	/**
+	 * Changes the color of the parent link of x
+	 * @param x index of the node
+	 * @param red new color
+	 */
+	private void setRed(int x, boolean red)
+	{
+		meta[x] = red ? (meta[x] | RED) : (meta[x] & ~RED);
+	}
+
+	/**
+	 * number of node in subtree rooted at x; 0 if x is NIL
+	 * @param x index of the node
+	 * @return The size of the subtree
+	 */
+	private int size(int x)
+	{
+		return meta[x] >>> 1;
+	}
+
+	/**
+	 * Recomputes the size of the subtree rooted at x from its children, keeping the color
+	 * @param x index of the node
+	 */
+	private void updateSize(int x)
+	{
+		meta[x] = ((size(left[x]) + size(right[x]) + 1) << 1) | (meta[x] & RED);
+	}
+
+	/**
+	 * Returns the number of key-value pairs in this symbol table.
+	 * @return the number of key-value pairs in this symbol table
+	 */
+	public int size()
+	{
+		return size(root);
+	}
+
+	/**
+	 * Is this symbol table empty?
+	 * @return {@code true} if this symbol table is empty and {@code false} otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return root == NIL;
+	}
+
+	/**
+	 * Number of positions of the arrays, used or free (for debugging).
+	 * @return capacity of the arrays without the NIL position
+	 */
+	public int capacity()
+	{
+		return keys.length - 1;
+	}
+
+    /**
+     * Returns the value associated with the given key.
+     * @param key the key
+     * @return the value associated with the given key if the key is in the symbol table and {@code null} if the key is not in the symbol table
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public Value get(Key key)
+    {
+        if (key == null) throw new IllegalArgumentException("argument to get() is null");
+        int x = find(key);
+        return (x == NIL) ? null : val(x);
+    }
+
+    /**
+     * Index of the node with the given key, NIL if there is none
+     * @param key the key
+     * @return index of the node
+     */
+    private int find(Key key)
+    {
+        int x = root;
+        while (x != NIL) {
+            int cmp = key.compareTo(key(x));
+            if      (cmp < 0) x = left[x];
+            else if (cmp > 0) x = right[x];
+            else              return x;
+        }
+        return NIL;
+    }
+
+    /**
+     * Does this symbol table contain the given key?
+     * @param key the key
+     * @return {@code true} if this symbol table contains {@code key} and {@code false} otherwise
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public boolean contains(Key key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Inserts the specified key-value pair into the symbol table, overwriting the old
+     * value with the new value if the symbol table already contains the specified key.
+     * Deletes the specified key (and its associated value) from this symbol table
+     * if the specified value is {@code null}.
+     * @param key the key
+     * @param val the value
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public void put(Key key, Value val)
+    {
+        if (key == null) throw new IllegalArgumentException("first argument to put() is null");
+        if (val == null) {
+            delete(key);
+            return;
+        }
+
+        root = put(root, key, val);
+        setRed(root, false);
+    }
+
+    /**
+     * Insert the key-value pair in the subtree rooted at h
+     * @return index of the root of the subtree after the insertion
+     */
+    private int put(int h, Key key, Value val)
+    {
+        if (h == NIL) return newNode(key, val, true);
+
+        // the child is stored after the recursive call returns because newNode() may replace the arrays
+        int cmp = key.compareTo(key(h));
+        if      (cmp < 0) { int x = put(left[h],  key, val); left[h]  = x; }
+        else if (cmp > 0) { int x = put(right[h], key, val); right[h] = x; }
+        else              vals[h] = val;
+
+        // fix-up any right-leaning links
+        if (isRed(right[h]) && !isRed(left[h]))       h = rotateLeft(h);
+        if (isRed(left[h])  &&  isRed(left[left[h]])) h = rotateRight(h);
+        if (isRed(left[h])  &&  isRed(right[h]))      flipColors(h);
+        updateSize(h);
+
+        return h;
+    }
+
+    /**
+     * Removes the smallest key and associated value from the symbol table.
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public void deleteMin()
+    {
+        if (isEmpty()) throw new NoSuchElementException("BST underflow");
+
+        // if both children of root are black, set root to red
+        if (!isRed(left[root]) && !isRed(right[root]))
+            setRed(root, true);
+
+        root = deleteMin(root);
+        if (!isEmpty()) setRed(root, false);
+    }
+
+    /**
+     * Delete the key-value pair with the minimum key rooted at h
+     * @return index of the root of the subtree after the deletion
+     */
+    private int deleteMin(int h)
+    {
+        if (left[h] == NIL) {
+            freeNode(h);
+            return NIL;
+        }
+
+        if (!isRed(left[h]) && !isRed(left[left[h]]))
+            h = moveRedLeft(h);
+
+        left[h] = deleteMin(left[h]);
+        return balance(h);
+    }
+
+    /**
+     * Removes the largest key and associated value from the symbol table.
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public void deleteMax()
+    {
+        if (isEmpty()) throw new NoSuchElementException("BST underflow");
+
+        // if both children of root are black, set root to red
+        if (!isRed(left[root]) && !isRed(right[root]))
+            setRed(root, true);
+
+        root = deleteMax(root);
+        if (!isEmpty()) setRed(root, false);
+    }
+
+    /**
+     * Delete the key-value pair with the maximum key rooted at h
+     * @return index of the root of the subtree after the deletion
+     */
+    private int deleteMax(int h)
+    {
+        if (isRed(left[h]))
+            h = rotateRight(h);
+
+        if (right[h] == NIL) {
+            freeNode(h);
+            return NIL;
+        }
+
+        if (!isRed(right[h]) && !isRed(left[right[h]]))
+            h = moveRedRight(h);
+
+        right[h] = deleteMax(right[h]);
+
+        return balance(h);
+    }
+
+    /**
+     * Removes the specified key and its associated value from this symbol table
+     * (if the key is in this symbol table).
+     * @param  key the key
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public void delete(Key key)
+    {
+        if (key == null) throw new IllegalArgumentException("argument to delete() is null");
+        if (!contains(key)) return;
+
+        // if both children of root are black, set root to red
+        if (!isRed(left[root]) && !isRed(right[root]))
+            setRed(root, true);
+
+        root = delete(root, key);
+        if (!isEmpty()) setRed(root, false);
+    }
+
+    /**
+     * Delete the key-value pair with the given key rooted at h
+     * @return index of the root of the subtree after the deletion
+     */
+    private int delete(int h, Key key)
+    {
+        if (key.compareTo(key(h)) < 0)
+        {
+            if (!isRed(left[h]) && !isRed(left[left[h]]))
+                h = moveRedLeft(h);
+            left[h] = delete(left[h], key);
+        }
+        else {
+            if (isRed(left[h]))
+                h = rotateRight(h);
+            if (key.compareTo(key(h)) == 0 && (right[h] == NIL)) {
+                freeNode(h);
+                return NIL;
+            }
+            if (!isRed(right[h]) && !isRed(left[right[h]]))
+                h = moveRedRight(h);
+            if (key.compareTo(key(h)) == 0) {
+                int x = min(right[h]);
+                keys[h] = keys[x];
+                vals[h] = vals[x];
+                right[h] = deleteMin(right[h]);
+            }
+            else right[h] = delete(right[h], key);
+        }
+        return balance(h);
+    }
+
+    /**
+     * Make a left-leaning link lean to the right
+     * @return index of the new root of the subtree
+     */
+    private int rotateRight(int h)
+    {
+        int x = left[h];
+        left[h] = right[x];
+        right[x] = h;
+        setRed(x, isRed(h));
+        setRed(h, true);
+        meta[x] = (size(h) << 1) | (meta[x] & RED);
+        updateSize(h);
+        return x;
+    }
+
+    /**
+     * Make a right-leaning link lean to the left
+     * @return index of the new root of the subtree
+     */
+    private int rotateLeft(int h)
+    {
+        int x = right[h];
+        right[h] = left[x];
+        left[x] = h;
+        setRed(x, isRed(h));
+        setRed(h, true);
+        meta[x] = (size(h) << 1) | (meta[x] & RED);
+        updateSize(h);
+        return x;
+    }
+
+    /**
+     * Flip the colors of a node and its two children
+     */
+    private void flipColors(int h)
+    {
+        meta[h] ^= RED;
+        meta[left[h]] ^= RED;
+        meta[right[h]] ^= RED;
+    }
+
+    /**
+     * Assuming that h is red and both h.left and h.left.left are black, make h.left or one of its children red.
+     */
+    private int moveRedLeft(int h)
+    {
+        flipColors(h);
+        if (isRed(left[right[h]]))
+        {
+            right[h] = rotateRight(right[h]);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Assuming that h is red and both h.right and h.right.left are black, make h.right or one of its children red.
+     */
+    private int moveRedRight(int h)
+    {
+        flipColors(h);
+        if (isRed(left[left[h]]))
+        {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restore red-black tree invariant
+     */
+    private int balance(int h)
+    {
+        if (isRed(right[h]))                        h = rotateLeft(h);
+        if (isRed(left[h]) && isRed(left[left[h]])) h = rotateRight(h);
+        if (isRed(left[h]) && isRed(right[h]))      flipColors(h);
+
+        updateSize(h);
+        return h;
+    }
+
+    /**
+     * Checks the integrity of the red-black tree (for debugging and tests).
+     * @return {@code true} if the tree is an ordered BST with consistent sizes,
+     *    no red right links, no two red links in a row and perfect black balance
+     */
+    public boolean check()
+    {
+        return !isRed(NIL) && size(NIL) == 0 && isBST(root, null, null) && isSizeConsistent(root) && is23(root) && isBalanced();
+    }
+
+    // is the tree rooted at x a BST with all keys strictly between min and max
+    private boolean isBST(int x, Key min, Key max)
+    {
+        if (x == NIL) return true;
+        if (min != null && key(x).compareTo(min) <= 0) return false;
+        if (max != null && key(x).compareTo(max) >= 0) return false;
+        return isBST(left[x], min, key(x)) && isBST(right[x], key(x), max);
+    }
+
+    // are the size fields correct?
+    private boolean isSizeConsistent(int x)
+    {
+        if (x == NIL) return true;
+        if (size(x) != size(left[x]) + size(right[x]) + 1) return false;
+        return isSizeConsistent(left[x]) && isSizeConsistent(right[x]);
+    }
+
+    // Does the tree have no red right links, and at most one (left)
+    // red links in a row on any path?
+    private boolean is23(int x)
+    {
+        if (x == NIL) return true;
+        if (isRed(right[x])) return false;
+        if (x != root && isRed(x) && isRed(left[x])) return false;
+        return is23(left[x]) && is23(right[x]);
+    }
+
+    // do all paths from root to leaf have same number of black edges?
+    private boolean isBalanced()
+    {
+        int black = 0;
+        int x = root;
+        while (x != NIL)
+        {
+            if (!isRed(x)) black++;
+            x = left[x];
+        }
+        return isBalanced(root, black);
+    }
+
+    // does every path from the root to a leaf have the given number of black links?
+    private boolean isBalanced(int x, int black)
+    {
+        if (x == NIL) return black == 0;
+        if (!isRed(x)) black--;
+        return isBalanced(left[x], black) && isBalanced(right[x], black);
+    }
+
+    /**
+     * Returns the height of the BST (for debugging).
+     * @return the height of the BST (a 1-node tree has height 0)
+     */
+    public int height()
+    {
+        return height(root);
+    }
+    private int height(int x)
+    {
+        if (x == NIL) return -1;
+        return 1 + Math.max(height(left[x]), height(right[x]));
+    }
+
+    /**
+     * Returns the smallest key in the symbol table.
+     * @return the smallest key in the symbol table
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public Key min()
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls min() with empty symbol table");
+        return key(min(root));
+    }
+
+    // the node with the smallest key in the subtree rooted at x
+    private int min(int x)
+    {
+        while (left[x] != NIL) x = left[x];
+        return x;
+    }
+
+    /**
+     * Returns the largest key in the symbol table.
+     * @return the largest key in the symbol table
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public Key max()
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls max() with empty symbol table");
+        int x = root;
+        while (right[x] != NIL) x = right[x];
+        return key(x);
+    }
+
+    /**
+     * Returns the largest key in the symbol table less than or equal to {@code key}.
+     * @param key the key
+     * @return the largest key in the symbol table less than or equal to {@code key}
+     * @throws NoSuchElementException if there is no such key
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public Key floor(Key key)
+    {
+        if (key == null) throw new IllegalArgumentException("argument to floor() is null");
+        if (isEmpty()) throw new NoSuchElementException("calls floor() with empty symbol table");
+        int x = root, best = NIL;
+        while (x != NIL)
+        {
+            int cmp = key.compareTo(key(x));
+            if (cmp == 0) return key(x);
+            if (cmp < 0) x = left[x];
+            else { best = x; x = right[x]; }
+        }
+        if (best == NIL) throw new NoSuchElementException("argument to floor() is too small");
+        return key(best);
+    }
+
+    /**
+     * Returns the smallest key in the symbol table greater than or equal to {@code key}.
+     * @param key the key
+     * @return the smallest key in the symbol table greater than or equal to {@code key}
+     * @throws NoSuchElementException if there is no such key
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public Key ceiling(Key key)
+    {
+        if (key == null) throw new IllegalArgumentException("argument to ceiling() is null");
+        if (isEmpty()) throw new NoSuchElementException("calls ceiling() with empty symbol table");
+        int x = root, best = NIL;
+        while (x != NIL)
+        {
+            int cmp = key.compareTo(key(x));
+            if (cmp == 0) return key(x);
+            if (cmp > 0) x = right[x];
+            else { best = x; x = left[x]; }
+        }
+        if (best == NIL) throw new NoSuchElementException("argument to ceiling() is too large");
+        return key(best);
+    }
+
+    /**
+     * Return the key in the symbol table of a given {@code rank}.
+     * @param  rank the order statistic
+     * @return the key in the symbol table of given {@code rank}
+     * @throws IllegalArgumentException unless {@code rank} is between 0 and size() - 1
+     */
+    public Key select(int rank)
+    {
+        if (rank < 0 || rank >= size())
+        {
+            throw new IllegalArgumentException("argument to select() is invalid: " + rank);
+        }
+        int x = root;
+        while (true)
+        {
+            int leftSize = size(left[x]);
+            if      (leftSize > rank) x = left[x];
+            else if (leftSize < rank) { rank -= leftSize + 1; x = right[x]; }
+            else                      return key(x);
+        }
+    }
+
+    /**
+     * Return the number of keys in the symbol table strictly less than {@code key}.
+     * @param key the key
+     * @return the number of keys in the symbol table strictly less than {@code key}
+     * @throws IllegalArgumentException if {@code key} is {@code null}
+     */
+    public int rank(Key key)
+    {
+        if (key == null) throw new IllegalArgumentException("argument to rank() is null");
+        int x = root, rank = 0;
+        while (x != NIL)
+        {
+            int cmp = key.compareTo(key(x));
+            if      (cmp < 0) x = left[x];
+            else if (cmp > 0) { rank += 1 + size(left[x]); x = right[x]; }
+            else              return rank + size(left[x]);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of keys in the symbol table in the given range.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return the number of keys in the symbol table between {@code lo} (inclusive) and {@code hi} (inclusive)
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public int size(Key lo, Key hi)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to size() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to size() is null");
+
+        if (lo.compareTo(hi) > 0) return 0;
+        if (contains(hi)) return rank(hi) - rank(lo) + 1;
+        else              return rank(hi) - rank(lo);
+    }
+
+    /**
+     * Returns all keys in the symbol table as an {@code Iterable}, visited lazily in order.
+     * Inserting or deleting a key while iterating makes the next {@code next()} throw ConcurrentModificationException.
+     * @return all keys in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Key> keys()
+    {
+        return () -> new KeyIterator(null, null);
+    }
+
+    /**
+     * Returns all values in the symbol table as an {@code Iterable}, visited lazily in the order of their keys.
+     * @return all values in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Value> Values()
+    {
+        return () -> new ValueIterator(null, null);
+    }
+
+    /**
+     * Returns all keys in the symbol table in the given range, as an {@code Iterable}.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all keys between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public Iterable<Key> keys(Key lo, Key hi)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to keys() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to keys() is null");
+
+        return () -> new KeyIterator(lo, hi);
+    }
+
+    /**
+     * Returns all values in the symbol table with keys in the given range, as an {@code Iterable}.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all values with keys between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public Iterable<Value> values(Key lo, Key hi)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to values() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to values() is null");
+
+        return () -> new ValueIterator(lo, hi);
+    }
+
+    /**
+     * Returns all key-value pairs in the symbol table as an {@code Iterable}, in order of their keys.
+     * The nodes are not objects, so each entry is a read-only copy created when it is returned.
+     * @return all entries in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Map.Entry<Key, Value>> entries()
+    {
+        return () -> new EntryIterator(null, null);
+    }
+
+    /**
+     * Returns the key-value pairs in the symbol table with keys in the given range, in order of their keys.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all entries with keys between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public Iterable<Map.Entry<Key, Value>> entries(Key lo, Key hi)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to entries() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to entries() is null");
+
+        return () -> new EntryIterator(lo, hi);
+    }
+
+    /**
+     * Visits every key-value pair in the symbol table in order of their keys.
+     * @param action action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code action} is {@code null}
+     */
+    public void forEach(BiConsumer<? super Key, ? super Value> action)
+    {
+        if (action == null) throw new IllegalArgumentException("argument to forEach() is null");
+        forEach(root, null, null, action);
+    }
+
+    /**
+     * Visits the key-value pairs with keys in the given range in order of their keys, without building any collection.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @param  action action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code lo}, {@code hi} or {@code action} is {@code null}
+     */
+    public void forEach(Key lo, Key hi, BiConsumer<? super Key, ? super Value> action)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to forEach() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to forEach() is null");
+        if (action == null) throw new IllegalArgumentException("third argument to forEach() is null");
+        forEach(root, lo, hi, action);
+    }
+
+    // visit the pairs between lo and hi in the subtree rooted at x,
+    // a null endpoint means the range is open on that side
+    private void forEach(int x, Key lo, Key hi, BiConsumer<? super Key, ? super Value> action)
+    {
+        if (x == NIL) return;
+        int cmplo = (lo == null) ? -1 : lo.compareTo(key(x));
+        int cmphi = (hi == null) ?  1 : hi.compareTo(key(x));
+        if (cmplo < 0) forEach(left[x], lo, hi, action);
+        if (cmplo <= 0 && cmphi >= 0) action.accept(key(x), val(x));
+        if (cmphi > 0) forEach(right[x], lo, hi, action);
+    }
+
+    /**
+     * Returns a read-only view of the keys in the symbol table in the given range.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return a view of the keys between {@code lo} (inclusive) and {@code hi} (inclusive)
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public RangeView<Key, Value> range(Key lo, Key hi)
+    {
+        return new RangeView<Key, Value>(this, lo, hi);
+    }
+
+    /**
+     * In-order iterator over the nodes with keys between lo and hi, with an explicit stack of node indices.
+     * A {@code null} endpoint means the range is open on that side.
+     * Inserting or deleting a key frees or reuses positions of the arrays, so the next call to {@code next()} after a change
+     * throws ConcurrentModificationException instead of reading a position that now holds another key.
+     * @param <T> Type of the element returned for each node
+     */
+    private abstract class InOrderIterator<T> implements Iterator<T>
+    {
+        /**
+         * modCount when the iterator was created
+         */
+        private final int expectedModCount = modCount;
+
+        /**
+         * minimum endpoint, null if there is no lower bound
+         */
+        private final Key lo;
+
+        /**
+         * maximum endpoint, null if there is no upper bound
+         */
+        private final Key hi;
+
+        /**
+         * indices of the nodes in range whose key and right subtree have not been visited yet
+         */
+        private int[] stack;
+
+        /**
+         * number of nodes in the stack
+         */
+        private int top;
+
+        public InOrderIterator(Key lo, Key hi)
+        {
+            this.lo = lo;
+            this.hi = hi;
+            this.stack = new int[16];
+            pushLeft(root);
+        }
+
+        // push the path of in-range nodes from x to the smallest key in range of its subtree
+        private void pushLeft(int x)
+        {
+            while (x != NIL)
+            {
+                int cmplo = (lo == null) ? -1 : lo.compareTo(key(x));
+                int cmphi = (hi == null) ?  1 : hi.compareTo(key(x));
+                if      (cmplo > 0) x = right[x];
+                else if (cmphi < 0) x = left[x];
+                else
+                {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, 2 * top);
+                    stack[top++] = x;
+                    x = (cmplo < 0) ? left[x] : NIL;
+                }
+            }
+        }
+
+        // next node in order, advancing the traversal
+        protected int nextNode()
+        {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (top == 0) throw new NoSuchElementException("no more keys in range");
+            int x = stack[--top];
+            if (hi == null || hi.compareTo(key(x)) > 0) pushLeft(right[x]);
+            return x;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return top > 0;
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the keys of a range
+     */
+    private class KeyIterator extends InOrderIterator<Key>
+    {
+        public KeyIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Key next()
+        {
+            return key(nextNode());
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the values of a range
+     */
+    private class ValueIterator extends InOrderIterator<Value>
+    {
+        public ValueIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Value next()
+        {
+            return val(nextNode());
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over copies of the key-value pairs of a range
+     */
+    private class EntryIterator extends InOrderIterator<Map.Entry<Key, Value>>
+    {
+        public EntryIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Map.Entry<Key, Value> next()
+        {
+            int x = nextNode();
+            return new AbstractMap.SimpleImmutableEntry<Key, Value>(key(x), val(x));
+        }
+    }
+}
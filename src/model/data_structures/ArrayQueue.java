@@ -0,0 +1,236 @@
+package model.data_structures;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Cola sobre un arreglo circular que crece al llenarse, implementa la interfaz ILinkedQueue.
+ * A diferencia de LinkedQueue no crea un nodo por elemento y seeItem toma tiempo constante.
+ * @author Julian Padilla - Pablo Pastrana
+ * Usamos metodos del Libro Algorithms 4 edition:
+ * 1. ResizingArrayQueue (enqueue, dequeue, resize) los autores son: Robert Sedgewick y Kevin Wayne.
+ * @param <E> Tipo Generico
+ */
+public class ArrayQueue <E> implements ILinkedQueue<E>
+{
+	// Atributos
+
+	/**
+	 * Capacidad inicial del arreglo
+	 */
+	private static final int CAPACIDAD_INICIAL = 8;
+
+	/**
+	 * Elementos de la cola en un arreglo circular
+	 */
+	private Object[] items;
+
+	/**
+	 * Posicion del primer elemento
+	 */
+	private int first;
+
+	/**
+	 * Tamaño de la cola
+	 */
+	private int size;
+
+	/**
+	 * Numero de cambios de la cola, los iteradores fallan si cambia mientras recorren
+	 */
+	private int modCount;
+
+	/**
+	 * Crea la cola vacia con la capacidad inicial por defecto
+	 */
+	public ArrayQueue()
+	{
+		this(CAPACIDAD_INICIAL);
+	}
+
+	/**
+	 * Crea la cola vacia con espacio para pCapacidad elementos sin crecer
+	 * @param pCapacidad Capacidad inicial
+	 * @throws IllegalArgumentException si la capacidad es negativa
+	 */
+	public ArrayQueue(int pCapacidad)
+	{
+		if (pCapacidad < 0) throw new IllegalArgumentException("capacity is negative: " + pCapacidad);
+		items = new Object[Math.max(pCapacidad, 1)];
+	}
+
+	/**
+	 * Dar el tamanio de la cola
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Determina si la cola esta vacia
+	 * @return True si la cola esta vacia
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Asegura espacio para pCapacidad elementos sin volver a crecer, util cuando se conoce cuantos elementos se van a agregar
+	 * @param pCapacidad Numero de elementos
+	 */
+	@Override
+	public void ensureCapacity(int pCapacidad)
+	{
+		if (pCapacidad > items.length) resize(pCapacidad);
+	}
+
+	/**
+	 * Agrega el elemento al final de la cola, duplica el arreglo si esta lleno
+	 * @param pItem Objeto a agregar
+	 */
+	public void enqueue(E pItem)
+	{
+		if (size == items.length) resize(2 * items.length);
+		int last = first + size;
+		if (last >= items.length) last -= items.length;
+		items[last] = pItem;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Eliminar el primer objeto de la cola, reduce el arreglo a la mitad si queda a un cuarto de su capacidad
+	 * @return El objeto eliminado de la cola
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	public E dequeue()
+	{
+		if (isEmpty())
+		{
+			throw new NoSuchElementException("Queue underflow");
+		}
+		E item = elementAt(first);
+		items[first] = null;
+		if (++first == items.length) first = 0;
+		size--;
+		modCount++;
+		if (size > 0 && size == items.length / 4) resize(items.length / 2);
+		return item;
+	}
+
+	/**
+	 * Devuelve (pero no quita) el primer elemento de la cola
+	 * @return El primer elemento
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	public E peek()
+	{
+		if (isEmpty())
+		{
+			throw new NoSuchElementException("Queue underflow");
+		}
+		return elementAt(first);
+	}
+
+	/**
+	 * Devuele el objeto en la posicion que ingreso por parametro, contando desde el primero, en tiempo constante
+	 * @param pPosicion Posicion en la cola
+	 * @return Objeto en la posicion
+	 * @throws IndexOutOfBoundsException si la posicion no esta entre 0 y getSize() - 1
+	 */
+	public E seeItem(int pPosicion)
+	{
+		if (pPosicion < 0 || pPosicion >= size) throw new IndexOutOfBoundsException("position " + pPosicion + " of " + size);
+		int i = first + pPosicion;
+		if (i >= items.length) i -= items.length;
+		return elementAt(i);
+	}
+
+	/**
+	 * Vacia la cola conservando la capacidad del arreglo
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < size; i++)
+		{
+			items[(first + i) % items.length] = null;
+		}
+		first = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Copia los elementos en un arreglo nuevo de la capacidad dada, dejando el primero en la posicion 0
+	 * @param pCapacidad Nueva capacidad, al menos size
+	 */
+	private void resize(int pCapacidad)
+	{
+		Object[] nuevos = new Object[pCapacidad];
+		int primeros = Math.min(size, items.length - first);
+		System.arraycopy(items, first, nuevos, 0, primeros);
+		System.arraycopy(items, 0, nuevos, primeros, size - primeros);
+		items = nuevos;
+		first = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementAt(int pIndice)
+	{
+		return (E) items[pIndice];
+	}
+
+	/**
+	 * Devuelve una representación en cadena de esta cola.
+	 * Devuelve la secuencia de elementos de la cola en orden FIFO (First-in, First-out)
+	 */
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder();
+		for (E item : this)
+		{
+			s.append(item + " ");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Crea el iterador para recorrer la cola en orden FIFO
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		return new ArrayIterator();
+	}
+
+	/**
+	 * Iterador por posiciones del arreglo, sin seguir apuntadores
+	 */
+	private class ArrayIterator implements Iterator<E>
+	{
+		/**
+		 * Posicion en la cola del siguiente elemento
+		 */
+		private int i;
+
+		/**
+		 * modCount al crear el iterador
+		 */
+		private final int expectedModCount = modCount;
+
+		public boolean hasNext()
+		{
+			return i < size;
+		}
+
+		public E next()
+		{
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (!hasNext()) throw new NoSuchElementException();
+			return seeItem(i++);
+		}
+	}
+}
@@ -0,0 +1,346 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de capacidad fija que puede compartirse entre hilos, para conectar un productor y un consumidor.
+ * Los elementos se guardan en un arreglo circular protegido por un candado.
+ * Los metodos de ILinkedQueue no esperan: enqueue falla si la cola esta llena y dequeue si esta vacia.
+ * put y take esperan a que haya espacio o elementos; despues de close, take devuelve null cuando la cola se vacia.
+ * @author Julian Padilla - Pablo Pastrana
+ * @param <E> Tipo Generico
+ */
+public class BoundedBlockingQueue <E> implements ILinkedQueue<E>
+{
+	// Atributos
+
+	/**
+	 * Elementos de la cola en un arreglo circular
+	 */
+	private final Object[] items;
+
+	/**
+	 * Posicion del primer elemento
+	 */
+	private int first;
+
+	/**
+	 * Numero de elementos
+	 */
+	private int size;
+
+	/**
+	 * Indica si ya no se agregan mas elementos
+	 */
+	private boolean closed;
+
+	/**
+	 * Candado de todas las operaciones
+	 */
+	private final ReentrantLock lock;
+
+	/**
+	 * Condicion de espera de take mientras la cola esta vacia
+	 */
+	private final Condition notEmpty;
+
+	/**
+	 * Condicion de espera de put mientras la cola esta llena
+	 */
+	private final Condition notFull;
+
+	// Metodo Constructor
+
+	/**
+	 * Crea la cola vacia con la capacidad dada
+	 * @param pCapacity Numero maximo de elementos
+	 * @throws IllegalArgumentException si la capacidad no es positiva
+	 */
+	public BoundedBlockingQueue(int pCapacity)
+	{
+		if (pCapacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + pCapacity);
+		items = new Object[pCapacity];
+		lock = new ReentrantLock();
+		notEmpty = lock.newCondition();
+		notFull = lock.newCondition();
+	}
+
+	// Metodos
+
+	/**
+	 * Retorna el numero maximo de elementos
+	 * @return Capacidad de la cola
+	 */
+	public int getCapacity()
+	{
+		return items.length;
+	}
+
+	/**
+	 * Retorna el numero de elementos en la cola en este momento
+	 */
+	public int getSize()
+	{
+		lock.lock();
+		try
+		{
+			return size;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Determina si la cola esta vacia en este momento
+	 * @return True si la cola esta vacia
+	 */
+	public boolean isEmpty()
+	{
+		return getSize() == 0;
+	}
+
+	/**
+	 * Agrega el elemento sin esperar
+	 * @param pItem Objeto a agregar, no puede ser null
+	 * @throws IllegalStateException si la cola esta llena o cerrada
+	 */
+	public void enqueue(E pItem)
+	{
+		if (pItem == null) throw new IllegalArgumentException("null items are not allowed");
+		lock.lock();
+		try
+		{
+			if (closed) throw new IllegalStateException("Queue closed");
+			if (size == items.length) throw new IllegalStateException("Queue full");
+			insert(pItem);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Agrega el elemento esperando a que haya espacio
+	 * @param pItem Objeto a agregar, no puede ser null
+	 * @throws InterruptedException si el hilo se interrumpe mientras espera
+	 * @throws IllegalStateException si la cola esta cerrada
+	 */
+	public void put(E pItem) throws InterruptedException
+	{
+		if (pItem == null) throw new IllegalArgumentException("null items are not allowed");
+		lock.lockInterruptibly();
+		try
+		{
+			while (size == items.length && !closed)
+			{
+				notFull.await();
+			}
+			if (closed) throw new IllegalStateException("Queue closed");
+			insert(pItem);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Agrega el elemento esperando a lo sumo el tiempo dado a que haya espacio
+	 * @param pItem Objeto a agregar, no puede ser null
+	 * @param pTimeout Tiempo maximo de espera
+	 * @param pUnit Unidad del tiempo
+	 * @return True si se agrego, false si se acabo el tiempo
+	 * @throws InterruptedException si el hilo se interrumpe mientras espera
+	 * @throws IllegalStateException si la cola esta cerrada
+	 */
+	public boolean offer(E pItem, long pTimeout, TimeUnit pUnit) throws InterruptedException
+	{
+		if (pItem == null) throw new IllegalArgumentException("null items are not allowed");
+		long nanos = pUnit.toNanos(pTimeout);
+		lock.lockInterruptibly();
+		try
+		{
+			while (size == items.length && !closed)
+			{
+				if (nanos <= 0) return false;
+				nanos = notFull.awaitNanos(nanos);
+			}
+			if (closed) throw new IllegalStateException("Queue closed");
+			insert(pItem);
+			return true;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Elimina el primer elemento sin esperar
+	 * @return El objeto eliminado
+	 * @throws NoSuchElementException si la cola esta vacia
+	 */
+	public E dequeue()
+	{
+		lock.lock();
+		try
+		{
+			if (size == 0) throw new NoSuchElementException("Queue underflow");
+			return extract();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Elimina el primer elemento esperando a que haya uno
+	 * @return El objeto eliminado, o null si la cola esta cerrada y vacia
+	 * @throws InterruptedException si el hilo se interrumpe mientras espera
+	 */
+	public E take() throws InterruptedException
+	{
+		lock.lockInterruptibly();
+		try
+		{
+			while (size == 0)
+			{
+				if (closed) return null;
+				notEmpty.await();
+			}
+			return extract();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Devuelve (pero no quita) el primer elemento de la cola
+	 * @return El primer elemento
+	 * @throws NoSuchElementException si la cola esta vacia
+	 */
+	@SuppressWarnings("unchecked")
+	public E peek()
+	{
+		lock.lock();
+		try
+		{
+			if (size == 0) throw new NoSuchElementException("Queue underflow");
+			return (E) items[first];
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Cierra la cola: no se aceptan mas elementos y los hilos que esperan en take o put despiertan.
+	 * Los elementos que quedan se pueden seguir sacando
+	 */
+	public void close()
+	{
+		lock.lock();
+		try
+		{
+			closed = true;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Determina si la cola esta cerrada
+	 * @return True si ya se llamo close
+	 */
+	public boolean isClosed()
+	{
+		lock.lock();
+		try
+		{
+			return closed;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Agrega al final, se llama con el candado y con espacio
+	 */
+	private void insert(E pItem)
+	{
+		int last = first + size;
+		if (last >= items.length) last -= items.length;
+		items[last] = pItem;
+		size++;
+		notEmpty.signal();
+	}
+
+	/**
+	 * Saca el primero, se llama con el candado y con elementos
+	 */
+	@SuppressWarnings("unchecked")
+	private E extract()
+	{
+		E item = (E) items[first];
+		items[first] = null;
+		if (++first == items.length) first = 0;
+		size--;
+		notFull.signal();
+		return item;
+	}
+
+	/**
+	 * Crea el iterador sobre una copia de los elementos que hay en la cola en este momento, en orden FIFO
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<E> iterator()
+	{
+		Object[] copy;
+		lock.lock();
+		try
+		{
+			copy = new Object[size];
+			for (int i = 0; i < size; i++)
+			{
+				copy[i] = items[(first + i) % items.length];
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		return (Iterator<E>) Arrays.asList(copy).iterator();
+	}
+
+	/**
+	 * Devuelve una representación en cadena de esta cola, en orden FIFO
+	 */
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder();
+		for (E item : this)
+		{
+			s.append(item + " ");
+		}
+		return s.toString();
+	}
+}
@@ -0,0 +1,151 @@
+package model.data_structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Monticulo de maximos de capacidad fija con prioridades double e identificadores int, guardado en arreglos sin objetos por elemento.
+ * Conserva los k elementos de menor prioridad vistos: cuando esta lleno, un elemento nuevo solo entra si su prioridad
+ * es menor que la maxima, y reemplaza a la maxima. Sirve para buscar los k vecinos mas cercanos.
+ * @author Julian Padilla - Pablo Pastrana
+ * Usamos metodos del Libro Algorithms 4 edition:
+ * 1. MaxPQ (swim, sink) los autores son: Robert Sedgewick y Kevin Wayne.
+ */
+public class BoundedMaxHeap
+{
+	/**
+	 * Prioridades en orden de monticulo, la posicion 0 tiene la maxima
+	 */
+	private final double[] prioridades;
+
+	/**
+	 * Identificador de cada prioridad
+	 */
+	private final int[] ids;
+
+	/**
+	 * Numero de elementos
+	 */
+	private int size;
+
+	/**
+	 * Crea el monticulo vacio
+	 * @param pCapacidad Numero maximo de elementos, k
+	 * @throws IllegalArgumentException si la capacidad no es positiva
+	 */
+	public BoundedMaxHeap(int pCapacidad)
+	{
+		if (pCapacidad <= 0) throw new IllegalArgumentException("capacity must be positive: " + pCapacidad);
+		prioridades = new double[pCapacidad];
+		ids = new int[pCapacidad];
+	}
+
+	/**
+	 * Retorna el numero de elementos
+	 * @return Numero de elementos
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Determina si el monticulo tiene capacidad elementos
+	 * @return True si esta lleno
+	 */
+	public boolean isFull()
+	{
+		return size == prioridades.length;
+	}
+
+	/**
+	 * Da la mayor prioridad guardada
+	 * @return Prioridad maxima
+	 * @throws NoSuchElementException si el monticulo esta vacio
+	 */
+	public double maxPriority()
+	{
+		if (size == 0) throw new NoSuchElementException("Priority queue underflow");
+		return prioridades[0];
+	}
+
+	/**
+	 * Da la prioridad que debe superar un elemento para no entrar: la maxima si esta lleno, infinito si no
+	 * @return Cota de las prioridades que todavia pueden entrar
+	 */
+	public double bound()
+	{
+		return (size == prioridades.length) ? prioridades[0] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Ofrece un elemento. Si hay espacio entra; si esta lleno entra solo si su prioridad es menor que la maxima, que sale
+	 * @param pPrioridad Prioridad del elemento, por ejemplo una distancia
+	 * @param pId Identificador del elemento
+	 * @return True si el elemento quedo en el monticulo
+	 */
+	public boolean offer(double pPrioridad, int pId)
+	{
+		if (size < prioridades.length)
+		{
+			prioridades[size] = pPrioridad;
+			ids[size] = pId;
+			swim(size++);
+			return true;
+		}
+		if (!(pPrioridad < prioridades[0])) return false;
+		prioridades[0] = pPrioridad;
+		ids[0] = pId;
+		sink(0);
+		return true;
+	}
+
+	/**
+	 * Vacia el monticulo devolviendo los identificadores de menor a mayor prioridad
+	 * @param pPrioridades Arreglo donde se copian las prioridades en el mismo orden, o null
+	 * @return Identificadores ordenados por prioridad ascendente
+	 */
+	public int[] drainAscending(double[] pPrioridades)
+	{
+		int n = size;
+		int[] resultado = new int[n];
+		for (int i = n - 1; i >= 0; i--)
+		{
+			if (pPrioridades != null) pPrioridades[i] = prioridades[0];
+			resultado[i] = ids[0];
+			size--;
+			prioridades[0] = prioridades[size];
+			ids[0] = ids[size];
+			sink(0);
+		}
+		return resultado;
+	}
+
+	private void swim(int k)
+	{
+		while (k > 0)
+		{
+			int padre = (k - 1) / 2;
+			if (!(prioridades[padre] < prioridades[k])) break;
+			intercambiar(padre, k);
+			k = padre;
+		}
+	}
+
+	private void sink(int k)
+	{
+		while (2 * k + 1 < size)
+		{
+			int j = 2 * k + 1;
+			if (j + 1 < size && prioridades[j] < prioridades[j + 1]) j++;
+			if (!(prioridades[k] < prioridades[j])) break;
+			intercambiar(k, j);
+			k = j;
+		}
+	}
+
+	private void intercambiar(int i, int j)
+	{
+		double p = prioridades[i]; prioridades[i] = prioridades[j]; prioridades[j] = p;
+		int id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+	}
+}
@@ -0,0 +1,603 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto comprimido de enteros no negativos (por ejemplo numeros de fila) al estilo de los bitmaps "roaring".
+ * Los enteros se agrupan por sus 16 bits altos; cada grupo es un contenedor con los 16 bits bajos de sus enteros:
+ * un arreglo ordenado de char si tiene a lo sumo MAXIMO_ARREGLO enteros, o un mapa de 65536 bits en 1024 palabras long si tiene mas.
+ * Asi un conjunto disperso ocupa unos 2 bytes por entero y uno denso a lo sumo 1 bit por posible entero.
+ * Las operaciones and, or, andNot y not crean conjuntos nuevos; entre mapas de bits se hacen palabra por palabra, 64 enteros a la vez.
+ * readOnly da una vista que no se puede modificar, para entregar conjuntos que otra estructura sigue usando.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class CompressedBitmap
+{
+	/**
+	 * Numero maximo de enteros de un contenedor de arreglo, con mas se usa un mapa de bits (4096 * 2 bytes = 1024 * 8 bytes)
+	 */
+	static final int MAXIMO_ARREGLO = 4096;
+
+	/**
+	 * Palabras long del mapa de bits de un contenedor
+	 */
+	private static final int PALABRAS = 1024;
+
+	// Atributos
+
+	/**
+	 * 16 bits altos de cada contenedor, en orden ascendente
+	 */
+	private char[] llaves;
+
+	/**
+	 * Contenedor de cada llave
+	 */
+	private Contenedor[] contenedores;
+
+	/**
+	 * Numero de contenedores
+	 */
+	private int numero;
+
+	/**
+	 * Indica si el conjunto es una vista de solo lectura
+	 */
+	private final boolean soloLectura;
+
+	/**
+	 * Crea el conjunto vacio
+	 */
+	public CompressedBitmap()
+	{
+		llaves = new char[4];
+		contenedores = new Contenedor[4];
+		soloLectura = false;
+	}
+
+	/**
+	 * Crea una vista de solo lectura que comparte los contenedores de otro conjunto
+	 */
+	private CompressedBitmap(CompressedBitmap pOriginal)
+	{
+		llaves = pOriginal.llaves;
+		contenedores = pOriginal.contenedores;
+		numero = pOriginal.numero;
+		soloLectura = true;
+	}
+
+	/**
+	 * Crea un conjunto con los enteros dados
+	 * @param pValores Enteros no negativos, en cualquier orden
+	 * @return Conjunto con los enteros
+	 */
+	public static CompressedBitmap of(int... pValores)
+	{
+		CompressedBitmap conjunto = new CompressedBitmap();
+		for (int v : pValores) conjunto.add(v);
+		return conjunto;
+	}
+
+	/**
+	 * Crea el conjunto {0, 1, ..., pLimite - 1}
+	 * @param pLimite Numero de enteros
+	 * @return Conjunto con los enteros menores que el limite
+	 */
+	public static CompressedBitmap range(int pLimite)
+	{
+		return new CompressedBitmap().not(pLimite);
+	}
+
+	/**
+	 * Da una vista de solo lectura del conjunto, sin copiar los enteros. La vista comparte los contenedores con el original,
+	 * por eso se debe pedir cuando el original ya no se va a modificar
+	 * @return Conjunto cuyo add lanza UnsupportedOperationException, este mismo si ya es de solo lectura
+	 */
+	public CompressedBitmap readOnly()
+	{
+		return soloLectura ? this : new CompressedBitmap(this);
+	}
+
+	/**
+	 * Determina si el conjunto es de solo lectura
+	 * @return True si add no esta permitido
+	 */
+	public boolean isReadOnly()
+	{
+		return soloLectura;
+	}
+
+	/**
+	 * Agrega un entero. Agregar en orden ascendente, como al recorrer las filas de un almacen, solo toca el ultimo contenedor
+	 * @param pValor Entero no negativo
+	 * @return True si el entero no estaba
+	 * @throws IllegalArgumentException si el entero es negativo
+	 * @throws UnsupportedOperationException si el conjunto es de solo lectura
+	 */
+	public boolean add(int pValor)
+	{
+		if (soloLectura) throw new UnsupportedOperationException("read-only bitmap");
+		if (pValor < 0) throw new IllegalArgumentException("negative value: " + pValor);
+		char alta = (char) (pValor >>> 16);
+		int i;
+		if (numero > 0 && llaves[numero - 1] == alta) i = numero - 1;
+		else if (numero == 0 || llaves[numero - 1] < alta) i = insertar(numero, alta, new Contenedor());
+		else
+		{
+			i = buscar(alta);
+			if (i < 0) i = insertar(-i - 1, alta, new Contenedor());
+		}
+		int antes = contenedores[i].cardinalidad;
+		contenedores[i] = contenedores[i].agregar((char) pValor);
+		return contenedores[i].cardinalidad > antes;
+	}
+
+	/**
+	 * Determina si el entero esta en el conjunto
+	 * @param pValor Entero
+	 * @return True si esta
+	 */
+	public boolean contains(int pValor)
+	{
+		if (pValor < 0) return false;
+		int i = buscar((char) (pValor >>> 16));
+		return i >= 0 && contenedores[i].contiene((char) pValor);
+	}
+
+	/**
+	 * Retorna el numero de enteros del conjunto
+	 * @return Cardinalidad
+	 */
+	public int cardinality()
+	{
+		int total = 0;
+		for (int i = 0; i < numero; i++) total += contenedores[i].cardinalidad;
+		return total;
+	}
+
+	/**
+	 * Determina si el conjunto esta vacio
+	 * @return True si no tiene enteros
+	 */
+	public boolean isEmpty()
+	{
+		return numero == 0;
+	}
+
+	/**
+	 * Recorre los enteros del conjunto en orden ascendente
+	 * @param pAccion Accion que recibe cada entero
+	 */
+	public void forEach(IntConsumer pAccion)
+	{
+		for (int i = 0; i < numero; i++) contenedores[i].recorrer(llaves[i] << 16, pAccion);
+	}
+
+	/**
+	 * Da los enteros del conjunto en orden ascendente
+	 * @return Arreglo con los enteros
+	 */
+	public int[] toArray()
+	{
+		int[] resultado = new int[cardinality()];
+		int[] k = {0};
+		forEach(v -> resultado[k[0]++] = v);
+		return resultado;
+	}
+
+	/**
+	 * Interseccion con otro conjunto. Solo se cruzan los contenedores con la misma llave
+	 * @param pOtro Otro conjunto
+	 * @return Conjunto nuevo con los enteros que estan en ambos
+	 */
+	public CompressedBitmap and(CompressedBitmap pOtro)
+	{
+		CompressedBitmap resultado = new CompressedBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < numero && j < pOtro.numero)
+		{
+			if (llaves[i] < pOtro.llaves[j]) i++;
+			else if (llaves[i] > pOtro.llaves[j]) j++;
+			else
+			{
+				resultado.agregarContenedor(llaves[i], Contenedor.and(contenedores[i], pOtro.contenedores[j]));
+				i++;
+				j++;
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Union con otro conjunto
+	 * @param pOtro Otro conjunto
+	 * @return Conjunto nuevo con los enteros que estan en alguno
+	 */
+	public CompressedBitmap or(CompressedBitmap pOtro)
+	{
+		CompressedBitmap resultado = new CompressedBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < numero || j < pOtro.numero)
+		{
+			if (j == pOtro.numero || (i < numero && llaves[i] < pOtro.llaves[j]))
+			{
+				resultado.agregarContenedor(llaves[i], contenedores[i].copiar());
+				i++;
+			}
+			else if (i == numero || llaves[i] > pOtro.llaves[j])
+			{
+				resultado.agregarContenedor(pOtro.llaves[j], pOtro.contenedores[j].copiar());
+				j++;
+			}
+			else
+			{
+				resultado.agregarContenedor(llaves[i], Contenedor.or(contenedores[i], pOtro.contenedores[j]));
+				i++;
+				j++;
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Diferencia con otro conjunto
+	 * @param pOtro Otro conjunto
+	 * @return Conjunto nuevo con los enteros de este conjunto que no estan en el otro
+	 */
+	public CompressedBitmap andNot(CompressedBitmap pOtro)
+	{
+		CompressedBitmap resultado = new CompressedBitmap();
+		int j = 0;
+		for (int i = 0; i < numero; i++)
+		{
+			while (j < pOtro.numero && pOtro.llaves[j] < llaves[i]) j++;
+			if (j < pOtro.numero && pOtro.llaves[j] == llaves[i])
+			{
+				resultado.agregarContenedor(llaves[i], Contenedor.andNot(contenedores[i], pOtro.contenedores[j]));
+			}
+			else
+			{
+				resultado.agregarContenedor(llaves[i], contenedores[i].copiar());
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Complemento dentro de {0, 1, ..., pLimite - 1}, por ejemplo las filas de un almacen que no tienen un valor
+	 * @param pLimite Numero de enteros del universo
+	 * @return Conjunto nuevo con los enteros menores que el limite que no estan en este conjunto
+	 * @throws IllegalArgumentException si el limite es negativo
+	 */
+	public CompressedBitmap not(int pLimite)
+	{
+		if (pLimite < 0) throw new IllegalArgumentException("negative limit: " + pLimite);
+		CompressedBitmap resultado = new CompressedBitmap();
+		if (pLimite == 0) return resultado;
+		int ultima = (pLimite - 1) >>> 16;
+		int j = 0;
+		for (int alta = 0; alta <= ultima; alta++)
+		{
+			// enteros del universo dentro de este contenedor
+			int bits = (alta < ultima) ? 1 << 16 : pLimite - (alta << 16);
+			while (j < numero && llaves[j] < alta) j++;
+			Contenedor c = (j < numero && llaves[j] == alta) ? contenedores[j] : null;
+			resultado.agregarContenedor((char) alta, Contenedor.complemento(c, bits));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Compara los enteros de ambos conjuntos
+	 */
+	@Override
+	public boolean equals(Object pObjeto)
+	{
+		if (this == pObjeto) return true;
+		if (!(pObjeto instanceof CompressedBitmap)) return false;
+		CompressedBitmap otro = (CompressedBitmap) pObjeto;
+		if (numero != otro.numero) return false;
+		for (int i = 0; i < numero; i++)
+		{
+			if (llaves[i] != otro.llaves[i] || !contenedores[i].mismosValores(otro.contenedores[i])) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int[] h = {1};
+		forEach(v -> h[0] = 31 * h[0] + v);
+		return h[0];
+	}
+
+	/**
+	 * Busca la posicion de una llave
+	 * @return Posicion de la llave o -(punto de insercion) - 1 si no esta
+	 */
+	private int buscar(char pAlta)
+	{
+		int lo = 0;
+		int hi = numero - 1;
+		while (lo <= hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			if (llaves[mid] < pAlta) lo = mid + 1;
+			else if (llaves[mid] > pAlta) hi = mid - 1;
+			else return mid;
+		}
+		return -(lo + 1);
+	}
+
+	/**
+	 * Inserta un contenedor en la posicion dada
+	 * @return Posicion del contenedor
+	 */
+	private int insertar(int pPosicion, char pAlta, Contenedor pContenedor)
+	{
+		if (numero == llaves.length)
+		{
+			llaves = Arrays.copyOf(llaves, 2 * numero);
+			contenedores = Arrays.copyOf(contenedores, 2 * numero);
+		}
+		System.arraycopy(llaves, pPosicion, llaves, pPosicion + 1, numero - pPosicion);
+		System.arraycopy(contenedores, pPosicion, contenedores, pPosicion + 1, numero - pPosicion);
+		llaves[pPosicion] = pAlta;
+		contenedores[pPosicion] = pContenedor;
+		numero++;
+		return pPosicion;
+	}
+
+	/**
+	 * Agrega al final el contenedor de una llave mayor que las actuales, si no es null
+	 */
+	private void agregarContenedor(char pAlta, Contenedor pContenedor)
+	{
+		if (pContenedor != null) insertar(numero, pAlta, pContenedor);
+	}
+
+	/**
+	 * Contenedor de los 16 bits bajos de los enteros con la misma llave.
+	 * Si palabras es null los valores estan en valores[0, cardinalidad) en orden ascendente; si no, el bit v de palabras indica si v esta
+	 */
+	private static final class Contenedor
+	{
+		char[] valores;
+
+		long[] palabras;
+
+		int cardinalidad;
+
+		Contenedor()
+		{
+			valores = new char[4];
+		}
+
+		Contenedor(char[] pValores, int pCardinalidad)
+		{
+			valores = pValores;
+			cardinalidad = pCardinalidad;
+		}
+
+		Contenedor(long[] pPalabras, int pCardinalidad)
+		{
+			palabras = pPalabras;
+			cardinalidad = pCardinalidad;
+		}
+
+		/**
+		 * Crea el contenedor de unas palabras: null si no tienen bits, un arreglo si tienen pocos, o las mismas palabras
+		 */
+		static Contenedor dePalabras(long[] pPalabras)
+		{
+			int cardinalidad = 0;
+			for (long w : pPalabras) cardinalidad += Long.bitCount(w);
+			if (cardinalidad == 0) return null;
+			if (cardinalidad > MAXIMO_ARREGLO) return new Contenedor(pPalabras, cardinalidad);
+			char[] valores = new char[cardinalidad];
+			int k = 0;
+			for (int i = 0; i < PALABRAS; i++)
+			{
+				for (long w = pPalabras[i]; w != 0; w &= w - 1)
+				{
+					valores[k++] = (char) ((i << 6) + Long.numberOfTrailingZeros(w));
+				}
+			}
+			return new Contenedor(valores, cardinalidad);
+		}
+
+		/**
+		 * Crea el contenedor de un arreglo ordenado, null si esta vacio
+		 */
+		static Contenedor deValores(char[] pValores, int pCardinalidad)
+		{
+			return (pCardinalidad == 0) ? null : new Contenedor(pValores, pCardinalidad);
+		}
+
+		boolean contiene(char v)
+		{
+			if (palabras != null) return (palabras[v >>> 6] & (1L << v)) != 0;
+			return Arrays.binarySearch(valores, 0, cardinalidad, v) >= 0;
+		}
+
+		/**
+		 * Agrega un valor; el arreglo pasa a mapa de bits cuando superaria MAXIMO_ARREGLO valores
+		 * @return Este contenedor o el que lo reemplaza
+		 */
+		Contenedor agregar(char v)
+		{
+			if (palabras != null)
+			{
+				long antes = palabras[v >>> 6];
+				palabras[v >>> 6] = antes | (1L << v);
+				if (antes != palabras[v >>> 6]) cardinalidad++;
+				return this;
+			}
+			int i = (cardinalidad == 0 || valores[cardinalidad - 1] < v) ? -(cardinalidad + 1) : Arrays.binarySearch(valores, 0, cardinalidad, v);
+			if (i >= 0) return this;
+			if (cardinalidad == MAXIMO_ARREGLO)
+			{
+				Contenedor mapa = new Contenedor(aPalabras(), cardinalidad);
+				return mapa.agregar(v);
+			}
+			i = -i - 1;
+			if (cardinalidad == valores.length) valores = Arrays.copyOf(valores, Math.min(2 * cardinalidad, MAXIMO_ARREGLO));
+			System.arraycopy(valores, i, valores, i + 1, cardinalidad - i);
+			valores[i] = v;
+			cardinalidad++;
+			return this;
+		}
+
+		/**
+		 * Da una copia del contenedor como mapa de bits
+		 */
+		long[] aPalabras()
+		{
+			if (palabras != null) return palabras.clone();
+			long[] resultado = new long[PALABRAS];
+			for (int i = 0; i < cardinalidad; i++) resultado[valores[i] >>> 6] |= 1L << valores[i];
+			return resultado;
+		}
+
+		Contenedor copiar()
+		{
+			if (palabras != null) return new Contenedor(palabras.clone(), cardinalidad);
+			return new Contenedor(Arrays.copyOf(valores, cardinalidad), cardinalidad);
+		}
+
+		void recorrer(int pBase, IntConsumer pAccion)
+		{
+			if (palabras == null)
+			{
+				for (int i = 0; i < cardinalidad; i++) pAccion.accept(pBase | valores[i]);
+				return;
+			}
+			for (int i = 0; i < PALABRAS; i++)
+			{
+				for (long w = palabras[i]; w != 0; w &= w - 1)
+				{
+					pAccion.accept(pBase | (i << 6) | Long.numberOfTrailingZeros(w));
+				}
+			}
+		}
+
+		boolean mismosValores(Contenedor pOtro)
+		{
+			if (cardinalidad != pOtro.cardinalidad) return false;
+			if (palabras == null && pOtro.palabras == null) return Arrays.equals(valores, 0, cardinalidad, pOtro.valores, 0, cardinalidad);
+			return Arrays.equals(aPalabras(), pOtro.aPalabras());
+		}
+
+		/**
+		 * Valores de un contenedor de arreglo que estan (o no estan, si pEstan es false) en otro contenedor
+		 */
+		private static Contenedor filtrar(Contenedor pArreglo, Contenedor pOtro, boolean pEstan)
+		{
+			char[] resultado = new char[pArreglo.cardinalidad];
+			int k = 0;
+			for (int i = 0; i < pArreglo.cardinalidad; i++)
+			{
+				if (pOtro.contiene(pArreglo.valores[i]) == pEstan) resultado[k++] = pArreglo.valores[i];
+			}
+			return deValores(resultado, k);
+		}
+
+		static Contenedor and(Contenedor a, Contenedor b)
+		{
+			if (a.palabras != null && b.palabras != null)
+			{
+				long[] resultado = new long[PALABRAS];
+				for (int i = 0; i < PALABRAS; i++) resultado[i] = a.palabras[i] & b.palabras[i];
+				return dePalabras(resultado);
+			}
+			if (a.palabras != null) return filtrar(b, a, true);
+			if (b.palabras != null) return filtrar(a, b, true);
+			// dos arreglos: mezcla de listas ordenadas
+			char[] resultado = new char[Math.min(a.cardinalidad, b.cardinalidad)];
+			int k = 0;
+			int i = 0;
+			int j = 0;
+			while (i < a.cardinalidad && j < b.cardinalidad)
+			{
+				if (a.valores[i] < b.valores[j]) i++;
+				else if (a.valores[i] > b.valores[j]) j++;
+				else
+				{
+					resultado[k++] = a.valores[i];
+					i++;
+					j++;
+				}
+			}
+			return deValores(resultado, k);
+		}
+
+		static Contenedor or(Contenedor a, Contenedor b)
+		{
+			if (a.palabras == null && b.palabras == null && a.cardinalidad + b.cardinalidad <= MAXIMO_ARREGLO)
+			{
+				char[] resultado = new char[a.cardinalidad + b.cardinalidad];
+				int k = 0;
+				int i = 0;
+				int j = 0;
+				while (i < a.cardinalidad || j < b.cardinalidad)
+				{
+					if (j == b.cardinalidad || (i < a.cardinalidad && a.valores[i] < b.valores[j])) resultado[k++] = a.valores[i++];
+					else if (i == a.cardinalidad || a.valores[i] > b.valores[j]) resultado[k++] = b.valores[j++];
+					else
+					{
+						resultado[k++] = a.valores[i++];
+						j++;
+					}
+				}
+				return deValores(resultado, k);
+			}
+			long[] resultado = a.aPalabras();
+			if (b.palabras != null)
+			{
+				for (int i = 0; i < PALABRAS; i++) resultado[i] |= b.palabras[i];
+			}
+			else
+			{
+				for (int i = 0; i < b.cardinalidad; i++) resultado[b.valores[i] >>> 6] |= 1L << b.valores[i];
+			}
+			return dePalabras(resultado);
+		}
+
+		static Contenedor andNot(Contenedor a, Contenedor b)
+		{
+			if (a.palabras == null) return filtrar(a, b, false);
+			long[] resultado = a.palabras.clone();
+			if (b.palabras != null)
+			{
+				for (int i = 0; i < PALABRAS; i++) resultado[i] &= ~b.palabras[i];
+			}
+			else
+			{
+				for (int i = 0; i < b.cardinalidad; i++) resultado[b.valores[i] >>> 6] &= ~(1L << b.valores[i]);
+			}
+			return dePalabras(resultado);
+		}
+
+		/**
+		 * Complemento de un contenedor (null si esta vacio) dentro de sus primeros pBits valores
+		 */
+		static Contenedor complemento(Contenedor c, int pBits)
+		{
+			long[] resultado = (c == null) ? new long[PALABRAS] : c.aPalabras();
+			int completas = pBits >>> 6;
+			for (int i = 0; i < completas; i++) resultado[i] = ~resultado[i];
+			if (completas < PALABRAS)
+			{
+				// la palabra parcial solo conserva los bits menores que pBits, las siguientes quedan en cero
+				long mascara = (1L << (pBits & 63)) - 1;
+				resultado[completas] = ~resultado[completas] & mascara;
+				Arrays.fill(resultado, completas + 1, PALABRAS, 0L);
+			}
+			return dePalabras(resultado);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Diccionario que asigna a cada cadena distinta un codigo entero consecutivo (0, 1, 2, ...) y permite recuperar la cadena desde su codigo.
+ * Sirve para guardar columnas con pocos valores distintos como codigos pequenios en lugar de una cadena por elemento.
+ * El codigo -1 representa el valor null. Los codigos no cambian ni se eliminan una vez asignados.
+ * Codificar es seguro entre hilos; decodificar no toma ningun candado.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class Diccionario
+{
+	/**
+	 * Codigo del valor null
+	 */
+	public static final int NULO = -1;
+
+	/**
+	 * Codigo de cada cadena registrada
+	 */
+	private final HashMap<String, Integer> codigos;
+
+	/**
+	 * Cadena de cada codigo, la posicion i tiene la cadena con codigo i
+	 */
+	private volatile String[] valores;
+
+	/**
+	 * Numero de cadenas registradas
+	 */
+	private volatile int size;
+
+	/**
+	 * Numero maximo de cadenas distintas
+	 */
+	private final int maximo;
+
+	/**
+	 * Crea un diccionario vacio
+	 * @param pMaximo Numero maximo de cadenas distintas, por ejemplo Short.MAX_VALUE si los codigos se guardan como short
+	 */
+	public Diccionario(int pMaximo)
+	{
+		codigos = new HashMap<String, Integer>();
+		valores = new String[16];
+		maximo = pMaximo;
+	}
+
+	/**
+	 * Da el codigo de la cadena, registrandola si es nueva
+	 * @param pValor Cadena a codificar
+	 * @return Codigo de la cadena o NULO si es null
+	 * @throws IllegalStateException si se supera el numero maximo de cadenas distintas
+	 */
+	public synchronized int codificar(String pValor)
+	{
+		if (pValor == null) return NULO;
+		Integer codigo = codigos.get(pValor);
+		if (codigo != null) return codigo;
+
+		if (size == maximo) throw new IllegalStateException("dictionary is full: " + maximo + " values");
+		String[] actuales = valores;
+		if (size == actuales.length)
+		{
+			actuales = Arrays.copyOf(actuales, 2 * size);
+		}
+		actuales[size] = pValor;
+		codigos.put(pValor, size);
+		valores = actuales;
+		return size++;
+	}
+
+	/**
+	 * Da el codigo de una cadena ya registrada sin registrarla
+	 * @param pValor Cadena a buscar
+	 * @return Codigo de la cadena, NULO si es null o no esta registrada
+	 */
+	public synchronized int buscar(String pValor)
+	{
+		if (pValor == null) return NULO;
+		Integer codigo = codigos.get(pValor);
+		return (codigo == null) ? NULO : codigo;
+	}
+
+	/**
+	 * Da la cadena de un codigo
+	 * @param pCodigo Codigo a decodificar
+	 * @return Cadena del codigo o null si es NULO
+	 * @throws IllegalArgumentException si el codigo no ha sido asignado
+	 */
+	public String decodificar(int pCodigo)
+	{
+		if (pCodigo == NULO) return null;
+		// size se lee antes que valores: codificar publica el arreglo antes de aumentar size
+		if (pCodigo < 0 || pCodigo >= size) throw new IllegalArgumentException("unknown code: " + pCodigo);
+		return valores[pCodigo];
+	}
+
+	/**
+	 * Retorna el numero de cadenas registradas
+	 * @return Numero de codigos asignados
+	 */
+	public int size()
+	{
+		return size;
+	}
+}
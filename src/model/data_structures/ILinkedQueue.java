@@ -36,4 +36,13 @@ public interface ILinkedQueue<E> extends Iterable<E>
      * Devuelve (pero no quita) el artículo añadido más recientemente a esta en la cola.
      */
 	public E peek();
+
+	/**
+	 * Indica que se van a tener hasta pCapacidad elementos, para que las colas con arreglo reserven el espacio una sola vez.
+	 * Por defecto no hace nada
+	 * @param pCapacidad Numero de elementos
+	 */
+	default void ensureCapacity(int pCapacidad)
+	{
+	}
 }
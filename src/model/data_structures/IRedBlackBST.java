@@ -0,0 +1,229 @@
+package model.data_structures;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Interfaz de la tabla de simbolos ordenada implementada por los arboles rojo - negro.
+ * Permite cambiar la representacion del arbol (nodos enlazados o arreglos) sin cambiar a quien lo usa.
+ * @author Julian Padilla - Pablo Pastrana
+ * @param <Key> Key de tipo generico
+ * @param <Value> Value de tipo generico
+ */
+public interface IRedBlackBST<Key extends Comparable<Key>, Value>
+{
+	/**
+	 * Retorna el numero de parejas llave - valor del arbol
+	 * @return El tamanio del arbol
+	 */
+	int size();
+
+	/**
+	 * Determina si el arbol esta vacio
+	 * @return True si el arbol no tiene llaves
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Retorna el valor asociado a la llave
+	 * @param key Llave a buscar
+	 * @return El valor asociado o null si la llave no esta en el arbol
+	 */
+	Value get(Key key);
+
+	/**
+	 * Determina si el arbol contiene la llave
+	 * @param key Llave a buscar
+	 * @return True si la llave esta en el arbol
+	 */
+	boolean contains(Key key);
+
+	/**
+	 * Agrega la pareja llave - valor, reemplaza el valor si la llave ya existe y la elimina si el valor es null
+	 * @param key Llave a agregar
+	 * @param val Valor asociado
+	 */
+	void put(Key key, Value val);
+
+	/**
+	 * Elimina la llave y su valor del arbol si existe
+	 * @param key Llave a eliminar
+	 */
+	void delete(Key key);
+
+	/**
+	 * Elimina la menor llave del arbol
+	 */
+	void deleteMin();
+
+	/**
+	 * Elimina la mayor llave del arbol
+	 */
+	void deleteMax();
+
+	/**
+	 * Retorna la altura del arbol
+	 * @return La altura, un arbol de un nodo tiene altura 0
+	 */
+	int height();
+
+	/**
+	 * Verifica que el arbol cumpla las propiedades de un arbol rojo - negro
+	 * @return True si el arbol es valido
+	 */
+	boolean check();
+
+	/**
+	 * Retorna la menor llave del arbol
+	 * @return Menor llave
+	 */
+	Key min();
+
+	/**
+	 * Retorna la mayor llave del arbol
+	 * @return Mayor llave
+	 */
+	Key max();
+
+	/**
+	 * Retorna la mayor llave menor o igual a la llave dada
+	 * @param key Llave de referencia
+	 * @return Piso de la llave
+	 */
+	Key floor(Key key);
+
+	/**
+	 * Retorna la menor llave mayor o igual a la llave dada
+	 * @param key Llave de referencia
+	 * @return Techo de la llave
+	 */
+	Key ceiling(Key key);
+
+	/**
+	 * Retorna la llave con el rango dado
+	 * @param rank Numero de llaves menores a la buscada
+	 * @return Llave del rango
+	 */
+	Key select(int rank);
+
+	/**
+	 * Retorna el numero de llaves estrictamente menores a la llave dada
+	 * @param key Llave de referencia
+	 * @return Rango de la llave
+	 */
+	int rank(Key key);
+
+	/**
+	 * Retorna el numero de llaves entre lo y hi (inclusive)
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @return Numero de llaves en el rango
+	 */
+	int size(Key lo, Key hi);
+
+	/**
+	 * Retorna todas las llaves en orden ascendente
+	 * @return Llaves del arbol como un Iterable
+	 */
+	Iterable<Key> keys();
+
+	/**
+	 * Retorna todos los valores en el orden de sus llaves
+	 * @return Valores del arbol como un Iterable
+	 */
+	Iterable<Value> Values();
+
+	/**
+	 * Retorna las llaves entre lo y hi (inclusive) en orden ascendente
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @return Llaves del rango como un Iterable
+	 */
+	Iterable<Key> keys(Key lo, Key hi);
+
+	/**
+	 * Retorna los valores con llaves entre lo y hi (inclusive) en el orden de sus llaves
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @return Valores del rango como un Iterable
+	 */
+	Iterable<Value> values(Key lo, Key hi);
+
+	/**
+	 * Agrega a la cola las llaves entre lo y hi (inclusive) en orden ascendente.
+	 * La cola recibe con ensureCapacity el tamanio del rango antes de llenarse
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @param queue Cola que recibe las llaves
+	 * @return La misma cola
+	 */
+	default <Q extends ILinkedQueue<? super Key>> Q keys(Key lo, Key hi, Q queue)
+	{
+		reservar(queue, lo, hi);
+		forEach(lo, hi, (key, value) -> queue.enqueue(key));
+		return queue;
+	}
+
+	/**
+	 * Agrega a la cola los valores con llaves entre lo y hi (inclusive) en el orden de sus llaves.
+	 * La cola recibe con ensureCapacity el tamanio del rango antes de llenarse
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @param queue Cola que recibe los valores
+	 * @return La misma cola
+	 */
+	default <Q extends ILinkedQueue<? super Value>> Q values(Key lo, Key hi, Q queue)
+	{
+		reservar(queue, lo, hi);
+		forEach(lo, hi, (key, value) -> queue.enqueue(value));
+		return queue;
+	}
+
+	/**
+	 * Avisa a la cola cuantos elementos va a tener con las llaves del rango, size(lo, hi) toma tiempo logaritmico
+	 * @param queue Cola que recibe el rango
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 */
+	private void reservar(ILinkedQueue<?> queue, Key lo, Key hi)
+	{
+		if (queue == null) throw new IllegalArgumentException("queue is null");
+		if (lo != null && hi != null) queue.ensureCapacity(queue.getSize() + size(lo, hi));
+	}
+
+	/**
+	 * Retorna todas las parejas llave - valor en orden ascendente
+	 * @return Parejas del arbol como un Iterable
+	 */
+	Iterable<Map.Entry<Key, Value>> entries();
+
+	/**
+	 * Retorna las parejas llave - valor con llaves entre lo y hi (inclusive) en orden ascendente
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @return Parejas del rango como un Iterable
+	 */
+	Iterable<Map.Entry<Key, Value>> entries(Key lo, Key hi);
+
+	/**
+	 * Aplica la accion a cada pareja llave - valor en orden ascendente
+	 * @param action Accion a aplicar
+	 */
+	void forEach(BiConsumer<? super Key, ? super Value> action);
+
+	/**
+	 * Aplica la accion a cada pareja con llave entre lo y hi (inclusive) en orden ascendente
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @param action Accion a aplicar
+	 */
+	void forEach(Key lo, Key hi, BiConsumer<? super Key, ? super Value> action);
+
+	/**
+	 * Retorna una vista de solo lectura de las llaves entre lo y hi (inclusive)
+	 * @param lo Llave minima
+	 * @param hi Llave maxima
+	 * @return Vista del rango
+	 */
+	RangeView<Key, Value> range(Key lo, Key hi);
+}
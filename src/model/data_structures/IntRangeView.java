@@ -0,0 +1,154 @@
+package model.data_structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Vista de solo lectura sobre las llaves de un arbol IntRedBlackBST que se encuentran entre lo y hi (inclusive).
+ * La vista no copia los elementos, cada consulta se resuelve sobre el arbol original.
+ * @author Julian Padilla - Pablo Pastrana
+ * @param <Value> Value de tipo generico
+ */
+public class IntRangeView <Value>
+{
+	// Atributos
+
+	/**
+	 * Arbol sobre el cual se hace la consulta
+	 */
+	private IntRedBlackBST<Value> tree;
+
+	/**
+	 * Llave minima del rango (inclusive)
+	 */
+	private int lo;
+
+	/**
+	 * Llave maxima del rango (inclusive)
+	 */
+	private int hi;
+
+	// Metodo Constructor
+
+	/**
+	 * Crea la vista del rango [lo, hi] sobre el arbol
+	 * @param pTree Arbol a consultar
+	 * @param pLo Llave minima del rango
+	 * @param pHi Llave maxima del rango
+	 * @throws IllegalArgumentException si el arbol es null
+	 */
+	public IntRangeView(IntRedBlackBST<Value> pTree, int pLo, int pHi)
+	{
+		if (pTree == null) throw new IllegalArgumentException("tree of the range is null");
+		tree = pTree;
+		lo = pLo;
+		hi = pHi;
+	}
+
+	// Metodos
+
+	/**
+	 * Da la llave minima del rango
+	 * @return Llave lo
+	 */
+	public int getLo()
+	{
+		return lo;
+	}
+
+	/**
+	 * Da la llave maxima del rango
+	 * @return Llave hi
+	 */
+	public int getHi()
+	{
+		return hi;
+	}
+
+	/**
+	 * Numero de llaves del arbol dentro del rango, se calcula con los rank del arbol
+	 * @return Numero de elementos en el rango
+	 */
+	public int size()
+	{
+		return tree.size(lo, hi);
+	}
+
+	/**
+	 * Determina si no hay llaves del arbol dentro del rango
+	 * @return True si el rango esta vacio
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * Determina si la llave esta en el arbol y dentro del rango
+	 * @param key Llave a buscar
+	 * @return True si la llave esta en el rango
+	 */
+	public boolean contains(int key)
+	{
+		return key >= lo && key <= hi && tree.contains(key);
+	}
+
+	/**
+	 * Da el valor de la llave si esta dentro del rango
+	 * @param key Llave a buscar
+	 * @return Valor asociado o null si la llave no esta en el rango
+	 */
+	public Value get(int key)
+	{
+		if (key < lo || key > hi) return null;
+		return tree.get(key);
+	}
+
+	/**
+	 * Da la menor llave del arbol dentro del rango
+	 * @return Menor llave del rango
+	 * @throws NoSuchElementException si el rango esta vacio
+	 */
+	public int min()
+	{
+		if (isEmpty()) throw new NoSuchElementException("calls min() with empty range");
+		return tree.ceiling(lo);
+	}
+
+	/**
+	 * Da la mayor llave del arbol dentro del rango
+	 * @return Mayor llave del rango
+	 * @throws NoSuchElementException si el rango esta vacio
+	 */
+	public int max()
+	{
+		if (isEmpty()) throw new NoSuchElementException("calls max() with empty range");
+		return tree.floor(hi);
+	}
+
+	/**
+	 * Llaves del rango en orden ascendente
+	 * @return Llaves del rango como un Iterable
+	 */
+	public Iterable<Integer> keys()
+	{
+		return tree.keys(lo, hi);
+	}
+
+	/**
+	 * Valores del rango en el orden ascendente de sus llaves
+	 * @return Valores del rango como un Iterable
+	 */
+	public Iterable<Value> values()
+	{
+		return tree.values(lo, hi);
+	}
+
+	/**
+	 * Aplica la accion a cada llave del rango y su valor en orden ascendente
+	 * @param visitor Accion a aplicar
+	 */
+	public void forEach(IntRedBlackBST.Visitor<? super Value> visitor)
+	{
+		tree.forEach(lo, hi, visitor);
+	}
+}
@@ -0,0 +1,1053 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Arbol RedBlackBST especializado para llaves de tipo int primitivo.
+ * Tiene la misma API que RedBlackBST pero las llaves se guardan y comparan directamente como int,
+ * sin objetos llave ni llamadas a compareTo.
+ * @author Julian Padilla - Pablo Pastrana
+ * Usamos metodos del Libro Algorithms 4 edition los autores son: Robert Sedgewick y Kevin Wayne.
+ * @param <Value> Value de tipo generico
+ */
+public class IntRedBlackBST <Value>
+{
+	// Constants
+
+	/**
+	 * Constant boolean - RED
+	 */
+	private static final boolean RED   = true;
+
+	/**
+	 * Constant boolean - BLACK
+	 */
+	private static final boolean BLACK = false;
+
+	// Atributes
+
+	/**
+	 * root of the BST
+	 */
+	private Node root;
+
+	/**
+	 * number of insertions and deletions, the iterators fail if it changes while they walk the tree
+	 */
+	private int modCount;
+
+	// Interface for the visitors
+
+	/**
+	 * Action applied to each key-value pair of the tree, the key is received as a primitive int
+	 * @param <Value> Value de tipo generico
+	 */
+	public interface Visitor <Value>
+	{
+		/**
+		 * Visits one pair of the tree
+		 * @param key key of the pair
+		 * @param val value of the pair
+		 */
+		void visit(int key, Value val);
+	}
+
+	// Class Node for the IntRedBlackBST
+
+	/**
+	 * BST helper node data type with a primitive key
+	 * @author Julian Padilla - Pablo Pastrana
+	 */
+	private class Node
+	{
+		// Atributes
+
+		/**
+		 * key
+		 */
+		private int key;
+
+		/**
+		 * associated data
+		 */
+		private Value val;
+
+		/**
+		 * links to left and right subtrees
+		 */
+		private Node left, right;
+
+		/**
+		 * color of parent link
+		 */
+		private boolean color;
+
+		/**
+		 * subtree count
+		 */
+		private int size;
+
+		// Construct Method
+
+		/**
+		 * Construct method of the node for the IntRedBlackBST
+		 * @param key Key of the node
+		 * @param val Value of the node
+		 * @param color Color of the parent link
+		 * @param size Size of the subtree
+		 */
+		public Node(int key, Value val, boolean color, int size)
+		{
+			this.key = key;
+			this.val = val;
+			this.color = color;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * Initializes an empty symbol table.
+	 */
+	public IntRedBlackBST()
+	{
+
+	}
+
+	/**
+	 * Initializes a symbol table with the given key-value pairs, built bottom-up in linear time
+	 * when the keys are already in ascending order. Unsorted keys are sorted first (O(n log n)).
+	 * The result is the same as calling {@code put(keys[i], vals[i])} for every i in order.
+	 * @param keys keys of the pairs
+	 * @param vals values of the pairs, {@code vals[i]} is associated with {@code keys[i]}
+	 * @throws IllegalArgumentException if the arrays are {@code null} or have different lengths
+	 */
+	public IntRedBlackBST(int[] keys, Value[] vals)
+	{
+		if (keys == null || vals == null) throw new IllegalArgumentException("arguments to IntRedBlackBST() are null");
+		if (keys.length != vals.length) throw new IllegalArgumentException("keys and values have different lengths");
+
+		int n = keys.length;
+		boolean sorted = true;
+		for (int i = 0; i < n && sorted; i++)
+		{
+			if (vals[i] == null || (i > 0 && keys[i - 1] >= keys[i])) sorted = false;
+		}
+
+		if (!sorted)
+		{
+			int[] order = new int[n];
+			for (int i = 0; i < n; i++) order[i] = i;
+			sort(keys, order, new int[n], 0, n - 1);
+
+			// keep the last value of each key and drop the keys whose last value is null
+			int[] sortedKeys = new int[n];
+			Value[] sortedVals = Arrays.copyOf(vals, n);
+			int m = 0;
+			for (int i = 0; i < n; i++)
+			{
+				if (i + 1 < n && keys[order[i]] == keys[order[i + 1]]) continue;
+				if (vals[order[i]] == null) continue;
+				sortedKeys[m] = keys[order[i]];
+				sortedVals[m] = vals[order[i]];
+				m++;
+			}
+			keys = sortedKeys;
+			vals = sortedVals;
+			n = m;
+		}
+
+		if (n == 0) return;
+
+		// the levels above the deepest one are full; if the deepest level is not full its nodes are red
+		int deepest = 31 - Integer.numberOfLeadingZeros(n);
+		int redDepth = (n == (1 << (deepest + 1)) - 1) ? -1 : deepest;
+		root = build(keys, vals, null, 0, n - 1, 0, redDepth);
+		root.color = BLACK;
+	}
+
+	/**
+	 * Initializes a symbol table in which every key is associated with the same value, built bottom-up in linear time
+	 * when the keys are in strictly ascending order; otherwise a sorted copy of the keys without repeated keys is used.
+	 * No value array is needed, useful when the value of a key can be derived from its rank.
+	 * @param keys keys of the table
+	 * @param val value of every key
+	 * @throws IllegalArgumentException if the keys or the value are {@code null}
+	 */
+	public IntRedBlackBST(int[] keys, Value val)
+	{
+		if (keys == null || val == null) throw new IllegalArgumentException("arguments to IntRedBlackBST() are null");
+
+		int n = keys.length;
+		boolean sorted = true;
+		for (int i = 1; i < n && sorted; i++)
+		{
+			if (keys[i - 1] >= keys[i]) sorted = false;
+		}
+
+		if (!sorted)
+		{
+			keys = keys.clone();
+			Arrays.sort(keys);
+			int m = 0;
+			for (int i = 0; i < n; i++)
+			{
+				if (m == 0 || keys[m - 1] != keys[i]) keys[m++] = keys[i];
+			}
+			n = m;
+		}
+
+		if (n == 0) return;
+
+		int deepest = 31 - Integer.numberOfLeadingZeros(n);
+		int redDepth = (n == (1 << (deepest + 1)) - 1) ? -1 : deepest;
+		root = build(keys, null, val, 0, n - 1, 0, redDepth);
+		root.color = BLACK;
+	}
+
+	/**
+	 * Build the subtree with the keys in [lo, hi] of the sorted arrays, splitting at the middle
+	 * and applying the fix-ups of put() bottom-up.
+	 * @param keys sorted keys
+	 * @param vals values of the keys, or {@code null} if every key has the value val
+	 * @param val value of every key when vals is {@code null}
+	 * @param lo first index of the subtree
+	 * @param hi last index of the subtree
+	 * @param depth depth of the root of the subtree
+	 * @param redDepth depth whose nodes are red, -1 if there is none
+	 * @return root of the subtree
+	 */
+	private Node build(int[] keys, Value[] vals, Value val, int lo, int hi, int depth, int redDepth)
+	{
+		if (lo > hi) return null;
+		int mid = (lo + hi) >>> 1;
+		Node h = new Node(keys[mid], vals == null ? val : vals[mid], depth == redDepth ? RED : BLACK, 1);
+		h.left  = build(keys, vals, val, lo, mid - 1, depth + 1, redDepth);
+		h.right = build(keys, vals, val, mid + 1, hi, depth + 1, redDepth);
+		h.size = size(h.left) + size(h.right) + 1;
+
+		if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
+		if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
+		if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
+		return h;
+	}
+
+	/**
+	 * Stable merge sort of the positions in order[lo..hi] by their keys
+	 * @param keys keys to compare
+	 * @param order positions to sort
+	 * @param aux auxiliary array of the same length
+	 * @param lo first index
+	 * @param hi last index
+	 */
+	private static void sort(int[] keys, int[] order, int[] aux, int lo, int hi)
+	{
+		if (hi <= lo) return;
+		int mid = (lo + hi) >>> 1;
+		sort(keys, order, aux, lo, mid);
+		sort(keys, order, aux, mid + 1, hi);
+		if (keys[order[mid]] <= keys[order[mid + 1]]) return;
+
+		System.arraycopy(order, lo, aux, lo, hi - lo + 1);
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++)
+		{
+			if      (i > mid)                      order[k] = aux[j++];
+			else if (j > hi)                       order[k] = aux[i++];
+			else if (keys[aux[j]] < keys[aux[i]])  order[k] = aux[j++];
+			else                                   order[k] = aux[i++];
+		}
+	}
+
+	/**
+	 * is node x red; false if x is null ?
+	 * @param x Node
+	 * @return Is the node red?
+	 */
+	private boolean isRed(Node x)
+	{
+		if (x == null) return false;
+		return x.color == RED;
+	}
+
+	/**
+	 * number of node in subtree rooted at x; 0 if x is null
+	 * @param x Node
+	 * @return The size of the subtree
+	 */
+	private int size(Node x)
+	{
+		if (x == null) return 0;
+		return x.size;
+	}
+
+	/**
+	 * Returns the number of key-value pairs in this symbol table.
+	 * @return the number of key-value pairs in this symbol table
+	 */
+	public int size()
+	{
+		return size(root);
+	}
+
+	/**
+	 * Is this symbol table empty?
+	 * @return {@code true} if this symbol table is empty and {@code false} otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return root == null;
+	}
+
+    /**
+     * Returns the value associated with the given key.
+     * @param key the key
+     * @return the value associated with the given key if the key is in the symbol table and {@code null} if the key is not in the symbol table
+     */
+    public Value get(int key)
+    {
+        Node x = root;
+        while (x != null) {
+            if      (key < x.key) x = x.left;
+            else if (key > x.key) x = x.right;
+            else                  return x.val;
+        }
+        return null;
+    }
+
+    /**
+     * Does this symbol table contain the given key?
+     * @param key the key
+     * @return {@code true} if this symbol table contains {@code key} and {@code false} otherwise
+     */
+    public boolean contains(int key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Inserts the specified key-value pair into the symbol table, overwriting the old
+     * value with the new value if the symbol table already contains the specified key.
+     * Deletes the specified key (and its associated value) from this symbol table
+     * if the specified value is {@code null}.
+     * @param key the key
+     * @param val the value
+     */
+    public void put(int key, Value val)
+    {
+        if (val == null) {
+            delete(key);
+            return;
+        }
+
+        root = put(root, key, val);
+        root.color = BLACK;
+    }
+
+    /**
+     * Insert the key-value pair in the subtree rooted at h
+     * @param h Node
+     * @param key Key of the node
+     * @param val Value of the node
+     * @return Root of the subtree after the insertion
+     */
+    private Node put(Node h, int key, Value val)
+    {
+        if (h == null) {
+            modCount++;
+            return new Node(key, val, RED, 1);
+        }
+
+        if      (key < h.key) h.left  = put(h.left,  key, val);
+        else if (key > h.key) h.right = put(h.right, key, val);
+        else                  h.val   = val;
+
+        // fix-up any right-leaning links
+        if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
+        if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
+        if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
+        h.size = size(h.left) + size(h.right) + 1;
+
+        return h;
+    }
+
+    /**
+     * Removes the smallest key and associated value from the symbol table.
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public void deleteMin()
+    {
+        if (isEmpty()) throw new NoSuchElementException("BST underflow");
+        modCount++;
+
+        // if both children of root are black, set root to red
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = deleteMin(root);
+        if (!isEmpty()) root.color = BLACK;
+    }
+
+    /**
+     * Delete the key-value pair with the minimum key rooted at h
+     * @param h Node
+     * @return Root of the subtree after the deletion
+     */
+    private Node deleteMin(Node h)
+    {
+        if (h.left == null)
+            return null;
+
+        if (!isRed(h.left) && !isRed(h.left.left))
+            h = moveRedLeft(h);
+
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    /**
+     * Removes the largest key and associated value from the symbol table.
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public void deleteMax()
+    {
+        if (isEmpty()) throw new NoSuchElementException("BST underflow");
+        modCount++;
+
+        // if both children of root are black, set root to red
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = deleteMax(root);
+        if (!isEmpty()) root.color = BLACK;
+    }
+
+    /**
+     * Delete the key-value pair with the maximum key rooted at h
+     * @param h Node
+     * @return Root of the subtree after the deletion
+     */
+    private Node deleteMax(Node h)
+    {
+        if (isRed(h.left))
+            h = rotateRight(h);
+
+        if (h.right == null)
+            return null;
+
+        if (!isRed(h.right) && !isRed(h.right.left))
+            h = moveRedRight(h);
+
+        h.right = deleteMax(h.right);
+
+        return balance(h);
+    }
+
+    /**
+     * Removes the specified key and its associated value from this symbol table
+     * (if the key is in this symbol table).
+     * @param  key the key
+     */
+    public void delete(int key)
+    {
+        if (!contains(key)) return;
+        modCount++;
+
+        // if both children of root are black, set root to red
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = delete(root, key);
+        if (!isEmpty()) root.color = BLACK;
+    }
+
+    /**
+     * Delete the key-value pair with the given key rooted at h
+     * @param h Node
+     * @param key Key of the node
+     * @return Root of the subtree after the deletion
+     */
+    private Node delete(Node h, int key)
+    {
+        if (key < h.key)
+        {
+            if (!isRed(h.left) && !isRed(h.left.left))
+                h = moveRedLeft(h);
+            h.left = delete(h.left, key);
+        }
+        else {
+            if (isRed(h.left))
+                h = rotateRight(h);
+            if (key == h.key && (h.right == null))
+                return null;
+            if (!isRed(h.right) && !isRed(h.right.left))
+                h = moveRedRight(h);
+            if (key == h.key) {
+                Node x = min(h.right);
+                h.key = x.key;
+                h.val = x.val;
+                h.right = deleteMin(h.right);
+            }
+            else h.right = delete(h.right, key);
+        }
+        return balance(h);
+    }
+
+    /**
+     * Make a left-leaning link lean to the right
+     * @param h Node
+     * @return Rotate rigth
+     */
+    private Node rotateRight(Node h)
+    {
+        Node x = h.left;
+        h.left = x.right;
+        x.right = h;
+        x.color = x.right.color;
+        x.right.color = RED;
+        x.size = h.size;
+        h.size = size(h.left) + size(h.right) + 1;
+        return x;
+    }
+
+    /**
+     * Make a right-leaning link lean to the left
+     * @param h Node
+     * @return Rotate left
+     */
+    private Node rotateLeft(Node h)
+    {
+        Node x = h.right;
+        h.right = x.left;
+        x.left = h;
+        x.color = x.left.color;
+        x.left.color = RED;
+        x.size = h.size;
+        h.size = size(h.left) + size(h.right) + 1;
+        return x;
+    }
+
+    /**
+     * Flip the colors of a node and its two children
+     * @param h Node
+     */
+    private void flipColors(Node h)
+    {
+        h.color = !h.color;
+        h.left.color = !h.left.color;
+        h.right.color = !h.right.color;
+    }
+
+    /**
+     * Assuming that h is red and both h.left and h.left.left are black, make h.left or one of its children red.
+     * @param h Node
+     * @return Move red Left
+     */
+    private Node moveRedLeft(Node h)
+    {
+        flipColors(h);
+        if (isRed(h.right.left))
+        {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Assuming that h is red and both h.right and h.right.left are black, make h.right or one of its children red.
+     * @param h Node
+     * @return Move red right
+     */
+    private Node moveRedRight(Node h)
+    {
+        flipColors(h);
+        if (isRed(h.left.left))
+        {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restore red-black tree invariant
+     * @param h Node
+     * @return Balance the subtree
+     */
+    private Node balance(Node h)
+    {
+        if (isRed(h.right))                      h = rotateLeft(h);
+        if (isRed(h.left) && isRed(h.left.left)) h = rotateRight(h);
+        if (isRed(h.left) && isRed(h.right))     flipColors(h);
+
+        h.size = size(h.left) + size(h.right) + 1;
+        return h;
+    }
+
+    /**
+     * Checks the integrity of the red-black tree (for debugging and tests).
+     * @return {@code true} if the tree is an ordered BST with consistent sizes,
+     *    no red right links, no two red links in a row and perfect black balance
+     */
+    public boolean check()
+    {
+        return isBST(root, Long.MIN_VALUE, Long.MAX_VALUE) && isSizeConsistent(root) && is23(root) && isBalanced();
+    }
+
+    // are all the keys of the subtree rooted at x strictly between min and max?
+    private boolean isBST(Node x, long min, long max)
+    {
+        if (x == null) return true;
+        if (x.key <= min || x.key >= max) return false;
+        return isBST(x.left, min, x.key) && isBST(x.right, x.key, max);
+    }
+
+    // are the size fields correct?
+    private boolean isSizeConsistent(Node x)
+    {
+        if (x == null) return true;
+        if (x.size != size(x.left) + size(x.right) + 1) return false;
+        return isSizeConsistent(x.left) && isSizeConsistent(x.right);
+    }
+
+    // Does the tree have no red right links, and at most one (left)
+    // red links in a row on any path?
+    private boolean is23(Node x)
+    {
+        if (x == null) return true;
+        if (isRed(x.right)) return false;
+        if (x != root && isRed(x) && isRed(x.left)) return false;
+        return is23(x.left) && is23(x.right);
+    }
+
+    // do all paths from root to leaf have same number of black edges?
+    private boolean isBalanced()
+    {
+        int black = 0;
+        Node x = root;
+        while (x != null)
+        {
+            if (!isRed(x)) black++;
+            x = x.left;
+        }
+        return isBalanced(root, black);
+    }
+
+    // does every path from the root to a leaf have the given number of black links?
+    private boolean isBalanced(Node x, int black)
+    {
+        if (x == null) return black == 0;
+        if (!isRed(x)) black--;
+        return isBalanced(x.left, black) && isBalanced(x.right, black);
+    }
+
+    /**
+     * Returns the height of the BST (for debugging).
+     * @return the height of the BST (a 1-node tree has height 0)
+     */
+    public int height()
+    {
+        return height(root);
+    }
+    private int height(Node x)
+    {
+        if (x == null) return -1;
+        return 1 + Math.max(height(x.left), height(x.right));
+    }
+
+    /**
+     * Returns the smallest key in the symbol table.
+     * @return the smallest key in the symbol table
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public int min()
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls min() with empty symbol table");
+        return min(root).key;
+    }
+
+    /**
+     * The smallest key in subtree rooted at x
+     * @param x Node
+     * @return Node min
+     */
+    private Node min(Node x)
+    {
+        while (x.left != null) x = x.left;
+        return x;
+    }
+
+    /**
+     * Returns the largest key in the symbol table.
+     * @return the largest key in the symbol table
+     * @throws NoSuchElementException if the symbol table is empty
+     */
+    public int max()
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls max() with empty symbol table");
+        return max(root).key;
+    }
+
+    /**
+     * the largest key in the subtree rooted at x
+     * @param x Node
+     * @return Node max
+     */
+    private Node max(Node x)
+    {
+        while (x.right != null) x = x.right;
+        return x;
+    }
+
+    /**
+     * Returns the largest key in the symbol table less than or equal to {@code key}.
+     * @param key the key
+     * @return the largest key in the symbol table less than or equal to {@code key}
+     * @throws NoSuchElementException if there is no such key
+     */
+    public int floor(int key)
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls floor() with empty symbol table");
+        Node x = floor(root, key);
+        if (x == null) throw new NoSuchElementException("argument to floor() is too small");
+        else           return x.key;
+    }
+
+    /**
+     * The largest key in the subtree rooted at x less than or equal to the given key
+     * @param x Node
+     * @param key Key to search
+     * @return Floor
+     */
+    private Node floor(Node x, int key)
+    {
+        if (x == null) return null;
+        if (key == x.key) return x;
+        if (key < x.key)  return floor(x.left, key);
+        Node t = floor(x.right, key);
+        if (t != null) return t;
+        else           return x;
+    }
+
+    /**
+     * Returns the smallest key in the symbol table greater than or equal to {@code key}.
+     * @param key the key
+     * @return the smallest key in the symbol table greater than or equal to {@code key}
+     * @throws NoSuchElementException if there is no such key
+     */
+    public int ceiling(int key)
+    {
+        if (isEmpty()) throw new NoSuchElementException("calls ceiling() with empty symbol table");
+        Node x = ceiling(root, key);
+        if (x == null) throw new NoSuchElementException("argument to ceiling() is too large");
+        else           return x.key;
+    }
+
+    /**
+     * The smallest key in the subtree rooted at x greater than or equal to the given key
+     * @param x Node
+     * @param key Key to search
+     * @return Ceiling
+     */
+    private Node ceiling(Node x, int key)
+    {
+        if (x == null) return null;
+        if (key == x.key) return x;
+        if (key > x.key)  return ceiling(x.right, key);
+        Node t = ceiling(x.left, key);
+        if (t != null) return t;
+        else           return x;
+    }
+
+    /**
+     * Return the key in the symbol table of a given {@code rank}.
+     * This key has the property that there are {@code rank} keys in
+     * the symbol table that are smaller.
+     * @param  rank the order statistic
+     * @return the key in the symbol table of given {@code rank}
+     * @throws IllegalArgumentException unless {@code rank} is between 0 and size() - 1
+     */
+    public int select(int rank)
+    {
+        if (rank < 0 || rank >= size())
+        {
+            throw new IllegalArgumentException("argument to select() is invalid: " + rank);
+        }
+        return select(root, rank);
+    }
+
+    /**
+     * Return key in BST rooted at x of given rank.
+     * Precondition: rank is in legal range.
+     * @param x Node
+     * @param rank
+     * @return Key of the given rank
+     */
+    private int select(Node x, int rank) {
+        int leftSize = size(x.left);
+        if      (leftSize > rank) return select(x.left,  rank);
+        else if (leftSize < rank) return select(x.right, rank - leftSize - 1);
+        else                      return x.key;
+    }
+
+    /**
+     * Return the number of keys in the symbol table strictly less than {@code key}.
+     * @param key the key
+     * @return the number of keys in the symbol table strictly less than {@code key}
+     */
+    public int rank(int key)
+    {
+        return rank(key, root);
+    }
+
+    /**
+     * Number of keys less than key in the subtree rooted at x
+     * @param key Key to search
+     * @param x Node
+     * @return Rank
+     */
+    private int rank(int key, Node x)
+    {
+        if (x == null) return 0;
+        if      (key < x.key) return rank(key, x.left);
+        else if (key > x.key) return 1 + size(x.left) + rank(key, x.right);
+        else                  return size(x.left);
+    }
+
+    /**
+     * Returns the number of keys in the symbol table in the given range.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return the number of keys in the symbol table between {@code lo} (inclusive) and {@code hi} (inclusive)
+     */
+    public int size(int lo, int hi)
+    {
+        if (lo > hi) return 0;
+        if (contains(hi)) return rank(hi) - rank(lo) + 1;
+        else              return rank(hi) - rank(lo);
+    }
+
+    /**
+     * Returns all keys in the symbol table as an {@code Iterable}, visited lazily in order.
+     * Inserting or deleting a key while iterating makes the next {@code next()} throw ConcurrentModificationException.
+     * Each key is boxed when it is returned, use {@link #forEach(Visitor)} to visit them as primitive int.
+     * @return all keys in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Integer> keys()
+    {
+        return () -> new KeyIterator(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns all values in the symbol table as an {@code Iterable}, visited lazily in the order of their keys.
+     * @return all values in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Value> Values()
+    {
+        return () -> new ValueIterator(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns all keys in the symbol table in the given range, as an {@code Iterable}.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all keys in the symbol table between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     */
+    public Iterable<Integer> keys(int lo, int hi)
+    {
+        return () -> new KeyIterator(lo, hi);
+    }
+
+    /**
+     * Returns all values in the symbol table with keys in the given range, as an {@code Iterable}.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all values with keys between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     */
+    public Iterable<Value> values(int lo, int hi)
+    {
+        return () -> new ValueIterator(lo, hi);
+    }
+
+    /**
+     * Returns the keys in the symbol table in the given range as a new array in ascending order.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return the keys between {@code lo} (inclusive) and {@code hi} (inclusive)
+     */
+    public int[] keysArray(int lo, int hi)
+    {
+        int[] result = new int[size(lo, hi)];
+        KeyIterator it = new KeyIterator(lo, hi);
+        for (int i = 0; i < result.length; i++) result[i] = it.nextNode().key;
+        return result;
+    }
+
+    /**
+     * Visits every key-value pair in the symbol table in order of their keys.
+     * @param visitor action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}
+     */
+    public void forEach(Visitor<? super Value> visitor)
+    {
+        forEach(Integer.MIN_VALUE, Integer.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visits the key-value pairs with keys in the given range in order of their keys, without building any collection.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @param  visitor action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}
+     */
+    public void forEach(int lo, int hi, Visitor<? super Value> visitor)
+    {
+        if (visitor == null) throw new IllegalArgumentException("visitor of forEach() is null");
+        forEach(root, lo, hi, visitor);
+    }
+
+    // visit the pairs between lo and hi in the subtree rooted at x
+    private void forEach(Node x, int lo, int hi, Visitor<? super Value> visitor)
+    {
+        if (x == null) return;
+        if (lo < x.key) forEach(x.left, lo, hi, visitor);
+        if (lo <= x.key && hi >= x.key) visitor.visit(x.key, x.val);
+        if (hi > x.key) forEach(x.right, lo, hi, visitor);
+    }
+
+    /**
+     * Returns a read-only view of the keys in the symbol table in the given range.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return a view of the keys between {@code lo} (inclusive) and {@code hi} (inclusive)
+     */
+    public IntRangeView<Value> range(int lo, int hi)
+    {
+        return new IntRangeView<Value>(this, lo, hi);
+    }
+
+    /**
+     * In-order iterator over the nodes with keys between lo and hi, walking the tree on demand
+     * with an explicit stack of at most height + 1 nodes.
+     * If a key is inserted or deleted while iterating, the next call to {@code next()} throws ConcurrentModificationException.
+     * @param <T> Type of the element returned for each node
+     */
+    private abstract class InOrderIterator<T> implements Iterator<T>
+    {
+        /**
+         * modCount when the iterator was created
+         */
+        private final int expectedModCount = modCount;
+
+        /**
+         * minimum endpoint
+         */
+        private final int lo;
+
+        /**
+         * maximum endpoint
+         */
+        private final int hi;
+
+        /**
+         * nodes in range whose key and right subtree have not been visited yet
+         */
+        private Object[] stack;
+
+        /**
+         * number of nodes in the stack
+         */
+        private int top;
+
+        /**
+         * Creates the iterator positioned before the smallest key in range
+         * @param lo minimum endpoint
+         * @param hi maximum endpoint
+         */
+        public InOrderIterator(int lo, int hi)
+        {
+            this.lo = lo;
+            this.hi = hi;
+            this.stack = new Object[16];
+            pushLeft(root);
+        }
+
+        /**
+         * Push the path of in-range nodes from x to the smallest key in range of its subtree
+         * @param x Node
+         */
+        private void pushLeft(Node x)
+        {
+            while (x != null)
+            {
+                if      (lo > x.key) x = x.right;
+                else if (hi < x.key) x = x.left;
+                else
+                {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, 2 * top);
+                    stack[top++] = x;
+                    x = (lo < x.key) ? x.left : null;
+                }
+            }
+        }
+
+        /**
+         * Next node in order, advancing the traversal
+         * @return Node
+         */
+        @SuppressWarnings("unchecked")
+        protected Node nextNode()
+        {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (top == 0) throw new NoSuchElementException("no more keys in range");
+            Node x = (Node) stack[--top];
+            stack[top] = null;
+            if (hi > x.key) pushLeft(x.right);
+            return x;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return top > 0;
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the keys of a range
+     */
+    private class KeyIterator extends InOrderIterator<Integer>
+    {
+        public KeyIterator(int lo, int hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Integer next()
+        {
+            return nextNode().key;
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the values of a range
+     */
+    private class ValueIterator extends InOrderIterator<Value>
+    {
+        public ValueIterator(int lo, int hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Value next()
+        {
+            return nextNode().val;
+        }
+    }
+}
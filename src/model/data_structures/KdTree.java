@@ -0,0 +1,462 @@
+package model.data_structures;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Arbol k-d estatico de puntos en el plano para consultas por region (rectangulo, circulo y poligono) y de k vecinos mas cercanos.
+ * Se construye una sola vez con todos los puntos; cada punto tiene un identificador entero, por ejemplo su fila en el almacen.
+ * El arbol no tiene objetos nodo: los puntos se reordenan de forma que el subarbol del rango [lo, hi) tiene su punto de corte
+ * en la mitad m, los puntos con coordenada menor o igual en [lo, m) y los mayores o iguales en (m, hi).
+ * El eje de corte alterna entre x (profundidad par) y y (profundidad impar), y los rangos de a lo sumo HOJA puntos se recorren completos.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class KdTree
+{
+	/**
+	 * Numero maximo de puntos de una hoja
+	 */
+	private static final int HOJA = 8;
+
+	/**
+	 * Coordenada x de cada punto en el orden del arbol
+	 */
+	private final double[] xs;
+
+	/**
+	 * Coordenada y de cada punto en el orden del arbol
+	 */
+	private final double[] ys;
+
+	/**
+	 * Identificador de cada punto en el orden del arbol
+	 */
+	private final int[] ids;
+
+	/**
+	 * Rectangulo que contiene todos los puntos
+	 */
+	private double cajaMinX, cajaMinY, cajaMaxX, cajaMaxY;
+
+	/**
+	 * Construye el arbol con los puntos (pX[i], pY[i]) identificados por i en O(n log n), los arreglos no se modifican
+	 * @param pX Coordenadas x
+	 * @param pY Coordenadas y
+	 * @throws IllegalArgumentException si los arreglos son null, tienen distinto tamanio o alguna coordenada es NaN
+	 */
+	public KdTree(double[] pX, double[] pY)
+	{
+		this(pX, pY, null);
+	}
+
+	/**
+	 * Construye el arbol con los puntos (pX[i], pY[i]) identificados por pIds[i] en O(n log n), los arreglos no se modifican
+	 * @param pX Coordenadas x
+	 * @param pY Coordenadas y
+	 * @param pIds Identificador de cada punto, o null para usar la posicion i
+	 * @throws IllegalArgumentException si los arreglos son null, tienen distinto tamanio o alguna coordenada es NaN
+	 */
+	public KdTree(double[] pX, double[] pY, int[] pIds)
+	{
+		if (pX == null || pY == null) throw new IllegalArgumentException("arguments to KdTree() are null");
+		if (pX.length != pY.length || (pIds != null && pIds.length != pX.length)) throw new IllegalArgumentException("arrays have different lengths");
+		int n = pX.length;
+		xs = pX.clone();
+		ys = pY.clone();
+		ids = new int[n];
+		cajaMinX = Double.POSITIVE_INFINITY;
+		cajaMinY = Double.POSITIVE_INFINITY;
+		cajaMaxX = Double.NEGATIVE_INFINITY;
+		cajaMaxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++)
+		{
+			if (Double.isNaN(xs[i]) || Double.isNaN(ys[i])) throw new IllegalArgumentException("point " + i + " has a NaN coordinate");
+			ids[i] = (pIds == null) ? i : pIds[i];
+			cajaMinX = Math.min(cajaMinX, xs[i]);
+			cajaMinY = Math.min(cajaMinY, ys[i]);
+			cajaMaxX = Math.max(cajaMaxX, xs[i]);
+			cajaMaxY = Math.max(cajaMaxY, ys[i]);
+		}
+		construir(0, n, 0);
+	}
+
+	/**
+	 * Ubica el punto de corte de [lo, hi) en la mitad y construye los dos lados
+	 */
+	private void construir(int lo, int hi, int profundidad)
+	{
+		while (hi - lo > HOJA)
+		{
+			int m = (lo + hi) >>> 1;
+			seleccionar(lo, hi - 1, m, (profundidad & 1) == 0 ? xs : ys);
+			construir(lo, m, profundidad + 1);
+			// el lado derecho se construye en el mismo ciclo
+			lo = m + 1;
+			profundidad++;
+		}
+	}
+
+	/**
+	 * Quickselect de Hoare: deja en k el punto que iria ahi si [lo, hi] estuviera ordenado por la coordenada c,
+	 * con los menores o iguales antes y los mayores o iguales despues
+	 */
+	private void seleccionar(int lo, int hi, int k, double[] c)
+	{
+		while (hi > lo)
+		{
+			// pivote: mediana de tres
+			int mid = (lo + hi) >>> 1;
+			if (c[mid] < c[lo]) intercambiar(mid, lo);
+			if (c[hi] < c[lo]) intercambiar(hi, lo);
+			if (c[hi] < c[mid]) intercambiar(hi, mid);
+			double pivote = c[mid];
+			int i = lo;
+			int j = hi;
+			while (i <= j)
+			{
+				while (c[i] < pivote) i++;
+				while (c[j] > pivote) j--;
+				if (i <= j)
+				{
+					intercambiar(i, j);
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) hi = j;
+			else if (k >= i) lo = i;
+			else return;
+		}
+	}
+
+	private void intercambiar(int i, int j)
+	{
+		double x = xs[i]; xs[i] = xs[j]; xs[j] = x;
+		double y = ys[i]; ys[i] = ys[j]; ys[j] = y;
+		int id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+	}
+
+	/**
+	 * Retorna el numero de puntos del arbol
+	 * @return Numero de puntos
+	 */
+	public int size()
+	{
+		return ids.length;
+	}
+
+	/**
+	 * Determina si el arbol no tiene puntos
+	 * @return True si no hay puntos
+	 */
+	public boolean isEmpty()
+	{
+		return ids.length == 0;
+	}
+
+	/**
+	 * Entrega los identificadores de los puntos dentro del rectangulo (bordes incluidos), sin ningun orden.
+	 * Los subarboles cuya region queda dentro del rectangulo se entregan completos sin comparar sus puntos
+	 * @param pMinX x minima
+	 * @param pMinY y minima
+	 * @param pMaxX x maxima
+	 * @param pMaxY y maxima
+	 * @param pAccion Accion que recibe cada identificador
+	 */
+	public void range(double pMinX, double pMinY, double pMaxX, double pMaxY, IntConsumer pAccion)
+	{
+		if (pAccion == null) throw new IllegalArgumentException("action is null");
+		if (isEmpty() || pMinX > pMaxX || pMinY > pMaxY) return;
+		new Rectangulo(pMinX, pMinY, pMaxX, pMaxY, pAccion).visitar(0, ids.length, 0, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY);
+	}
+
+	/**
+	 * Entrega los identificadores de los puntos a distancia euclidiana menor o igual a pRadio de (pX, pY), sin ningun orden
+	 * @param pX x del centro
+	 * @param pY y del centro
+	 * @param pRadio Radio del circulo
+	 * @param pAccion Accion que recibe cada identificador
+	 */
+	public void radius(double pX, double pY, double pRadio, IntConsumer pAccion)
+	{
+		if (pAccion == null) throw new IllegalArgumentException("action is null");
+		if (isEmpty() || !(pRadio >= 0)) return;
+		new Circulo(pX, pY, pRadio, pAccion).visitar(0, ids.length, 0, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY);
+	}
+
+	/**
+	 * Entrega los identificadores de los puntos dentro del poligono simple de vertices (pX[i], pY[i]), sin ningun orden.
+	 * Se descartan los subarboles fuera del rectangulo que contiene al poligono y a los puntos restantes se les aplica la prueba del rayo
+	 * @param pX Coordenadas x de los vertices, en orden
+	 * @param pY Coordenadas y de los vertices, en orden
+	 * @param pAccion Accion que recibe cada identificador
+	 * @throws IllegalArgumentException si el poligono tiene menos de tres vertices
+	 */
+	public void polygon(double[] pX, double[] pY, IntConsumer pAccion)
+	{
+		if (pX == null || pY == null || pX.length != pY.length || pX.length < 3) throw new IllegalArgumentException("a polygon needs at least three vertices");
+		if (pAccion == null) throw new IllegalArgumentException("action is null");
+		if (isEmpty()) return;
+		double pMinX = Double.POSITIVE_INFINITY, pMinY = Double.POSITIVE_INFINITY;
+		double pMaxX = Double.NEGATIVE_INFINITY, pMaxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < pX.length; i++)
+		{
+			pMinX = Math.min(pMinX, pX[i]);
+			pMinY = Math.min(pMinY, pY[i]);
+			pMaxX = Math.max(pMaxX, pX[i]);
+			pMaxY = Math.max(pMaxY, pY[i]);
+		}
+		new Poligono(pX.clone(), pY.clone(), pMinX, pMinY, pMaxX, pMaxY, pAccion).visitar(0, ids.length, 0, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY);
+	}
+
+	/**
+	 * Busca los k puntos mas cercanos a (pX, pY) por distancia euclidiana.
+	 * Ramificacion y poda: un monticulo de maximos acotado guarda los k mejores vistos, cada subarbol se visita primero
+	 * por el lado del punto de consulta, y un subarbol se descarta si la distancia del punto a su region ya es mayor
+	 * que la del k-esimo mejor. Los empates de distancia se resuelven en cualquier orden
+	 * @param pX x del punto de consulta
+	 * @param pY y del punto de consulta
+	 * @param pK Numero de vecinos
+	 * @param pDistancias Arreglo de al menos min(k, size()) posiciones donde se copian las distancias, o null
+	 * @return Identificadores de los min(k, size()) puntos mas cercanos, del mas cercano al mas lejano
+	 * @throws IllegalArgumentException si k no es positivo
+	 */
+	public int[] nearest(double pX, double pY, int pK, double[] pDistancias)
+	{
+		if (pK <= 0) throw new IllegalArgumentException("k must be positive: " + pK);
+		if (isEmpty()) return new int[0];
+		BoundedMaxHeap mejores = new BoundedMaxHeap(Math.min(pK, ids.length));
+		cercanos(pX, pY, mejores, 0, ids.length, 0, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY);
+		int[] resultado = mejores.drainAscending(pDistancias);
+		if (pDistancias != null)
+		{
+			for (int i = 0; i < resultado.length; i++) pDistancias[i] = Math.sqrt(pDistancias[i]);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Visita el subarbol [lo, hi) con region [cMinX, cMaxX] x [cMinY, cMaxY] ofreciendo sus puntos al monticulo,
+	 * con distancias al cuadrado
+	 */
+	private void cercanos(double x, double y, BoundedMaxHeap mejores, int lo, int hi, int profundidad,
+			double cMinX, double cMinY, double cMaxX, double cMaxY)
+	{
+		if (lo >= hi) return;
+		double dx = Math.max(0, Math.max(cMinX - x, x - cMaxX));
+		double dy = Math.max(0, Math.max(cMinY - y, y - cMaxY));
+		if (dx * dx + dy * dy > mejores.bound()) return;
+
+		if (hi - lo <= HOJA)
+		{
+			for (int i = lo; i < hi; i++)
+			{
+				double ex = xs[i] - x;
+				double ey = ys[i] - y;
+				mejores.offer(ex * ex + ey * ey, ids[i]);
+			}
+			return;
+		}
+		int m = (lo + hi) >>> 1;
+		double ex = xs[m] - x;
+		double ey = ys[m] - y;
+		mejores.offer(ex * ex + ey * ey, ids[m]);
+		if ((profundidad & 1) == 0)
+		{
+			if (x <= xs[m])
+			{
+				cercanos(x, y, mejores, lo, m, profundidad + 1, cMinX, cMinY, xs[m], cMaxY);
+				cercanos(x, y, mejores, m + 1, hi, profundidad + 1, xs[m], cMinY, cMaxX, cMaxY);
+			}
+			else
+			{
+				cercanos(x, y, mejores, m + 1, hi, profundidad + 1, xs[m], cMinY, cMaxX, cMaxY);
+				cercanos(x, y, mejores, lo, m, profundidad + 1, cMinX, cMinY, xs[m], cMaxY);
+			}
+		}
+		else
+		{
+			if (y <= ys[m])
+			{
+				cercanos(x, y, mejores, lo, m, profundidad + 1, cMinX, cMinY, cMaxX, ys[m]);
+				cercanos(x, y, mejores, m + 1, hi, profundidad + 1, cMinX, ys[m], cMaxX, cMaxY);
+			}
+			else
+			{
+				cercanos(x, y, mejores, m + 1, hi, profundidad + 1, cMinX, ys[m], cMaxX, cMaxY);
+				cercanos(x, y, mejores, lo, m, profundidad + 1, cMinX, cMinY, cMaxX, ys[m]);
+			}
+		}
+	}
+
+	/**
+	 * Prueba del rayo: cuenta los lados que cruza un rayo horizontal desde el punto hacia la derecha
+	 * @return True si el punto esta dentro del poligono
+	 */
+	static boolean dentroDePoligono(double[] pX, double[] pY, double x, double y)
+	{
+		boolean dentro = false;
+		for (int i = 0, j = pX.length - 1; i < pX.length; j = i++)
+		{
+			if ((pY[i] > y) != (pY[j] > y) && x < (pX[j] - pX[i]) * (y - pY[i]) / (pY[j] - pY[i]) + pX[i])
+			{
+				dentro = !dentro;
+			}
+		}
+		return dentro;
+	}
+
+	/**
+	 * Recorrido de una consulta por region. La region de cada subarbol es el rectangulo [cMinX, cMaxX] x [cMinY, cMaxY];
+	 * si la consulta no toca la region el subarbol se descarta y si la contiene toda se entrega sin revisar sus puntos
+	 */
+	private abstract class Consulta
+	{
+		protected final IntConsumer accion;
+
+		protected Consulta(IntConsumer pAccion)
+		{
+			accion = pAccion;
+		}
+
+		/**
+		 * Determina si la consulta puede tener puntos en la region
+		 */
+		protected abstract boolean toca(double cMinX, double cMinY, double cMaxX, double cMaxY);
+
+		/**
+		 * Determina si toda la region esta dentro de la consulta
+		 */
+		protected abstract boolean contiene(double cMinX, double cMinY, double cMaxX, double cMaxY);
+
+		/**
+		 * Determina si el punto esta dentro de la consulta
+		 */
+		protected abstract boolean contiene(double x, double y);
+
+		void visitar(int lo, int hi, int profundidad, double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			if (lo >= hi || !toca(cMinX, cMinY, cMaxX, cMaxY)) return;
+			if (contiene(cMinX, cMinY, cMaxX, cMaxY))
+			{
+				for (int i = lo; i < hi; i++) accion.accept(ids[i]);
+				return;
+			}
+			if (hi - lo <= HOJA)
+			{
+				for (int i = lo; i < hi; i++)
+				{
+					if (contiene(xs[i], ys[i])) accion.accept(ids[i]);
+				}
+				return;
+			}
+			int m = (lo + hi) >>> 1;
+			if (contiene(xs[m], ys[m])) accion.accept(ids[m]);
+			if ((profundidad & 1) == 0)
+			{
+				visitar(lo, m, profundidad + 1, cMinX, cMinY, xs[m], cMaxY);
+				visitar(m + 1, hi, profundidad + 1, xs[m], cMinY, cMaxX, cMaxY);
+			}
+			else
+			{
+				visitar(lo, m, profundidad + 1, cMinX, cMinY, cMaxX, ys[m]);
+				visitar(m + 1, hi, profundidad + 1, cMinX, ys[m], cMaxX, cMaxY);
+			}
+		}
+	}
+
+	/**
+	 * Consulta por rectangulo
+	 */
+	private class Rectangulo extends Consulta
+	{
+		private final double minX, minY, maxX, maxY;
+
+		Rectangulo(double pMinX, double pMinY, double pMaxX, double pMaxY, IntConsumer pAccion)
+		{
+			super(pAccion);
+			minX = pMinX;
+			minY = pMinY;
+			maxX = pMaxX;
+			maxY = pMaxY;
+		}
+
+		protected boolean toca(double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			return cMinX <= maxX && cMaxX >= minX && cMinY <= maxY && cMaxY >= minY;
+		}
+
+		protected boolean contiene(double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			return minX <= cMinX && cMaxX <= maxX && minY <= cMinY && cMaxY <= maxY;
+		}
+
+		protected boolean contiene(double x, double y)
+		{
+			return minX <= x && x <= maxX && minY <= y && y <= maxY;
+		}
+	}
+
+	/**
+	 * Consulta por circulo, compara distancias al cuadrado
+	 */
+	private class Circulo extends Consulta
+	{
+		private final double cx, cy, r2;
+
+		Circulo(double pX, double pY, double pRadio, IntConsumer pAccion)
+		{
+			super(pAccion);
+			cx = pX;
+			cy = pY;
+			r2 = pRadio * pRadio;
+		}
+
+		protected boolean toca(double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			// distancia del centro al punto mas cercano de la region
+			double dx = Math.max(0, Math.max(cMinX - cx, cx - cMaxX));
+			double dy = Math.max(0, Math.max(cMinY - cy, cy - cMaxY));
+			return dx * dx + dy * dy <= r2;
+		}
+
+		protected boolean contiene(double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			// distancia del centro a la esquina mas lejana de la region
+			double dx = Math.max(cx - cMinX, cMaxX - cx);
+			double dy = Math.max(cy - cMinY, cMaxY - cy);
+			return dx * dx + dy * dy <= r2;
+		}
+
+		protected boolean contiene(double x, double y)
+		{
+			double dx = x - cx;
+			double dy = y - cy;
+			return dx * dx + dy * dy <= r2;
+		}
+	}
+
+	/**
+	 * Consulta por poligono: el rectangulo del poligono descarta subarboles y la prueba del rayo decide cada punto
+	 */
+	private class Poligono extends Rectangulo
+	{
+		private final double[] vx, vy;
+
+		Poligono(double[] pX, double[] pY, double pMinX, double pMinY, double pMaxX, double pMaxY, IntConsumer pAccion)
+		{
+			super(pMinX, pMinY, pMaxX, pMaxY, pAccion);
+			vx = pX;
+			vy = pY;
+		}
+
+		protected boolean contiene(double cMinX, double cMinY, double cMaxX, double cMaxY)
+		{
+			return false;
+		}
+
+		protected boolean contiene(double x, double y)
+		{
+			return super.contiene(x, y) && dentroDePoligono(vx, vy, x, y);
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package model.data_structures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola enlazada sin candados que pueden usar varios productores y varios consumidores al tiempo, implementa la interfaz ILinkedQueue.
+ * Es el algoritmo de Michael y Scott: la lista siempre empieza en un nodo centinela, enqueue enlaza el nodo nuevo al ultimo
+ * con compareAndSet y dequeue avanza la cabeza con compareAndSet. Un hilo que encuentra la cola (tail) atrasada la avanza
+ * antes de reintentar, asi ninguna operacion espera a que otro hilo termine.
+ * @author Julian Padilla - Pablo Pastrana
+ * Usamos el algoritmo de: M. Michael y M. Scott, Simple, Fast, and Practical Non-Blocking and Blocking Concurrent Queue Algorithms (1996).
+ * @param <E> Tipo Generico
+ */
+public class LockFreeQueue <E> implements ILinkedQueue<E>
+{
+	// Atributos
+
+	/**
+	 * Nodo centinela, su siguiente es el primer elemento de la cola
+	 */
+	private volatile Nodo<E> head;
+
+	/**
+	 * Ultimo nodo de la lista o uno que esta a un paso de serlo
+	 */
+	private volatile Nodo<E> tail;
+
+	/**
+	 * Numero de elementos, se suma despues de cada enqueue y se resta despues de cada dequeue
+	 */
+	private final LongAdder size;
+
+	private static final VarHandle HEAD;
+
+	private static final VarHandle TAIL;
+
+	private static final VarHandle NEXT;
+
+	static
+	{
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			HEAD = lookup.findVarHandle(LockFreeQueue.class, "head", Nodo.class);
+			TAIL = lookup.findVarHandle(LockFreeQueue.class, "tail", Nodo.class);
+			NEXT = lookup.findVarHandle(Nodo.class, "next", Nodo.class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Crea la cola vacia, con head y tail en el mismo centinela
+	 */
+	public LockFreeQueue()
+	{
+		Nodo<E> centinela = new Nodo<E>(null);
+		head = centinela;
+		tail = centinela;
+		size = new LongAdder();
+	}
+
+	/**
+	 * Dar el tamanio de la cola. Con otros hilos agregando o sacando es solo una aproximacion
+	 */
+	public int getSize()
+	{
+		long n = size.sum();
+		return (n < 0) ? 0 : (n > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) n;
+	}
+
+	/**
+	 * Determina si la cola esta vacia en este momento
+	 * @return True si la cola esta vacia
+	 */
+	public boolean isEmpty()
+	{
+		return head.next == null;
+	}
+
+	/**
+	 * Agrega el elemento al final de la cola
+	 * @param pItem Objeto a agregar, no puede ser null
+	 */
+	public void enqueue(E pItem)
+	{
+		if (pItem == null) throw new IllegalArgumentException("null items are not allowed");
+		Nodo<E> nuevo = new Nodo<E>(pItem);
+		while (true)
+		{
+			Nodo<E> t = tail;
+			Nodo<E> siguiente = t.next;
+			if (t != tail) continue;
+			if (siguiente == null)
+			{
+				if (NEXT.compareAndSet(t, (Nodo<E>) null, nuevo))
+				{
+					// si falla, otro hilo ya avanzo tail
+					TAIL.compareAndSet(this, t, nuevo);
+					size.increment();
+					return;
+				}
+			}
+			else
+			{
+				// tail esta atrasada, se ayuda a avanzarla
+				TAIL.compareAndSet(this, t, siguiente);
+			}
+		}
+	}
+
+	/**
+	 * Saca el primer elemento, o null si la cola esta vacia. Es la forma de sacar cuando hay varios consumidores,
+	 * porque entre isEmpty y dequeue otro hilo puede sacar el ultimo elemento
+	 * @return El objeto eliminado o null
+	 */
+	public E poll()
+	{
+		while (true)
+		{
+			Nodo<E> h = head;
+			Nodo<E> t = tail;
+			Nodo<E> primero = h.next;
+			if (h != head) continue;
+			if (primero == null) return null;
+			if (h == t)
+			{
+				// hay un elemento enlazado pero tail no lo alcanza todavia
+				TAIL.compareAndSet(this, t, primero);
+				continue;
+			}
+			E item = primero.item;
+			if (HEAD.compareAndSet(this, h, primero))
+			{
+				// primero es el nuevo centinela, no debe retener el elemento
+				primero.item = null;
+				size.decrement();
+				return item;
+			}
+		}
+	}
+
+	/**
+	 * Eliminar el primer objeto de la cola
+	 * @return El objeto eliminado de la cola
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	public E dequeue()
+	{
+		E item = poll();
+		if (item == null) throw new NoSuchElementException("Queue underflow");
+		return item;
+	}
+
+	/**
+	 * Devuelve (pero no quita) el primer elemento de la cola
+	 * @return El primer elemento
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	public E peek()
+	{
+		while (true)
+		{
+			Nodo<E> h = head;
+			Nodo<E> primero = h.next;
+			if (primero == null) throw new NoSuchElementException("Queue underflow");
+			E item = primero.item;
+			// si head no cambio, primero no se ha sacado y su item sigue ahi
+			if (h == head) return item;
+		}
+	}
+
+	/**
+	 * Devuelve una representación en cadena de esta cola, en orden FIFO
+	 */
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder();
+		for (E item : this)
+		{
+			s.append(item + " ");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Crea un iterador debilmente consistente: recorre desde la cabeza actual, no falla si otros hilos cambian la cola
+	 * y puede o no ver los elementos que se agregan o sacan mientras recorre
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		return new Iterator<E>()
+		{
+			/**
+			 * Nodo del siguiente elemento a devolver
+			 */
+			private Nodo<E> actual;
+
+			/**
+			 * Elemento de actual, leido al avanzar porque otro hilo puede sacarlo antes de next
+			 */
+			private E item;
+
+			{
+				avanzar(head.next);
+			}
+
+			public boolean hasNext()
+			{
+				return actual != null;
+			}
+
+			public E next()
+			{
+				if (actual == null) throw new NoSuchElementException();
+				E siguiente = item;
+				avanzar(actual.next);
+				return siguiente;
+			}
+
+			/**
+			 * Avanza al primer nodo desde x que sigue en la cola, saltando los que ya se sacaron (item null)
+			 */
+			private void avanzar(Nodo<E> x)
+			{
+				while (x != null && (item = x.item) == null) x = x.next;
+				actual = x;
+			}
+		};
+	}
+
+	/**
+	 * Nodo de la lista, next solo cambia de null a un nodo con compareAndSet
+	 */
+	private static final class Nodo<E>
+	{
+		volatile E item;
+
+		volatile Nodo<E> next;
+
+		Nodo(E pItem)
+		{
+			item = pItem;
+		}
+	}
+}
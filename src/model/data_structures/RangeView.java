@@ -0,0 +1,171 @@
+package model.data_structures;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Vista de solo lectura sobre las llaves de un arbol rojo - negro que se encuentran entre lo y hi (inclusive).
+ * La vista no copia los elementos, cada consulta se resuelve sobre el arbol original.
+ * @author Julian Padilla - Pablo Pastrana
+ * @param <Key> Key de tipo generico
+ * @param <Value> Value de tipo generico
+ */
+public class RangeView <Key extends Comparable<Key>, Value>
+{
+	// Atributos
+
+	/**
+	 * Arbol sobre el cual se hace la consulta
+	 */
+	private IRedBlackBST<Key, Value> tree;
+
+	/**
+	 * Llave minima del rango (inclusive)
+	 */
+	private Key lo;
+
+	/**
+	 * Llave maxima del rango (inclusive)
+	 */
+	private Key hi;
+
+	// Metodo Constructor
+
+	/**
+	 * Crea la vista del rango [lo, hi] sobre el arbol
+	 * @param pTree Arbol a consultar
+	 * @param pLo Llave minima del rango
+	 * @param pHi Llave maxima del rango
+	 * @throws IllegalArgumentException si alguno de los parametros es null
+	 */
+	public RangeView(IRedBlackBST<Key, Value> pTree, Key pLo, Key pHi)
+	{
+		if (pTree == null) throw new IllegalArgumentException("tree of the range is null");
+		if (pLo == null) throw new IllegalArgumentException("first argument to range() is null");
+		if (pHi == null) throw new IllegalArgumentException("second argument to range() is null");
+		tree = pTree;
+		lo = pLo;
+		hi = pHi;
+	}
+
+	// Metodos
+
+	/**
+	 * Da la llave minima del rango
+	 * @return Llave lo
+	 */
+	public Key getLo()
+	{
+		return lo;
+	}
+
+	/**
+	 * Da la llave maxima del rango
+	 * @return Llave hi
+	 */
+	public Key getHi()
+	{
+		return hi;
+	}
+
+	/**
+	 * Numero de llaves del arbol dentro del rango, se calcula con los rank del arbol
+	 * @return Numero de elementos en el rango
+	 */
+	public int size()
+	{
+		return tree.size(lo, hi);
+	}
+
+	/**
+	 * Determina si no hay llaves del arbol dentro del rango
+	 * @return True si el rango esta vacio
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * Determina si la llave esta en el arbol y dentro del rango
+	 * @param key Llave a buscar
+	 * @return True si la llave esta en el rango
+	 */
+	public boolean contains(Key key)
+	{
+		if (key == null) throw new IllegalArgumentException("argument to contains() is null");
+		if (key.compareTo(lo) < 0 || key.compareTo(hi) > 0) return false;
+		return tree.contains(key);
+	}
+
+	/**
+	 * Da el valor de la llave si esta dentro del rango
+	 * @param key Llave a buscar
+	 * @return Valor asociado o null si la llave no esta en el rango
+	 */
+	public Value get(Key key)
+	{
+		if (key == null) throw new IllegalArgumentException("argument to get() is null");
+		if (key.compareTo(lo) < 0 || key.compareTo(hi) > 0) return null;
+		return tree.get(key);
+	}
+
+	/**
+	 * Da la menor llave del arbol dentro del rango
+	 * @return Menor llave del rango
+	 * @throws NoSuchElementException si el rango esta vacio
+	 */
+	public Key min()
+	{
+		if (isEmpty()) throw new NoSuchElementException("calls min() with empty range");
+		return tree.ceiling(lo);
+	}
+
+	/**
+	 * Da la mayor llave del arbol dentro del rango
+	 * @return Mayor llave del rango
+	 * @throws NoSuchElementException si el rango esta vacio
+	 */
+	public Key max()
+	{
+		if (isEmpty()) throw new NoSuchElementException("calls max() with empty range");
+		return tree.floor(hi);
+	}
+
+	/**
+	 * Llaves del rango en orden ascendente
+	 * @return Llaves del rango como un Iterable
+	 */
+	public Iterable<Key> keys()
+	{
+		return tree.keys(lo, hi);
+	}
+
+	/**
+	 * Valores del rango en el orden ascendente de sus llaves
+	 * @return Valores del rango como un Iterable
+	 */
+	public Iterable<Value> values()
+	{
+		return tree.values(lo, hi);
+	}
+
+	/**
+	 * Parejas llave - valor del rango en orden ascendente, en un solo recorrido del arbol
+	 * @return Parejas del rango como un Iterable
+	 */
+	public Iterable<Map.Entry<Key, Value>> entries()
+	{
+		return tree.entries(lo, hi);
+	}
+
+	/**
+	 * Aplica la accion a cada llave del rango y su valor en orden ascendente
+	 * @param action Accion a aplicar
+	 */
+	public void forEach(BiConsumer<? super Key, ? super Value> action)
+	{
+		tree.forEach(lo, hi, action);
+	}
+}
@@ -1,6 +1,11 @@
 package model.data_structures;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * Clase del arbol RedBlackBST
@@ -9,7 +14,7 @@ import java.util.NoSuchElementException;
  * @param <Key> Key de tipo generico
  * @param <Value> Value de tipo generico
  */
-public class RedBlackBST <Key extends Comparable<Key>, Value> 
+public class RedBlackBST <Key extends Comparable<Key>, Value> implements IRedBlackBST<Key, Value>
 {
 	// Constants
 
@@ -30,6 +35,21 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
 	 */
 	private Node root;     
 
+	/**
+	 * nodes of the path from the root used by put and delete, reused between calls
+	 */
+	private Object[] path = new Object[16];
+
+	/**
+	 * for each node of the path, true if the path continues by its left link
+	 */
+	private boolean[] pathLeft = new boolean[16];
+
+	/**
+	 * number of insertions and deletions, the iterators fail if it changes while they walk the tree
+	 */
+	private int modCount;
+
 	// Class Node for the RedBlackBST
 
 	/**
@@ -37,7 +57,7 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
 	 * @author Julian Padilla - Pablo Pastrana
 	 * This class was obtained for the book: Algorithms 4 edition, the authors for this class are: Robert Sedgewick and Kevin Wayne
 	 */
-	private class Node 
+	private class Node implements Map.Entry<Key, Value>
 	{
 		// Atributes
 
@@ -82,6 +102,38 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
 			this.color = color;
 			this.size = size;
 		}
+
+		// Methods
+
+		/**
+		 * Key of the node
+		 * @return key
+		 */
+		@Override
+		public Key getKey()
+		{
+			return key;
+		}
+
+		/**
+		 * Value associated to the key of the node
+		 * @return value
+		 */
+		@Override
+		public Value getValue()
+		{
+			return val;
+		}
+
+		/**
+		 * The entries are read-only, use put() to change a value
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public Value setValue(Value value)
+		{
+			throw new UnsupportedOperationException("entries of the RedBlackBST are read-only, use put()");
+		}
 	}
 
 	/**
@@ -92,6 +144,114 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
 
 	}
 
+	/**
+	 * Initializes a symbol table with the given key-value pairs, built bottom-up in linear time
+	 * when the keys are already in ascending order. Unsorted keys are sorted first (O(n log n)).
+	 * The result is the same as calling {@code put(keys[i], vals[i])} for every i in order:
+	 * for repeated keys the last value wins and a {@code null} value removes the key.
+	 * @param keys keys of the pairs
+	 * @param vals values of the pairs, {@code vals[i]} is associated with {@code keys[i]}
+	 * @throws IllegalArgumentException if the arrays are {@code null}, have different lengths or contain a {@code null} key
+	 */
+	public RedBlackBST(Key[] keys, Value[] vals)
+	{
+		if (keys == null || vals == null) throw new IllegalArgumentException("arguments to RedBlackBST() are null");
+		if (keys.length != vals.length) throw new IllegalArgumentException("keys and values have different lengths");
+
+		int n = keys.length;
+		boolean sorted = true;
+		for (int i = 0; i < n; i++)
+		{
+			if (keys[i] == null) throw new IllegalArgumentException("key " + i + " is null");
+			if (vals[i] == null || (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0)) sorted = false;
+		}
+
+		if (!sorted)
+		{
+			int[] order = new int[n];
+			for (int i = 0; i < n; i++) order[i] = i;
+			sort(keys, order, new int[n], 0, n - 1);
+
+			// keep the last value of each key and drop the keys whose last value is null
+			Key[] sortedKeys = Arrays.copyOf(keys, n);
+			Value[] sortedVals = Arrays.copyOf(vals, n);
+			int m = 0;
+			for (int i = 0; i < n; i++)
+			{
+				if (i + 1 < n && keys[order[i]].compareTo(keys[order[i + 1]]) == 0) continue;
+				if (vals[order[i]] == null) continue;
+				sortedKeys[m] = keys[order[i]];
+				sortedVals[m] = vals[order[i]];
+				m++;
+			}
+			keys = sortedKeys;
+			vals = sortedVals;
+			n = m;
+		}
+
+		if (n == 0) return;
+
+		// the levels above the deepest one are full; if the deepest level is not full its nodes are red
+		int deepest = 31 - Integer.numberOfLeadingZeros(n);
+		int redDepth = (n == (1 << (deepest + 1)) - 1) ? -1 : deepest;
+		root = build(keys, vals, 0, n - 1, 0, redDepth);
+		root.color = BLACK;
+	}
+
+	/**
+	 * Build the subtree with the keys in [lo, hi] of the sorted arrays, splitting at the middle.
+	 * Every path has the same number of black links, the local fix-ups of put() are then applied
+	 * bottom-up so the red links lean left.
+	 * @param keys sorted keys
+	 * @param vals values of the keys
+	 * @param lo first index of the subtree
+	 * @param hi last index of the subtree
+	 * @param depth depth of the root of the subtree
+	 * @param redDepth depth whose nodes are red, -1 if there is none
+	 * @return root of the subtree
+	 */
+	private Node build(Key[] keys, Value[] vals, int lo, int hi, int depth, int redDepth)
+	{
+		if (lo > hi) return null;
+		int mid = (lo + hi) >>> 1;
+		Node h = new Node(keys[mid], vals[mid], depth == redDepth ? RED : BLACK, 1);
+		h.left  = build(keys, vals, lo, mid - 1, depth + 1, redDepth);
+		h.right = build(keys, vals, mid + 1, hi, depth + 1, redDepth);
+		h.size = size(h.left) + size(h.right) + 1;
+
+		if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
+		if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
+		if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
+		return h;
+	}
+
+	/**
+	 * Stable merge sort of the positions in order[lo..hi] by their keys
+	 * @param keys keys to compare
+	 * @param order positions to sort
+	 * @param aux auxiliary array of the same length
+	 * @param lo first index
+	 * @param hi last index
+	 */
+	private static <Key extends Comparable<Key>> void sort(Key[] keys, int[] order, int[] aux, int lo, int hi)
+	{
+		if (hi <= lo) return;
+		int mid = (lo + hi) >>> 1;
+		sort(keys, order, aux, lo, mid);
+		sort(keys, order, aux, mid + 1, hi);
+		if (keys[order[mid]].compareTo(keys[order[mid + 1]]) <= 0) return;
+
+		System.arraycopy(order, lo, aux, lo, hi - lo + 1);
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++)
+		{
+			if      (i > mid)                                          order[k] = aux[j++];
+			else if (j > hi)                                           order[k] = aux[i++];
+			else if (keys[aux[j]].compareTo(keys[aux[i]]) < 0)         order[k] = aux[j++];
+			else                                                       order[k] = aux[i++];
+		}
+	}
+
 	/**
 	 * is node x red; false if x is null ?
 	 * @param x Node
@@ -190,34 +350,118 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
             return;
         }
 
-        root = put(root, key, val);
+        // go down to the insertion point remembering the path
+        int top = 0;
+        Node x = root;
+        while (x != null)
+        {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0)
+            {
+                // same shape, only the value changes
+                x.val = val;
+                clearPath(top);
+                return;
+            }
+            push(top++, x, cmp < 0);
+            x = (cmp < 0) ? x.left : x.right;
+        }
+
+        // go back up applying the fix-ups of the recursive put
+        modCount++;
+        Node child = new Node(key, val, RED, 1);
+        while (top > 0)
+        {
+            Node h = pop(--top);
+            if (pathLeft[top]) h.left = child;
+            else               h.right = child;
+
+            // fix-up any right-leaning links
+            if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
+            if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
+            if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
+            h.size = size(h.left) + size(h.right) + 1;
+            child = h;
+        }
+        root = child;
         root.color = BLACK;
         // assert check();
     }
 
     /**
-     * Insert the key-value pair in the subtree rooted at h
+     * Stores a node of the path from the root, growing the path arrays if needed
+     * @param i position in the path
      * @param h Node
-     * @param key Key of the node RedBlackBST
-     * @param val Value of the node RedBlackBST
-     * @return Put the node inside the RedBlackBST
+     * @param wentLeft true if the path continues by the left link of h
      */
-    private Node put(Node h, Key key, Value val) 
-    { 
-        if (h == null) return new Node(key, val, RED, 1);
+    private void push(int i, Node h, boolean wentLeft)
+    {
+        if (i == path.length)
+        {
+            path = Arrays.copyOf(path, 2 * i);
+            pathLeft = Arrays.copyOf(pathLeft, 2 * i);
+        }
+        path[i] = h;
+        pathLeft[i] = wentLeft;
+    }
 
-        int cmp = key.compareTo(h.key);
-        if      (cmp < 0) h.left  = put(h.left,  key, val); 
-        else if (cmp > 0) h.right = put(h.right, key, val); 
-        else              h.val   = val;
+    /**
+     * Takes a node of the path, clearing its position
+     * @param i position in the path
+     * @return Node
+     */
+    @SuppressWarnings("unchecked")
+    private Node pop(int i)
+    {
+        Node h = (Node) path[i];
+        path[i] = null;
+        return h;
+    }
 
-        // fix-up any right-leaning links
-        if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
-        if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
-        if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
-        h.size = size(h.left) + size(h.right) + 1;
+    /**
+     * Clears the first positions of the path so it does not keep nodes alive
+     * @param top number of nodes in the path
+     */
+    private void clearPath(int top)
+    {
+        Arrays.fill(path, 0, top, null);
+    }
 
-        return h;
+    /**
+     * Goes back up the path of a deletion linking each node to its new child and restoring the invariant
+     * @param child new root of the subtree below the last node of the path
+     * @param top number of nodes in the path
+     * @return new root of the tree
+     */
+    private Node rebalance(Node child, int top)
+    {
+        while (top > 0)
+        {
+            Node h = pop(--top);
+            if (pathLeft[top]) h.left = child;
+            else               h.right = child;
+            child = balance(h);
+        }
+        return child;
+    }
+
+    /**
+     * Goes down to the minimum of the subtree rooted at h keeping a red link on the way, as the recursive deleteMin.
+     * The nodes are added to the path, the minimum itself is not (it is the one removed).
+     * @param h Node
+     * @param top number of nodes in the path
+     * @return number of nodes in the path
+     */
+    private int descendMin(Node h, int top)
+    {
+        while (h.left != null)
+        {
+            if (!isRed(h.left) && !isRed(h.left.left))
+                h = moveRedLeft(h);
+            push(top++, h, true);
+            h = h.left;
+        }
+        return top;
     }
     
     /**
@@ -227,32 +471,16 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
     public void deleteMin() 
     {
         if (isEmpty()) throw new NoSuchElementException("BST underflow");
+        modCount++;
 
         // if both children of root are black, set root to red
         if (!isRed(root.left) && !isRed(root.right))
             root.color = RED;
 
-        root = deleteMin(root);
+        root = rebalance(null, descendMin(root, 0));
         if (!isEmpty()) root.color = BLACK;
     }
 
-    /**
-     * Delete the key-value pair with the minimum key rooted at h
-     * @param h Node
-     * @return Delete the min node in the RedBlackBST
-     */
-    private Node deleteMin(Node h) 
-    { 
-        if (h.left == null)
-            return null;
-
-        if (!isRed(h.left) && !isRed(h.left.left))
-            h = moveRedLeft(h);
-
-        h.left = deleteMin(h.left);
-        return balance(h);
-    }
-
     /**
      * Removes the largest key and associated value from the symbol table.
      * @throws NoSuchElementException if the symbol table is empty
@@ -260,35 +488,32 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
     public void deleteMax() 
     {
         if (isEmpty()) throw new NoSuchElementException("BST underflow");
+        modCount++;
 
         // if both children of root are black, set root to red
         if (!isRed(root.left) && !isRed(root.right))
             root.color = RED;
 
-        root = deleteMax(root);
-        if (!isEmpty()) root.color = BLACK;
-        // assert check();
-    }
-
-    /**
-     * Delete the key-value pair with the maximum key rooted at h
-     * @param h Node 
-     * @return Delete the max node in the RedBlackBST
-     */
-    private Node deleteMax(Node h)
-    { 
-        if (isRed(h.left))
-            h = rotateRight(h);
+        int top = 0;
+        Node h = root;
+        while (true)
+        {
+            if (isRed(h.left))
+                h = rotateRight(h);
 
-        if (h.right == null)
-            return null;
+            if (h.right == null)
+                break;
 
-        if (!isRed(h.right) && !isRed(h.right.left))
-            h = moveRedRight(h);
+            if (!isRed(h.right) && !isRed(h.right.left))
+                h = moveRedRight(h);
 
-        h.right = deleteMax(h.right);
+            push(top++, h, false);
+            h = h.right;
+        }
 
-        return balance(h);
+        root = rebalance(null, top);
+        if (!isEmpty()) root.color = BLACK;
+        // assert check();
     }
 
     /**
@@ -301,52 +526,48 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
     { 
         if (key == null) throw new IllegalArgumentException("argument to delete() is null");
         if (!contains(key)) return;
+        modCount++;
 
         // if both children of root are black, set root to red
         if (!isRed(root.left) && !isRed(root.right))
             root.color = RED;
 
-        root = delete(root, key);
-        if (!isEmpty()) root.color = BLACK;
-        // assert check();
-    }
-
-    /**
-     * Delete the key-value pair with the given key rooted at h
-     * @param h Node 
-     * @param key Key of the node RedBlackBST
-     * @return Delete the node from the RedBlackBST
-     */
-    private Node delete(Node h, Key key) 
-    { 
-        // assert get(h, key) != null;
-
-        if (key.compareTo(h.key) < 0) 
+        // same transformations as the recursive delete on the way down, balance() on the way up
+        int top = 0;
+        Node h = root;
+        while (true)
         {
-            if (!isRed(h.left) && !isRed(h.left.left))
-                h = moveRedLeft(h);
-            h.left = delete(h.left, key);
-        }
-        else {
-            if (isRed(h.left))
-                h = rotateRight(h);
-            if (key.compareTo(h.key) == 0 && (h.right == null))
-                return null;
-            if (!isRed(h.right) && !isRed(h.right.left))
-                h = moveRedRight(h);
-            if (key.compareTo(h.key) == 0) {
-                Node x = min(h.right);
-                h.key = x.key;
-                h.val = x.val;
-                // h.val = get(h.right, min(h.right).key);
-                // h.key = min(h.right).key;
-                h.right = deleteMin(h.right);
+            if (key.compareTo(h.key) < 0) 
+            {
+                if (!isRed(h.left) && !isRed(h.left.left))
+                    h = moveRedLeft(h);
+                push(top++, h, true);
+                h = h.left;
+            }
+            else {
+                if (isRed(h.left))
+                    h = rotateRight(h);
+                if (key.compareTo(h.key) == 0 && (h.right == null))
+                    break;
+                if (!isRed(h.right) && !isRed(h.right.left))
+                    h = moveRedRight(h);
+                if (key.compareTo(h.key) == 0) {
+                    Node x = min(h.right);
+                    h.key = x.key;
+                    h.val = x.val;
+                    push(top++, h, false);
+                    top = descendMin(h.right, top);
+                    break;
+                }
+                push(top++, h, false);
+                h = h.right;
             }
-            else h.right = delete(h.right, key);
         }
-        return balance(h);
+
+        root = rebalance(null, top);
+        if (!isEmpty()) root.color = BLACK;
+        // assert check();
     }
-    
 
     /**
      * Make a left-leaning link lean to the right
@@ -454,6 +675,66 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
         return h;
     }
 
+    /**
+     * Checks the integrity of the red-black tree (for debugging and tests).
+     * Obtained from the book Algorithms 4 edition.
+     * @return {@code true} if the tree is a symmetric ordered BST with consistent sizes,
+     *    no red right links, no two red links in a row and perfect black balance
+     */
+    public boolean check()
+    {
+        return isBST(root, null, null) && isSizeConsistent(root) && is23(root) && isBalanced();
+    }
+
+    // is the tree rooted at x a BST with all keys strictly between min and max
+    // (if min or max is null, treat as empty constraint)
+    private boolean isBST(Node x, Key min, Key max)
+    {
+        if (x == null) return true;
+        if (min != null && x.key.compareTo(min) <= 0) return false;
+        if (max != null && x.key.compareTo(max) >= 0) return false;
+        return isBST(x.left, min, x.key) && isBST(x.right, x.key, max);
+    }
+
+    // are the size fields correct?
+    private boolean isSizeConsistent(Node x)
+    {
+        if (x == null) return true;
+        if (x.size != size(x.left) + size(x.right) + 1) return false;
+        return isSizeConsistent(x.left) && isSizeConsistent(x.right);
+    }
+
+    // Does the tree have no red right links, and at most one (left)
+    // red links in a row on any path?
+    private boolean is23(Node x)
+    {
+        if (x == null) return true;
+        if (isRed(x.right)) return false;
+        if (x != root && isRed(x) && isRed(x.left)) return false;
+        return is23(x.left) && is23(x.right);
+    }
+
+    // do all paths from root to leaf have same number of black edges?
+    private boolean isBalanced()
+    {
+        int black = 0;
+        Node x = root;
+        while (x != null)
+        {
+            if (!isRed(x)) black++;
+            x = x.left;
+        }
+        return isBalanced(root, black);
+    }
+
+    // does every path from the root to a leaf have the given number of black links?
+    private boolean isBalanced(Node x, int black)
+    {
+        if (x == null) return black == 0;
+        if (!isRed(x)) black--;
+        return isBalanced(x.left, black) && isBalanced(x.right, black);
+    }
+
     /**
      * Returns the height of the BST (for debugging).
      * @return the height of the BST (a 1-node tree has height 0)
@@ -487,8 +768,8 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
     private Node min(Node x) 
     { 
         // assert x != null;
-        if (x.left == null) return x; 
-        else                return min(x.left); 
+        while (x.left != null) x = x.left;
+        return x; 
     } 
 
     /**
@@ -510,8 +791,8 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
     private Node max(Node x)
     { 
         // assert x != null;
-        if (x.right == null) return x; 
-        else                 return max(x.right); 
+        while (x.right != null) x = x.right;
+        return x; 
     } 
 
 
@@ -539,13 +820,20 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
      */
     private Node floor(Node x, Key key) 
     {
-        if (x == null) return null;
-        int cmp = key.compareTo(x.key);
-        if (cmp == 0) return x;
-        if (cmp < 0)  return floor(x.left, key);
-        Node t = floor(x.right, key);
-        if (t != null) return t; 
-        else           return x;
+        // last node where the search went right is the best candidate so far
+        Node best = null;
+        while (x != null)
+        {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) return x;
+            if (cmp < 0)  x = x.left;
+            else
+            {
+                best = x;
+                x = x.right;
+            }
+        }
+        return best;
     }
 
     /**
@@ -572,13 +860,20 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
      */
     private Node ceiling(Node x, Key key) 
     {  
-        if (x == null) return null;
-        int cmp = key.compareTo(x.key);
-        if (cmp == 0) return x;
-        if (cmp > 0)  return ceiling(x.right, key);
-        Node t = ceiling(x.left, key);
-        if (t != null) return t; 
-        else           return x;
+        // last node where the search went left is the best candidate so far
+        Node best = null;
+        while (x != null)
+        {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) return x;
+            if (cmp > 0)  x = x.right;
+            else
+            {
+                best = x;
+                x = x.left;
+            }
+        }
+        return best;
     }
 
     /**
@@ -607,11 +902,18 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
      * @return Select the node from the RedBlackBST
      */
     private Key select(Node x, int rank) {
-        if (x == null) return null;
-        int leftSize = size(x.left);
-        if      (leftSize > rank) return select(x.left,  rank);
-        else if (leftSize < rank) return select(x.right, rank - leftSize - 1); 
-        else                      return x.key;
+        while (x != null)
+        {
+            int leftSize = size(x.left);
+            if      (leftSize > rank) x = x.left;
+            else if (leftSize < rank)
+            {
+                rank = rank - leftSize - 1;
+                x = x.right;
+            }
+            else                      return x.key;
+        }
+        return null;
     }
 
     /**
@@ -634,40 +936,50 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
      */
     private int rank(Key key, Node x) 
     {
-        if (x == null) return 0; 
-        int cmp = key.compareTo(x.key); 
-        if      (cmp < 0) return rank(key, x.left); 
-        else if (cmp > 0) return 1 + size(x.left) + rank(key, x.right); 
-        else              return size(x.left); 
+        int rank = 0;
+        while (x != null)
+        {
+            int cmp = key.compareTo(x.key); 
+            if      (cmp < 0) x = x.left; 
+            else if (cmp > 0)
+            {
+                rank += 1 + size(x.left);
+                x = x.right;
+            }
+            else              return rank + size(x.left); 
+        }
+        return rank;
     } 
 
     /**
      * Returns all keys in the symbol table as an {@code Iterable}.
      * To iterate over all of the keys in the symbol table named {@code st},
      * use the foreach notation: {@code for (Key key : st.keys())}.
+     * The keys are visited lazily in order, nothing is copied before the first {@code next()}.
+     * The iterator is fail-fast: inserting or deleting a key while iterating makes the next {@code next()} throw
+     * ConcurrentModificationException, collect the keys first to delete them in a loop.
      * @return all keys in the symbol table as an {@code Iterable}
      */
     public Iterable<Key> keys() 
     {
-        if (isEmpty()) return new LinkedQueue<Key>();
-        return keys(min(), max());
+        return () -> new KeyIterator(null, null);
     }
     
     /**
      * Returns all values in the symbol table as an {@code Iterable}.
-     * To iterate over all of the keys in the symbol table named {@code st},
-     * use the foreach notation: {@code for (Key key : st.keys())}.
-     * @return all keys in the symbol table as an {@code Iterable}
+     * To iterate over all of the values in the symbol table named {@code st},
+     * use the foreach notation: {@code for (Value val : st.Values())}.
+     * The values are visited lazily in the order of their keys.
+     * @return all values in the symbol table as an {@code Iterable}
      */
     public Iterable<Value> Values() 
     {
-        if (isEmpty()) return new LinkedQueue<Value>();
-        return values(min(), max());
+        return () -> new ValueIterator(null, null);
     }
 
     /**
      * Returns all keys in the symbol table in the given range,
-     * as an {@code Iterable}.
+     * as an {@code Iterable}. The keys are visited lazily in order.
      * @param  lo minimum endpoint
      * @param  hi maximum endpoint
      * @return all keys in the symbol table between {@code lo} 
@@ -680,57 +992,233 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
         if (lo == null) throw new IllegalArgumentException("first argument to keys() is null");
         if (hi == null) throw new IllegalArgumentException("second argument to keys() is null");
 
-        LinkedQueue<Key> queue = new LinkedQueue<Key>();
-        // if (isEmpty() || lo.compareTo(hi) > 0) return queue;
-        keys(root, queue, lo, hi);
-        return queue;
-    } 
-
-    // add the keys between lo and hi in the subtree rooted at x
-    // to the queue
-    private void keys(Node x, LinkedQueue<Key> queue, Key lo, Key hi) 
-    { 
-        if (x == null) return; 
-        int cmplo = lo.compareTo(x.key); 
-        int cmphi = hi.compareTo(x.key); 
-        if (cmplo < 0) keys(x.left, queue, lo, hi); 
-        if (cmplo <= 0 && cmphi >= 0) queue.enqueue(x.key); 
-        if (cmphi > 0) keys(x.right, queue, lo, hi); 
+        return () -> new KeyIterator(lo, hi);
     } 
     
     /**
      * Returns all values in the symbol table in the given range,
-     * as an {@code Iterable}.
+     * as an {@code Iterable}. The values are visited lazily in the order of their keys.
      * @param  lo minimum endpoint
      * @param  hi maximum endpoint
-     * @return all keys in the symbol table between {@code lo} 
+     * @return all values in the symbol table with keys between {@code lo} 
      *    (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
      * @throws IllegalArgumentException if either {@code lo} or {@code hi}
      *    is {@code null}
      */
     public Iterable<Value> values(Key lo, Key hi) 
     {
-        if (lo == null) throw new IllegalArgumentException("first argument to keys() is null");
-        if (hi == null) throw new IllegalArgumentException("second argument to keys() is null");
+        if (lo == null) throw new IllegalArgumentException("first argument to values() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to values() is null");
 
-        LinkedQueue<Value> queue = new LinkedQueue<Value>();
-        // if (isEmpty() || lo.compareTo(hi) > 0) return queue;
-        values(root, queue, lo, hi);
-        return queue;
-    } 
-    
-    // add the keys between lo and hi in the subtree rooted at x
-    // to the queue
-    private void values(Node x, LinkedQueue<Value> queue, Key lo, Key hi) 
-    { 
-        if (x == null) return; 
-        int cmplo = lo.compareTo(x.key); 
-        int cmphi = hi.compareTo(x.key); 
-        if (cmplo < 0) values(x.left, queue, lo, hi); 
-        if (cmplo <= 0 && cmphi >= 0) queue.enqueue(x.val); 
-        if (cmphi > 0) values(x.right, queue, lo, hi); 
+        return () -> new ValueIterator(lo, hi);
     } 
 
+    /**
+     * Returns all key-value pairs in the symbol table as an {@code Iterable}, in order of their keys.
+     * The entries are the nodes of the tree, so the key and the value come from one traversal and nothing is copied.
+     * The entries are read-only and must not be kept after the tree is modified.
+     * @return all entries in the symbol table as an {@code Iterable}
+     */
+    public Iterable<Map.Entry<Key, Value>> entries()
+    {
+        return () -> new EntryIterator(null, null);
+    }
+
+    /**
+     * Returns the key-value pairs in the symbol table with keys in the given range, in order of their keys.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return all entries with keys between {@code lo} (inclusive) and {@code hi} (inclusive) as an {@code Iterable}
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public Iterable<Map.Entry<Key, Value>> entries(Key lo, Key hi)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to entries() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to entries() is null");
+
+        return () -> new EntryIterator(lo, hi);
+    }
+
+    /**
+     * Visits every key-value pair in the symbol table in order of their keys.
+     * @param action action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code action} is {@code null}
+     */
+    public void forEach(BiConsumer<? super Key, ? super Value> action)
+    {
+        if (action == null) throw new IllegalArgumentException("argument to forEach() is null");
+        visit(null, null, action);
+    }
+
+    /**
+     * Visits the key-value pairs with keys in the given range in order of their keys, without building any collection.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @param  action action to apply to each key and its value
+     * @throws IllegalArgumentException if {@code lo}, {@code hi} or {@code action} is {@code null}
+     */
+    public void forEach(Key lo, Key hi, BiConsumer<? super Key, ? super Value> action)
+    {
+        if (lo == null) throw new IllegalArgumentException("first argument to forEach() is null");
+        if (hi == null) throw new IllegalArgumentException("second argument to forEach() is null");
+        if (action == null) throw new IllegalArgumentException("third argument to forEach() is null");
+        visit(lo, hi, action);
+    }
+
+    // visit the pairs between lo and hi with the same stack walk as the iterators,
+    // a null endpoint means the range is open on that side
+    private void visit(Key lo, Key hi, BiConsumer<? super Key, ? super Value> action)
+    {
+        EntryIterator it = new EntryIterator(lo, hi);
+        while (it.hasNext())
+        {
+            Node x = it.nextNode();
+            action.accept(x.key, x.val);
+        }
+    }
+
+    /**
+     * In-order iterator over the nodes with keys between lo and hi, walking the tree on demand
+     * with an explicit stack of at most height + 1 nodes. A {@code null} endpoint means the range is open on that side.
+     * The bounds checks are the same as the recursive range traversal: the left subtree is visited only when
+     * lo is smaller than the node key and the right subtree only when hi is greater.
+     * If a key is inserted or deleted while iterating, the next call to {@code next()} throws ConcurrentModificationException.
+     * @param <T> Type of the element returned for each node
+     */
+    private abstract class InOrderIterator<T> implements Iterator<T>
+    {
+        /**
+         * modCount when the iterator was created
+         */
+        private final int expectedModCount = modCount;
+
+        /**
+         * minimum endpoint, null if there is no lower bound
+         */
+        private final Key lo;
+
+        /**
+         * maximum endpoint, null if there is no upper bound
+         */
+        private final Key hi;
+
+        /**
+         * nodes in range whose key and right subtree have not been visited yet
+         */
+        private Object[] stack;
+
+        /**
+         * number of nodes in the stack
+         */
+        private int top;
+
+        /**
+         * Creates the iterator positioned before the smallest key in range
+         * @param lo minimum endpoint or null
+         * @param hi maximum endpoint or null
+         */
+        public InOrderIterator(Key lo, Key hi)
+        {
+            this.lo = lo;
+            this.hi = hi;
+            this.stack = new Object[16];
+            pushLeft(root);
+        }
+
+        /**
+         * Push the path of in-range nodes from x to the smallest key in range of its subtree
+         * @param x Node
+         */
+        private void pushLeft(Node x)
+        {
+            while (x != null)
+            {
+                int cmplo = (lo == null) ? -1 : lo.compareTo(x.key);
+                int cmphi = (hi == null) ?  1 : hi.compareTo(x.key);
+                if      (cmplo > 0) x = x.right;
+                else if (cmphi < 0) x = x.left;
+                else
+                {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, 2 * top);
+                    stack[top++] = x;
+                    x = (cmplo < 0) ? x.left : null;
+                }
+            }
+        }
+
+        /**
+         * Next node in order, advancing the traversal
+         * @return Node
+         */
+        @SuppressWarnings("unchecked")
+        protected Node nextNode()
+        {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (top == 0) throw new NoSuchElementException("no more keys in range");
+            Node x = (Node) stack[--top];
+            stack[top] = null;
+            if (hi == null || hi.compareTo(x.key) > 0) pushLeft(x.right);
+            return x;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return top > 0;
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the keys of a range
+     */
+    private class KeyIterator extends InOrderIterator<Key>
+    {
+        public KeyIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Key next()
+        {
+            return nextNode().key;
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the key-value pairs of a range
+     */
+    private class EntryIterator extends InOrderIterator<Map.Entry<Key, Value>>
+    {
+        public EntryIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Map.Entry<Key, Value> next()
+        {
+            return nextNode();
+        }
+    }
+
+    /**
+     * Lazy in-order iterator over the values of a range
+     */
+    private class ValueIterator extends InOrderIterator<Value>
+    {
+        public ValueIterator(Key lo, Key hi)
+        {
+            super(lo, hi);
+        }
+
+        @Override
+        public Value next()
+        {
+            return nextNode().val;
+        }
+    }
+
     /**
      * Returns the number of keys in the symbol table in the given range.
      * @param  lo minimum endpoint
@@ -747,4 +1235,17 @@ public class RedBlackBST <Key extends Comparable<Key>, Value>
         if (contains(hi)) return rank(hi) - rank(lo) + 1;
         else              return rank(hi) - rank(lo);
     }
+
+    /**
+     * Returns a read-only view of the keys in the symbol table in the given range.
+     * The view does not copy the keys, every query goes to this symbol table.
+     * @param  lo minimum endpoint
+     * @param  hi maximum endpoint
+     * @return a view of the keys between {@code lo} (inclusive) and {@code hi} (inclusive)
+     * @throws IllegalArgumentException if either {@code lo} or {@code hi} is {@code null}
+     */
+    public RangeView<Key, Value> range(Key lo, Key hi)
+    {
+        return new RangeView<Key, Value>(this, lo, hi);
+    }
 }
@@ -0,0 +1,223 @@
+package model.data_structures;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Cola sobre una lista enlazada de segmentos, implementa la interfaz ILinkedQueue.
+ * Cada segmento guarda hasta TAMANIO_SEGMENTO elementos en un arreglo, asi se crea un objeto por segmento
+ * y no uno por elemento como en LinkedQueue, y el recorrido sigue un apuntador cada TAMANIO_SEGMENTO elementos.
+ * A diferencia de ArrayQueue nunca copia los elementos al crecer.
+ * @author Julian Padilla - Pablo Pastrana
+ * @param <E> Tipo Generico
+ */
+public class UnrolledQueue <E> implements ILinkedQueue<E>
+{
+	// Atributos
+
+	/**
+	 * Numero de elementos de cada segmento
+	 */
+	public static final int TAMANIO_SEGMENTO = 64;
+
+	/**
+	 * Tamaño de la cola
+	 */
+	private int size;
+
+	/**
+	 * Segmento con el primer elemento
+	 */
+	private Segmento first;
+
+	/**
+	 * Segmento donde se agregan los elementos
+	 */
+	private Segmento last;
+
+	/**
+	 * Numero de cambios de la cola, los iteradores fallan si cambia mientras recorren
+	 */
+	private int modCount;
+
+	/**
+	 * Crea la cola vacia con un segmento
+	 */
+	public UnrolledQueue()
+	{
+		first = new Segmento();
+		last = first;
+	}
+
+	/**
+	 * Dar el tamanio de la cola
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Determina si la cola esta vacia
+	 * @return True si la cola esta vacia
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Agrega el elemento al final de la cola, enlaza un segmento nuevo si el ultimo esta lleno
+	 * @param pItem Objeto a agregar
+	 */
+	public void enqueue(E pItem)
+	{
+		if (last.fin == TAMANIO_SEGMENTO)
+		{
+			Segmento nuevo = new Segmento();
+			last.siguiente = nuevo;
+			last = nuevo;
+		}
+		last.items[last.fin++] = pItem;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Eliminar el primer objeto de la cola, suelta el primer segmento cuando se vacia
+	 * @return El objeto eliminado de la cola
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	@SuppressWarnings("unchecked")
+	public E dequeue()
+	{
+		if (isEmpty())
+		{
+			throw new NoSuchElementException("Queue underflow");
+		}
+		E item = (E) first.items[first.inicio];
+		first.items[first.inicio++] = null;
+		size--;
+		modCount++;
+		if (first.inicio == first.fin)
+		{
+			if (first == last)
+			{
+				// la cola quedo vacia, se reutiliza el segmento
+				first.inicio = 0;
+				first.fin = 0;
+			}
+			else
+			{
+				first = first.siguiente;
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Devuelve (pero no quita) el primer elemento de la cola
+	 * @return El primer elemento
+	 * @throws java.util.NoSuchElementException si la cola está vacía
+	 */
+	@SuppressWarnings("unchecked")
+	public E peek()
+	{
+		if (isEmpty())
+		{
+			throw new NoSuchElementException("Queue underflow");
+		}
+		return (E) first.items[first.inicio];
+	}
+
+	/**
+	 * Devuele el objeto en la posicion que ingreso por parametro, saltando segmentos completos
+	 * @param pPosicion Posicion en la cola, contando desde el primero
+	 * @return Objeto en la posicion
+	 * @throws IndexOutOfBoundsException si la posicion no esta entre 0 y getSize() - 1
+	 */
+	@SuppressWarnings("unchecked")
+	public E seeItem(int pPosicion)
+	{
+		if (pPosicion < 0 || pPosicion >= size) throw new IndexOutOfBoundsException("position " + pPosicion + " of " + size);
+		Segmento s = first;
+		int i = s.inicio + pPosicion;
+		while (i >= s.fin)
+		{
+			i -= s.fin;
+			s = s.siguiente;
+		}
+		return (E) s.items[i];
+	}
+
+	/**
+	 * Devuelve una representación en cadena de esta cola.
+	 * Devuelve la secuencia de elementos de la cola en orden FIFO (First-in, First-out)
+	 */
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder();
+		for (E item : this)
+		{
+			s.append(item + " ");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Crea el iterador para recorrer la cola en orden FIFO, segmento por segmento
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		return new SegmentIterator();
+	}
+
+	/**
+	 * Segmento de la lista: los elementos estan en items[inicio, fin)
+	 */
+	private static final class Segmento
+	{
+		final Object[] items = new Object[TAMANIO_SEGMENTO];
+
+		int inicio;
+
+		int fin;
+
+		Segmento siguiente;
+	}
+
+	/**
+	 * Iterador que recorre el arreglo de cada segmento y solo sigue el apuntador al terminarlo
+	 */
+	private class SegmentIterator implements Iterator<E>
+	{
+		private Segmento actual = first;
+
+		private int i = first.inicio;
+
+		private int restantes = size;
+
+		private final int expectedModCount = modCount;
+
+		public boolean hasNext()
+		{
+			return restantes > 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		public E next()
+		{
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (restantes == 0) throw new NoSuchElementException();
+			if (i == actual.fin)
+			{
+				actual = actual.siguiente;
+				i = 0;
+			}
+			restantes--;
+			return (E) actual.items[i++];
+		}
+	}
+}
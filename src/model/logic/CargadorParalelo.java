@@ -0,0 +1,379 @@
+package model.logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import model.ComparendoStore;
+
+/**
+ * Carga el GeoJSON en paralelo: un recorrido rapido de los bytes del archivo mapeado encuentra donde empieza y termina cada feature,
+ * el arreglo features se divide en bloques de features completos y cada bloque se lee con EscanerGeoJSON en un ForkJoinPool.
+ * Cada bloque se llena en su propio almacen, con sus propios diccionarios y su cache de codigos, asi los hilos no comparten candados.
+ * Cada bloque se ordena por objectid y al final todos se mezclan en una sola pasada, traduciendo los codigos una vez por valor distinto.
+ * El archivo se mapea por segmentos y cada bloque por separado, sin copiarlo al heap, asi puede ser mayor a 2 GB.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class CargadorParalelo
+{
+	/**
+	 * Bytes minimos de un bloque, por debajo de este tamanio no vale la pena crear otra tarea
+	 */
+	private static final int BLOQUE_MINIMO = 1 << 20;
+
+	/**
+	 * Bytes maximos de un bloque, cada bloque se mapea en un solo buffer
+	 */
+	private static final int BLOQUE_MAXIMO = 1 << 28;
+
+	/**
+	 * Bloques por hilo del pool, permite repartir mejor los bloques que tardan mas
+	 */
+	private static final int BLOQUES_POR_HILO = 4;
+
+	private CargadorParalelo()
+	{
+	}
+
+	/**
+	 * Carga los comparendos del archivo en el pool comun de fork-join
+	 * @param pArchivo Archivo GeoJSON
+	 * @return Comparendos ordenados por objectid
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de algun comparendo no tiene el formato esperado
+	 */
+	public static ComparendoStore cargar(File pArchivo) throws IOException, ParseException
+	{
+		return cargar(pArchivo, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Carga los comparendos del archivo en el pool dado
+	 * @param pArchivo Archivo GeoJSON
+	 * @param pPool Pool en el que se leen los bloques
+	 * @return Comparendos ordenados por objectid
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de algun comparendo no tiene el formato esperado
+	 */
+	public static ComparendoStore cargar(File pArchivo, ForkJoinPool pPool) throws IOException, ParseException
+	{
+		try(FileChannel canal = FileChannel.open(pArchivo.toPath(), StandardOpenOption.READ))
+		{
+			long[] limites = dividir(new Contenido(canal), pPool.getParallelism() * BLOQUES_POR_HILO);
+			if(limites.length == 0)
+			{
+				return new ComparendoStore();
+			}
+
+			MappedByteBuffer[] mapas = new MappedByteBuffer[limites.length / 2];
+			for(int b = 0; b < mapas.length; b++)
+			{
+				long largo = limites[2 * b + 1] - limites[2 * b];
+				if(largo > Integer.MAX_VALUE) throw new IOException("feature too large at byte " + limites[2 * b]);
+				mapas[b] = canal.map(FileChannel.MapMode.READ_ONLY, limites[2 * b], largo);
+			}
+
+			ComparendoStore[] bloques = new ComparendoStore[mapas.length];
+			pPool.invoke(new Tarea(mapas, limites, bloques, 0, bloques.length));
+			ComparendoStore comparendos = ComparendoStore.mezclar(bloques);
+			comparendos.ajustar();
+			return comparendos;
+		}
+		catch(UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+		catch(FechaInvalida e)
+		{
+			throw e.causa;
+		}
+		catch(IllegalStateException e)
+		{
+			// alguna columna de un bloque o de la mezcla supero el numero maximo de valores distintos
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Recorre los bytes del archivo y divide el arreglo features en bloques de features completos.
+	 * Lleva la profundidad de llaves y corchetes fuera de las cadenas; los features son los objetos de profundidad 2 despues de la llave "features".
+	 * @param pContenido Contenido del archivo en UTF-8
+	 * @param pBloques Numero de bloques deseado
+	 * @return Parejas inicio, fin (exclusivo) de cada bloque; cada bloque va del '{' de su primer feature al '}' de su ultimo feature
+	 * @throws IOException Si no se encuentra el arreglo features o el archivo esta incompleto
+	 */
+	static long[] dividir(Contenido pContenido, int pBloques) throws IOException
+	{
+		long tamanio = pContenido.tamanio();
+		long inicioFeatures = buscarFeatures(pContenido);
+		long tamanioBloque = Math.min(BLOQUE_MAXIMO, Math.max(BLOQUE_MINIMO, (tamanio - inicioFeatures) / Math.max(pBloques, 1)));
+
+		long[] limites = new long[16];
+		int numero = 0;
+		int profundidad = 1;
+		long inicioBloque = -1;
+		boolean enCadena = false;
+		for(long i = inicioFeatures; i < tamanio; i++)
+		{
+			byte b = pContenido.get(i);
+			if(enCadena)
+			{
+				if(b == '\\') i++;
+				else if(b == '"') enCadena = false;
+				continue;
+			}
+			switch(b)
+			{
+			case '"':
+				enCadena = true;
+				break;
+			case '{':
+			case '[':
+				if(profundidad == 1 && inicioBloque < 0) inicioBloque = i;
+				profundidad++;
+				break;
+			case '}':
+			case ']':
+				profundidad--;
+				if(profundidad == 0)
+				{
+					// fin del arreglo features
+					if(inicioBloque >= 0)
+					{
+						limites = agregar(limites, numero, inicioBloque, ultimoCierre(pContenido, inicioBloque, i));
+						numero += 2;
+					}
+					return Arrays.copyOf(limites, numero);
+				}
+				if(profundidad == 1 && i + 1 - inicioBloque >= tamanioBloque)
+				{
+					limites = agregar(limites, numero, inicioBloque, i + 1);
+					numero += 2;
+					inicioBloque = -1;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		throw new IOException("unterminated features array");
+	}
+
+	/**
+	 * Busca el '[' del arreglo de la llave "features" del objeto raiz
+	 * @param pContenido Contenido del archivo
+	 * @return Posicion siguiente al '[' de features
+	 * @throws IOException Si el archivo no tiene la llave features con un arreglo
+	 */
+	private static long buscarFeatures(Contenido pContenido) throws IOException
+	{
+		byte[] llave = "\"features\"".getBytes(StandardCharsets.UTF_8);
+		long tamanio = pContenido.tamanio();
+		int profundidad = 0;
+		boolean enCadena = false;
+		for(long i = 0; i < tamanio; i++)
+		{
+			byte b = pContenido.get(i);
+			if(enCadena)
+			{
+				if(b == '\\') i++;
+				else if(b == '"') enCadena = false;
+				continue;
+			}
+			if(b == '"')
+			{
+				if(profundidad == 1 && coincide(pContenido, i, llave))
+				{
+					long j = saltarEspacios(pContenido, i + llave.length);
+					if(j < tamanio && pContenido.get(j) == ':')
+					{
+						j = saltarEspacios(pContenido, j + 1);
+						if(j < tamanio && pContenido.get(j) == '[') return j + 1;
+					}
+				}
+				enCadena = true;
+			}
+			else if(b == '{' || b == '[') profundidad++;
+			else if(b == '}' || b == ']') profundidad--;
+		}
+		throw new IOException("features array not found");
+	}
+
+	/**
+	 * Da la posicion siguiente al ultimo '}' o ']' antes del cierre del arreglo features
+	 * @param pContenido Contenido del archivo
+	 * @param pInicio Inicio del bloque
+	 * @param pCierre Posicion del ']' de features
+	 * @return Fin exclusivo del bloque
+	 */
+	private static long ultimoCierre(Contenido pContenido, long pInicio, long pCierre)
+	{
+		long i = pCierre - 1;
+		while(i > pInicio && pContenido.get(i) != '}' && pContenido.get(i) != ']') i--;
+		return i + 1;
+	}
+
+	/**
+	 * Determina si los bytes en la posicion coinciden con el patron
+	 */
+	private static boolean coincide(Contenido pContenido, long pPosicion, byte[] pPatron)
+	{
+		if(pPosicion + pPatron.length > pContenido.tamanio()) return false;
+		for(int k = 0; k < pPatron.length; k++)
+		{
+			if(pContenido.get(pPosicion + k) != pPatron[k]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Da la primera posicion desde pPosicion que no es un espacio en blanco de JSON
+	 */
+	private static long saltarEspacios(Contenido pContenido, long pPosicion)
+	{
+		while(pPosicion < pContenido.tamanio())
+		{
+			byte b = pContenido.get(pPosicion);
+			if(b != ' ' && b != '\n' && b != '\r' && b != '\t') break;
+			pPosicion++;
+		}
+		return pPosicion;
+	}
+
+	/**
+	 * Agrega una pareja inicio, fin a los limites, creciendo el arreglo si hace falta
+	 */
+	private static long[] agregar(long[] pLimites, int pNumero, long pInicio, long pFin)
+	{
+		if(pNumero + 2 > pLimites.length) pLimites = Arrays.copyOf(pLimites, 2 * pLimites.length);
+		pLimites[pNumero] = pInicio;
+		pLimites[pNumero + 1] = pFin;
+		return pLimites;
+	}
+
+	/**
+	 * Lee los features de un bloque en un almacen propio y lo ordena por objectid
+	 * @param pMapa Bytes del bloque, del '{' de su primer feature al '}' de su ultimo feature
+	 * @param pInicio Posicion del bloque en el archivo
+	 * @return Comparendos del bloque ordenados por objectid
+	 */
+	private static ComparendoStore leerBloque(MappedByteBuffer pMapa, long pInicio)
+	{
+		ComparendoStore comparendos;
+		try
+		{
+			comparendos = new EscanerGeoJSON(pMapa, pInicio).leerFeatures(pMapa.limit() / EscanerGeoJSON.BYTES_POR_FEATURE + 1);
+		}
+		catch(IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		catch(ParseException e)
+		{
+			throw new FechaInvalida(e);
+		}
+		comparendos.ordenarPorObjectId();
+		return comparendos;
+	}
+
+	/**
+	 * Archivo mapeado en memoria por segmentos, permite leer cualquier posicion de archivos mayores a 2 GB
+	 */
+	static final class Contenido
+	{
+		/**
+		 * Bits de la posicion dentro de un segmento, cada segmento tiene 1 GB
+		 */
+		private static final int BITS_SEGMENTO = 30;
+
+		private final MappedByteBuffer[] segmentos;
+
+		private final long tamanio;
+
+		Contenido(FileChannel pCanal) throws IOException
+		{
+			tamanio = pCanal.size();
+			long bytesSegmento = 1L << BITS_SEGMENTO;
+			segmentos = new MappedByteBuffer[(int) ((tamanio + bytesSegmento - 1) >>> BITS_SEGMENTO)];
+			for(int s = 0; s < segmentos.length; s++)
+			{
+				long inicio = s * bytesSegmento;
+				segmentos[s] = pCanal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(bytesSegmento, tamanio - inicio));
+			}
+		}
+
+		long tamanio()
+		{
+			return tamanio;
+		}
+
+		byte get(long pPosicion)
+		{
+			return segmentos[(int) (pPosicion >>> BITS_SEGMENTO)].get((int) (pPosicion & ((1 << BITS_SEGMENTO) - 1)));
+		}
+	}
+
+	/**
+	 * Tarea que lee los bloques [desde, hasta) dividiendolos en dos mitades hasta llegar a un bloque,
+	 * y deja cada almacen en su posicion del arreglo de bloques
+	 */
+	private static class Tarea extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final MappedByteBuffer[] mapas;
+
+		private final long[] limites;
+
+		private final ComparendoStore[] bloques;
+
+		private final int desde;
+
+		private final int hasta;
+
+		public Tarea(MappedByteBuffer[] pMapas, long[] pLimites, ComparendoStore[] pBloques, int pDesde, int pHasta)
+		{
+			mapas = pMapas;
+			limites = pLimites;
+			bloques = pBloques;
+			desde = pDesde;
+			hasta = pHasta;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(hasta - desde == 1)
+			{
+				bloques[desde] = leerBloque(mapas[desde], limites[2 * desde]);
+				return;
+			}
+			int mitad = (desde + hasta) >>> 1;
+			invokeAll(new Tarea(mapas, limites, bloques, desde, mitad), new Tarea(mapas, limites, bloques, mitad, hasta));
+		}
+	}
+
+	/**
+	 * Lleva una ParseException de un bloque fuera del pool
+	 */
+	private static class FechaInvalida extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final ParseException causa;
+
+		public FechaInvalida(ParseException pCausa)
+		{
+			super(pCausa);
+			causa = pCausa;
+		}
+	}
+}
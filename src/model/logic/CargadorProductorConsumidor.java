@@ -0,0 +1,187 @@
+package model.logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+
+import com.google.gson.stream.JsonReader;
+
+import model.Comparendo;
+import model.ComparendoStore;
+import model.data_structures.BoundedBlockingQueue;
+
+/**
+ * Carga el GeoJSON con dos hilos unidos por una BoundedBlockingQueue: el productor lee el archivo con JsonReader
+ * y arma lotes de comparendos, y el consumidor (el hilo que llama a cargar) los agrega al ComparendoStore.
+ * La capacidad de la cola limita cuantos lotes leidos pueden estar esperando si el consumidor se atrasa.
+ * Los arboles e indices no se llenan en otra etapa de la cola: guardan numeros de fila, y las filas cambian cuando Modelo
+ * ordena el almacen por objectid despues de leer todo el archivo, asi que se construyen al final sobre las columnas ordenadas.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class CargadorProductorConsumidor
+{
+	/**
+	 * Comparendos por lote, cada lote pasa por la cola como un solo elemento
+	 */
+	static final int TAMANIO_LOTE = 1024;
+
+	/**
+	 * Lotes que pueden estar en la cola al tiempo
+	 */
+	static final int CAPACIDAD_COLA = 16;
+
+	private CargadorProductorConsumidor()
+	{
+	}
+
+	/**
+	 * Carga los comparendos del archivo con la capacidad de cola por defecto
+	 * @param pArchivo Archivo GeoJSON
+	 * @return Comparendos en el orden del archivo
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de algun comparendo no tiene el formato esperado
+	 */
+	public static ComparendoStore cargar(File pArchivo) throws IOException, ParseException
+	{
+		return cargar(pArchivo, TAMANIO_LOTE, CAPACIDAD_COLA);
+	}
+
+	/**
+	 * Carga los comparendos del archivo
+	 * @param pArchivo Archivo GeoJSON
+	 * @param pTamanioLote Comparendos por lote
+	 * @param pCapacidad Lotes que pueden estar en la cola al tiempo
+	 * @return Comparendos en el orden del archivo
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de algun comparendo no tiene el formato esperado
+	 */
+	public static ComparendoStore cargar(File pArchivo, int pTamanioLote, int pCapacidad) throws IOException, ParseException
+	{
+		BoundedBlockingQueue<Comparendo[]> cola = new BoundedBlockingQueue<Comparendo[]>(pCapacidad);
+		Productor productor = new Productor(pArchivo, cola, pTamanioLote);
+		Thread hilo = new Thread(productor, "productor-" + pArchivo.getName());
+		hilo.setDaemon(true);
+		hilo.start();
+
+		ComparendoStore comparendos = new ComparendoStore();
+		try
+		{
+			Comparendo[] lote;
+			while((lote = cola.take()) != null)
+			{
+				for(Comparendo c : lote)
+				{
+					comparendos.agregar(c);
+				}
+			}
+			hilo.join();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("load interrupted", e);
+		}
+		catch(IllegalStateException e)
+		{
+			// alguna columna del almacen supero el numero maximo de valores distintos
+			throw new IOException(e.getMessage(), e);
+		}
+		finally
+		{
+			// si el consumidor sale por cualquier error el productor queda bloqueado en put con el archivo abierto
+			// hasta que se cierra la cola; si termino bien la cola ya esta cerrada
+			cola.close();
+		}
+
+		if(productor.error instanceof IOException) throw (IOException) productor.error;
+		if(productor.error instanceof ParseException) throw (ParseException) productor.error;
+		if(productor.error instanceof RuntimeException) throw (RuntimeException) productor.error;
+		if(productor.error instanceof Error) throw (Error) productor.error;
+		return comparendos;
+	}
+
+	/**
+	 * Lee los features del archivo y los pone en la cola en lotes.
+	 * Al terminar, bien o con error, cierra la cola para que el consumidor salga de take
+	 */
+	private static class Productor implements Runnable
+	{
+		private final File archivo;
+
+		private final BoundedBlockingQueue<Comparendo[]> cola;
+
+		private final int tamanioLote;
+
+		/**
+		 * Error de la lectura, se lee despues de join
+		 */
+		private Throwable error;
+
+		public Productor(File pArchivo, BoundedBlockingQueue<Comparendo[]> pCola, int pTamanioLote)
+		{
+			archivo = pArchivo;
+			cola = pCola;
+			tamanioLote = pTamanioLote;
+		}
+
+		@Override
+		public void run()
+		{
+			try(JsonReader reader = new JsonReader(new InputStreamReader(Files.newInputStream(archivo.toPath()), StandardCharsets.UTF_8)))
+			{
+				Comparendo[] lote = new Comparendo[tamanioLote];
+				int n = 0;
+				reader.beginObject();
+				while(reader.hasNext())
+				{
+					if(reader.nextName().equals("features"))
+					{
+						reader.beginArray();
+						while(reader.hasNext())
+						{
+							lote[n++] = Modelo.leerFeature(reader);
+							if(n == tamanioLote)
+							{
+								cola.put(lote);
+								lote = new Comparendo[tamanioLote];
+								n = 0;
+							}
+						}
+						reader.endArray();
+					}
+					else
+					{
+						reader.skipValue();
+					}
+				}
+				reader.endObject();
+				if(n > 0)
+				{
+					Comparendo[] ultimo = new Comparendo[n];
+					System.arraycopy(lote, 0, ultimo, 0, n);
+					cola.put(ultimo);
+				}
+			}
+			catch(InterruptedException e)
+			{
+				error = new IOException("load interrupted", e);
+			}
+			catch(IllegalStateException e)
+			{
+				// la cola se cerro porque el consumidor se detuvo
+				if(!cola.isClosed()) error = e;
+			}
+			catch(Throwable e)
+			{
+				error = e;
+			}
+			finally
+			{
+				cola.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package model.logic;
+
+import java.util.Arrays;
+
+/**
+ * Curva de Hilbert sobre la malla de latitudes y longitudes. Divide el mundo en una malla de 2^ORDEN x 2^ORDEN celdas
+ * (unos 2 cm de lado) y da a cada celda su posicion en la curva, un long de 2 * ORDEN bits.
+ * Puntos cercanos en el plano tienden a tener posiciones cercanas, asi un arbol ordenado por la posicion sirve de indice espacial:
+ * cada celda alineada de la malla (un cuadrante, un cuadrante de un cuadrante, ...) es un rango contiguo de posiciones.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class CurvaHilbert
+{
+	/**
+	 * Bits de cada coordenada de la malla
+	 */
+	public static final int ORDEN = 31;
+
+	/**
+	 * Numero de celdas de la malla por lado
+	 */
+	private static final long LADO = 1L << ORDEN;
+
+	private CurvaHilbert()
+	{
+	}
+
+	/**
+	 * Da la posicion en la curva de la celda que contiene el punto
+	 * @param pLatitud Latitud, se limita a [-90, 90]
+	 * @param pLongitud Longitud, se limita a [-180, 180]
+	 * @return Posicion en la curva entre 0 y 4^ORDEN - 1
+	 */
+	public static long codificar(double pLatitud, double pLongitud)
+	{
+		return indice(columna(pLongitud), fila(pLatitud), ORDEN);
+	}
+
+	/**
+	 * Columna de la malla de una longitud
+	 */
+	static long columna(double pLongitud)
+	{
+		return celda((pLongitud + 180) / 360);
+	}
+
+	/**
+	 * Fila de la malla de una latitud
+	 */
+	static long fila(double pLatitud)
+	{
+		return celda((pLatitud + 90) / 180);
+	}
+
+	/**
+	 * Celda de una fraccion del lado de la malla, limitada a [0, LADO - 1]
+	 */
+	private static long celda(double pFraccion)
+	{
+		if (!(pFraccion > 0)) return 0;
+		if (pFraccion >= 1) return LADO - 1;
+		return Math.min(LADO - 1, (long) (pFraccion * LADO));
+	}
+
+	/**
+	 * Posicion en la curva de Hilbert de la celda (x, y) de una malla de 2^orden x 2^orden.
+	 * En cada nivel se escoge el cuadrante y se rota o refleja la celda para que el cuadrante quede en la orientacion base
+	 * @param x Columna entre 0 y 2^orden - 1
+	 * @param y Fila entre 0 y 2^orden - 1
+	 * @param orden Bits de cada coordenada, a lo sumo 31
+	 * @return Posicion entre 0 y 4^orden - 1
+	 */
+	static long indice(long x, long y, int orden)
+	{
+		long n = 1L << orden;
+		long d = 0;
+		for (long s = n >>> 1; s > 0; s >>>= 1)
+		{
+			int rx = ((x & s) != 0) ? 1 : 0;
+			int ry = ((y & s) != 0) ? 1 : 0;
+			d += s * s * ((3 * rx) ^ ry);
+			if (ry == 0)
+			{
+				if (rx == 1)
+				{
+					x = n - 1 - x;
+					y = n - 1 - y;
+				}
+				long t = x;
+				x = y;
+				y = t;
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * Descompone un rectangulo de latitudes y longitudes en rangos de posiciones de la curva que lo cubren.
+	 * Se recorren las celdas alineadas de la malla de mayor a menor desde la celda de todo el mundo: las celdas fuera del rectangulo
+	 * se descartan, las que quedan dentro dan su rango completo y las que lo cortan se dividen en los cuadrantes que tocan
+	 * el rectangulo siempre que el numero de rangos no pase de pMaxRangos. Las celdas que quedan cortando el rectangulo tambien dan su rango,
+	 * por eso los rangos pueden incluir puntos fuera del rectangulo, que se deben filtrar. Los rangos contiguos se unen
+	 * @param pLatitudMinima Latitud minima
+	 * @param pLongitudMinima Longitud minima
+	 * @param pLatitudMaxima Latitud maxima
+	 * @param pLongitudMaxima Longitud maxima
+	 * @param pMaxRangos Numero maximo aproximado de rangos, al menos 1
+	 * @return Parejas inicio, fin (inclusivo) de los rangos en orden ascendente, vacio si el rectangulo esta vacio
+	 */
+	public static long[] descomponer(double pLatitudMinima, double pLongitudMinima, double pLatitudMaxima, double pLongitudMaxima, int pMaxRangos)
+	{
+		if (pMaxRangos < 1) throw new IllegalArgumentException("at least one range is needed: " + pMaxRangos);
+		if (!(pLatitudMinima <= pLatitudMaxima) || !(pLongitudMinima <= pLongitudMaxima)) return new long[0];
+		long x0 = columna(pLongitudMinima), x1 = columna(pLongitudMaxima);
+		long y0 = fila(pLatitudMinima), y1 = fila(pLatitudMaxima);
+
+		// rangos completos como parejas inicio, fin
+		long[] rangos = new long[16];
+		int numero = 0;
+		// cola de celdas que cortan el rectangulo como triplas x, y de su esquina y bits de su lado, de mayor a menor
+		long[] cortadas = {0, 0, ORDEN};
+		int primera = 0, ultima = 1;
+		long[] hijos = new long[12];
+		while (primera < ultima)
+		{
+			long x = cortadas[3 * primera], y = cortadas[3 * primera + 1];
+			int bits = (int) cortadas[3 * primera + 2] - 1;
+			primera++;
+			long lado = 1L << bits;
+			// solo cuentan contra el maximo los cuadrantes que tocan el rectangulo
+			int tocan = 0;
+			for (int q = 0; q < 4; q++)
+			{
+				long cx = x + ((q & 1) != 0 ? lado : 0);
+				long cy = y + ((q & 2) != 0 ? lado : 0);
+				if (cx > x1 || cx + lado - 1 < x0 || cy > y1 || cy + lado - 1 < y0) continue;
+				hijos[3 * tocan] = cx;
+				hijos[3 * tocan + 1] = cy;
+				hijos[3 * tocan + 2] = bits;
+				tocan++;
+			}
+			if (numero / 2 + (ultima - primera) + tocan > pMaxRangos)
+			{
+				// la celda no se puede dividir sin pasar del maximo y queda con su rango; las siguientes son iguales o menores y pueden caber
+				rangos = agregarRango(rangos, numero, x, y, bits + 1);
+				numero += 2;
+				continue;
+			}
+			for (int h = 0; h < tocan; h++)
+			{
+				long cx = hijos[3 * h], cy = hijos[3 * h + 1];
+				if (x0 <= cx && cx + lado - 1 <= x1 && y0 <= cy && cy + lado - 1 <= y1)
+				{
+					rangos = agregarRango(rangos, numero, cx, cy, bits);
+					numero += 2;
+				}
+				else
+				{
+					if (3 * ultima + 3 > cortadas.length)
+					{
+						// se descarta lo ya procesado antes de crecer
+						cortadas = Arrays.copyOfRange(cortadas, 3 * primera, 3 * primera + 2 * Math.max(cortadas.length, 12));
+						ultima -= primera;
+						primera = 0;
+					}
+					cortadas[3 * ultima] = cx;
+					cortadas[3 * ultima + 1] = cy;
+					cortadas[3 * ultima + 2] = bits;
+					ultima++;
+				}
+			}
+		}
+		return unir(rangos, numero);
+	}
+
+	/**
+	 * Agrega el rango de la celda alineada de 2^bits de lado con esquina (x, y): los 2 * bits bits bajos
+	 * de la posicion de cualquier celda de la malla dentro de ella recorren todo el rango
+	 */
+	private static long[] agregarRango(long[] pRangos, int pNumero, long x, long y, int bits)
+	{
+		if (pNumero + 2 > pRangos.length) pRangos = Arrays.copyOf(pRangos, 2 * pRangos.length);
+		long tamanio = 1L << (2 * bits);
+		long inicio = indice(x, y, ORDEN) & -tamanio;
+		pRangos[pNumero] = inicio;
+		pRangos[pNumero + 1] = inicio + tamanio - 1;
+		return pRangos;
+	}
+
+	/**
+	 * Ordena los rangos por su inicio y une los que son contiguos. Los rangos son celdas distintas de la malla y no se cruzan
+	 */
+	private static long[] unir(long[] pRangos, int pNumero)
+	{
+		int n = pNumero / 2;
+		Integer[] orden = new Integer[n];
+		for (int i = 0; i < n; i++) orden[i] = i;
+		Arrays.sort(orden, (a, b) -> Long.compare(pRangos[2 * a], pRangos[2 * b]));
+
+		long[] unidos = new long[2 * n];
+		int m = 0;
+		for (int k = 0; k < n; k++)
+		{
+			long inicio = pRangos[2 * orden[k]];
+			long fin = pRangos[2 * orden[k] + 1];
+			if (m > 0 && unidos[m - 1] + 1 == inicio)
+			{
+				unidos[m - 1] = fin;
+			}
+			else
+			{
+				unidos[m++] = inicio;
+				unidos[m++] = fin;
+			}
+		}
+		return Arrays.copyOf(unidos, m);
+	}
+}
@@ -0,0 +1,805 @@
+package model.logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import model.Comparendo;
+import model.ComparendoStore;
+import model.data_structures.Diccionario;
+
+/**
+ * Lector del GeoJSON de comparendos que recorre directamente los bytes del archivo mapeado en memoria, sin JsonReader ni Strings por comparendo.
+ * Las llaves se comparan con sus bytes UTF-8, OBJECTID, la fecha y las coordenadas se convierten en el mismo buffer,
+ * y los valores categoricos se buscan por sus bytes en una cache de codigos, asi solo se crea un String la primera vez que aparece cada valor.
+ * Los comparendos se guardan directamente en un ComparendoStore. El archivo debe ser menor a 2 GB.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class EscanerGeoJSON
+{
+	// Llaves reconocidas
+
+	private static final byte[] FEATURES = bytes("features");
+	private static final byte[] PROPERTIES = bytes("properties");
+	private static final byte[] GEOMETRY = bytes("geometry");
+	private static final byte[] COORDINATES = bytes("coordinates");
+	private static final byte[] OBJECTID = bytes("OBJECTID");
+	private static final byte[] FECHA_HORA = bytes("FECHA_HORA");
+
+	/**
+	 * Llaves de las columnas categoricas, en la posicion de su columna en ComparendoStore
+	 */
+	private static final byte[][] CATEGORICAS = {bytes("DES_INFRACCION"), bytes("MEDIO_DETECCION"), bytes("CLASE_VEHICULO"),
+			bytes("TIPO_SERVICIO"), bytes("INFRACCION"), bytes("LOCALIDAD"), bytes("MUNICIPIO")};
+
+	/**
+	 * Potencias de 10 que se representan exactamente como double
+	 */
+	private static final double[] POTENCIAS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	/**
+	 * Tamanio aproximado en bytes de un feature del archivo de comparendos, para reservar el almacen
+	 */
+	static final int BYTES_POR_FEATURE = 600;
+
+	// Atributos
+
+	/**
+	 * Contenido del archivo
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Posicion actual en el buffer
+	 */
+	private int pos;
+
+	/**
+	 * Fin del contenido
+	 */
+	private final int fin;
+
+	/**
+	 * Posicion en el archivo del inicio del buffer, para reportar los errores con la posicion en el archivo
+	 */
+	private final long base;
+
+	/**
+	 * Vista de caracteres del buffer que se reutiliza para leer las fechas
+	 */
+	private final Ventana ventana;
+
+	/**
+	 * Cache de codigos por columna categorica, sobre los diccionarios del almacen que se esta llenando
+	 */
+	private final CacheCodigos[] caches;
+
+	/**
+	 * Codigos categoricos del feature que se esta leyendo, se reutiliza entre features
+	 */
+	private final short[] codigos;
+
+	/**
+	 * Inicio y fin de la ultima cadena leida con leerCadena, sin las comillas
+	 */
+	private int inicioCadena, finCadena;
+
+	/**
+	 * Indica si la ultima cadena leida tiene secuencias de escape
+	 */
+	private boolean cadenaConEscapes;
+
+	/**
+	 * Crea el escaner sobre el contenido
+	 * @param pBuffer Contenido del GeoJSON en UTF-8, desde la posicion 0 hasta su limite
+	 */
+	EscanerGeoJSON(ByteBuffer pBuffer)
+	{
+		this(pBuffer, 0);
+	}
+
+	/**
+	 * Crea el escaner sobre un tramo del archivo
+	 * @param pBuffer Contenido del tramo en UTF-8, desde la posicion 0 hasta su limite
+	 * @param pBase Posicion del tramo en el archivo
+	 */
+	EscanerGeoJSON(ByteBuffer pBuffer, long pBase)
+	{
+		buffer = pBuffer;
+		base = pBase;
+		fin = pBuffer.limit();
+		ventana = new Ventana();
+		codigos = new short[ComparendoStore.NUMERO_CATEGORICAS];
+		caches = new CacheCodigos[ComparendoStore.NUMERO_CATEGORICAS];
+	}
+
+	/**
+	 * Carga los comparendos del archivo mapeandolo en memoria
+	 * @param pArchivo Archivo GeoJSON
+	 * @return Comparendos en el orden del archivo
+	 * @throws IOException Si el archivo no se puede leer, es mayor a 2 GB o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de algun comparendo no tiene el formato esperado
+	 */
+	public static ComparendoStore cargar(File pArchivo) throws IOException, ParseException
+	{
+		try(FileChannel canal = FileChannel.open(pArchivo.toPath(), StandardOpenOption.READ))
+		{
+			long tamanio = canal.size();
+			if(tamanio > Integer.MAX_VALUE) throw new IOException("file too large to map: " + tamanio + " bytes");
+			ByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanio);
+			return new EscanerGeoJSON(mapa).leer((int) (tamanio / BYTES_POR_FEATURE));
+		}
+	}
+
+	/**
+	 * Lee el objeto raiz y los comparendos de su arreglo features
+	 * @param pEstimado Numero estimado de comparendos
+	 * @return Comparendos leidos
+	 */
+	ComparendoStore leer(int pEstimado) throws IOException, ParseException
+	{
+		ComparendoStore comparendos = crearAlmacen(pEstimado);
+		esperar('{');
+		if(!siguienteEs('}'))
+		{
+			do
+			{
+				leerCadena();
+				esperar(':');
+				if(cadenaEs(FEATURES) && siguienteEs('['))
+				{
+					esperar('[');
+					if(!siguienteEs(']'))
+					{
+						do
+						{
+							leerFeature(comparendos);
+						}
+						while(separador(']'));
+					}
+					else
+					{
+						pos++;
+					}
+				}
+				else
+				{
+					saltarValor();
+				}
+			}
+			while(separador('}'));
+		}
+		else
+		{
+			pos++;
+		}
+		comparendos.ajustar();
+		return comparendos;
+	}
+
+	/**
+	 * Lee una lista de features separados por comas que ocupa todo el buffer, como los bloques de CargadorParalelo
+	 * @param pEstimado Numero estimado de comparendos
+	 * @return Comparendos leidos en el orden del buffer, con diccionarios propios
+	 */
+	ComparendoStore leerFeatures(int pEstimado) throws IOException, ParseException
+	{
+		ComparendoStore comparendos = crearAlmacen(pEstimado);
+		leerFeature(comparendos);
+		while(!alFinal())
+		{
+			esperar(',');
+			leerFeature(comparendos);
+		}
+		return comparendos;
+	}
+
+	/**
+	 * Crea el almacen que se va a llenar y las caches de codigos sobre sus diccionarios
+	 * @param pEstimado Numero estimado de comparendos
+	 * @return Almacen vacio
+	 */
+	private ComparendoStore crearAlmacen(int pEstimado)
+	{
+		ComparendoStore comparendos = new ComparendoStore(pEstimado);
+		for(int c = 0; c < caches.length; c++)
+		{
+			caches[c] = new CacheCodigos(comparendos.darDiccionario(c));
+		}
+		return comparendos;
+	}
+
+	/**
+	 * Lee un feature y agrega su fila
+	 * @param pComparendos Almacen donde se agrega
+	 */
+	private void leerFeature(ComparendoStore pComparendos) throws IOException, ParseException
+	{
+		int objectId = 0;
+		long fecha = Comparendo.SIN_FECHA;
+		double longitud = 0;
+		double latitud = 0;
+		Arrays.fill(codigos, (short) Diccionario.NULO);
+
+		esperar('{');
+		if(siguienteEs('}'))
+		{
+			pos++;
+		}
+		else
+		{
+			do
+			{
+				leerCadena();
+				esperar(':');
+				if(cadenaEs(PROPERTIES) && siguienteEs('{'))
+				{
+					pos++;
+					if(siguienteEs('}'))
+					{
+						pos++;
+						continue;
+					}
+					do
+					{
+						leerCadena();
+						esperar(':');
+						if(esNulo())
+						{
+							continue;
+						}
+						if(cadenaEs(OBJECTID))
+						{
+							long valor = leerEntero();
+							if(valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) throw error("OBJECTID out of range");
+							objectId = (int) valor;
+						}
+						else if(cadenaEs(FECHA_HORA))
+						{
+							leerCadena();
+							ventana.mover(inicioCadena, finCadena);
+							fecha = FechaISO.parsear(ventana);
+						}
+						else
+						{
+							int columna = columnaCategorica();
+							if(columna >= 0)
+							{
+								leerCadena();
+								codigos[columna] = caches[columna].codigo(this);
+							}
+							else
+							{
+								saltarValor();
+							}
+						}
+					}
+					while(separador('}'));
+				}
+				else if(cadenaEs(GEOMETRY) && siguienteEs('{'))
+				{
+					pos++;
+					if(siguienteEs('}'))
+					{
+						pos++;
+						continue;
+					}
+					do
+					{
+						leerCadena();
+						esperar(':');
+						if(cadenaEs(COORDINATES) && siguienteEs('['))
+						{
+							pos++;
+							longitud = leerDouble();
+							esperar(',');
+							latitud = leerDouble();
+							while(separador(']'))
+							{
+								saltarValor();
+							}
+						}
+						else
+						{
+							saltarValor();
+						}
+					}
+					while(separador('}'));
+				}
+				else
+				{
+					saltarValor();
+				}
+			}
+			while(separador('}'));
+		}
+
+		pComparendos.agregar(objectId, fecha, latitud, longitud, codigos[0], codigos[1], codigos[2], codigos[3], codigos[4], codigos[5], codigos[6]);
+	}
+
+	/**
+	 * Da la columna categorica de la ultima llave leida
+	 * @return Columna en ComparendoStore o -1 si la llave no es categorica
+	 */
+	private int columnaCategorica()
+	{
+		for(int c = 0; c < CATEGORICAS.length; c++)
+		{
+			if(cadenaEs(CATEGORICAS[c])) return c;
+		}
+		return -1;
+	}
+
+	// Lectura de tokens
+
+	/**
+	 * Avanza sobre los espacios en blanco
+	 */
+	private void saltarEspacios()
+	{
+		while(pos < fin)
+		{
+			byte b = buffer.get(pos);
+			if(b != ' ' && b != '\n' && b != '\r' && b != '\t') return;
+			pos++;
+		}
+	}
+
+	/**
+	 * Determina si solo quedan espacios en blanco
+	 */
+	private boolean alFinal()
+	{
+		saltarEspacios();
+		return pos >= fin;
+	}
+
+	/**
+	 * Determina si el siguiente caracter, sin contar espacios, es el dado. No lo consume
+	 */
+	private boolean siguienteEs(char pCaracter)
+	{
+		saltarEspacios();
+		return pos < fin && buffer.get(pos) == pCaracter;
+	}
+
+	/**
+	 * Consume el caracter dado
+	 * @throws IOException Si el siguiente caracter es otro
+	 */
+	private void esperar(char pCaracter) throws IOException
+	{
+		if(!siguienteEs(pCaracter)) throw error("expected '" + pCaracter + "'");
+		pos++;
+	}
+
+	/**
+	 * Consume una coma o el cierre de un objeto o arreglo
+	 * @param pCierre '}' o ']'
+	 * @return True si habia una coma y siguen mas elementos, false si se cerro
+	 * @throws IOException Si no hay ni coma ni cierre
+	 */
+	private boolean separador(char pCierre) throws IOException
+	{
+		saltarEspacios();
+		if(pos < fin)
+		{
+			byte b = buffer.get(pos++);
+			if(b == ',') return true;
+			if(b == pCierre) return false;
+		}
+		throw error("expected ',' or '" + pCierre + "'");
+	}
+
+	/**
+	 * Consume el literal null si es el siguiente valor
+	 * @return True si el valor era null
+	 */
+	private boolean esNulo()
+	{
+		if(siguienteEs('n') && pos + 4 <= fin && buffer.get(pos + 1) == 'u' && buffer.get(pos + 2) == 'l' && buffer.get(pos + 3) == 'l')
+		{
+			pos += 4;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Lee una cadena dejando su inicio y fin en inicioCadena y finCadena, sin crear un String
+	 * @throws IOException Si no hay una cadena o no esta cerrada
+	 */
+	private void leerCadena() throws IOException
+	{
+		esperar('"');
+		inicioCadena = pos;
+		cadenaConEscapes = false;
+		while(pos < fin)
+		{
+			byte b = buffer.get(pos);
+			if(b == '"')
+			{
+				finCadena = pos++;
+				return;
+			}
+			if(b == '\\')
+			{
+				cadenaConEscapes = true;
+				pos++;
+			}
+			pos++;
+		}
+		throw error("unterminated string");
+	}
+
+	/**
+	 * Compara la ultima cadena leida con los bytes dados
+	 */
+	private boolean cadenaEs(byte[] pBytes)
+	{
+		if(finCadena - inicioCadena != pBytes.length) return false;
+		for(int k = 0; k < pBytes.length; k++)
+		{
+			if(buffer.get(inicioCadena + k) != pBytes[k]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Crea el String de la ultima cadena leida, resolviendo las secuencias de escape
+	 * @return Valor de la cadena
+	 */
+	String valorCadena() throws IOException
+	{
+		byte[] crudos = new byte[finCadena - inicioCadena];
+		for(int k = 0; k < crudos.length; k++)
+		{
+			crudos[k] = buffer.get(inicioCadena + k);
+		}
+		if(!cadenaConEscapes)
+		{
+			return new String(crudos, StandardCharsets.UTF_8);
+		}
+
+		StringBuilder valor = new StringBuilder(crudos.length);
+		int inicioTramo = 0;
+		int k = 0;
+		while(k < crudos.length)
+		{
+			if(crudos[k] != '\\')
+			{
+				k++;
+				continue;
+			}
+			valor.append(new String(crudos, inicioTramo, k - inicioTramo, StandardCharsets.UTF_8));
+			if(k + 1 >= crudos.length) throw error("bad escape");
+			byte escape = crudos[k + 1];
+			k += 2;
+			switch(escape)
+			{
+			case 'n': valor.append('\n'); break;
+			case 't': valor.append('\t'); break;
+			case 'r': valor.append('\r'); break;
+			case 'b': valor.append('\b'); break;
+			case 'f': valor.append('\f'); break;
+			case '"': valor.append('"'); break;
+			case '\\': valor.append('\\'); break;
+			case '/': valor.append('/'); break;
+			case 'u':
+				if(k + 4 > crudos.length) throw error("bad unicode escape");
+				int unidad = 0;
+				for(int d = 0; d < 4; d++)
+				{
+					int digito = Character.digit(crudos[k + d], 16);
+					if(digito < 0) throw error("bad unicode escape");
+					unidad = unidad * 16 + digito;
+				}
+				valor.append((char) unidad);
+				k += 4;
+				break;
+			default: throw error("bad escape");
+			}
+			inicioTramo = k;
+		}
+		valor.append(new String(crudos, inicioTramo, crudos.length - inicioTramo, StandardCharsets.UTF_8));
+		return valor.toString();
+	}
+
+	/**
+	 * Lee un numero entero en el buffer
+	 * @return Valor del numero
+	 * @throws IOException Si no hay un entero
+	 */
+	private long leerEntero() throws IOException
+	{
+		saltarEspacios();
+		boolean negativo = pos < fin && buffer.get(pos) == '-';
+		if(negativo) pos++;
+		int inicio = pos;
+		long valor = 0;
+		while(pos < fin)
+		{
+			int digito = buffer.get(pos) - '0';
+			if(digito < 0 || digito > 9) break;
+			valor = valor * 10 + digito;
+			pos++;
+		}
+		if(pos == inicio || pos - inicio > 18) throw error("expected an integer");
+		return negativo ? -valor : valor;
+	}
+
+	/**
+	 * Lee un numero decimal en el buffer. Si la mantisa tiene a lo sumo 53 bits y el exponente decimal a lo sumo 22
+	 * el resultado es una sola multiplicacion o division exacta y da el mismo double que Double.parseDouble;
+	 * en otro caso se usa Double.parseDouble con el texto del numero.
+	 * @return Valor del numero
+	 * @throws IOException Si no hay un numero
+	 */
+	private double leerDouble() throws IOException
+	{
+		saltarEspacios();
+		int inicio = pos;
+		boolean negativo = pos < fin && buffer.get(pos) == '-';
+		if(negativo) pos++;
+
+		long mantisa = 0;
+		int digitos = 0;
+		int exponente = 0;
+		boolean hayDigitos = false;
+		boolean exacto = true;
+		boolean enDecimales = false;
+		while(pos < fin)
+		{
+			byte b = buffer.get(pos);
+			if(b >= '0' && b <= '9')
+			{
+				hayDigitos = true;
+				if(digitos < 18)
+				{
+					mantisa = mantisa * 10 + (b - '0');
+					if(mantisa != 0) digitos++;
+					if(enDecimales) exponente--;
+				}
+				else
+				{
+					exacto = false;
+				}
+			}
+			else if(b == '.' && !enDecimales)
+			{
+				enDecimales = true;
+			}
+			else if(b == 'e' || b == 'E' || b == '+' || (b == '-' && pos > inicio))
+			{
+				exacto = false;
+			}
+			else
+			{
+				break;
+			}
+			pos++;
+		}
+		if(!hayDigitos) throw error("expected a number");
+
+		if(exacto && mantisa < (1L << 53) && exponente >= -22)
+		{
+			double valor = (exponente < 0) ? mantisa / POTENCIAS[-exponente] : mantisa;
+			return negativo ? -valor : valor;
+		}
+		byte[] texto = new byte[pos - inicio];
+		for(int k = 0; k < texto.length; k++)
+		{
+			texto[k] = buffer.get(inicio + k);
+		}
+		try
+		{
+			return Double.parseDouble(new String(texto, StandardCharsets.US_ASCII));
+		}
+		catch(NumberFormatException e)
+		{
+			throw error("bad number");
+		}
+	}
+
+	/**
+	 * Salta un valor completo: cadena, numero, literal, objeto o arreglo
+	 * @throws IOException Si el valor no esta completo
+	 */
+	private void saltarValor() throws IOException
+	{
+		saltarEspacios();
+		if(pos >= fin) throw error("expected a value");
+		byte b = buffer.get(pos);
+		if(b == '"')
+		{
+			leerCadena();
+			return;
+		}
+		if(b != '{' && b != '[')
+		{
+			// numero o literal
+			while(pos < fin)
+			{
+				b = buffer.get(pos);
+				if(b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') return;
+				pos++;
+			}
+			return;
+		}
+
+		int profundidad = 0;
+		while(pos < fin)
+		{
+			b = buffer.get(pos);
+			if(b == '"')
+			{
+				leerCadena();
+				continue;
+			}
+			pos++;
+			if(b == '{' || b == '[') profundidad++;
+			else if((b == '}' || b == ']') && --profundidad == 0) return;
+		}
+		throw error("unterminated value");
+	}
+
+	/**
+	 * Crea el error de formato con la posicion actual
+	 */
+	private IOException error(String pMensaje)
+	{
+		return new IOException(pMensaje + " at byte " + (base + pos));
+	}
+
+	/**
+	 * Bytes UTF-8 de una llave
+	 */
+	private static byte[] bytes(String pLlave)
+	{
+		return pLlave.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Vista de un tramo del buffer como caracteres ASCII, para leer las fechas con FechaISO sin crear Strings
+	 */
+	private class Ventana implements CharSequence
+	{
+		private int inicio;
+
+		private int largo;
+
+		void mover(int pInicio, int pFin)
+		{
+			inicio = pInicio;
+			largo = pFin - pInicio;
+		}
+
+		@Override
+		public int length()
+		{
+			return largo;
+		}
+
+		@Override
+		public char charAt(int pIndice)
+		{
+			if(pIndice < 0 || pIndice >= largo) throw new IndexOutOfBoundsException("index " + pIndice);
+			return (char) (buffer.get(inicio + pIndice) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int pInicio, int pFin)
+		{
+			return toString().subSequence(pInicio, pFin);
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder texto = new StringBuilder(largo);
+			for(int k = 0; k < largo; k++)
+			{
+				texto.append(charAt(k));
+			}
+			return texto.toString();
+		}
+	}
+
+	/**
+	 * Tabla hash de direccionamiento abierto de los bytes crudos de cada valor de una columna a su codigo en el diccionario.
+	 * Solo la primera vez que aparece un valor se crea su String y se registra en el diccionario
+	 */
+	private static class CacheCodigos
+	{
+		private final Diccionario diccionario;
+
+		private byte[][] claves = new byte[64][];
+
+		private short[] codigos = new short[64];
+
+		private int size;
+
+		CacheCodigos(Diccionario pDiccionario)
+		{
+			diccionario = pDiccionario;
+		}
+
+		/**
+		 * Da el codigo de la ultima cadena leida por el escaner
+		 */
+		short codigo(EscanerGeoJSON pEscaner) throws IOException
+		{
+			ByteBuffer buffer = pEscaner.buffer;
+			int inicio = pEscaner.inicioCadena;
+			int largo = pEscaner.finCadena - inicio;
+			int hash = 1;
+			for(int k = 0; k < largo; k++)
+			{
+				hash = 31 * hash + buffer.get(inicio + k);
+			}
+
+			int mascara = claves.length - 1;
+			int i = (hash ^ (hash >>> 16)) & mascara;
+			while(claves[i] != null)
+			{
+				if(iguales(claves[i], buffer, inicio, largo)) return codigos[i];
+				i = (i + 1) & mascara;
+			}
+
+			byte[] clave = new byte[largo];
+			for(int k = 0; k < largo; k++)
+			{
+				clave[k] = buffer.get(inicio + k);
+			}
+			short codigo;
+			try
+			{
+				codigo = (short) diccionario.codificar(pEscaner.valorCadena());
+			}
+			catch(IllegalStateException e)
+			{
+				throw pEscaner.error(e.getMessage());
+			}
+			claves[i] = clave;
+			codigos[i] = codigo;
+			if(++size * 2 > claves.length) crecer();
+			return codigo;
+		}
+
+		private static boolean iguales(byte[] pClave, ByteBuffer pBuffer, int pInicio, int pLargo)
+		{
+			if(pClave.length != pLargo) return false;
+			for(int k = 0; k < pLargo; k++)
+			{
+				if(pClave[k] != pBuffer.get(pInicio + k)) return false;
+			}
+			return true;
+		}
+
+		private void crecer()
+		{
+			byte[][] viejasClaves = claves;
+			short[] viejosCodigos = codigos;
+			claves = new byte[2 * viejasClaves.length][];
+			codigos = new short[claves.length];
+			int mascara = claves.length - 1;
+			for(int j = 0; j < viejasClaves.length; j++)
+			{
+				byte[] clave = viejasClaves[j];
+				if(clave == null) continue;
+				int hash = 1;
+				for(byte b : clave) hash = 31 * hash + b;
+				int i = (hash ^ (hash >>> 16)) & mascara;
+				while(claves[i] != null) i = (i + 1) & mascara;
+				claves[i] = clave;
+				codigos[i] = viejosCodigos[j];
+			}
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package model.logic;
+
+import java.text.ParseException;
+
+/**
+ * Lector de las fechas del archivo de comparendos con el formato fijo ISO-8601 yyyy-MM-ddTHH:mm:ss.SSSZ.
+ * Convierte la fecha directamente a milisegundos desde 1970-01-01T00:00:00Z sin crear objetos,
+ * en lugar de hacer replaceFirst, replaceAll y SimpleDateFormat.parse por cada comparendo.
+ * Los milisegundos (.SSS) y la Z final son opcionales; la fecha siempre se interpreta en UTC.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class FechaISO
+{
+	/**
+	 * Milisegundos de un dia
+	 */
+	private static final long MILIS_DIA = 86400000L;
+
+	private FechaISO()
+	{
+	}
+
+	/**
+	 * Convierte la fecha a milisegundos desde la epoca
+	 * @param pFecha Fecha con el formato yyyy-MM-ddTHH:mm:ss[.SSS][Z]
+	 * @return Milisegundos desde 1970-01-01T00:00:00Z
+	 * @throws ParseException Si la fecha no tiene el formato esperado o tiene campos fuera de rango
+	 */
+	public static long parsear(CharSequence pFecha) throws ParseException
+	{
+		int largo = pFecha.length();
+		if(largo > 0 && pFecha.charAt(largo - 1) == 'Z')
+		{
+			largo--;
+		}
+		if(largo != 19 && largo != 23)
+		{
+			throw new ParseException("Unparseable date: \"" + pFecha + "\"", 0);
+		}
+
+		separador(pFecha, 4, '-');
+		separador(pFecha, 7, '-');
+		separador(pFecha, 10, 'T');
+		separador(pFecha, 13, ':');
+		separador(pFecha, 16, ':');
+
+		int anio = digitos(pFecha, 0, 4);
+		int mes = digitos(pFecha, 5, 2);
+		int dia = digitos(pFecha, 8, 2);
+		int hora = digitos(pFecha, 11, 2);
+		int minuto = digitos(pFecha, 14, 2);
+		int segundo = digitos(pFecha, 17, 2);
+		int milis = 0;
+		if(largo == 23)
+		{
+			separador(pFecha, 19, '.');
+			milis = digitos(pFecha, 20, 3);
+		}
+
+		if(mes < 1 || mes > 12) throw new ParseException("Invalid month in \"" + pFecha + "\"", 5);
+		if(dia < 1 || dia > diasDelMes(anio, mes)) throw new ParseException("Invalid day in \"" + pFecha + "\"", 8);
+		if(hora > 23) throw new ParseException("Invalid hour in \"" + pFecha + "\"", 11);
+		if(minuto > 59) throw new ParseException("Invalid minute in \"" + pFecha + "\"", 14);
+		if(segundo > 59) throw new ParseException("Invalid second in \"" + pFecha + "\"", 17);
+
+		long segundos = ((hora * 60L) + minuto) * 60L + segundo;
+		return diasDesdeEpoca(anio, mes, dia) * MILIS_DIA + segundos * 1000L + milis;
+	}
+
+	/**
+	 * Numero de dias entre 1970-01-01 y la fecha dada del calendario gregoriano
+	 * @param pAnio Anio
+	 * @param pMes Mes de 1 a 12
+	 * @param pDia Dia del mes
+	 * @return Dias desde la epoca, negativos antes de 1970
+	 */
+	static long diasDesdeEpoca(int pAnio, int pMes, int pDia)
+	{
+		// los anios empiezan en marzo para que el dia bisiesto quede al final
+		int anio = (pMes <= 2) ? pAnio - 1 : pAnio;
+		int era = Math.floorDiv(anio, 400);
+		int anioDeEra = anio - era * 400;
+		int diaDelAnio = (153 * (pMes + (pMes > 2 ? -3 : 9)) + 2) / 5 + pDia - 1;
+		int diaDeEra = anioDeEra * 365 + anioDeEra / 4 - anioDeEra / 100 + diaDelAnio;
+		return era * 146097L + diaDeEra - 719468L;
+	}
+
+	/**
+	 * Numero de dias del mes
+	 * @param pAnio Anio
+	 * @param pMes Mes de 1 a 12
+	 * @return Dias del mes
+	 */
+	private static int diasDelMes(int pAnio, int pMes)
+	{
+		switch(pMes)
+		{
+		case 2:
+			boolean bisiesto = (pAnio % 4 == 0 && pAnio % 100 != 0) || pAnio % 400 == 0;
+			return bisiesto ? 29 : 28;
+		case 4: case 6: case 9: case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * Lee un numero de digitos decimales fijos
+	 * @param pFecha Fecha
+	 * @param pInicio Posicion del primer digito
+	 * @param pCantidad Numero de digitos
+	 * @return Valor del numero
+	 * @throws ParseException Si algun caracter no es un digito
+	 */
+	private static int digitos(CharSequence pFecha, int pInicio, int pCantidad) throws ParseException
+	{
+		int valor = 0;
+		for(int i = pInicio; i < pInicio + pCantidad; i++)
+		{
+			int digito = pFecha.charAt(i) - '0';
+			if(digito < 0 || digito > 9)
+			{
+				throw new ParseException("Unparseable date: \"" + pFecha + "\"", i);
+			}
+			valor = valor * 10 + digito;
+		}
+		return valor;
+	}
+
+	/**
+	 * Verifica el separador de una posicion
+	 * @param pFecha Fecha
+	 * @param pPosicion Posicion del separador
+	 * @param pEsperado Caracter esperado
+	 * @throws ParseException Si el caracter no es el esperado
+	 */
+	private static void separador(CharSequence pFecha, int pPosicion, char pEsperado) throws ParseException
+	{
+		if(pFecha.charAt(pPosicion) != pEsperado)
+		{
+			throw new ParseException("Unparseable date: \"" + pFecha + "\"", pPosicion);
+		}
+	}
+}
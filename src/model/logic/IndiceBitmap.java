@@ -0,0 +1,170 @@
+package model.logic;
+
+import java.util.Arrays;
+
+import model.Comparendo;
+import model.ComparendoStore;
+import model.data_structures.ArrayQueue;
+import model.data_structures.CompressedBitmap;
+import model.data_structures.Diccionario;
+
+/**
+ * Indice invertido de las columnas categoricas de un almacen: para cada valor distinto de cada columna guarda el conjunto
+ * comprimido de las filas que lo tienen. Un filtro como LOCALIDAD = SUBA y CLASE_VEHICULO = MOTOCICLETA se resuelve con
+ * la interseccion de dos conjuntos, sin recorrer las filas ni comparar cadenas.
+ * Los conjuntos del indice se entregan como vistas de solo lectura; and, or, andNot y not siempre crean conjuntos nuevos.
+ * Los numeros de fila solo valen para el almacen indexado, por eso los comparendos se piden al mismo indice con darComparendos.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class IndiceBitmap
+{
+	// Atributos
+
+	/**
+	 * Almacen indexado
+	 */
+	private final ComparendoStore almacen;
+
+	/**
+	 * Numero de filas del almacen indexado
+	 */
+	private final int filas;
+
+	/**
+	 * Filas de cada valor, conjuntos[columna][codigo + 1]; la posicion 0 tiene las filas sin valor (codigo NULO)
+	 */
+	private final CompressedBitmap[][] conjuntos;
+
+	// Metodo Constructor
+
+	/**
+	 * Construye el indice de todas las columnas categoricas del almacen. Las filas se agregan en orden ascendente,
+	 * cada conjunto solo crece por su ultimo contenedor
+	 * @param pAlmacen Almacen de comparendos
+	 */
+	public IndiceBitmap(ComparendoStore pAlmacen)
+	{
+		almacen = pAlmacen;
+		filas = pAlmacen.size();
+		conjuntos = new CompressedBitmap[ComparendoStore.NUMERO_CATEGORICAS][];
+		for(int c = 0; c < ComparendoStore.NUMERO_CATEGORICAS; c++)
+		{
+			short[] codigos = pAlmacen.darCodigos(c);
+			int maximo = -1;
+			for(short codigo : codigos)
+			{
+				maximo = Math.max(maximo, codigo);
+			}
+			CompressedBitmap[] columna = new CompressedBitmap[maximo + 2];
+			for(int v = 0; v < columna.length; v++)
+			{
+				columna[v] = new CompressedBitmap();
+			}
+			for(int fila = 0; fila < codigos.length; fila++)
+			{
+				columna[codigos[fila] + 1].add(fila);
+			}
+			for(int v = 0; v < columna.length; v++)
+			{
+				columna[v] = columna[v].readOnly();
+			}
+			conjuntos[c] = columna;
+		}
+	}
+
+	// Metodos
+
+	/**
+	 * Retorna el numero de filas del almacen indexado
+	 * @return Numero de filas
+	 */
+	public int size()
+	{
+		return filas;
+	}
+
+	/**
+	 * Da las filas con un valor en una columna
+	 * @param pColumna Columna, por ejemplo ComparendoStore.LOCALIDAD
+	 * @param pValor Valor buscado o null para las filas sin valor
+	 * @return Filas con el valor, de solo lectura; vacio si ninguna lo tiene
+	 */
+	public CompressedBitmap darFilas(int pColumna, String pValor)
+	{
+		Diccionario diccionario = almacen.darDiccionario(pColumna);
+		int codigo = diccionario.buscar(pValor);
+		if(codigo == Diccionario.NULO && pValor != null)
+		{
+			return new CompressedBitmap();
+		}
+		return darFilas(pColumna, codigo);
+	}
+
+	/**
+	 * Da las filas con un codigo en una columna
+	 * @param pColumna Columna, por ejemplo ComparendoStore.LOCALIDAD
+	 * @param pCodigo Codigo en el diccionario de la columna o Diccionario.NULO
+	 * @return Filas con el codigo, de solo lectura; vacio si ninguna lo tiene
+	 */
+	public CompressedBitmap darFilas(int pColumna, int pCodigo)
+	{
+		CompressedBitmap[] columna = conjuntos[pColumna];
+		if(pCodigo + 1 < 0 || pCodigo + 1 >= columna.length)
+		{
+			return new CompressedBitmap();
+		}
+		return columna[pCodigo + 1];
+	}
+
+	/**
+	 * Da las filas que tienen todos los valores dados (AND de los filtros). Intersecta primero los conjuntos mas pequenios
+	 * y termina apenas el resultado queda vacio
+	 * @param pColumnas Columna de cada filtro
+	 * @param pValores Valor de cada filtro
+	 * @return Filas que cumplen todos los filtros, todas las filas si no hay filtros. Con un solo filtro es el conjunto de solo lectura del indice
+	 * @throws IllegalArgumentException si los arreglos tienen tamanios distintos
+	 */
+	public CompressedBitmap darFilasConTodos(int[] pColumnas, String[] pValores)
+	{
+		if(pColumnas.length != pValores.length) throw new IllegalArgumentException("columns and values have different lengths");
+		if(pColumnas.length == 0)
+		{
+			return darTodas();
+		}
+		CompressedBitmap[] filtros = new CompressedBitmap[pColumnas.length];
+		for(int i = 0; i < filtros.length; i++)
+		{
+			filtros[i] = darFilas(pColumnas[i], pValores[i]);
+		}
+		Arrays.sort(filtros, (a, b) -> Integer.compare(a.cardinality(), b.cardinality()));
+		CompressedBitmap resultado = filtros[0];
+		for(int i = 1; i < filtros.length && !resultado.isEmpty(); i++)
+		{
+			resultado = resultado.and(filtros[i]);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Da todas las filas del almacen, sirve como universo de not
+	 * @return Conjunto {0, ..., size() - 1}
+	 */
+	public CompressedBitmap darTodas()
+	{
+		return CompressedBitmap.range(filas);
+	}
+
+	/**
+	 * Retorna los comparendos de las filas de un conjunto, por ejemplo el resultado de combinar filtros de este indice
+	 * con and, or, andNot y not. Las filas se buscan en el almacen indexado, aunque el modelo ya haya cargado otro archivo
+	 * @param pFilas Filas del almacen indexado
+	 * @return Comparendos en orden de fila, es decir de objectid
+	 * @throws IndexOutOfBoundsException si alguna fila no es menor que size()
+	 */
+	public ArrayQueue<Comparendo> darComparendos(CompressedBitmap pFilas)
+	{
+		ArrayQueue<Comparendo> encontrados = new ArrayQueue<Comparendo>(pFilas.cardinality());
+		pFilas.forEach(fila -> encontrados.enqueue(almacen.darComparendo(fila)));
+		return encontrados;
+	}
+}
@@ -0,0 +1,241 @@
+package model.logic;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+
+import model.ComparendoStore;
+import model.data_structures.Diccionario;
+import model.data_structures.RedBlackBST;
+
+/**
+ * Indice invertido de palabras de la descripcion de la infraccion (DES_INFRACCION) de un almacen.
+ * Las descripciones se parten en palabras de letras y digitos, sin tildes y en mayusculas, asi "REVISIÓN" y "revision" son la misma palabra.
+ * Cada palabra guarda su lista de filas en orden ascendente; las palabras estan en un arbol rojo - negro ordenado,
+ * por eso las busquedas por prefijo recorren solo el rango de palabras que empiezan por el prefijo.
+ * Como la columna esta codificada con un diccionario, cada descripcion distinta se parte una sola vez.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class IndiceTexto
+{
+	/**
+	 * Lista de filas vacia
+	 */
+	private static final int[] VACIA = new int[0];
+
+	// Atributos
+
+	/**
+	 * Filas de cada palabra, en orden ascendente y sin repetidos
+	 */
+	private final RedBlackBST<String, int[]> palabras;
+
+	// Metodo Constructor
+
+	/**
+	 * Construye el indice de las descripciones del almacen. Las filas se recorren en orden, asi cada lista queda ordenada sin ordenarla
+	 * @param pAlmacen Almacen de comparendos
+	 */
+	public IndiceTexto(ComparendoStore pAlmacen)
+	{
+		short[] codigos = pAlmacen.darCodigos(ComparendoStore.DES_INFRACCION);
+		Diccionario diccionario = pAlmacen.darDiccionario(ComparendoStore.DES_INFRACCION);
+
+		// palabras distintas de cada descripcion distinta, como numeros de palabra
+		HashMap<String, Integer> numeros = new HashMap<String, Integer>();
+		ArrayList<String> terminos = new ArrayList<String>();
+		int[][] palabrasPorCodigo = new int[diccionario.size()][];
+		for(short codigo : codigos)
+		{
+			if(codigo == Diccionario.NULO || palabrasPorCodigo[codigo] != null) continue;
+			String[] tokens = tokenizar(diccionario.decodificar(codigo));
+			int[] ids = new int[tokens.length];
+			for(int t = 0; t < tokens.length; t++)
+			{
+				Integer id = numeros.get(tokens[t]);
+				if(id == null)
+				{
+					id = terminos.size();
+					numeros.put(tokens[t], id);
+					terminos.add(tokens[t]);
+				}
+				ids[t] = id;
+			}
+			palabrasPorCodigo[codigo] = ids;
+		}
+
+		// tamanio de cada lista y luego las listas llenas en orden de fila
+		int[] conteos = new int[terminos.size()];
+		for(short codigo : codigos)
+		{
+			if(codigo == Diccionario.NULO) continue;
+			for(int id : palabrasPorCodigo[codigo]) conteos[id]++;
+		}
+		int[][] filas = new int[terminos.size()][];
+		for(int id = 0; id < filas.length; id++)
+		{
+			filas[id] = new int[conteos[id]];
+			conteos[id] = 0;
+		}
+		for(int fila = 0; fila < codigos.length; fila++)
+		{
+			if(codigos[fila] == Diccionario.NULO) continue;
+			for(int id : palabrasPorCodigo[codigos[fila]]) filas[id][conteos[id]++] = fila;
+		}
+		palabras = new RedBlackBST<String, int[]>(terminos.toArray(new String[0]), filas);
+	}
+
+	// Metodos
+
+	/**
+	 * Parte un texto en palabras: quita las tildes y demas marcas (Á -> A, Ñ -> N), pasa a mayusculas y corta en todo
+	 * lo que no es letra ni digito, incluidos los saltos de linea. Las palabras repetidas aparecen una sola vez
+	 * @param pTexto Texto a partir, puede ser null
+	 * @return Palabras del texto en orden de aparicion
+	 */
+	public static String[] tokenizar(String pTexto)
+	{
+		if(pTexto == null) return new String[0];
+		String plano = Normalizer.normalize(pTexto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toUpperCase(Locale.ROOT);
+		String[] partes = plano.split("[^\\p{L}\\p{N}]+");
+		LinkedHashSet<String> tokens = new LinkedHashSet<String>();
+		for(String parte : partes)
+		{
+			if(!parte.isEmpty()) tokens.add(parte);
+		}
+		return tokens.toArray(new String[0]);
+	}
+
+	/**
+	 * Retorna el numero de palabras distintas del indice
+	 * @return Numero de palabras
+	 */
+	public int darNumeroPalabras()
+	{
+		return palabras.size();
+	}
+
+	/**
+	 * Da las filas cuya descripcion tiene todas las palabras de la consulta, en cualquier orden y posicion
+	 * @param pConsulta Palabras separadas por espacios, por ejemplo "REVISIÓN TECNICOMECÁNICA"
+	 * @return Filas en orden ascendente, vacio si la consulta no tiene palabras
+	 */
+	public int[] buscar(String pConsulta)
+	{
+		String[] tokens = tokenizar(pConsulta);
+		int[][] listas = new int[tokens.length][];
+		for(int t = 0; t < tokens.length; t++)
+		{
+			listas[t] = palabras.get(tokens[t]);
+			if(listas[t] == null) return VACIA;
+		}
+		return intersectar(listas);
+	}
+
+	/**
+	 * Da las filas cuya descripcion tiene, para cada palabra de la consulta, alguna palabra que empieza por ella.
+	 * Por ejemplo "REVISI TECNICO" encuentra las descripciones con "REVISION" y "TECNICOMECANICA"
+	 * @param pConsulta Prefijos separados por espacios
+	 * @return Filas en orden ascendente, vacio si la consulta no tiene palabras
+	 */
+	public int[] buscarPrefijos(String pConsulta)
+	{
+		String[] tokens = tokenizar(pConsulta);
+		int[][] listas = new int[tokens.length][];
+		for(int t = 0; t < tokens.length; t++)
+		{
+			ArrayList<int[]> coincidencias = new ArrayList<int[]>();
+			palabras.forEach(tokens[t], tokens[t] + Character.MAX_VALUE, (palabra, filas) -> coincidencias.add(filas));
+			if(coincidencias.isEmpty()) return VACIA;
+			listas[t] = unir(coincidencias);
+		}
+		return intersectar(listas);
+	}
+
+	/**
+	 * Interseccion de listas ordenadas. Empieza por la mas corta y busca cada fila en las demas con busqueda exponencial
+	 * desde la ultima posicion, asi una lista larga se salta en bloques en lugar de recorrerla completa
+	 */
+	private static int[] intersectar(int[][] pListas)
+	{
+		if(pListas.length == 0) return VACIA;
+		int[][] listas = pListas.clone();
+		Arrays.sort(listas, (a, b) -> Integer.compare(a.length, b.length));
+		int[] resultado = listas[0].clone();
+		int n = resultado.length;
+		for(int l = 1; l < listas.length && n > 0; l++)
+		{
+			int[] lista = listas[l];
+			int m = 0;
+			int desde = 0;
+			for(int i = 0; i < n && desde < lista.length; i++)
+			{
+				int fila = resultado[i];
+				// busqueda exponencial del primer elemento >= fila y luego binaria en el ultimo salto
+				int paso = 1;
+				int hasta = desde;
+				while(hasta < lista.length && lista[hasta] < fila)
+				{
+					desde = hasta + 1;
+					hasta += paso;
+					paso <<= 1;
+				}
+				int pos = Arrays.binarySearch(lista, desde, Math.min(hasta + 1, lista.length), fila);
+				if(pos >= 0)
+				{
+					resultado[m++] = fila;
+					desde = pos + 1;
+				}
+				else
+				{
+					desde = -pos - 1;
+				}
+			}
+			n = m;
+		}
+		return Arrays.copyOf(resultado, n);
+	}
+
+	/**
+	 * Union de listas ordenadas, mezclandolas de dos en dos por rondas como en un mergesort
+	 */
+	private static int[] unir(ArrayList<int[]> pListas)
+	{
+		ArrayList<int[]> ronda = pListas;
+		while(ronda.size() > 1)
+		{
+			ArrayList<int[]> siguiente = new ArrayList<int[]>();
+			for(int i = 0; i < ronda.size(); i += 2)
+			{
+				siguiente.add(i + 1 < ronda.size() ? mezclar(ronda.get(i), ronda.get(i + 1)) : ronda.get(i));
+			}
+			ronda = siguiente;
+		}
+		return ronda.get(0).clone();
+	}
+
+	/**
+	 * Mezcla dos listas ordenadas sin repetir las filas que estan en ambas
+	 */
+	private static int[] mezclar(int[] a, int[] b)
+	{
+		int[] resultado = new int[a.length + b.length];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while(i < a.length || j < b.length)
+		{
+			if(j == b.length || (i < a.length && a[i] < b[j])) resultado[k++] = a[i++];
+			else if(i == a.length || a[i] > b[j]) resultado[k++] = b[j++];
+			else
+			{
+				resultado[k++] = a[i++];
+				j++;
+			}
+		}
+		return Arrays.copyOf(resultado, k);
+	}
+}
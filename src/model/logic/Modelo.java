@@ -1,21 +1,35 @@
 package model.logic;
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import model.Comparendo;
+import model.ComparendoStore;
 import model.LlaveComparendo;
+import model.LlaveFecha;
+import model.LlaveHilbert;
+import model.data_structures.ArenaRedBlackBST;
+import model.data_structures.ArrayQueue;
+import model.data_structures.IRedBlackBST;
+import model.data_structures.IntRedBlackBST;
+import model.data_structures.KdTree;
+import model.data_structures.RangeView;
 import model.data_structures.RedBlackBST;
 
 /**
@@ -29,9 +43,154 @@ public class Modelo
     //	public static String PATH = "./data/comparendos_DEI_2018_Bogotá_D.C.geojson";
 
 	/**
-	 * Lista de comparendos
+	 * Comparendos cargados guardados por columnas y ordenados por objectid
 	 */
-	private List<Comparendo> datos1;
+	private ComparendoStore comparendos;
+
+	/**
+	 * Indice de los comparendos por objectid con llaves int, se reutiliza mientras el archivo no cambie.
+	 * Todas las llaves tienen como valor el almacen; la fila de cada comparendo se deriva del rank de su llave con darFila,
+	 * asi el indice no guarda un Integer por fila
+	 */
+	private IntRedBlackBST<ComparendoStore> indiceObjectId;
+
+	/**
+	 * Fila del almacen de cada rank del indice por objectid, o null si ningun objectid se repite y la fila es el mismo rank.
+	 * De un objectid repetido el indice usa su ultima fila
+	 */
+	private int[] filasObjectId;
+
+	/**
+	 * Arbol rojo - negro con llaves LlaveComparendo y filas del almacen como valor, se construye solo cuando se pide con darArbolRedBlack
+	 */
+	private IRedBlackBST<LlaveComparendo, Integer> arbol;
+
+	/**
+	 * Indice secundario por fecha con llaves LlaveFecha (fecha, objectid) y filas del almacen como valor,
+	 * se construye la primera vez que se hace una consulta por fecha
+	 */
+	private RedBlackBST<LlaveFecha, Integer> indiceFecha;
+
+	/**
+	 * Metros por grado de latitud, con el radio medio de la Tierra (6371008.8 m)
+	 */
+	private static final double METROS_POR_GRADO = 6371008.8 * Math.PI / 180;
+
+	/**
+	 * Indice espacial de los comparendos: arbol k-d sobre las coordenadas proyectadas en metros y filas del almacen como identificadores,
+	 * se construye la primera vez que se hace una consulta por ubicacion
+	 */
+	private KdTree indiceEspacial;
+
+	/**
+	 * Coseno de la latitud de referencia de la proyeccion del indice espacial, escala las longitudes a metros
+	 */
+	private double cosenoReferencia;
+
+	/**
+	 * Indice por ubicacion sobre el mismo arbol rojo - negro: llaves LlaveHilbert (posicion en la curva de Hilbert, objectid)
+	 * y filas del almacen como valor, se construye la primera vez que se hace una consulta por rangos de la curva
+	 */
+	private RedBlackBST<LlaveHilbert, Integer> indiceHilbert;
+
+	/**
+	 * Numero maximo de rangos de la curva en que se descompone un rectangulo
+	 */
+	private static final int RANGOS_POR_CAJA = 32;
+
+	/**
+	 * Indice invertido de las columnas categoricas con un conjunto comprimido de filas por valor,
+	 * se construye la primera vez que se filtra por valores
+	 */
+	private IndiceBitmap indiceBitmap;
+
+	/**
+	 * Indice invertido de las palabras de la descripcion de la infraccion, se construye la primera vez que se busca por palabras
+	 */
+	private IndiceTexto indiceTexto;
+
+	/**
+	 * Indica si el arbol de darArbolRedBlack guarda sus nodos en arreglos (ArenaRedBlackBST) en lugar de objetos Node
+	 */
+	private boolean arbolEnArreglos;
+
+	/**
+	 * Ruta del archivo con la que se hizo la ultima carga
+	 */
+	private String rutaCargada;
+
+	/**
+	 * Tamanio en bytes del archivo en la ultima carga
+	 */
+	private long tamanioCargado;
+
+	/**
+	 * Fecha de modificacion del archivo en la ultima carga
+	 */
+	private long modificacionCargada;
+
+	/**
+	 * Modos de lectura del archivo GeoJSON
+	 * STREAMING: lee feature por feature con los tokens de JsonReader sin construir el documento completo
+	 * DOM: construye todo el arbol JsonElement del archivo antes de crear los comparendos
+	 * PARALELO: divide el arreglo features en bloques y los lee en varios hilos con CargadorParalelo
+	 * MAPEADO: mapea el archivo en memoria y lo recorre byte a byte con EscanerGeoJSON
+	 * PRODUCTOR_CONSUMIDOR: un hilo lee el archivo y entrega lotes por una cola acotada al hilo que llena el almacen, con CargadorProductorConsumidor
+	 */
+	public enum ModoCarga
+	{
+		STREAMING, DOM, PARALELO, MAPEADO, PRODUCTOR_CONSUMIDOR
+	}
+
+	/**
+	 * Modo de lectura usado por cargarDatos, por defecto STREAMING
+	 */
+	private ModoCarga modoCarga = ModoCarga.STREAMING;
+
+	/**
+	 * Indica si se usa la copia binaria del archivo (SnapshotComparendos) para no volver a leer el GeoJSON en cada inicio
+	 */
+	private boolean usarSnapshot = true;
+
+	/**
+	 * Da el modo de lectura actual del archivo
+	 * @return Modo de carga
+	 */
+	public ModoCarga darModoCarga()
+	{
+		return modoCarga;
+	}
+
+	/**
+	 * Cambia el modo de lectura del archivo
+	 * @param pModoCarga Nuevo modo de carga
+	 */
+	public void cambiarModoCarga(ModoCarga pModoCarga)
+	{
+		modoCarga = pModoCarga;
+	}
+
+	/**
+	 * Activa o desactiva la lectura y escritura de la copia binaria del archivo
+	 * @param pUsarSnapshot True para usar la copia binaria
+	 */
+	public void cambiarUsarSnapshot(boolean pUsarSnapshot)
+	{
+		usarSnapshot = pUsarSnapshot;
+	}
+
+	/**
+	 * Escoge la representacion del arbol de darArbolRedBlack, el arbol se vuelve a construir la proxima vez que se pida
+	 * @param pEnArreglos True para guardar los nodos en arreglos, recomendado para cargas de millones de comparendos
+	 */
+	public void cambiarArbolEnArreglos(boolean pEnArreglos)
+	{
+		if(pEnArreglos != arbolEnArreglos)
+		{
+			arbolEnArreglos = pEnArreglos;
+			arbol = null;
+		}
+	}
 
 	/**
 	 * Metodo que hace la carga de los datos comparendos
@@ -40,25 +199,244 @@ public class Modelo
 	public List<Comparendo> cargarDatos() 
 	{
 		List<Comparendo> datos = new ArrayList<Comparendo>();
+		cargarDatos(datos::add);
+		return datos;
+	}
 
-		JsonReader reader;
-		try 
+	/**
+	 * Hace la carga de los comparendos entregando cada uno al consumidor apenas es leido
+	 * @param pConsumidor Consumidor que recibe cada comparendo leido
+	 */
+	public void cargarDatos(Consumer<Comparendo> pConsumidor)
+	{
+		try
 		{
-			reader = new JsonReader(new FileReader(PATH));
-			JsonElement elem = JsonParser.parseReader(reader);
-			JsonArray e2 = elem.getAsJsonObject().get("features").getAsJsonArray();
+			leerDatos(pConsumidor);
+		}
+		catch (IOException | ParseException e) 
+		{
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+		}
+	}
 
+	/**
+	 * Lee los comparendos con el modo de carga actual entregando cada uno al consumidor
+	 * @param pConsumidor Consumidor que recibe cada comparendo leido
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private void leerDatos(Consumer<Comparendo> pConsumidor) throws IOException, ParseException
+	{
+		if(modoCarga == ModoCarga.DOM)
+		{
+			cargarDatosDOM(pConsumidor);
+		}
+		else if(modoCarga == ModoCarga.PARALELO || modoCarga == ModoCarga.MAPEADO || modoCarga == ModoCarga.PRODUCTOR_CONSUMIDOR)
+		{
+			ComparendoStore leidos = cargarAlmacen();
+			for(int i = 0; i < leidos.size(); i++)
+			{
+				pConsumidor.accept(leidos.darComparendo(i));
+			}
+		}
+		else
+		{
+			cargarDatosStreaming(pConsumidor);
+		}
+	}
 
-			SimpleDateFormat parser=new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+	/**
+	 * Carga los comparendos recorriendo el archivo con los tokens de JsonReader.
+	 * Solo se mantiene en memoria el feature que se esta leyendo.
+	 * @param pConsumidor Consumidor que recibe cada comparendo leido
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private void cargarDatosStreaming(Consumer<Comparendo> pConsumidor) throws IOException, ParseException
+	{
+		try(JsonReader reader = new JsonReader(new InputStreamReader(new FileInputStream(PATH), StandardCharsets.UTF_8)))
+		{
+			reader.beginObject();
+			while(reader.hasNext())
+			{
+				if(reader.nextName().equals("features"))
+				{
+					reader.beginArray();
+					while(reader.hasNext())
+					{
+						pConsumidor.accept(leerFeature(reader));
+					}
+					reader.endArray();
+				}
+				else
+				{
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+		}
+	}
+
+	/**
+	 * Lee un feature completo del arreglo features y construye su comparendo
+	 * @param reader Lector posicionado al inicio del objeto feature
+	 * @return Comparendo leido
+	 * @throws IOException Si el archivo no tiene el formato esperado
+	 * @throws ParseException Si la fecha del comparendo no tiene el formato esperado
+	 */
+	static Comparendo leerFeature(JsonReader reader) throws IOException, ParseException
+	{
+		int OBJECTID = 0;
+		long FECHA_HORA = Comparendo.SIN_FECHA;
+		String MEDIO_DETE = null;
+		String CLASE_VEHI = null;
+		String TIPO_SERVI = null;
+		String INFRACCION = null;
+		String DES_INFRAC = null;
+		String LOCALIDAD = null;
+		String MUNICIPIO = null;
+		double longitud = 0;
+		double latitud = 0;
+
+		reader.beginObject();
+		while(reader.hasNext())
+		{
+			String nombre = reader.nextName();
+			if(nombre.equals("properties"))
+			{
+				reader.beginObject();
+				while(reader.hasNext())
+				{
+					String propiedad = reader.nextName();
+					if(reader.peek() == JsonToken.NULL)
+					{
+						reader.nextNull();
+						continue;
+					}
+
+					switch(propiedad)
+					{
+					case "OBJECTID":
+						OBJECTID = reader.nextInt();
+						break;
+					case "FECHA_HORA":
+						FECHA_HORA = FechaISO.parsear(reader.nextString());
+						break;
+					case "MEDIO_DETECCION":
+						MEDIO_DETE = reader.nextString();
+						break;
+					case "CLASE_VEHICULO":
+						CLASE_VEHI = reader.nextString();
+						break;
+					case "TIPO_SERVICIO":
+						TIPO_SERVI = reader.nextString();
+						break;
+					case "INFRACCION":
+						INFRACCION = reader.nextString();
+						break;
+					case "DES_INFRACCION":
+						DES_INFRAC = reader.nextString();
+						break;
+					case "LOCALIDAD":
+						LOCALIDAD = reader.nextString();
+						break;
+					case "MUNICIPIO":
+						MUNICIPIO = reader.nextString();
+						break;
+					default:
+						reader.skipValue();
+						break;
+					}
+				}
+				reader.endObject();
+			}
+			else if(nombre.equals("geometry") && reader.peek() == JsonToken.BEGIN_OBJECT)
+			{
+				reader.beginObject();
+				while(reader.hasNext())
+				{
+					if(reader.nextName().equals("coordinates"))
+					{
+						reader.beginArray();
+						longitud = reader.nextDouble();
+						latitud = reader.nextDouble();
+						while(reader.hasNext())
+						{
+							reader.skipValue();
+						}
+						reader.endArray();
+					}
+					else
+					{
+						reader.skipValue();
+					}
+				}
+				reader.endObject();
+			}
+			else
+			{
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		return new Comparendo(OBJECTID, FECHA_HORA, DES_INFRAC, MEDIO_DETE, CLASE_VEHI, TIPO_SERVI, INFRACCION, LOCALIDAD, MUNICIPIO, longitud, latitud);
+	}
+
+	/**
+	 * Carga los comparendos leyendo bloques del archivo en paralelo
+	 * @return Comparendos ordenados por objectid, 
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private ComparendoStore cargarDatosParalelo() throws IOException, ParseException
+	{
+		return CargadorParalelo.cargar(new File(PATH));
+	}
+
+	/**
+	 * Carga los comparendos recorriendo los bytes del archivo mapeado en memoria
+	 * @return Comparendos en el orden del archivo, 
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private ComparendoStore cargarDatosMapeado() throws IOException, ParseException
+	{
+		return EscanerGeoJSON.cargar(new File(PATH));
+	}
+
+	/**
+	 * Carga los comparendos con un hilo lector y el hilo actual llenando el almacen
+	 * @return Comparendos en el orden del archivo, 
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private ComparendoStore cargarDatosProductorConsumidor() throws IOException, ParseException
+	{
+		return CargadorProductorConsumidor.cargar(new File(PATH));
+	}
+
+	/**
+	 * Carga los comparendos construyendo primero el documento completo con JsonParser.
+	 * Se conserva como modo alterno de lectura.
+	 * @param pConsumidor Consumidor que recibe cada comparendo leido
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private void cargarDatosDOM(Consumer<Comparendo> pConsumidor) throws IOException, ParseException
+	{
+		try(JsonReader reader = new JsonReader(new InputStreamReader(new FileInputStream(PATH), StandardCharsets.UTF_8)))
+		{
+			JsonElement elem = JsonParser.parseReader(reader);
+			JsonArray e2 = elem.getAsJsonObject().get("features").getAsJsonArray();
 
 			for(JsonElement e: e2) 
 			{
 				int OBJECTID = e.getAsJsonObject().get("properties").getAsJsonObject().get("OBJECTID").getAsInt();
 
 				String s = e.getAsJsonObject().get("properties").getAsJsonObject().get("FECHA_HORA").getAsString();
-				String cambio1 = s.replaceFirst("T", " ");
-				String cambio2 = cambio1.replaceAll("Z", "");
-				Date FECHA_HORA = parser.parse(cambio2); 
+				long FECHA_HORA = FechaISO.parsear(s);
 
 				String MEDIO_DETE = e.getAsJsonObject().get("properties").getAsJsonObject().get("MEDIO_DETECCION").getAsString();
 				String CLASE_VEHI = e.getAsJsonObject().get("properties").getAsJsonObject().get("CLASE_VEHICULO").getAsString();
@@ -75,61 +453,288 @@ public class Modelo
 						.get(1).getAsDouble();
 
 				Comparendo nuevo = new Comparendo(OBJECTID, FECHA_HORA, DES_INFRAC, MEDIO_DETE, CLASE_VEHI, TIPO_SERVI, INFRACCION, LOCALIDAD, MUNICIPIO, longitud, latitud);
-				datos.add(nuevo);
+				pConsumidor.accept(nuevo);
 			}
+		}
+	}
+
+	/**
+	 * Carga el archivo y construye el indice por objectid si no se ha cargado
+	 * o si cambio la ruta, el tamanio o la fecha de modificacion del archivo.
+	 * Si hay una copia binaria del mismo archivo se lee de ella, si no se lee el GeoJSON y se escribe la copia.
+	 * Si la lectura falla no se guarda la copia ni se marca el archivo como cargado.
+	 * Los comparendos se ordenan una vez por objectid y el indice se construye de abajo hacia arriba en tiempo lineal
+	 */
+	private void cargarSiCambio()
+	{
+		File archivo = new File(PATH);
+		long tamanio = archivo.length();
+		long modificacion = archivo.lastModified();
+
+		if(indiceObjectId == null || !PATH.equals(rutaCargada) || tamanio != tamanioCargado || modificacion != modificacionCargada)
+		{
+			boolean completa = true;
+			comparendos = usarSnapshot ? leerSnapshot(tamanio, modificacion) : null;
+			if(comparendos == null)
+			{
+				try
+				{
+					comparendos = cargarAlmacen();
+					// solo una carga completa se guarda como copia binaria
+					if(usarSnapshot)
+					{
+						escribirSnapshot(tamanio, modificacion);
+					}
+				}
+				catch (IOException | ParseException e) 
+				{
+					System.out.println(e.getMessage());
+					e.printStackTrace();
+					comparendos = new ComparendoStore();
+					completa = false;
+				}
+			}
+
+			construirIndiceObjectId();
+			arbol = null;
+			indiceFecha = null;
+			indiceEspacial = null;
+			indiceHilbert = null;
+			indiceBitmap = null;
+			indiceTexto = null;
+			// una carga fallida deja el modelo vacio y se intenta de nuevo en la siguiente consulta
+			rutaCargada = completa ? PATH : null;
+			tamanioCargado = tamanio;
+			modificacionCargada = modificacion;
+		}
+	}
+
+	/**
+	 * Lee el archivo con el modo de carga actual y guarda los comparendos por columnas
+	 * @return Comparendos ordenados por objectid
+	 * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado
+	 * @throws ParseException Si la fecha de un comparendo no tiene el formato esperado
+	 */
+	private ComparendoStore cargarAlmacen() throws IOException, ParseException
+	{
+		if(modoCarga == ModoCarga.PARALELO)
+		{
+			// los bloques ya se mezclan en orden de objectid
+			return cargarDatosParalelo();
+		}
+		ComparendoStore nuevos;
+		if(modoCarga == ModoCarga.MAPEADO)
+		{
+			nuevos = cargarDatosMapeado();
+		}
+		else if(modoCarga == ModoCarga.PRODUCTOR_CONSUMIDOR)
+		{
+			nuevos = cargarDatosProductorConsumidor();
+		}
+		else
+		{
+			nuevos = new ComparendoStore();
+			try
+			{
+				leerDatos(nuevos::agregar);
+			}
+			catch(IllegalStateException e)
+			{
+				// alguna columna del almacen supero el numero maximo de valores distintos
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+		nuevos.ordenarPorObjectId();
+		nuevos.ajustar();
+		return nuevos;
+	}
 
-		} 
-		catch (FileNotFoundException | ParseException e) 
+	/**
+	 * Lee la copia binaria del archivo actual
+	 * @param pTamanio Tamanio en bytes actual del archivo
+	 * @param pModificacion Fecha de modificacion actual del archivo
+	 * @return Comparendos ordenados por objectid, o null si no hay copia, esta desactualizada o no se pudo leer
+	 */
+	private ComparendoStore leerSnapshot(long pTamanio, long pModificacion)
+	{
+		try
+		{
+			return SnapshotComparendos.leer(SnapshotComparendos.darArchivo(PATH), pTamanio, pModificacion);
+		}
+		catch (IOException e) 
+		{
+			System.out.println(e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Escribe la copia binaria de los comparendos recien leidos del archivo, si falla solo se pierde la copia
+	 * @param pTamanio Tamanio en bytes del archivo leido
+	 * @param pModificacion Fecha de modificacion del archivo leido
+	 */
+	private void escribirSnapshot(long pTamanio, long pModificacion)
+	{
+		if(comparendos.isEmpty())
+		{
+			return;
+		}
+		try
+		{
+			SnapshotComparendos.escribir(SnapshotComparendos.darArchivo(PATH), comparendos, pTamanio, pModificacion);
+		}
+		catch (IOException e) 
 		{
 			System.out.println(e.getMessage());
-			e.printStackTrace();
 		}
-		return datos;			
 	}
 
 	/**
-	 * Convierte la lista de objetos cargados a un arbol rojo - negro
+	 * Construye el indice por objectid de abajo hacia arriba con los objectid distintos del almacen, que ya estan ordenados.
+	 * Solo si hay objectid repetidos se guarda la fila de cada rank
 	 */
-	public RedBlackBST<LlaveComparendo, Comparendo> darArbolRedBlack()
+	private void construirIndiceObjectId()
 	{
-		RedBlackBST<LlaveComparendo, Comparendo> arbolRedBlack = new RedBlackBST<LlaveComparendo, Comparendo>();
-		datos1 = cargarDatos();
+		int[] objectIds = comparendos.darObjectIds();
+		int distintos = 0;
+		for(int i = 0; i < objectIds.length; i++)
+		{
+			if(i + 1 == objectIds.length || objectIds[i] != objectIds[i + 1]) distintos++;
+		}
 
-		Iterator<Comparendo> it = datos1.iterator();
-		while(it.hasNext())
+		filasObjectId = null;
+		if(distintos < objectIds.length)
 		{
-			for(int i = 0; i < datos1.size(); i++)
+			int[] llaves = new int[distintos];
+			filasObjectId = new int[distintos];
+			int rango = 0;
+			for(int i = 0; i < objectIds.length; i++)
 			{
-				Comparendo elementoActual = it.next();
-				LlaveComparendo llaveActual = new LlaveComparendo(elementoActual.getObjective());
-				Comparendo comparendoActual = new Comparendo(elementoActual.getObjective(), elementoActual.getFecha_hora(), elementoActual.getDes_infrac(), elementoActual.getMedio_dete(), elementoActual.getClase_vehi(), elementoActual.getTipo_servi(), elementoActual.getInfraccion(), elementoActual.getLocalidad(), elementoActual.getMunicipio(), elementoActual.getLongitud(), elementoActual.getLatitud());
-				arbolRedBlack.put(llaveActual, comparendoActual);
+				if(i + 1 == objectIds.length || objectIds[i] != objectIds[i + 1])
+				{
+					llaves[rango] = objectIds[i];
+					filasObjectId[rango++] = i;
+				}
 			}
+			objectIds = llaves;
+		}
+		indiceObjectId = new IntRedBlackBST<ComparendoStore>(objectIds, comparendos);
+	}
+
+	/**
+	 * Da la fila del almacen del objectid con el rank dado en el indice por objectid
+	 * @param pRango Rank del objectid, entre 0 y el tamanio del indice - 1
+	 * @return Fila del comparendo en darComparendos
+	 */
+	private int filaDeRango(int pRango)
+	{
+		return filasObjectId == null ? pRango : filasObjectId[pRango];
+	}
+
+	/**
+	 * Da la fila del almacen del comparendo con el objectid dado
+	 * @param pObjectId ObjectId del comparendo
+	 * @return Fila del comparendo en darComparendos, o -1 si no hay un comparendo con ese objectid
+	 */
+	public int darFila(int pObjectId)
+	{
+		IntRedBlackBST<ComparendoStore> indice = darIndiceObjectId();
+		return indice.contains(pObjectId) ? filaDeRango(indice.rank(pObjectId)) : -1;
+	}
+
+	/**
+	 * Da los numeros de fila 0 a n - 1 del almacen, valores de los arboles con llaves LlaveComparendo
+	 * @return Filas del almacen en orden
+	 */
+	private Integer[] filas()
+	{
+		Integer[] filas = new Integer[comparendos.size()];
+		for(int i = 0; i < filas.length; i++)
+		{
+			filas[i] = i;
+		}
+		return filas;
+	}
+
+	/**
+	 * Da los comparendos cargados guardados por columnas
+	 * @return Almacen de comparendos ordenado por objectid
+	 */
+	public ComparendoStore darComparendos()
+	{
+		cargarSiCambio();
+		return comparendos;
+	}
+
+	/**
+	 * Da el indice de los comparendos por objectid, con llaves int sin objetos LlaveComparendo.
+	 * La fila de cada llave en darComparendos se pide con darFila
+	 * @return Arbol rojo - negro de llaves int, cada una con el almacen como valor
+	 */
+	public IntRedBlackBST<ComparendoStore> darIndiceObjectId()
+	{
+		cargarSiCambio();
+		return indiceObjectId;
+	}
+
+	/**
+	 * Da el numero de comparendos cargados
+	 * @return Numero de comparendos
+	 */
+	public int darNumeroComparendos()
+	{
+		return darIndiceObjectId().size();
+	}
+
+	/**
+	 * Da el arbol rojo - negro con los comparendos del archivo y llaves LlaveComparendo.
+	 * El arbol se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Arbol rojo - negro con la fila de cada comparendo en darComparendos por objectid
+	 */
+	public IRedBlackBST<LlaveComparendo, Integer> darArbolRedBlack()
+	{
+		cargarSiCambio();
+		if(arbol == null)
+		{
+			arbol = construirArbolRedBlack();
+		}
+		return arbol;
+	}
+
+	/**
+	 * Construye el arbol rojo - negro de nodos enlazados o de arreglos segun cambiarArbolEnArreglos
+	 * con las filas del almacen, que ya estan ordenadas por objectid
+	 */
+	private IRedBlackBST<LlaveComparendo, Integer> construirArbolRedBlack()
+	{
+		LlaveComparendo[] llaves = new LlaveComparendo[comparendos.size()];
+		for(int i = 0; i < llaves.length; i++)
+		{
+			llaves[i] = new LlaveComparendo(comparendos.darObjectId(i));
 		}
 
-		return arbolRedBlack;
+		if(arbolEnArreglos)
+		{
+			return new ArenaRedBlackBST<LlaveComparendo, Integer>(llaves, filas());
+		}
+		return new RedBlackBST<LlaveComparendo, Integer>(llaves, filas());
 	}
 	
 	/**
 	 * Muestra la informacion con el mayor OBJECTID encontrado en el arbol rojo - negro
-	 * @return El comparendo con mayor objectid encontrado recorriendo el arbol rojo - negro
+	 * @return El comparendo con mayor objectid, es el maximo del arbol rojo - negro
 	 */
 	public String darObjectidMayor()
 	{
-		String mensaje = " ";
-		Comparendo actual = datos1.get(0);
-
-		Iterator<Comparendo> it = darArbolRedBlack().Values().iterator();
-		while(it.hasNext())
+		IntRedBlackBST<ComparendoStore> indice = darIndiceObjectId();
+		if(indice.isEmpty())
 		{
-			Comparendo elemento = it.next();
-			if(elemento.getObjective() > actual.getObjective())
-			{
-				actual = elemento;
-			}
+			return "No hay comparendos cargados";
 		}
 
-		mensaje = actual.getObjective() + ", " + actual.getFecha_hora() + ", " + actual.getInfraccion() + ", " + 
+		Comparendo actual = comparendos.darComparendo(filaDeRango(indice.size() - 1));
+
+		String mensaje = actual.getObjective() + ", " + actual.getFecha_hora() + ", " + actual.getInfraccion() + ", " + 
 				actual.getClase_vehi() + ", " + actual.getTipo_servi() + ", " +  actual.getLocalidad() + ", " +
 				actual.getMunicipio();
 
@@ -138,24 +743,19 @@ public class Modelo
 	
 	/**
 	 * Muestra la informacion con el menor OBJECTID encontrado en el arbol rojo - negro
-	 * @return El comparendo con menor objectid encontrado recorriendo el arbol rojo - negro
+	 * @return El comparendo con menor objectid, es el minimo del arbol rojo - negro
 	 */
 	public String darObjectidMenor()
 	{
-		String mensaje = " ";
-		Comparendo actual = datos1.get(0);
-
-		Iterator<Comparendo> it = darArbolRedBlack().Values().iterator();
-		while(it.hasNext())
+		IntRedBlackBST<ComparendoStore> indice = darIndiceObjectId();
+		if(indice.isEmpty())
 		{
-			Comparendo elemento = it.next();
-			if(elemento.getObjective() < actual.getObjective())
-			{
-				actual = elemento;
-			}
+			return "No hay comparendos cargados";
 		}
 
-		mensaje = actual.getObjective() + ", " + actual.getFecha_hora() + ", " + actual.getInfraccion() + ", " + 
+		Comparendo actual = comparendos.darComparendo(filaDeRango(0));
+
+		String mensaje = actual.getObjective() + ", " + actual.getFecha_hora() + ", " + actual.getInfraccion() + ", " + 
 				actual.getClase_vehi() + ", " + actual.getTipo_servi() + ", " +  actual.getLocalidad() + ", " +
 				actual.getMunicipio();
 
@@ -163,37 +763,22 @@ public class Modelo
 	}
 	
 	/**
-	 * Metodo que recibe el objectId y se busca en el arbol Rojo - Negro con su llave y su valor 
+	 * Metodo que recibe el objectId y lo busca en el arbol Rojo - Negro por su llave
 	 * @param pObjectId ObjectId del comparendo
 	 * @return El comparendo si se encontro, de lo contrario retorna que no fue encontrado
 	 */
 	public String darComparendoPorObjectID(int pObjectId)
 	{
 		String comparendoEncontrado = " ";
-		Comparendo comparendoObjectId = null;
-		
+		int fila = darFila(pObjectId);
 		
-		Iterator<LlaveComparendo> it1 = darArbolRedBlack().keys().iterator();
-		Iterator<Comparendo> it2 = darArbolRedBlack().Values().iterator();
-		
-		while(it1.hasNext() && it2.hasNext())
-		{
-			LlaveComparendo llaveComparendo =  it1.next();
-			Comparendo Comparendo = it2.next();
-			
-			if(llaveComparendo.getObjectid() == pObjectId)
-			{
-				comparendoObjectId = Comparendo;
-			}
-			
-		}
-		
-		if(comparendoObjectId == null)
+		if(fila < 0)
 		{
 			comparendoEncontrado = "No hay un comparendo con ese identificador";
 		}
-		else if(comparendoEncontrado != null)
+		else
 		{
+			Comparendo comparendoObjectId = comparendos.darComparendo(fila);
 			comparendoEncontrado = comparendoObjectId.getObjective() + ", " + comparendoObjectId.getFecha_hora() + ", " + comparendoObjectId.getTipo_servi() + ", " +
 		                           comparendoObjectId.getClase_vehi() + ", " + comparendoObjectId.getInfraccion();
 		}
@@ -202,30 +787,518 @@ public class Modelo
 	}
 	
 	/**
-	 * Retorna un arbo Rojo - Negro con los comparendos que se encuntran dentro de los rangos ingresados
+	 * Retorna las filas de los comparendos que se encuentran dentro de los rangos ingresados, en orden de objectid.
+	 * Los objectid del rango tienen ranks consecutivos en el indice, las filas se derivan de ellos sin recorrer el arbol
 	 * @param pObjectInf ObjectID inferior
 	 * @param pObjectSup ObjectID superior
-	 * @return Arbol Rojo - Negro con comparendos dentro del rango
+	 * @return Filas de darComparendos dentro del rango
 	 */
-	public RedBlackBST<LlaveComparendo, Comparendo> darComparendosEntreDosObjectId(int pObjectInf, int pObjectSup)
+	public int[] darFilasEntreDosObjectId(int pObjectInf, int pObjectSup)
 	{
-		RedBlackBST<LlaveComparendo, Comparendo> rangoComparendos = new RedBlackBST<LlaveComparendo, Comparendo>();
-		
-		Iterator<LlaveComparendo> it1 = darArbolRedBlack().keys().iterator();
-		Iterator<Comparendo> it2 = darArbolRedBlack().Values().iterator();
-		
-		while(it1.hasNext() && it2.hasNext())
+		IntRedBlackBST<ComparendoStore> indice = darIndiceObjectId();
+		int[] filas = new int[indice.size(pObjectInf, pObjectSup)];
+		int primero = filas.length == 0 ? 0 : indice.rank(pObjectInf);
+		for(int i = 0; i < filas.length; i++)
+		{
+			filas[i] = filaDeRango(primero + i);
+		}
+		return filas;
+	}
+
+	/**
+	 * Retorna los comparendos que se encuentran dentro de los rangos ingresados en orden de objectid.
+	 * Se recorren perezosamente los ranks consecutivos del rango en el indice y cada comparendo es una vista del almacen
+	 * @param pObjectInf ObjectID inferior
+	 * @param pObjectSup ObjectID superior
+	 * @return Comparendos dentro del rango
+	 */
+	public Iterable<Comparendo> darComparendosEntreDosObjectId(int pObjectInf, int pObjectSup)
+	{
+		IntRedBlackBST<ComparendoStore> indice = darIndiceObjectId();
+		int total = indice.size(pObjectInf, pObjectSup);
+		int primero = total == 0 ? 0 : indice.rank(pObjectInf);
+		ComparendoStore almacen = comparendos;
+		int[] filas = filasObjectId;
+		return () -> new Iterator<Comparendo>()
+		{
+			private int rango = primero;
+
+			@Override
+			public boolean hasNext()
+			{
+				return rango < primero + total;
+			}
+
+			@Override
+			public Comparendo next()
+			{
+				if(!hasNext()) throw new NoSuchElementException();
+				int fila = filas == null ? rango : filas[rango];
+				rango++;
+				return almacen.darComparendo(fila);
+			}
+		};
+	}
+
+	/**
+	 * Recorre perezosamente las filas dadas entregando la vista del almacen de cada una
+	 * @param pFilas Filas de darComparendos
+	 * @return Comparendos de las filas, en el mismo orden
+	 */
+	private Iterable<Comparendo> vistas(Iterable<Integer> pFilas)
+	{
+		ComparendoStore almacen = comparendos;
+		return () -> new Iterator<Comparendo>()
 		{
-			LlaveComparendo llaveComparendo =  it1.next();
-			Comparendo Comparendo = it2.next();
-			
-			if(llaveComparendo.getObjectid() >= pObjectInf && llaveComparendo.getObjectid() <= pObjectSup)
+			private final Iterator<Integer> filas = pFilas.iterator();
+
+			@Override
+			public boolean hasNext()
 			{
-				rangoComparendos.put(llaveComparendo, Comparendo);
+				return filas.hasNext();
 			}
-			
+
+			@Override
+			public Comparendo next()
+			{
+				return almacen.darComparendo(filas.next());
+			}
+		};
+	}
+
+	/**
+	 * Da el numero de comparendos con objectid dentro del rango ingresado
+	 * @param pObjectInf ObjectID inferior
+	 * @param pObjectSup ObjectID superior
+	 * @return Numero de comparendos en el rango
+	 */
+	public int darNumeroComparendosEntreDosObjectId(int pObjectInf, int pObjectSup)
+	{
+		return darIndiceObjectId().size(pObjectInf, pObjectSup);
+	}
+
+	/**
+	 * Da el indice de los comparendos por fecha y hora. Las llaves son (fecha, objectid), asi los comparendos
+	 * de la misma fecha no se pisan y quedan en orden de objectid. Los comparendos sin fecha no estan en el indice.
+	 * El indice se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Arbol rojo - negro con la fila de cada comparendo en darComparendos
+	 */
+	public RedBlackBST<LlaveFecha, Integer> darIndiceFecha()
+	{
+		cargarSiCambio();
+		if(indiceFecha == null)
+		{
+			indiceFecha = construirIndiceFecha();
 		}
-		
-		return rangoComparendos;	
+		return indiceFecha;
+	}
+
+	/**
+	 * Construye el indice por fecha con las filas del almacen que tienen fecha.
+	 * Las filas estan en orden de objectid, el constructor del arbol las ordena por (fecha, objectid)
+	 */
+	private RedBlackBST<LlaveFecha, Integer> construirIndiceFecha()
+	{
+		int n = 0;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			if(comparendos.darFecha(i) != Comparendo.SIN_FECHA) n++;
+		}
+
+		LlaveFecha[] llaves = new LlaveFecha[n];
+		Integer[] filas = new Integer[n];
+		int j = 0;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			long fecha = comparendos.darFecha(i);
+			if(fecha != Comparendo.SIN_FECHA)
+			{
+				llaves[j] = new LlaveFecha(fecha, comparendos.darObjectId(i));
+				filas[j] = i;
+				j++;
+			}
+		}
+		return new RedBlackBST<LlaveFecha, Integer>(llaves, filas);
+	}
+
+	/**
+	 * Retorna una vista del indice por fecha con las filas de los comparendos entre las dos fechas (inclusive)
+	 * @param pInicio Fecha inicial en milisegundos desde la epoca (UTC)
+	 * @param pFin Fecha final en milisegundos desde la epoca (UTC)
+	 * @return Vista con las filas de darComparendos dentro del rango, en orden de fecha
+	 */
+	public RangeView<LlaveFecha, Integer> darFilasEntreFechas(long pInicio, long pFin)
+	{
+		return darIndiceFecha().range(LlaveFecha.desde(pInicio), LlaveFecha.hasta(pFin));
+	}
+
+	/**
+	 * Retorna los comparendos entre las dos fechas (inclusive) en orden de fecha y, en la misma fecha, de objectid.
+	 * Toma O(log n) llegar al primero y luego tiempo constante por comparendo
+	 * @param pInicio Fecha inicial en milisegundos desde la epoca (UTC)
+	 * @param pFin Fecha final en milisegundos desde la epoca (UTC)
+	 * @return Comparendos dentro del rango
+	 */
+	public Iterable<Comparendo> darComparendosEntreFechas(long pInicio, long pFin)
+	{
+		return vistas(darFilasEntreFechas(pInicio, pFin).values());
+	}
+
+	/**
+	 * Da el numero de comparendos entre las dos fechas (inclusive) en O(log n)
+	 * @param pInicio Fecha inicial en milisegundos desde la epoca (UTC)
+	 * @param pFin Fecha final en milisegundos desde la epoca (UTC)
+	 * @return Numero de comparendos en el rango
+	 */
+	public int darNumeroComparendosEntreFechas(long pInicio, long pFin)
+	{
+		if(pInicio > pFin) return 0;
+		return darIndiceFecha().size(LlaveFecha.desde(pInicio), LlaveFecha.hasta(pFin));
+	}
+
+	/**
+	 * Da el ultimo comparendo con fecha menor o igual a la fecha dada; si hay varios en esa fecha, el de mayor objectid
+	 * @param pFecha Fecha en milisegundos desde la epoca (UTC)
+	 * @return El comparendo o null si no hay comparendos hasta esa fecha
+	 */
+	public Comparendo darUltimoComparendoHasta(long pFecha)
+	{
+		RedBlackBST<LlaveFecha, Integer> indice = darIndiceFecha();
+		if(indice.isEmpty() || indice.min().compareTo(LlaveFecha.hasta(pFecha)) > 0)
+		{
+			return null;
+		}
+		return comparendos.darComparendo(indice.get(indice.floor(LlaveFecha.hasta(pFecha))));
+	}
+
+	/**
+	 * Da el primer comparendo con fecha mayor o igual a la fecha dada; si hay varios en esa fecha, el de menor objectid
+	 * @param pFecha Fecha en milisegundos desde la epoca (UTC)
+	 * @return El comparendo o null si no hay comparendos desde esa fecha
+	 */
+	public Comparendo darPrimerComparendoDesde(long pFecha)
+	{
+		RedBlackBST<LlaveFecha, Integer> indice = darIndiceFecha();
+		if(indice.isEmpty() || indice.max().compareTo(LlaveFecha.desde(pFecha)) < 0)
+		{
+			return null;
+		}
+		return comparendos.darComparendo(indice.get(indice.ceiling(LlaveFecha.desde(pFecha))));
+	}
+
+	/**
+	 * Da el indice espacial de los comparendos. Las coordenadas se proyectan a metros con una proyeccion equirectangular
+	 * centrada en la latitud media de los datos, que a la escala de una ciudad tiene un error despreciable;
+	 * asi las distancias del arbol son distancias en metros. Los comparendos sin coordenadas validas no estan en el indice.
+	 * El indice se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Arbol k-d con la fila de cada comparendo en darComparendos como identificador
+	 */
+	public KdTree darIndiceEspacial()
+	{
+		cargarSiCambio();
+		if(indiceEspacial == null)
+		{
+			indiceEspacial = construirIndiceEspacial();
+		}
+		return indiceEspacial;
+	}
+
+	/**
+	 * Construye el arbol k-d con las filas del almacen que tienen latitud y longitud
+	 */
+	private KdTree construirIndiceEspacial()
+	{
+		int n = 0;
+		double latitudMinima = Double.POSITIVE_INFINITY;
+		double latitudMaxima = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			if(coordenadasValidas(i))
+			{
+				n++;
+				latitudMinima = Math.min(latitudMinima, comparendos.darLatitud(i));
+				latitudMaxima = Math.max(latitudMaxima, comparendos.darLatitud(i));
+			}
+		}
+		cosenoReferencia = (n == 0) ? 1 : Math.cos(Math.toRadians((latitudMinima + latitudMaxima) / 2));
+
+		double[] x = new double[n];
+		double[] y = new double[n];
+		int[] filas = new int[n];
+		int j = 0;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			if(coordenadasValidas(i))
+			{
+				x[j] = proyectarLongitud(comparendos.darLongitud(i));
+				y[j] = proyectarLatitud(comparendos.darLatitud(i));
+				filas[j] = i;
+				j++;
+			}
+		}
+		return new KdTree(x, y, filas);
+	}
+
+	/**
+	 * Determina si la fila tiene una latitud y una longitud validas
+	 */
+	private boolean coordenadasValidas(int pFila)
+	{
+		double latitud = comparendos.darLatitud(pFila);
+		double longitud = comparendos.darLongitud(pFila);
+		return latitud >= -90 && latitud <= 90 && longitud >= -180 && longitud <= 180;
+	}
+
+	/**
+	 * Da la coordenada x en metros de una longitud
+	 */
+	private double proyectarLongitud(double pLongitud)
+	{
+		return pLongitud * METROS_POR_GRADO * cosenoReferencia;
+	}
+
+	/**
+	 * Da la coordenada y en metros de una latitud
+	 */
+	private double proyectarLatitud(double pLatitud)
+	{
+		return pLatitud * METROS_POR_GRADO;
+	}
+
+	/**
+	 * Ejecuta una consulta del indice espacial y guarda la vista de cada fila encontrada
+	 * @param pConsulta Consulta que entrega las filas
+	 * @return Comparendos encontrados, sin ningun orden
+	 */
+	private ArrayQueue<Comparendo> recoger(Consumer<IntConsumer> pConsulta)
+	{
+		ArrayQueue<Comparendo> encontrados = new ArrayQueue<Comparendo>();
+		ComparendoStore almacen = comparendos;
+		pConsulta.accept(fila -> encontrados.enqueue(almacen.darComparendo(fila)));
+		return encontrados;
+	}
+
+	/**
+	 * Retorna los comparendos dentro del rectangulo de latitudes y longitudes dado (bordes incluidos)
+	 * @param pLatitudMinima Latitud minima
+	 * @param pLongitudMinima Longitud minima
+	 * @param pLatitudMaxima Latitud maxima
+	 * @param pLongitudMaxima Longitud maxima
+	 * @return Comparendos dentro del rectangulo, sin ningun orden
+	 */
+	public ArrayQueue<Comparendo> darComparendosEnCaja(double pLatitudMinima, double pLongitudMinima, double pLatitudMaxima, double pLongitudMaxima)
+	{
+		KdTree indice = darIndiceEspacial();
+		// la proyeccion conserva el orden de cada eje, el rectangulo sigue siendo un rectangulo
+		return recoger(accion -> indice.range(proyectarLongitud(pLongitudMinima), proyectarLatitud(pLatitudMinima),
+				proyectarLongitud(pLongitudMaxima), proyectarLatitud(pLatitudMaxima), accion));
+	}
+
+	/**
+	 * Retorna los comparendos a menos de la distancia dada de un punto
+	 * @param pLatitud Latitud del centro
+	 * @param pLongitud Longitud del centro
+	 * @param pMetros Radio en metros
+	 * @return Comparendos dentro del circulo, sin ningun orden
+	 */
+	public ArrayQueue<Comparendo> darComparendosEnRadio(double pLatitud, double pLongitud, double pMetros)
+	{
+		KdTree indice = darIndiceEspacial();
+		return recoger(accion -> indice.radius(proyectarLongitud(pLongitud), proyectarLatitud(pLatitud), pMetros, accion));
+	}
+
+	/**
+	 * Retorna los comparendos dentro de un poligono simple, por ejemplo el limite de un barrio
+	 * @param pLatitudes Latitud de cada vertice, en orden
+	 * @param pLongitudes Longitud de cada vertice, en orden
+	 * @return Comparendos dentro del poligono, sin ningun orden
+	 * @throws IllegalArgumentException si el poligono tiene menos de tres vertices
+	 */
+	public ArrayQueue<Comparendo> darComparendosEnPoligono(double[] pLatitudes, double[] pLongitudes)
+	{
+		if(pLatitudes == null || pLongitudes == null || pLatitudes.length != pLongitudes.length)
+		{
+			throw new IllegalArgumentException("latitudes and longitudes must have the same length");
+		}
+		KdTree indice = darIndiceEspacial();
+		double[] x = new double[pLongitudes.length];
+		double[] y = new double[pLatitudes.length];
+		for(int i = 0; i < x.length; i++)
+		{
+			x[i] = proyectarLongitud(pLongitudes[i]);
+			y[i] = proyectarLatitud(pLatitudes[i]);
+		}
+		return recoger(accion -> indice.polygon(x, y, accion));
+	}
+
+	/**
+	 * Retorna los k comparendos mas cercanos a un punto, por ejemplo una interseccion, en el indice espacial
+	 * @param pLatitud Latitud del punto
+	 * @param pLongitud Longitud del punto
+	 * @param pK Numero de comparendos
+	 * @return Los min(k, n) comparendos mas cercanos, del mas cercano al mas lejano
+	 * @throws IllegalArgumentException si k no es positivo
+	 */
+	public ArrayQueue<Comparendo> darComparendosMasCercanos(double pLatitud, double pLongitud, int pK)
+	{
+		KdTree indice = darIndiceEspacial();
+		int[] filas = indice.nearest(proyectarLongitud(pLongitud), proyectarLatitud(pLatitud), pK, null);
+		ArrayQueue<Comparendo> cercanos = new ArrayQueue<Comparendo>(filas.length);
+		for(int fila : filas)
+		{
+			cercanos.enqueue(comparendos.darComparendo(fila));
+		}
+		return cercanos;
+	}
+
+	/**
+	 * Da el indice de los comparendos por su posicion en la curva de Hilbert. Los comparendos sin coordenadas validas no estan en el indice.
+	 * El indice se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Arbol rojo - negro con la fila de cada comparendo en darComparendos
+	 */
+	public RedBlackBST<LlaveHilbert, Integer> darIndiceHilbert()
+	{
+		cargarSiCambio();
+		if(indiceHilbert == null)
+		{
+			indiceHilbert = construirIndiceHilbert();
+		}
+		return indiceHilbert;
+	}
+
+	/**
+	 * Construye el indice por curva de Hilbert con las filas del almacen que tienen latitud y longitud,
+	 * el constructor del arbol las ordena por (posicion, objectid)
+	 */
+	private RedBlackBST<LlaveHilbert, Integer> construirIndiceHilbert()
+	{
+		int n = 0;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			if(coordenadasValidas(i)) n++;
+		}
+
+		LlaveHilbert[] llaves = new LlaveHilbert[n];
+		Integer[] filas = new Integer[n];
+		int j = 0;
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			if(coordenadasValidas(i))
+			{
+				llaves[j] = new LlaveHilbert(CurvaHilbert.codificar(comparendos.darLatitud(i), comparendos.darLongitud(i)), comparendos.darObjectId(i));
+				filas[j] = i;
+				j++;
+			}
+		}
+		return new RedBlackBST<LlaveHilbert, Integer>(llaves, filas);
+	}
+
+	/**
+	 * Retorna los comparendos dentro del rectangulo de latitudes y longitudes dado (bordes incluidos) usando el indice por curva de Hilbert.
+	 * El rectangulo se descompone en a lo sumo RANGOS_POR_CAJA rangos de la curva, cada rango se recorre con forEach(lo, hi)
+	 * sobre el arbol y se descartan los comparendos de los rangos que quedan fuera del rectangulo
+	 * @param pLatitudMinima Latitud minima
+	 * @param pLongitudMinima Longitud minima
+	 * @param pLatitudMaxima Latitud maxima
+	 * @param pLongitudMaxima Longitud maxima
+	 * @return Comparendos dentro del rectangulo, en orden de la curva
+	 */
+	public ArrayQueue<Comparendo> darComparendosEnCajaHilbert(double pLatitudMinima, double pLongitudMinima, double pLatitudMaxima, double pLongitudMaxima)
+	{
+		RedBlackBST<LlaveHilbert, Integer> indice = darIndiceHilbert();
+		ComparendoStore almacen = comparendos;
+		ArrayQueue<Comparendo> encontrados = new ArrayQueue<Comparendo>();
+		long[] rangos = CurvaHilbert.descomponer(pLatitudMinima, pLongitudMinima, pLatitudMaxima, pLongitudMaxima, RANGOS_POR_CAJA);
+		for(int r = 0; r < rangos.length; r += 2)
+		{
+			indice.forEach(LlaveHilbert.desde(rangos[r]), LlaveHilbert.hasta(rangos[r + 1]), (llave, fila) ->
+			{
+				double latitud = almacen.darLatitud(fila);
+				double longitud = almacen.darLongitud(fila);
+				if(pLatitudMinima <= latitud && latitud <= pLatitudMaxima && pLongitudMinima <= longitud && longitud <= pLongitudMaxima)
+				{
+					encontrados.enqueue(almacen.darComparendo(fila));
+				}
+			});
+		}
+		return encontrados;
+	}
+
+	/**
+	 * Da el indice de filas por valor de las columnas categoricas.
+	 * El indice se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Indice de las filas de darComparendos
+	 */
+	public IndiceBitmap darIndiceBitmap()
+	{
+		cargarSiCambio();
+		if(indiceBitmap == null)
+		{
+			indiceBitmap = new IndiceBitmap(comparendos);
+		}
+		return indiceBitmap;
+	}
+
+	/**
+	 * Retorna los comparendos que tienen todos los valores dados, por ejemplo
+	 * LOCALIDAD = SUBA, CLASE_VEHICULO = MOTOCICLETA e INFRACCION = C02
+	 * @param pColumnas Columna de cada filtro, por ejemplo ComparendoStore.LOCALIDAD
+	 * @param pValores Valor de cada filtro
+	 * @return Comparendos que cumplen todos los filtros en orden de objectid
+	 */
+	public ArrayQueue<Comparendo> darComparendosConValores(int[] pColumnas, String[] pValores)
+	{
+		IndiceBitmap indice = darIndiceBitmap();
+		return indice.darComparendos(indice.darFilasConTodos(pColumnas, pValores));
+	}
+
+	/**
+	 * Da el indice de palabras de la descripcion de la infraccion.
+	 * El indice se construye la primera vez que se pide y se reutiliza mientras el archivo no cambie
+	 * @return Indice de las filas de darComparendos
+	 */
+	public IndiceTexto darIndiceTexto()
+	{
+		cargarSiCambio();
+		if(indiceTexto == null)
+		{
+			indiceTexto = new IndiceTexto(comparendos);
+		}
+		return indiceTexto;
+	}
+
+	/**
+	 * Retorna los comparendos cuya descripcion tiene todas las palabras dadas, sin importar tildes ni mayusculas
+	 * @param pPalabras Palabras separadas por espacios, por ejemplo "REVISIÓN TECNICOMECÁNICA"
+	 * @return Comparendos en orden de objectid
+	 */
+	public ArrayQueue<Comparendo> darComparendosConPalabras(String pPalabras)
+	{
+		return darComparendosDeFilas(darIndiceTexto().buscar(pPalabras));
+	}
+
+	/**
+	 * Retorna los comparendos cuya descripcion tiene, para cada prefijo dado, una palabra que empieza por el
+	 * @param pPrefijos Prefijos separados por espacios, por ejemplo "ESTACION"
+	 * @return Comparendos en orden de objectid
+	 */
+	public ArrayQueue<Comparendo> darComparendosConPrefijos(String pPrefijos)
+	{
+		return darComparendosDeFilas(darIndiceTexto().buscarPrefijos(pPrefijos));
+	}
+
+	/**
+	 * Retorna los comparendos de una lista de filas
+	 * @param pFilas Filas de darComparendos en orden ascendente
+	 * @return Comparendos en el orden de las filas
+	 */
+	private ArrayQueue<Comparendo> darComparendosDeFilas(int[] pFilas)
+	{
+		ArrayQueue<Comparendo> encontrados = new ArrayQueue<Comparendo>(pFilas.length);
+		for(int fila : pFilas)
+		{
+			encontrados.enqueue(comparendos.darComparendo(fila));
+		}
+		return encontrados;
 	}
 }
@@ -0,0 +1,207 @@
+package model.logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import model.ComparendoStore;
+import model.data_structures.Diccionario;
+
+/**
+ * Copia binaria por columnas de los comparendos cargados, para no volver a leer el GeoJSON en cada inicio.
+ * Formato del archivo (big endian):
+ * <pre>
+ * int MAGIA, int VERSION, long tamanio del GeoJSON, long fecha de modificacion del GeoJSON, int n
+ * int[n] objectid ordenados, long[n] fecha en milisegundos (Comparendo.SIN_FECHA si no tiene), double[n] latitud, double[n] longitud
+ * por cada columna categorica: int d, d cadenas (int bytes, bytes UTF-8), short[n] codigos (-1 si el valor es null)
+ * </pre>
+ * Las columnas categoricas van en el orden de ComparendoStore: DES_INFRACCION, MEDIO_DETECCION, CLASE_VEHICULO, TIPO_SERVICIO, INFRACCION, LOCALIDAD y MUNICIPIO.
+ * Cada columna guarda el diccionario del almacen y los codigos tal como estan en el; al leer se llenan los diccionarios de un almacen nuevo.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public final class SnapshotComparendos
+{
+	/**
+	 * Extension que se agrega a la ruta del GeoJSON para nombrar su copia binaria
+	 */
+	public static final String EXTENSION = ".snap";
+
+	/**
+	 * Numero que identifica el formato al inicio del archivo
+	 */
+	private static final int MAGIA = 0x434D5053;
+
+	/**
+	 * Version del formato, cambia si cambian las columnas
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * Bytes del encabezado
+	 */
+	private static final int ENCABEZADO = 4 + 4 + 8 + 8 + 4;
+
+	/**
+	 * Bytes de cada fila en las columnas: objectid, fecha, latitud, longitud y un codigo por columna categorica
+	 */
+	private static final int BYTES_POR_FILA = 4 + 8 + 8 + 8 + 2 * ComparendoStore.NUMERO_CATEGORICAS;
+
+	private SnapshotComparendos()
+	{
+	}
+
+	/**
+	 * Da el archivo de la copia binaria de un GeoJSON
+	 * @param pRuta Ruta del GeoJSON
+	 * @return Archivo de la copia binaria
+	 */
+	public static File darArchivo(String pRuta)
+	{
+		return new File(pRuta + EXTENSION);
+	}
+
+	/**
+	 * Escribe la copia binaria de los comparendos. Se escribe en un archivo temporal que luego reemplaza al anterior,
+	 * asi una escritura interrumpida no deja una copia a medias.
+	 * @param pArchivo Archivo de la copia
+	 * @param pComparendos Comparendos ordenados por objectid
+	 * @param pTamanioFuente Tamanio en bytes del GeoJSON del que se leyeron
+	 * @param pModificacionFuente Fecha de modificacion del GeoJSON del que se leyeron
+	 * @throws IOException Si no se puede escribir el archivo
+	 */
+	public static void escribir(File pArchivo, ComparendoStore pComparendos, long pTamanioFuente, long pModificacionFuente) throws IOException
+	{
+		int n = pComparendos.size();
+
+		// diccionario completo de cada columna categorica
+		byte[][][] diccionarios = new byte[ComparendoStore.NUMERO_CATEGORICAS][][];
+		long total = ENCABEZADO + (long) n * (4 + 8 + 8 + 8);
+		for(int c = 0; c < ComparendoStore.NUMERO_CATEGORICAS; c++)
+		{
+			Diccionario diccionario = pComparendos.darDiccionario(c);
+			byte[][] valores = new byte[diccionario.size()][];
+			for(int d = 0; d < valores.length; d++)
+			{
+				valores[d] = diccionario.decodificar(d).getBytes(StandardCharsets.UTF_8);
+				total += 4 + valores[d].length;
+			}
+			diccionarios[c] = valores;
+			total += 4 + 2L * n;
+		}
+		if(total > Integer.MAX_VALUE) throw new IOException("snapshot too large: " + total + " bytes");
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) total);
+		buffer.putInt(MAGIA).putInt(VERSION).putLong(pTamanioFuente).putLong(pModificacionFuente).putInt(n);
+
+		buffer.asIntBuffer().put(pComparendos.darObjectIds());
+		buffer.position(buffer.position() + 4 * n);
+		buffer.asLongBuffer().put(pComparendos.darFechas());
+		buffer.position(buffer.position() + 8 * n);
+		buffer.asDoubleBuffer().put(pComparendos.darLatitudes());
+		buffer.position(buffer.position() + 8 * n);
+		buffer.asDoubleBuffer().put(pComparendos.darLongitudes());
+		buffer.position(buffer.position() + 8 * n);
+
+		for(int c = 0; c < ComparendoStore.NUMERO_CATEGORICAS; c++)
+		{
+			buffer.putInt(diccionarios[c].length);
+			for(byte[] bytes : diccionarios[c])
+			{
+				buffer.putInt(bytes.length).put(bytes);
+			}
+			buffer.asShortBuffer().put(pComparendos.darCodigos(c));
+			buffer.position(buffer.position() + 2 * n);
+		}
+		buffer.flip();
+
+		File temporal = new File(pArchivo.getPath() + ".tmp");
+		try(FileChannel canal = FileChannel.open(temporal.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			while(buffer.hasRemaining())
+			{
+				canal.write(buffer);
+			}
+		}
+		Files.move(temporal.toPath(), pArchivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Lee la copia binaria si existe y corresponde al GeoJSON con el tamanio y la fecha de modificacion dados.
+	 * Cada columna se lee completa de una vez desde el archivo mapeado en memoria.
+	 * @param pArchivo Archivo de la copia
+	 * @param pTamanioFuente Tamanio en bytes actual del GeoJSON
+	 * @param pModificacionFuente Fecha de modificacion actual del GeoJSON
+	 * @return Comparendos ordenados por objectid, o null si no hay copia o esta desactualizada
+	 * @throws IOException Si la copia no se puede leer o esta danada
+	 */
+	public static ComparendoStore leer(File pArchivo, long pTamanioFuente, long pModificacionFuente) throws IOException
+	{
+		if(!pArchivo.isFile() || pArchivo.length() < ENCABEZADO)
+		{
+			return null;
+		}
+
+		try(FileChannel canal = FileChannel.open(pArchivo.toPath(), StandardOpenOption.READ))
+		{
+			MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if(buffer.getInt() != MAGIA || buffer.getInt() != VERSION || buffer.getLong() != pTamanioFuente || buffer.getLong() != pModificacionFuente)
+			{
+				return null;
+			}
+
+			// n viene del archivo: se verifica contra el tamanio antes de reservar las columnas, un archivo danado no debe agotar la memoria
+			int n = buffer.getInt();
+			if(n < 0 || ENCABEZADO + (long) n * BYTES_POR_FILA > canal.size())
+			{
+				throw new IOException("corrupt snapshot " + pArchivo + ": " + n + " rows do not fit in " + canal.size() + " bytes");
+			}
+			int[] objectIds = new int[n];
+			long[] fechas = new long[n];
+			double[] latitudes = new double[n];
+			double[] longitudes = new double[n];
+			buffer.asIntBuffer().get(objectIds);
+			buffer.position(buffer.position() + 4 * n);
+			buffer.asLongBuffer().get(fechas);
+			buffer.position(buffer.position() + 8 * n);
+			buffer.asDoubleBuffer().get(latitudes);
+			buffer.position(buffer.position() + 8 * n);
+			buffer.asDoubleBuffer().get(longitudes);
+			buffer.position(buffer.position() + 8 * n);
+
+			short[][] codigos = new short[ComparendoStore.NUMERO_CATEGORICAS][];
+			String[][] valores = new String[ComparendoStore.NUMERO_CATEGORICAS][];
+			for(int c = 0; c < ComparendoStore.NUMERO_CATEGORICAS; c++)
+			{
+				// cada valor ocupa al menos los 4 bytes de su largo
+				int d = buffer.getInt();
+				if(d < 0 || d > buffer.remaining() / 4) throw new IOException("corrupt snapshot " + pArchivo + ": " + d + " values in column " + c);
+				valores[c] = new String[d];
+				for(int v = 0; v < d; v++)
+				{
+					int largo = buffer.getInt();
+					if(largo < 0 || largo > buffer.remaining()) throw new IOException("corrupt snapshot " + pArchivo + ": value of " + largo + " bytes");
+					byte[] bytes = new byte[largo];
+					buffer.get(bytes);
+					valores[c][v] = new String(bytes, StandardCharsets.UTF_8);
+				}
+				codigos[c] = new short[n];
+				buffer.asShortBuffer().get(codigos[c]);
+				buffer.position(buffer.position() + 2 * n);
+			}
+
+			// el almacen toma las columnas leidas sin copiarlas fila por fila
+			return new ComparendoStore(objectIds, fechas, latitudes, longitudes, codigos, valores);
+		}
+		catch(RuntimeException e)
+		{
+			// BufferUnderflowException, NegativeArraySizeException, ... : la copia esta truncada o danada
+			throw new IOException("corrupt snapshot " + pArchivo + ": " + e, e);
+		}
+	}
+}
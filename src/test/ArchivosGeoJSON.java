@@ -0,0 +1,73 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Ayudas compartidas por las pruebas de carga: arman features y colecciones GeoJSON como texto y los escriben en archivos temporales
+ * @author Julian Padilla - Pablo Pastrana
+ */
+final class ArchivosGeoJSON
+{
+	/**
+	 * Fecha valida usada por defecto
+	 */
+	static final String FECHA = "2018-06-15T09:40:00.000Z";
+
+	private ArchivosGeoJSON()
+	{
+	}
+
+	/**
+	 * Crea un feature con todos los campos que leen los cargadores
+	 * @param pObjectId Objectid
+	 * @param pFecha Texto de FECHA_HORA
+	 * @param pLongitud Longitud
+	 * @param pLatitud Latitud
+	 * @param pDescripcion Texto de DES_INFRACCION, ya escapado para JSON
+	 * @param pClase Clase de vehiculo
+	 * @param pInfraccion Codigo de la infraccion
+	 * @param pLocalidad Localidad
+	 * @return Feature como texto JSON
+	 */
+	static String feature(int pObjectId, String pFecha, double pLongitud, double pLatitud, String pDescripcion, String pClase, String pInfraccion, String pLocalidad)
+	{
+		return "{\"type\": \"Feature\", \"properties\": {\"OBJECTID\": " + pObjectId + ", \"FECHA_HORA\": \"" + pFecha + "\", "
+				+ "\"MEDIO_DETECCION\": \"LAPIZ\", \"CLASE_VEHICULO\": \"" + pClase + "\", \"TIPO_SERVICIO\": \"Particular\", \"INFRACCION\": \"" + pInfraccion + "\", "
+				+ "\"DES_INFRACCION\": \"" + pDescripcion + "\", \"LOCALIDAD\": \"" + pLocalidad + "\", \"MUNICIPIO\": \"BOGOTA\"}, "
+				+ "\"geometry\": {\"type\": \"Point\", \"coordinates\": [" + pLongitud + ", " + pLatitud + ", 0]}}";
+	}
+
+	/**
+	 * Crea un feature de una motocicleta en SUBA con infraccion C31 y la descripcion "DESCRIPCION"
+	 */
+	static String feature(int pObjectId, String pFecha, double pLongitud, double pLatitud)
+	{
+		return feature(pObjectId, pFecha, pLongitud, pLatitud, "DESCRIPCION", "MOTOCICLETA", "C31", "SUBA");
+	}
+
+	/**
+	 * Crea la coleccion con los features dados, uno por linea
+	 * @param pFeatures Features como texto JSON
+	 * @return GeoJSON completo
+	 */
+	static String coleccion(String... pFeatures)
+	{
+		return "{\"type\": \"FeatureCollection\", \"features\": [\n" + String.join(",\n", pFeatures) + "\n]}";
+	}
+
+	/**
+	 * Escribe el texto en UTF-8 en un archivo temporal que se borra al terminar las pruebas
+	 * @param pTexto Contenido del archivo
+	 * @return Archivo temporal con extension .geojson
+	 */
+	static File escribir(String pTexto) throws IOException
+	{
+		File archivo = File.createTempFile("comparendos", ".geojson");
+		archivo.deleteOnExit();
+		Files.write(archivo.toPath(), pTexto.getBytes(StandardCharsets.UTF_8));
+		return archivo;
+	}
+}
@@ -0,0 +1,134 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.ArenaRedBlackBST;
+
+class ArenaRedBlackBSTTest
+{
+	/**
+	 * Arbol Rojo - Negro en arreglos con llave de tipo entero y valor string
+	 */
+	private ArenaRedBlackBST<Integer, String> arbol;
+
+	/**
+	 * Escenario 1: Crea un Arbol Rojo - Negro en arreglos con las llaves 1 a 6
+	 */
+	public void setupEscenario1( )
+	{
+		arbol = new ArenaRedBlackBST<Integer, String>(2);
+		arbol.put(1, "Hola");
+		arbol.put(2, "Elina");
+		arbol.put(3, "O");
+		arbol.put(4, "Carlos");
+		arbol.put(5, "Buen");
+		arbol.put(6, "Dia");
+	}
+
+	/**
+	 * Prueba 1: Verifica que se agreguen elementos creciendo los arreglos y el arbol sea valido
+	 */
+	@Test
+	void testPutGet()
+	{
+		setupEscenario1();
+		assertEquals(6, arbol.size());
+		assertTrue(arbol.check());
+		assertEquals("O", arbol.get(3));
+		assertNull(arbol.get(7));
+		assertEquals(1, (int) arbol.min());
+		assertEquals(6, (int) arbol.max());
+		assertEquals(2, arbol.height());
+	}
+
+	/**
+	 * Prueba 2: Verifica que las posiciones de los nodos eliminados se reutilicen
+	 */
+	@Test
+	void testDeleteReutiliza()
+	{
+		setupEscenario1();
+		int capacidad = arbol.capacity();
+		arbol.delete(2);
+		arbol.deleteMin();
+		arbol.deleteMax();
+		assertEquals(3, arbol.size());
+		assertTrue(arbol.check());
+
+		arbol.put(10, "Diez");
+		arbol.put(11, "Once");
+		arbol.put(12, "Doce");
+		assertEquals(6, arbol.size());
+		assertEquals(capacidad, arbol.capacity());
+		assertTrue(arbol.check());
+	}
+
+	/**
+	 * Prueba 3: Verifica floor, ceiling, rank, select y los recorridos por rango
+	 */
+	@Test
+	void testOrden()
+	{
+		setupEscenario1();
+		assertEquals(3, (int) arbol.floor(3));
+		assertEquals(2, arbol.rank(3));
+		assertEquals(5, (int) arbol.select(4));
+		assertEquals(3, arbol.size(2, 4));
+
+		int cont = 0;
+		for(Map.Entry<Integer, String> entrada : arbol.entries(2, 4))
+		{
+			assertEquals(2 + cont, (int) entrada.getKey());
+			assertEquals(arbol.get(2 + cont), entrada.getValue());
+			cont++;
+		}
+		assertEquals(3, cont);
+		assertEquals(3, arbol.range(2, 4).size());
+	}
+
+	/**
+	 * Prueba 4: Verifica la construccion desde arreglos ordenados
+	 */
+	@Test
+	void testConstruccionOrdenada()
+	{
+		Integer[] llaves = new Integer[500];
+		String[] valores = new String[500];
+		for(int i = 0; i < llaves.length; i++)
+		{
+			llaves[i] = i;
+			valores[i] = "V" + i;
+		}
+		arbol = new ArenaRedBlackBST<Integer, String>(llaves, valores);
+		assertTrue(arbol.check());
+		assertEquals(500, arbol.size());
+		assertEquals("V250", arbol.get(250));
+	}
+
+	/**
+	 * Prueba 5: Verifica que los iteradores fallen si se elimina y se reutiliza la posicion de un nodo mientras recorren,
+	 * en lugar de entregar la llave que quedo en esa posicion
+	 */
+	@Test
+	void testIteradorModificado()
+	{
+		setupEscenario1();
+		Iterator<Integer> llaves = arbol.keys().iterator();
+		assertEquals(1, (int) llaves.next());
+		arbol.delete(2);
+		arbol.put(7, "Nuevo");
+		assertThrows(ConcurrentModificationException.class, () -> llaves.next());
+
+		Iterator<Map.Entry<Integer, String>> parejas = arbol.entries().iterator();
+		assertEquals(1, (int) parejas.next().getKey());
+		arbol.put(3, "Tres");
+		assertEquals(3, (int) parejas.next().getKey());
+		arbol.deleteMax();
+		assertThrows(ConcurrentModificationException.class, () -> parejas.next());
+	}
+}
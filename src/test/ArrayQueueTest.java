@@ -0,0 +1,88 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.ArrayQueue;
+
+class ArrayQueueTest
+{
+	/**
+	 * Cola de prueba
+	 */
+	private ArrayQueue<Integer> cola;
+
+	/**
+	 * Escenario 1: Crea una cola de capacidad dos y le agrega 0 a 9, sacando 0 a 4, para que los elementos den la vuelta al arreglo
+	 */
+	public void setupEscenario1( )
+	{
+		cola = new ArrayQueue<Integer>(2);
+		for(int i = 0; i < 10; i++)
+		{
+			cola.enqueue(i);
+			if(i % 2 == 1) cola.dequeue();
+		}
+	}
+
+	/**
+	 * Prueba 1: Verifica el orden FIFO y el acceso por posicion
+	 */
+	@Test
+	void testOrdenYPosicion()
+	{
+		setupEscenario1();
+		assertEquals(5, cola.getSize());
+		assertEquals(5, (int) cola.peek());
+		assertEquals("5 6 7 8 9 ", cola.toString());
+		for(int i = 0; i < 5; i++)
+		{
+			assertEquals(5 + i, (int) cola.seeItem(i));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> cola.seeItem(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> cola.seeItem(-1));
+	}
+
+	/**
+	 * Prueba 2: Verifica que la cola crezca, se reduzca y quede vacia
+	 */
+	@Test
+	void testCrecerYVaciar()
+	{
+		cola = new ArrayQueue<Integer>();
+		for(int i = 0; i < 1000; i++)
+		{
+			cola.enqueue(i);
+		}
+		for(int i = 0; i < 1000; i++)
+		{
+			assertEquals(i, (int) cola.dequeue());
+		}
+		assertTrue(cola.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> cola.dequeue());
+		assertThrows(NoSuchElementException.class, () -> cola.peek());
+
+		setupEscenario1();
+		cola.clear();
+		assertTrue(cola.isEmpty());
+		cola.enqueue(1);
+		assertEquals(1, (int) cola.peek());
+	}
+
+	/**
+	 * Prueba 3: Verifica que el iterador falle si la cola cambia mientras se recorre
+	 */
+	@Test
+	void testIteradorModificado()
+	{
+		setupEscenario1();
+		Iterator<Integer> it = cola.iterator();
+		assertEquals(5, (int) it.next());
+		cola.enqueue(10);
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+	}
+}
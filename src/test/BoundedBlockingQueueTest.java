@@ -0,0 +1,115 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.BoundedBlockingQueue;
+
+class BoundedBlockingQueueTest
+{
+	/**
+	 * Cola de prueba
+	 */
+	private BoundedBlockingQueue<Integer> cola;
+
+	/**
+	 * Escenario 1: Crea una cola de capacidad tres con 1 y 2
+	 */
+	public void setupEscenario1( )
+	{
+		cola = new BoundedBlockingQueue<Integer>(3);
+		cola.enqueue(1);
+		cola.enqueue(2);
+	}
+
+	/**
+	 * Prueba 1: Verifica las operaciones de ILinkedQueue, que no esperan, al dar la vuelta al arreglo
+	 */
+	@Test
+	void testOperacionesSinEspera()
+	{
+		setupEscenario1();
+		assertEquals(1, (int) cola.dequeue());
+		cola.enqueue(3);
+		cola.enqueue(4);
+		assertThrows(IllegalStateException.class, () -> cola.enqueue(5));
+		assertEquals(3, cola.getSize());
+		assertEquals(2, (int) cola.peek());
+		assertEquals("2 3 4 ", cola.toString());
+		assertEquals(2, (int) cola.dequeue());
+		assertEquals(3, (int) cola.dequeue());
+		assertEquals(4, (int) cola.dequeue());
+		assertTrue(cola.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> cola.dequeue());
+		assertThrows(NoSuchElementException.class, () -> cola.peek());
+	}
+
+	/**
+	 * Prueba 2: Verifica que despues de cerrar se saquen los elementos que quedan y luego take devuelva null
+	 */
+	@Test
+	void testCerrar() throws InterruptedException
+	{
+		setupEscenario1();
+		cola.close();
+		assertThrows(IllegalStateException.class, () -> cola.put(3));
+		assertEquals(1, (int) cola.take());
+		assertEquals(2, (int) cola.take());
+		assertNull(cola.take());
+		assertThrows(IllegalStateException.class, () -> cola.offer(3, 1, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Prueba 3: Verifica que un productor que espera en put y un consumidor que espera en take pasen todos los elementos en orden
+	 */
+	@Test
+	void testProductorConsumidor() throws InterruptedException
+	{
+		cola = new BoundedBlockingQueue<Integer>(4);
+		int n = 100000;
+		Thread productor = new Thread(() ->
+		{
+			try
+			{
+				for(int i = 0; i < n; i++)
+				{
+					cola.put(i);
+				}
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			finally
+			{
+				cola.close();
+			}
+		});
+		productor.start();
+
+		int esperado = 0;
+		Integer item;
+		while((item = cola.take()) != null)
+		{
+			assertEquals(esperado++, (int) item);
+			assertTrue(cola.getSize() <= cola.getCapacity());
+		}
+		productor.join();
+		assertEquals(n, esperado);
+	}
+
+	/**
+	 * Prueba 4: Verifica que offer devuelva false si la cola sigue llena al acabarse el tiempo
+	 */
+	@Test
+	void testOfferConTiempo() throws InterruptedException
+	{
+		setupEscenario1();
+		assertTrue(cola.offer(3, 10, TimeUnit.MILLISECONDS));
+		assertFalse(cola.offer(4, 10, TimeUnit.MILLISECONDS));
+		assertEquals(3, cola.getSize());
+	}
+}
@@ -0,0 +1,50 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.BoundedMaxHeap;
+
+class BoundedMaxHeapTest
+{
+	/**
+	 * Monticulo de prueba
+	 */
+	private BoundedMaxHeap monticulo;
+
+	/**
+	 * Escenario 1: Crea un monticulo de capacidad tres y le ofrece las prioridades 5, 1, 4, 2 y 3 con identificadores iguales a la prioridad
+	 */
+	public void setupEscenario1( )
+	{
+		monticulo = new BoundedMaxHeap(3);
+		for(int p : new int[] {5, 1, 4, 2, 3})
+		{
+			monticulo.offer(p, p);
+		}
+	}
+
+	/**
+	 * Prueba 1: Verifica que se conserven los tres de menor prioridad y salgan en orden ascendente
+	 */
+	@Test
+	void testMenoresK()
+	{
+		setupEscenario1();
+		assertTrue(monticulo.isFull());
+		assertEquals(3.0, monticulo.maxPriority(), 0.0);
+		assertEquals(3.0, monticulo.bound(), 0.0);
+		assertFalse(monticulo.offer(3, 30));
+		assertTrue(monticulo.offer(0, 0));
+
+		double[] prioridades = new double[3];
+		assertArrayEquals(new int[] {0, 1, 2}, monticulo.drainAscending(prioridades));
+		assertEquals(2.0, prioridades[2], 0.0);
+		assertEquals(0, monticulo.size());
+		assertEquals(Double.POSITIVE_INFINITY, monticulo.bound(), 0.0);
+		assertThrows(NoSuchElementException.class, () -> monticulo.maxPriority());
+		assertThrows(IllegalArgumentException.class, () -> new BoundedMaxHeap(0));
+	}
+}
@@ -0,0 +1,56 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.ForkJoinPool;
+
+import model.ComparendoStore;
+import model.logic.CargadorParalelo;
+import model.logic.Modelo;
+
+/**
+ * Mide el tiempo de CargadorParalelo con pools de 1, 2, 4 y tantos hilos como procesadores, para ver como escala la carga con los nucleos.
+ * Se ejecuta con su metodo main, no es una prueba unitaria. El primer argumento opcional es la ruta del GeoJSON.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class CargadorParaleloBenchmark
+{
+	/**
+	 * Numero de repeticiones de cada medicion, se reporta la mejor
+	 */
+	private static final int REPETICIONES = 5;
+
+	/**
+	 * Ejecuta las mediciones
+	 * @param args Ruta del GeoJSON, por defecto Modelo.PATH
+	 */
+	public static void main(String[] args) throws IOException, ParseException
+	{
+		File archivo = new File((args.length > 0) ? args[0] : Modelo.PATH);
+		int procesadores = Runtime.getRuntime().availableProcessors();
+		int[] hilos = (procesadores == 1 || procesadores == 2 || procesadores == 4) ? new int[] {1, 2, 4} : new int[] {1, 2, 4, procesadores};
+
+		// calentamiento
+		CargadorParalelo.cargar(archivo, new ForkJoinPool(1));
+
+		System.out.println(archivo + ", " + archivo.length() + " bytes, " + procesadores + " procesadores");
+		long base = 0;
+		for(int h = 0; h < hilos.length; h++)
+		{
+			ForkJoinPool pool = new ForkJoinPool(hilos[h]);
+			long mejor = Long.MAX_VALUE;
+			int filas = 0;
+			for(int r = 0; r < REPETICIONES; r++)
+			{
+				long comienzo = System.nanoTime();
+				ComparendoStore comparendos = CargadorParalelo.cargar(archivo, pool);
+				mejor = Math.min(mejor, System.nanoTime() - comienzo);
+				filas = comparendos.size();
+			}
+			pool.shutdown();
+			if(h == 0) base = mejor;
+			System.out.printf("%3d hilos %10.1f ms %10.0f filas/s %6.2fx%n", hilos[h], mejor / 1e6, filas / (mejor / 1e9), (double) base / mejor);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import model.ComparendoStore;
+import model.logic.CargadorParalelo;
+
+class CargadorParaleloTest
+{
+	/**
+	 * Archivo GeoJSON temporal
+	 */
+	private File archivo;
+
+	/**
+	 * Crea un feature con el objectid y la descripcion dados
+	 */
+	private String feature(int pObjectId, String pDescripcion)
+	{
+		return ArchivosGeoJSON.feature(pObjectId, ArchivosGeoJSON.FECHA, -74.08, 4.61, pDescripcion, "MOTOCICLETA", "C31", "SUBA");
+	}
+
+	/**
+	 * Escenario 1: Escribe un GeoJSON con tres features desordenados, con llaves, corchetes y comillas dentro de las cadenas
+	 */
+	public void setupEscenario1( ) throws IOException
+	{
+		archivo = ArchivosGeoJSON.escribir("{\"type\": \"FeatureCollection\", \"crs\": {\"name\": \"features\"},\n\"features\": [\n"
+				+ feature(30, "TRES } ]") + ",\n" + feature(10, "UNO \\\"{[\\\"") + ",\n" + feature(20, "DOS") + "\n]\n}");
+	}
+
+	/**
+	 * Prueba 1: Verifica que se lean todos los features y queden ordenados por objectid
+	 */
+	@Test
+	void testCargar() throws IOException, ParseException
+	{
+		setupEscenario1();
+		ComparendoStore comparendos = CargadorParalelo.cargar(archivo, new ForkJoinPool(2));
+		assertArrayEquals(new int[] {10, 20, 30}, comparendos.darObjectIds());
+		assertEquals("UNO \"{[\"", comparendos.darComparendo(0).getDes_infrac());
+		assertEquals("TRES } ]", comparendos.darComparendo(2).getDes_infrac());
+		assertEquals(4.61, comparendos.darLatitud(1), 0.0);
+	}
+
+	/**
+	 * Prueba 2: Verifica que un archivo sin arreglo features se reporte como error
+	 */
+	@Test
+	void testSinFeatures() throws IOException
+	{
+		archivo = ArchivosGeoJSON.escribir("{\"type\": \"FeatureCollection\"}");
+		assertThrows(IOException.class, () -> CargadorParalelo.cargar(archivo));
+	}
+
+	/**
+	 * Prueba 3: Verifica un archivo de varios bloques: todas las filas quedan ordenadas y de un objectid repetido va primero la fila que esta antes en el archivo
+	 */
+	@Test
+	void testVariosBloques() throws IOException, ParseException
+	{
+		int n = 20000;
+		StringBuilder features = new StringBuilder(feature(n / 2, "PRIMERO"));
+		for(int i = n - 1; i >= 0; i--)
+		{
+			features.append(",\n").append(feature(i, i % 2 == 0 ? "PAR" : "IMPAR"));
+		}
+		archivo = ArchivosGeoJSON.escribir("{\"type\": \"FeatureCollection\", \"features\": [\n" + features + "\n]}");
+		assertTrue(archivo.length() > 4 << 20);
+
+		ComparendoStore comparendos = CargadorParalelo.cargar(archivo, new ForkJoinPool(2));
+		assertEquals(n + 1, comparendos.size());
+		for(int i = 1; i < comparendos.size(); i++)
+		{
+			assertTrue(comparendos.darObjectId(i - 1) <= comparendos.darObjectId(i));
+		}
+		assertEquals("PRIMERO", comparendos.darComparendo(n / 2).getDes_infrac());
+		assertEquals("PAR", comparendos.darComparendo(n / 2 + 1).getDes_infrac());
+		assertEquals("IMPAR", comparendos.darComparendo(n).getDes_infrac());
+		assertEquals(3, comparendos.darDiccionario(ComparendoStore.DES_INFRACCION).size());
+	}
+}
@@ -0,0 +1,67 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+import org.junit.jupiter.api.Test;
+import model.ComparendoStore;
+import model.logic.CargadorProductorConsumidor;
+
+class CargadorProductorConsumidorTest
+{
+	/**
+	 * Archivo GeoJSON temporal
+	 */
+	private File archivo;
+
+	/**
+	 * Escribe un GeoJSON con pNumero features; si pFechaMala no es negativo ese feature tiene una fecha invalida
+	 */
+	private void escribir(int pNumero, int pFechaMala) throws IOException
+	{
+		String[] features = new String[pNumero];
+		for(int i = 0; i < pNumero; i++)
+		{
+			String fecha = (i == pFechaMala) ? "15/06/2018" : ArchivosGeoJSON.FECHA;
+			features[i] = ArchivosGeoJSON.feature(i + 1, fecha, -74.08, 4.61, "D" + ((i + 1) % 7), "MOTOCICLETA", "C31", "SUBA");
+		}
+		archivo = ArchivosGeoJSON.escribir(ArchivosGeoJSON.coleccion(features));
+	}
+
+	/**
+	 * Escenario 1: Escribe un GeoJSON con 2500 features
+	 */
+	public void setupEscenario1( ) throws IOException
+	{
+		escribir(2500, -1);
+	}
+
+	/**
+	 * Prueba 1: Verifica que con lotes de 100 y una cola de un solo lote se lean todos los features en el orden del archivo
+	 */
+	@Test
+	void testCargar() throws IOException, ParseException
+	{
+		setupEscenario1();
+		ComparendoStore comparendos = CargadorProductorConsumidor.cargar(archivo, 100, 1);
+		assertEquals(2500, comparendos.size());
+		for(int i = 0; i < comparendos.size(); i++)
+		{
+			assertEquals(i + 1, comparendos.darObjectId(i));
+		}
+		assertEquals("D3", comparendos.darComparendo(2).getDes_infrac());
+	}
+
+	/**
+	 * Prueba 2: Verifica que el error del hilo productor llegue al hilo que carga
+	 */
+	@Test
+	void testErrorDelProductor() throws IOException
+	{
+		escribir(2500, 1800);
+		assertThrows(ParseException.class, () -> CargadorProductorConsumidor.cargar(archivo, 100, 1));
+	}
+}
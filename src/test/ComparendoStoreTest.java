@@ -0,0 +1,88 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+
+class ComparendoStoreTest
+{
+	/**
+	 * Almacen de comparendos
+	 */
+	private ComparendoStore almacen;
+
+	/**
+	 * Escenario 1: Crea un almacen con capacidad 1 y tres comparendos desordenados por objectid
+	 */
+	public void setupEscenario1( )
+	{
+		almacen = new ComparendoStore(1);
+		almacen.agregar(new Comparendo(30, 3000L, "Tres", "LAPIZ", "AUTOMÓVIL", "Público", "C35", "SUBA", "BOGOTA", -74.3, 4.3));
+		almacen.agregar(new Comparendo(10, 1000L, "Uno", "DEAP", "MOTOCICLETA", "Particular", "C02", "USME", "BOGOTA", -74.1, 4.1));
+		almacen.agregar(new Comparendo(20, Comparendo.SIN_FECHA, "Dos", "LAPIZ", "AUTOMÓVIL", "Público", "C35", null, "BOGOTA", -74.2, 4.2));
+	}
+
+	/**
+	 * Prueba 1: Verifica que las columnas guarden los datos de cada fila
+	 */
+	@Test
+	void testAgregar()
+	{
+		setupEscenario1();
+		assertEquals(3, almacen.size());
+		assertEquals(30, almacen.darObjectId(0));
+		assertEquals(1000L, almacen.darFecha(1));
+		assertEquals(4.2, almacen.darLatitud(2), 0.0);
+		assertEquals("USME", almacen.darValor(ComparendoStore.LOCALIDAD, 1));
+		assertNull(almacen.darValor(ComparendoStore.LOCALIDAD, 2));
+		assertEquals(almacen.darCodigo(ComparendoStore.INFRACCION, 0), almacen.darCodigo(ComparendoStore.INFRACCION, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> almacen.darObjectId(3));
+	}
+
+	/**
+	 * Prueba 2: Verifica el orden por objectid y que la vista de cada fila tenga los mismos datos del comparendo
+	 */
+	@Test
+	void testOrdenarVista()
+	{
+		setupEscenario1();
+		almacen.ordenarPorObjectId();
+		assertArrayEquals(new int[] {10, 20, 30}, almacen.darObjectIds());
+
+		Comparendo vista = almacen.darComparendo(0);
+		assertEquals(10, vista.getObjective());
+		assertEquals("Uno", vista.getDes_infrac());
+		assertEquals("MOTOCICLETA", vista.getClase_vehi());
+		assertEquals(1000L, vista.getFecha_hora().getTime());
+		assertEquals(-74.1, vista.getLongitud(), 0.0);
+		assertNull(almacen.darComparendo(1).getFecha_hora());
+		assertThrows(UnsupportedOperationException.class, () -> vista.setLocalidad("SUBA"));
+	}
+
+	/**
+	 * Prueba 3: Verifica la mezcla de varios almacenes ordenados, con diccionarios distintos y objectid repetidos entre almacenes
+	 */
+	@Test
+	void testMezclar()
+	{
+		setupEscenario1();
+		almacen.ordenarPorObjectId();
+		ComparendoStore segundo = new ComparendoStore();
+		segundo.agregar(new Comparendo(20, 2000L, "Otro", "DEAP", "BUS", "Público", "C14", "KENNEDY", "BOGOTA", -74.5, 4.5));
+		segundo.agregar(new Comparendo(40, 4000L, "Cuatro", "LAPIZ", "AUTOMÓVIL", "Público", "C35", "SUBA", "BOGOTA", -74.4, 4.4));
+		ComparendoStore tercero = new ComparendoStore();
+		tercero.agregar(new Comparendo(5, 500L, "Cinco", null, "BUS", "Público", "C14", "USME", "BOGOTA", -74.0, 4.0));
+
+		ComparendoStore mezcla = ComparendoStore.mezclar(almacen, new ComparendoStore(), segundo, tercero);
+		assertArrayEquals(new int[] {5, 10, 20, 20, 30, 40}, mezcla.darObjectIds());
+		assertEquals("Dos", mezcla.darComparendo(2).getDes_infrac());
+		assertEquals("Otro", mezcla.darComparendo(3).getDes_infrac());
+		assertEquals("SUBA", mezcla.darValor(ComparendoStore.LOCALIDAD, 5));
+		assertNull(mezcla.darValor(ComparendoStore.MEDIO_DETECCION, 0));
+		assertEquals(mezcla.darCodigo(ComparendoStore.CLASE_VEHICULO, 0), mezcla.darCodigo(ComparendoStore.CLASE_VEHICULO, 3));
+		assertEquals(mezcla.darCodigo(ComparendoStore.LOCALIDAD, 4), mezcla.darCodigo(ComparendoStore.LOCALIDAD, 5));
+		assertEquals(0, ComparendoStore.mezclar().size());
+	}
+}
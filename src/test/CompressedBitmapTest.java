@@ -0,0 +1,161 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.CompressedBitmap;
+
+class CompressedBitmapTest
+{
+	/**
+	 * Limite de los enteros de los escenarios, abarca cuatro contenedores y parte de un quinto
+	 */
+	private static final int LIMITE = 4 * 65536 + 1000;
+
+	/**
+	 * Conjuntos de prueba
+	 */
+	private CompressedBitmap a, b;
+
+	/**
+	 * Conjuntos de referencia con los mismos enteros
+	 */
+	private BitSet esperadoA, esperadoB;
+
+	/**
+	 * Llena un conjunto y su referencia: el primer contenedor denso (mapa de bits), el segundo disperso (arreglo),
+	 * el tercero vacio y el cuarto con la densidad dada
+	 */
+	private void llenar(CompressedBitmap pConjunto, BitSet pEsperado, Random pAleatorio, double pDensidad)
+	{
+		for(int v = 0; v < LIMITE; v++)
+		{
+			int contenedor = v >>> 16;
+			double p = (contenedor == 0) ? 0.5 : (contenedor == 1) ? 0.01 : (contenedor == 2) ? 0 : pDensidad;
+			if(pAleatorio.nextDouble() < p)
+			{
+				pConjunto.add(v);
+				pEsperado.set(v);
+			}
+		}
+	}
+
+	/**
+	 * Escenario 1: Crea dos conjuntos aleatorios con contenedores densos, dispersos y vacios, agregando en orden ascendente
+	 */
+	public void setupEscenario1( )
+	{
+		Random aleatorio = new Random(7);
+		a = new CompressedBitmap();
+		b = new CompressedBitmap();
+		esperadoA = new BitSet();
+		esperadoB = new BitSet();
+		llenar(a, esperadoA, aleatorio, 0.2);
+		llenar(b, esperadoB, aleatorio, 0.03);
+	}
+
+	/**
+	 * Da los enteros de un BitSet en orden ascendente
+	 */
+	private int[] enteros(BitSet pConjunto)
+	{
+		return pConjunto.stream().toArray();
+	}
+
+	/**
+	 * Prueba 1: Verifica agregar, contains y cardinality, tambien agregando en desorden y con repetidos
+	 */
+	@Test
+	void testAgregar()
+	{
+		CompressedBitmap conjunto = CompressedBitmap.of(70000, 5, 3, 70000, 200000, 4);
+		assertArrayEquals(new int[] {3, 4, 5, 70000, 200000}, conjunto.toArray());
+		assertEquals(5, conjunto.cardinality());
+		assertTrue(conjunto.contains(70000));
+		assertFalse(conjunto.contains(6));
+		assertFalse(conjunto.contains(-1));
+		assertFalse(conjunto.add(5));
+		assertTrue(new CompressedBitmap().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> conjunto.add(-1));
+
+		// un contenedor pasa de arreglo a mapa de bits al superar 4096 enteros, agregando de mayor a menor
+		CompressedBitmap denso = new CompressedBitmap();
+		for(int v = 2 * 5000; v > 0; v -= 2)
+		{
+			denso.add(v);
+		}
+		assertEquals(5000, denso.cardinality());
+		assertTrue(denso.contains(10000));
+		assertFalse(denso.contains(9999));
+
+		setupEscenario1();
+		assertEquals(esperadoA.cardinality(), a.cardinality());
+		assertArrayEquals(enteros(esperadoA), a.toArray());
+	}
+
+	/**
+	 * Prueba 2: Verifica and, or y andNot contra BitSet en todas las combinaciones de contenedores
+	 */
+	@Test
+	void testOperaciones()
+	{
+		setupEscenario1();
+		BitSet y = (BitSet) esperadoA.clone();
+		y.and(esperadoB);
+		BitSet o = (BitSet) esperadoA.clone();
+		o.or(esperadoB);
+		BitSet menos = (BitSet) esperadoA.clone();
+		menos.andNot(esperadoB);
+
+		assertArrayEquals(enteros(y), a.and(b).toArray());
+		assertArrayEquals(enteros(o), a.or(b).toArray());
+		assertArrayEquals(enteros(menos), a.andNot(b).toArray());
+		assertEquals(a.and(b), b.and(a));
+		assertEquals(a.or(b), b.or(a));
+		assertTrue(a.andNot(a).isEmpty());
+
+		// los operandos no cambian
+		assertArrayEquals(enteros(esperadoA), a.toArray());
+		assertArrayEquals(enteros(esperadoB), b.toArray());
+	}
+
+	/**
+	 * Prueba 3: Verifica not dentro de un limite, con limites en la frontera de un contenedor y de una palabra
+	 */
+	@Test
+	void testNot()
+	{
+		setupEscenario1();
+		BitSet complemento = (BitSet) esperadoA.clone();
+		complemento.flip(0, LIMITE);
+		assertArrayEquals(enteros(complemento), a.not(LIMITE).toArray());
+		assertEquals(a, a.not(LIMITE).not(LIMITE));
+
+		assertEquals(65536, CompressedBitmap.range(65536).cardinality());
+		assertArrayEquals(new int[] {0, 1, 2}, CompressedBitmap.range(3).toArray());
+		assertArrayEquals(new int[] {0, 63, 64}, CompressedBitmap.of(1, 62, 2).not(65).andNot(CompressedBitmap.range(63).andNot(CompressedBitmap.of(0))).toArray());
+		assertTrue(CompressedBitmap.range(0).isEmpty());
+		assertTrue(CompressedBitmap.of(1, 2).not(3).equals(CompressedBitmap.of(0)));
+		assertThrows(IllegalArgumentException.class, () -> a.not(-1));
+	}
+
+	/**
+	 * Prueba 4: Verifica que la vista de solo lectura tenga los mismos enteros y no permita agregar
+	 */
+	@Test
+	void testSoloLectura()
+	{
+		setupEscenario1();
+		CompressedBitmap vista = a.readOnly();
+		assertTrue(vista.isReadOnly());
+		assertFalse(a.isReadOnly());
+		assertSame(vista, vista.readOnly());
+		assertEquals(a, vista);
+		assertThrows(UnsupportedOperationException.class, () -> vista.add(1));
+		assertArrayEquals(a.and(b).toArray(), vista.and(b).toArray());
+		assertTrue(vista.or(b).add(LIMITE));
+	}
+}
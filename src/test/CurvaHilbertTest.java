@@ -0,0 +1,102 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import model.LlaveHilbert;
+import model.logic.CurvaHilbert;
+
+class CurvaHilbertTest
+{
+	/**
+	 * Determina si la posicion esta en alguno de los rangos
+	 */
+	private boolean enRangos(long[] pRangos, long pPosicion)
+	{
+		for(int r = 0; r < pRangos.length; r += 2)
+		{
+			if(pRangos[r] <= pPosicion && pPosicion <= pRangos[r + 1]) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Prueba 1: Verifica que los rangos de un rectangulo contengan a todos los puntos del rectangulo,
+	 * esten ordenados, no se toquen y no pasen del maximo pedido
+	 */
+	@Test
+	void testDescomponer()
+	{
+		Random random = new Random(23);
+		for(int q = 0; q < 100; q++)
+		{
+			double latitud = 4.5 + random.nextDouble() * 0.3;
+			double longitud = -74.2 + random.nextDouble() * 0.2;
+			double alto = random.nextDouble() * 0.05;
+			double ancho = random.nextDouble() * 0.05;
+			int maximo = 1 + random.nextInt(64);
+			long[] rangos = CurvaHilbert.descomponer(latitud, longitud, latitud + alto, longitud + ancho, maximo);
+			assertTrue(rangos.length / 2 <= maximo, rangos.length / 2 + " > " + maximo);
+			for(int r = 0; r + 2 < rangos.length; r += 2)
+			{
+				assertTrue(rangos[r] <= rangos[r + 1]);
+				assertTrue(rangos[r + 1] + 1 < rangos[r + 2]);
+			}
+			for(int p = 0; p < 200; p++)
+			{
+				double lat = latitud + random.nextDouble() * alto;
+				double lon = longitud + random.nextDouble() * ancho;
+				assertTrue(enRangos(rangos, CurvaHilbert.codificar(lat, lon)));
+			}
+		}
+	}
+
+	/**
+	 * Prueba 2: Verifica los casos extremos: el mundo completo en un rango, un rectangulo vacio y las llaves
+	 */
+	@Test
+	void testExtremos()
+	{
+		long ultima = (1L << (2 * CurvaHilbert.ORDEN)) - 1;
+		assertArrayEquals(new long[] {0, ultima}, CurvaHilbert.descomponer(-90, -180, 90, 180, 1));
+		assertEquals(0, CurvaHilbert.descomponer(5, 0, 4, 1, 8).length);
+		assertThrows(IllegalArgumentException.class, () -> CurvaHilbert.descomponer(0, 0, 1, 1, 0));
+		assertTrue(CurvaHilbert.codificar(90, 180) <= ultima);
+		assertTrue(CurvaHilbert.codificar(-90, -180) >= 0);
+
+		assertTrue(new LlaveHilbert(5, 9).compareTo(new LlaveHilbert(6, 1)) < 0);
+		assertTrue(new LlaveHilbert(5, 1).compareTo(new LlaveHilbert(5, 2)) < 0);
+		assertTrue(LlaveHilbert.hasta(5).compareTo(LlaveHilbert.desde(6)) < 0);
+	}
+
+	/**
+	 * Prueba 3: Verifica que los rangos aprovechen el maximo pedido y no cubran mucho mas que el rectangulo
+	 */
+	@Test
+	void testCobertura()
+	{
+		Random random = new Random(29);
+		double lado = 1L << CurvaHilbert.ORDEN;
+		double suma = 0;
+		int consultas = 200;
+		for(int q = 0; q < consultas; q++)
+		{
+			double latitud = 4.45 + random.nextDouble() * 0.35;
+			double longitud = -74.25 + random.nextDouble() * 0.2;
+			double alto = 0.005 + random.nextDouble() * 0.05;
+			double ancho = 0.005 + random.nextDouble() * 0.05;
+			long[] rangos = CurvaHilbert.descomponer(latitud, longitud, latitud + alto, longitud + ancho, 32);
+			double cubiertas = 0;
+			for(int r = 0; r < rangos.length; r += 2)
+			{
+				cubiertas += rangos[r + 1] - rangos[r] + 1;
+			}
+			double cobertura = cubiertas / (ancho / 360 * lado * alto / 180 * lado);
+			assertTrue(cobertura < 16, "cobertura " + cobertura);
+			suma += cobertura;
+		}
+		assertTrue(suma / consultas < 2, "cobertura promedio " + suma / consultas);
+	}
+}
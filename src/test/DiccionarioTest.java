@@ -0,0 +1,74 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+import model.data_structures.Diccionario;
+
+class DiccionarioTest
+{
+	/**
+	 * Diccionario de prueba
+	 */
+	private Diccionario diccionario;
+
+	/**
+	 * Escenario 1: Crea un diccionario de maximo tres cadenas con "A" y "B"
+	 */
+	public void setupEscenario1( )
+	{
+		diccionario = new Diccionario(3);
+		diccionario.codificar("A");
+		diccionario.codificar("B");
+	}
+
+	/**
+	 * Prueba 1: Verifica que cada cadena tenga un solo codigo y que se recupere desde el codigo
+	 */
+	@Test
+	void testCodificar()
+	{
+		setupEscenario1();
+		assertEquals(0, diccionario.codificar("A"));
+		assertEquals(1, diccionario.codificar(new String("B")));
+		assertEquals(2, diccionario.codificar("C"));
+		assertEquals(3, diccionario.size());
+		assertEquals(Diccionario.NULO, diccionario.codificar(null));
+		assertEquals("C", diccionario.decodificar(2));
+		assertNull(diccionario.decodificar(Diccionario.NULO));
+		assertEquals(Diccionario.NULO, diccionario.buscar("D"));
+		assertThrows(IllegalStateException.class, () -> diccionario.codificar("D"));
+		assertThrows(IllegalArgumentException.class, () -> diccionario.decodificar(3));
+	}
+
+	/**
+	 * Prueba 2: Verifica que los comparendos de un almacen con el mismo valor compartan el codigo y la cadena,
+	 * y que cada almacen tenga sus propios diccionarios
+	 */
+	@Test
+	void testAlmacen()
+	{
+		ComparendoStore almacen = new ComparendoStore();
+		almacen.agregar(new Comparendo(1, Comparendo.SIN_FECHA, "Descripcion", "LAPIZ", "AUTOMÓVIL", "Público", "C35", "SUBA", "BOGOTA", -74.1, 4.6));
+		almacen.agregar(new Comparendo(2, Comparendo.SIN_FECHA, new String("Descripcion"), "DEAP", "AUTOMÓVIL", "Público", "C02", null, "BOGOTA", -74.2, 4.7));
+		assertEquals(almacen.darCodigo(ComparendoStore.DES_INFRACCION, 0), almacen.darCodigo(ComparendoStore.DES_INFRACCION, 1));
+		assertSame(almacen.darComparendo(0).getDes_infrac(), almacen.darComparendo(1).getDes_infrac());
+		assertNotEquals(almacen.darCodigo(ComparendoStore.MEDIO_DETECCION, 0), almacen.darCodigo(ComparendoStore.MEDIO_DETECCION, 1));
+		assertEquals(Diccionario.NULO, almacen.darCodigo(ComparendoStore.LOCALIDAD, 1));
+		assertNull(almacen.darComparendo(1).getLocalidad());
+		assertEquals(2, almacen.darDiccionario(ComparendoStore.INFRACCION).size());
+
+		// otro almacen empieza con diccionarios vacios y un comparendo suelto no registra sus valores en ningun diccionario
+		ComparendoStore otro = new ComparendoStore();
+		Comparendo suelto = new Comparendo(3, Comparendo.SIN_FECHA, "Otra", "LAPIZ", "BUS", "Público", "C14", "USME", "BOGOTA", -74.3, 4.8);
+		suelto.setLocalidad("BOSA");
+		assertEquals("BOSA", suelto.getLocalidad());
+		assertEquals(0, otro.darDiccionario(ComparendoStore.LOCALIDAD).size());
+		otro.agregar(suelto);
+		assertEquals(0, otro.darCodigo(ComparendoStore.LOCALIDAD, 0));
+		assertEquals("BOSA", otro.darValor(ComparendoStore.LOCALIDAD, 0));
+		assertEquals(1, almacen.darDiccionario(ComparendoStore.LOCALIDAD).size());
+	}
+}
@@ -0,0 +1,99 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+import model.logic.EscanerGeoJSON;
+
+class EscanerGeoJSONTest
+{
+	/**
+	 * Archivo GeoJSON temporal
+	 */
+	private File archivo;
+
+	/**
+	 * Escribe el texto en el archivo temporal
+	 * @param pTexto Contenido del GeoJSON
+	 */
+	private void escribir(String pTexto) throws IOException
+	{
+		archivo = ArchivosGeoJSON.escribir(pTexto);
+	}
+
+	/**
+	 * Escenario 1: Un GeoJSON con dos features, escapes en las cadenas, valores null, llaves desconocidas y un numero con exponente
+	 */
+	public void setupEscenario1( ) throws IOException
+	{
+		escribir("{\"type\": \"FeatureCollection\", \"extra\": [1, {\"a\": \"}\"}],\n\"features\": [\n"
+				+ "{\"type\": \"Feature\", \"properties\": {\"OBJECTID\": 243181, \"FECHA_HORA\": \"2018-06-15T09:40:00.000Z\", \"MEDIO_DETECCION\": \"LAPIZ\", "
+				+ "\"CLASE_VEHICULO\": \"MOTOCICLETA\", \"TIPO_SERVICIO\": \"Particular\", \"INFRACCION\": \"C\\/3\\\\1\", "
+				+ "\"DES_INFRACCION\": \"\\nNO ACATAR LAS SEÑALES \\\"DE TRÁNSITO\\\" \\u00C1\", \"LOCALIDAD\": \"SUBA\", \"MUNICIPIO\": \"BOGOTA\", \"OTRA\": {\"x\": [1, 2]}}, "
+				+ "\"geometry\": {\"type\": \"Point\", \"coordinates\": [-74.08775699999995, 4.616270400000076, 0]}},\n"
+				+ "{\"type\": \"Feature\", \"properties\": {\"OBJECTID\": 7, \"FECHA_HORA\": null, \"LOCALIDAD\": null, \"MUNICIPIO\": \"BOGOTA\"}, "
+				+ "\"geometry\": {\"type\": \"Point\", \"coordinates\": [-7.408775699999995e1, 46.16270400000076E-1]}}\n"
+				+ "]\n}");
+	}
+
+	/**
+	 * Prueba 1: Verifica que los campos leidos de los bytes sean los mismos que daria JsonReader
+	 */
+	@Test
+	void testCargar() throws IOException, ParseException
+	{
+		setupEscenario1();
+		ComparendoStore comparendos = EscanerGeoJSON.cargar(archivo);
+		assertEquals(2, comparendos.size());
+
+		Comparendo primero = comparendos.darComparendo(0);
+		assertEquals(243181, primero.getObjective());
+		assertEquals(Instant.parse("2018-06-15T09:40:00.000Z"), primero.getInstante());
+		assertEquals("\nNO ACATAR LAS SEÑALES \"DE TRÁNSITO\" Á", primero.getDes_infrac());
+		assertEquals("MOTOCICLETA", primero.getClase_vehi());
+		assertEquals("C/3\\1", primero.getInfraccion());
+		assertEquals(-74.08775699999995, primero.getLongitud(), 0.0);
+		assertEquals(4.616270400000076, primero.getLatitud(), 0.0);
+
+		Comparendo segundo = comparendos.darComparendo(1);
+		assertEquals(7, segundo.getObjective());
+		assertNull(segundo.getFecha_hora());
+		assertNull(segundo.getLocalidad());
+		assertNull(segundo.getInfraccion());
+		assertEquals(comparendos.darCodigo(ComparendoStore.MUNICIPIO, 0), comparendos.darCodigo(ComparendoStore.MUNICIPIO, 1));
+		assertSame(primero.getMunicipio(), segundo.getMunicipio());
+		assertEquals(-74.08775699999995, segundo.getLongitud(), 0.0);
+		assertEquals(4.616270400000076, segundo.getLatitud(), 0.0);
+	}
+
+	/**
+	 * Prueba 2: Verifica que un archivo incompleto o mal formado, con un OBJECTID fuera de rango o con un escape invalido, se reporte como error
+	 */
+	@Test
+	void testMalFormado() throws IOException
+	{
+		escribir("{\"features\": [{\"properties\": {\"OBJECTID\": 1}");
+		assertThrows(IOException.class, () -> EscanerGeoJSON.cargar(archivo));
+
+		// un OBJECTID que no cabe en un int no se trunca
+		escribir("{\"features\": [{\"properties\": {\"OBJECTID\": 4294967297}}]}");
+		assertThrows(IOException.class, () -> EscanerGeoJSON.cargar(archivo));
+
+		escribir("{\"features\": [{\"properties\": {\"OBJECTID\": 1, \"FECHA_HORA\": \"15/06/2018\"}}]}");
+		assertThrows(ParseException.class, () -> EscanerGeoJSON.cargar(archivo));
+
+		// el escape de unicode necesita cuatro digitos hexadecimales sin signo, y solo se aceptan los escapes de JSON
+		for(String escape : new String[] {"\\u+041", "\\u00G1", "\\u00", "\\x", "\\'"})
+		{
+			escribir("{\"features\": [{\"properties\": {\"OBJECTID\": 1, \"LOCALIDAD\": \"SUBA" + escape + "\"}}]}");
+			assertThrows(IOException.class, () -> EscanerGeoJSON.cargar(archivo), escape);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.text.ParseException;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import model.logic.FechaISO;
+
+class FechaISOTest
+{
+	/**
+	 * Prueba 1: Verifica que las fechas leidas coincidan con Instant.parse
+	 */
+	@Test
+	void testParsear() throws ParseException
+	{
+		String[] fechas = {"2018-03-13T15:30:00.000Z", "2018-12-31T23:59:59.999Z", "2016-02-29T00:00:00.001Z",
+				"1970-01-01T00:00:00.000Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:00:00.500Z", "1900-03-01T05:06:07.008Z"};
+		for(String fecha : fechas)
+		{
+			assertEquals(Instant.parse(fecha).toEpochMilli(), FechaISO.parsear(fecha));
+		}
+		assertEquals(Instant.parse("2018-03-13T15:30:00Z").toEpochMilli(), FechaISO.parsear("2018-03-13T15:30:00"));
+		assertEquals(Instant.parse("2018-03-13T15:30:00.120Z").toEpochMilli(), FechaISO.parsear("2018-03-13T15:30:00.120"));
+	}
+
+	/**
+	 * Prueba 2: Verifica que se rechacen las fechas con otro formato o con campos fuera de rango
+	 */
+	@Test
+	void testFechasInvalidas()
+	{
+		String[] fechas = {"", "2018-03-13", "2018-03-13 15:30:00.000Z", "2018/03/13T15:30:00.000Z", "2018-13-01T00:00:00.000Z",
+				"2019-02-29T00:00:00.000Z", "2018-04-31T00:00:00.000Z", "2018-03-13T24:00:00.000Z", "2018-03-13T15:3a:00.000Z"};
+		for(String fecha : fechas)
+		{
+			assertThrows(ParseException.class, () -> FechaISO.parsear(fecha));
+		}
+	}
+}
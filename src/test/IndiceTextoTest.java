@@ -0,0 +1,82 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+import model.logic.IndiceTexto;
+
+class IndiceTextoTest
+{
+	/**
+	 * Indice de prueba
+	 */
+	private IndiceTexto indice;
+
+	/**
+	 * Agrega al almacen un comparendo con la descripcion dada
+	 */
+	private void agregar(ComparendoStore pAlmacen, int pObjectId, String pDescripcion)
+	{
+		pAlmacen.agregar(new Comparendo(pObjectId, Comparendo.SIN_FECHA, pDescripcion, "LAPIZ", "AUTOMÓVIL", "Particular", "C02", "SUBA", "BOGOTA", -74.1, 4.6));
+	}
+
+	/**
+	 * Escenario 1: Crea un almacen de seis filas con descripciones con saltos de linea, tildes y una fila sin descripcion y lo indexa
+	 */
+	public void setupEscenario1( )
+	{
+		ComparendoStore almacen = new ComparendoStore();
+		agregar(almacen, 0, "\nESTACIONAR UN VEHÍCULO EN SITIOS PROHIBIDOS.");
+		agregar(almacen, 1, "NO REALIZAR LA REVISIÓN TÉCNICO-MECÁNICA EN EL PLAZO LEGAL");
+		agregar(almacen, 2, "CONDUCIR SIN LA REVISION TECNICOMECANICA Y DE EMISIONES CONTAMINANTES");
+		agregar(almacen, 3, null);
+		agregar(almacen, 4, "\nESTACIONAR UN VEHÍCULO EN SITIOS PROHIBIDOS.");
+		agregar(almacen, 5, "estacionar en la vía, en sitios no permitidos");
+		indice = new IndiceTexto(almacen);
+	}
+
+	/**
+	 * Prueba 1: Verifica que el texto se parta en palabras sin tildes, en mayusculas y sin repetidos
+	 */
+	@Test
+	void testTokenizar()
+	{
+		assertArrayEquals(new String[] {"REVISION", "TECNICO", "MECANICA", "ANO"}, IndiceTexto.tokenizar("\n  Revisión técnico-mecánica, técnico AÑO"));
+		assertArrayEquals(new String[] {"C02"}, IndiceTexto.tokenizar("c02."));
+		assertEquals(0, IndiceTexto.tokenizar("\n.. ").length);
+		assertEquals(0, IndiceTexto.tokenizar(null).length);
+	}
+
+	/**
+	 * Prueba 2: Verifica las busquedas por todas las palabras, en cualquier orden y sin importar tildes ni mayusculas
+	 */
+	@Test
+	void testBuscar()
+	{
+		setupEscenario1();
+		assertArrayEquals(new int[] {0, 4, 5}, indice.buscar("ESTACIONAR"));
+		assertArrayEquals(new int[] {0, 4}, indice.buscar("vehiculo estacionar"));
+		assertArrayEquals(new int[] {2}, indice.buscar("REVISIÓN TECNICOMECÁNICA"));
+		assertArrayEquals(new int[] {1, 2}, indice.buscar("revision"));
+		assertArrayEquals(new int[0], indice.buscar("ESTACIONAR REVISION"));
+		assertArrayEquals(new int[0], indice.buscar("PARQUEAR"));
+		assertArrayEquals(new int[0], indice.buscar(" "));
+	}
+
+	/**
+	 * Prueba 3: Verifica las busquedas por prefijos de palabras
+	 */
+	@Test
+	void testBuscarPrefijos()
+	{
+		setupEscenario1();
+		assertArrayEquals(new int[] {1, 2}, indice.buscarPrefijos("REVISI TECNICO"));
+		assertArrayEquals(new int[] {0, 4, 5}, indice.buscarPrefijos("estacion sitios"));
+		assertArrayEquals(new int[] {1, 5}, indice.buscarPrefijos("NO"));
+		assertArrayEquals(new int[] {0, 1, 2, 4, 5}, indice.buscarPrefijos("E"));
+		assertArrayEquals(new int[0], indice.buscarPrefijos("ESTACIONARSE"));
+		assertArrayEquals(new int[0], indice.buscarPrefijos(""));
+	}
+}
@@ -0,0 +1,173 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.IntRangeView;
+import model.data_structures.IntRedBlackBST;
+
+class IntRedBlackBSTTest
+{
+	/**
+	 * Arbol Rojo - Negro con llave int y valor string
+	 */
+	private IntRedBlackBST<String> arbol;
+
+	/**
+	 * Escenario 1: Crea un Arbol Rojo - Negro con llaves 10, 20, ..., 100
+	 */
+	public void setupEscenario1( )
+	{
+		arbol = new IntRedBlackBST<String>();
+		for(int i = 10; i >= 1; i--)
+		{
+			arbol.put(i * 10, "V" + (i * 10));
+		}
+	}
+
+	/**
+	 * Prueba 1: Verifica el tamanio, get y contains del arbol
+	 */
+	@Test
+	void testGetPut()
+	{
+		setupEscenario1();
+		assertEquals(10, arbol.size());
+		assertTrue(arbol.check());
+		assertEquals("V30", arbol.get(30));
+		assertNull(arbol.get(35));
+		assertFalse(arbol.contains(0));
+
+		arbol.put(30, "Nuevo");
+		assertEquals("Nuevo", arbol.get(30));
+		assertEquals(10, arbol.size());
+	}
+
+	/**
+	 * Prueba 2: Verifica que se eliminen las llaves y el arbol siga siendo valido
+	 */
+	@Test
+	void testDelete()
+	{
+		setupEscenario1();
+		arbol.delete(50);
+		arbol.deleteMin();
+		arbol.deleteMax();
+		arbol.put(40, null);
+		assertEquals(6, arbol.size());
+		assertTrue(arbol.check());
+		assertEquals(20, arbol.min());
+		assertEquals(90, arbol.max());
+	}
+
+	/**
+	 * Prueba 3: Verifica floor, ceiling, rank y select
+	 */
+	@Test
+	void testOrden()
+	{
+		setupEscenario1();
+		assertEquals(30, arbol.floor(35));
+		assertEquals(40, arbol.ceiling(35));
+		assertEquals(3, arbol.rank(35));
+		assertEquals(40, arbol.select(3));
+		assertThrows(NoSuchElementException.class, () -> arbol.floor(5));
+		assertThrows(NoSuchElementException.class, () -> arbol.ceiling(101));
+	}
+
+	/**
+	 * Prueba 4: Verifica la iteracion y la vista de un rango de llaves
+	 */
+	@Test
+	void testRango()
+	{
+		setupEscenario1();
+		IntRangeView<String> rango = arbol.range(25, 60);
+		assertEquals(4, rango.size());
+		assertEquals(30, rango.min());
+		assertEquals(60, rango.max());
+
+		int esperado = 30;
+		for(int llave : rango.keys())
+		{
+			assertEquals(esperado, llave);
+			esperado += 10;
+		}
+		assertEquals(70, esperado);
+
+		StringBuilder visitados = new StringBuilder();
+		arbol.forEach(80, 200, (llave, valor) -> visitados.append(valor));
+		assertEquals("V80V90V100", visitados.toString());
+		assertArrayEquals(new int[] {10, 20}, arbol.keysArray(0, 20));
+	}
+
+	/**
+	 * Prueba 5: Verifica la construccion desde arreglos de llaves ordenados
+	 */
+	@Test
+	void testConstruccionOrdenada()
+	{
+		int[] llaves = new int[1000];
+		String[] valores = new String[1000];
+		for(int i = 0; i < llaves.length; i++)
+		{
+			llaves[i] = i * 2;
+			valores[i] = "V" + i;
+		}
+		arbol = new IntRedBlackBST<String>(llaves, valores);
+		assertTrue(arbol.check());
+		assertEquals(1000, arbol.size());
+		assertEquals("V500", arbol.get(1000));
+	}
+
+	/**
+	 * Prueba 6: Verifica que los iteradores fallen si se agrega o elimina una llave mientras recorren,
+	 * por ejemplo al eliminar las llaves dentro del mismo recorrido
+	 */
+	@Test
+	void testIteradorModificado()
+	{
+		setupEscenario1();
+		Iterator<Integer> llaves = arbol.keys().iterator();
+		assertEquals(10, (int) llaves.next());
+		arbol.put(20, "Otro");
+		assertEquals(20, (int) llaves.next());
+		arbol.delete(20);
+		assertThrows(ConcurrentModificationException.class, () -> llaves.next());
+
+		Iterator<String> valores = arbol.Values().iterator();
+		arbol.put(5, "V5");
+		assertThrows(ConcurrentModificationException.class, () -> valores.next());
+		assertThrows(ConcurrentModificationException.class, () -> {
+			for(int llave : arbol.keys(0, 100)) arbol.delete(llave);
+		});
+	}
+
+	/**
+	 * Prueba 7: Verifica la construccion con el mismo valor para todas las llaves, desordenadas y con llaves repetidas
+	 */
+	@Test
+	void testConstruccionValorUnico()
+	{
+		arbol = new IntRedBlackBST<String>(new int[] {30, 10, 20, 10, 40}, "V");
+		assertTrue(arbol.check());
+		assertEquals(4, arbol.size());
+		assertEquals("V", arbol.get(30));
+		assertNull(arbol.get(15));
+		assertEquals(2, arbol.rank(30));
+
+		int[] llaves = new int[1000];
+		for(int i = 0; i < llaves.length; i++)
+		{
+			llaves[i] = i * 2;
+		}
+		arbol = new IntRedBlackBST<String>(llaves, "V");
+		assertTrue(arbol.check());
+		assertEquals(1000, arbol.size());
+		assertEquals(500, arbol.rank(1000));
+	}
+}
@@ -0,0 +1,112 @@
+package test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.data_structures.BoundedMaxHeap;
+import model.data_structures.KdTree;
+
+/**
+ * Compara la busqueda de los k vecinos mas cercanos en KdTree contra recorrer todos los puntos, para k = 1, 10 y 1000.
+ * El recorrido completo se mide de dos formas: guardando los k mejores en un BoundedMaxHeap (O(n log k))
+ * y ordenando todas las distancias (O(n log n)), que es como se respondia antes la pregunta.
+ * Los puntos son aleatorios dentro de un rectangulo de 20 km x 30 km, del tamanio de Bogota, en metros.
+ * Se ejecuta con su metodo main, no es una prueba unitaria. El primer argumento opcional es el numero de puntos.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class KdTreeBenchmark
+{
+	/**
+	 * Numero de consultas de cada medicion
+	 */
+	private static final int CONSULTAS = 200;
+
+	/**
+	 * Numero de repeticiones de cada medicion, se reporta la mejor
+	 */
+	private static final int REPETICIONES = 3;
+
+	/**
+	 * Ejecuta la comparacion
+	 * @param args Numero de puntos, por defecto 1000000
+	 */
+	public static void main(String[] args)
+	{
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+		Random random = new Random(22);
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for(int i = 0; i < n; i++)
+		{
+			// puntos agrupados alrededor de algunos centros, como los comparendos en las vias principales
+			double cx = (i % 50) * 400, cy = (i % 37) * 800;
+			x[i] = cx + random.nextGaussian() * 300;
+			y[i] = cy + random.nextGaussian() * 300;
+		}
+		double[] qx = new double[CONSULTAS];
+		double[] qy = new double[CONSULTAS];
+		for(int q = 0; q < CONSULTAS; q++)
+		{
+			qx[q] = random.nextDouble() * 20000;
+			qy[q] = random.nextDouble() * 30000;
+		}
+
+		long inicio = System.nanoTime();
+		KdTree arbol = new KdTree(x, y);
+		System.out.printf("%d puntos, construccion del arbol %.1f ms%n", n, (System.nanoTime() - inicio) / 1e6);
+		System.out.println("    k   KdTree(us)   recorrido+heap(us)   ordenar todo(us)");
+		long control = 0;
+		for(int k : new int[] {1, 10, 1000})
+		{
+			long arbolNs = Long.MAX_VALUE, heapNs = Long.MAX_VALUE, ordenarNs = Long.MAX_VALUE;
+			for(int r = 0; r < REPETICIONES; r++)
+			{
+				inicio = System.nanoTime();
+				for(int q = 0; q < CONSULTAS; q++) control += arbol.nearest(qx[q], qy[q], k, null)[0];
+				arbolNs = Math.min(arbolNs, System.nanoTime() - inicio);
+
+				inicio = System.nanoTime();
+				for(int q = 0; q < CONSULTAS; q++) control += recorrer(x, y, qx[q], qy[q], k)[0];
+				heapNs = Math.min(heapNs, System.nanoTime() - inicio);
+
+				// ordenar todo es lento, se mide con pocas consultas
+				inicio = System.nanoTime();
+				for(int q = 0; q < CONSULTAS / 20; q++) control += ordenar(x, y, qx[q], qy[q], k);
+				ordenarNs = Math.min(ordenarNs, (System.nanoTime() - inicio) * 20);
+			}
+			System.out.printf("%5d %12.1f %20.1f %18.1f%n", k, arbolNs / 1e3 / CONSULTAS, heapNs / 1e3 / CONSULTAS, ordenarNs / 1e3 / CONSULTAS);
+		}
+		System.out.println("control " + control);
+	}
+
+	/**
+	 * Recorre todos los puntos guardando los k mas cercanos en un monticulo acotado
+	 */
+	private static int[] recorrer(double[] x, double[] y, double qx, double qy, int k)
+	{
+		BoundedMaxHeap mejores = new BoundedMaxHeap(Math.min(k, x.length));
+		for(int i = 0; i < x.length; i++)
+		{
+			double dx = x[i] - qx;
+			double dy = y[i] - qy;
+			mejores.offer(dx * dx + dy * dy, i);
+		}
+		return mejores.drainAscending(null);
+	}
+
+	/**
+	 * Ordena las distancias de todos los puntos y da la del k-esimo mas cercano
+	 */
+	private static long ordenar(double[] x, double[] y, double qx, double qy, int k)
+	{
+		double[] distancias = new double[x.length];
+		for(int i = 0; i < x.length; i++)
+		{
+			double dx = x[i] - qx;
+			double dy = y[i] - qy;
+			distancias[i] = dx * dx + dy * dy;
+		}
+		Arrays.sort(distancias);
+		return (long) distancias[Math.min(k, x.length) - 1];
+	}
+}
@@ -0,0 +1,185 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.KdTree;
+
+class KdTreeTest
+{
+	/**
+	 * Numero de puntos del escenario
+	 */
+	private static final int N = 5000;
+
+	/**
+	 * Coordenadas de los puntos
+	 */
+	private double[] x, y;
+
+	/**
+	 * Arbol de prueba
+	 */
+	private KdTree arbol;
+
+	/**
+	 * Escenario 1: Crea un arbol con puntos aleatorios en [0, 100) x [0, 100), con coordenadas repetidas
+	 */
+	public void setupEscenario1( )
+	{
+		Random random = new Random(21);
+		x = new double[N];
+		y = new double[N];
+		for(int i = 0; i < N; i++)
+		{
+			// la mitad de las x son enteras para que haya empates en los cortes
+			x[i] = (i % 2 == 0) ? random.nextInt(100) : random.nextDouble() * 100;
+			y[i] = random.nextDouble() * 100;
+		}
+		arbol = new KdTree(x, y);
+	}
+
+	/**
+	 * Recoge los identificadores entregados por una consulta, ordenados
+	 */
+	private int[] ordenar(int[] pIds, int pNumero)
+	{
+		int[] ids = Arrays.copyOf(pIds, pNumero);
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	/**
+	 * Prueba 1: Verifica la consulta por rectangulo contra un recorrido completo
+	 */
+	@Test
+	void testRectangulo()
+	{
+		setupEscenario1();
+		Random random = new Random(1);
+		for(int q = 0; q < 200; q++)
+		{
+			double x0 = random.nextDouble() * 100, x1 = x0 + random.nextDouble() * 40;
+			double y0 = random.nextDouble() * 100, y1 = y0 + random.nextDouble() * 40;
+			int[] encontrados = new int[N];
+			int[] n = {0};
+			arbol.range(x0, y0, x1, y1, id -> encontrados[n[0]++] = id);
+
+			int[] esperados = new int[N];
+			int m = 0;
+			for(int i = 0; i < N; i++)
+			{
+				if(x0 <= x[i] && x[i] <= x1 && y0 <= y[i] && y[i] <= y1) esperados[m++] = i;
+			}
+			assertArrayEquals(Arrays.copyOf(esperados, m), ordenar(encontrados, n[0]));
+		}
+		int[] todos = {0};
+		arbol.range(-1, -1, 101, 101, id -> todos[0]++);
+		assertEquals(N, todos[0]);
+	}
+
+	/**
+	 * Prueba 2: Verifica la consulta por circulo contra un recorrido completo
+	 */
+	@Test
+	void testCirculo()
+	{
+		setupEscenario1();
+		Random random = new Random(2);
+		for(int q = 0; q < 200; q++)
+		{
+			double cx = random.nextDouble() * 100, cy = random.nextDouble() * 100, r = random.nextDouble() * 30;
+			int[] encontrados = new int[N];
+			int[] n = {0};
+			arbol.radius(cx, cy, r, id -> encontrados[n[0]++] = id);
+
+			int[] esperados = new int[N];
+			int m = 0;
+			for(int i = 0; i < N; i++)
+			{
+				if((x[i] - cx) * (x[i] - cx) + (y[i] - cy) * (y[i] - cy) <= r * r) esperados[m++] = i;
+			}
+			assertArrayEquals(Arrays.copyOf(esperados, m), ordenar(encontrados, n[0]));
+		}
+	}
+
+	/**
+	 * Prueba 3: Verifica la consulta por un poligono no convexo (una L) contra un recorrido completo
+	 */
+	@Test
+	void testPoligono()
+	{
+		setupEscenario1();
+		double[] px = {10.5, 60.5, 60.5, 30.5, 30.5, 10.5};
+		double[] py = {10, 10, 30, 30, 80, 80};
+		int[] encontrados = new int[N];
+		int[] n = {0};
+		arbol.polygon(px, py, id -> encontrados[n[0]++] = id);
+
+		int m = 0;
+		for(int i = 0; i < N; i++)
+		{
+			boolean dentro = (x[i] > 10.5 && x[i] < 60.5 && y[i] > 10 && y[i] < 30) || (x[i] > 10.5 && x[i] < 30.5 && y[i] > 10 && y[i] < 80);
+			if(dentro) m++;
+		}
+		// las x enteras no caen sobre los bordes verticales y las y aleatorias casi nunca sobre los horizontales
+		assertEquals(m, n[0]);
+		assertThrows(IllegalArgumentException.class, () -> arbol.polygon(new double[] {1, 2}, new double[] {1, 2}, id -> {}));
+	}
+
+	/**
+	 * Prueba 4: Verifica los identificadores dados en la construccion y el arbol vacio
+	 */
+	@Test
+	void testIdentificadoresYVacio()
+	{
+		KdTree pequenio = new KdTree(new double[] {1, 2, 3}, new double[] {1, 2, 3}, new int[] {30, 10, 20});
+		int[] ids = new int[3];
+		int[] n = {0};
+		pequenio.radius(2, 2, 0.5, id -> ids[n[0]++] = id);
+		assertEquals(1, n[0]);
+		assertEquals(10, ids[0]);
+
+		KdTree vacio = new KdTree(new double[0], new double[0]);
+		assertTrue(vacio.isEmpty());
+		vacio.range(0, 0, 1, 1, id -> fail("empty tree"));
+		assertThrows(IllegalArgumentException.class, () -> new KdTree(new double[] {Double.NaN}, new double[] {0}));
+	}
+
+	/**
+	 * Prueba 5: Verifica los k vecinos mas cercanos contra ordenar todas las distancias
+	 */
+	@Test
+	void testVecinosMasCercanos()
+	{
+		setupEscenario1();
+		Random random = new Random(5);
+		int[] ks = {1, 10, 1000, N + 10};
+		for(int q = 0; q < 40; q++)
+		{
+			double cx = random.nextDouble() * 120 - 10, cy = random.nextDouble() * 120 - 10;
+			double[] todas = new double[N];
+			for(int i = 0; i < N; i++)
+			{
+				todas[i] = Math.sqrt((x[i] - cx) * (x[i] - cx) + (y[i] - cy) * (y[i] - cy));
+			}
+			Arrays.sort(todas);
+			for(int k : ks)
+			{
+				double[] distancias = new double[Math.min(k, N)];
+				int[] ids = arbol.nearest(cx, cy, k, distancias);
+				assertEquals(Math.min(k, N), ids.length);
+				for(int i = 0; i < ids.length; i++)
+				{
+					assertEquals(todas[i], distancias[i], 1e-9);
+					double d = Math.sqrt((x[ids[i]] - cx) * (x[ids[i]] - cx) + (y[ids[i]] - cy) * (y[ids[i]] - cy));
+					assertEquals(distancias[i], d, 1e-9);
+				}
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> arbol.nearest(0, 0, 0, null));
+	}
+}
@@ -0,0 +1,135 @@
+package test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.data_structures.ILinkedQueue;
+import model.data_structures.LinkedQueue;
+import model.data_structures.LockFreeQueue;
+
+/**
+ * Compara el rendimiento de LockFreeQueue contra una LinkedQueue protegida con synchronized,
+ * con el mismo numero de hilos productores y consumidores.
+ * Se ejecuta con su metodo main, no es una prueba unitaria. El primer argumento opcional es el numero de hilos de cada tipo.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class LockFreeQueueBenchmark
+{
+	/**
+	 * Elementos que pasan por la cola en cada medicion
+	 */
+	private static final int N = 4000000;
+
+	/**
+	 * Numero de repeticiones de cada medicion, se reporta la mejor
+	 */
+	private static final int REPETICIONES = 5;
+
+	/**
+	 * Ejecuta la comparacion
+	 * @param args Numero de productores y de consumidores, por defecto el numero de procesadores
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int hilos = (args.length > 0) ? Integer.parseInt(args[0]) : Math.max(1, Runtime.getRuntime().availableProcessors());
+		long sinCandados = Long.MAX_VALUE;
+		long sincronizada = Long.MAX_VALUE;
+		for(int r = 0; r < REPETICIONES; r++)
+		{
+			sinCandados = Math.min(sinCandados, medir(new LockFreeQueue<Integer>(), hilos));
+			sincronizada = Math.min(sincronizada, medir(new ColaSincronizada<Integer>(), hilos));
+		}
+		System.out.println(hilos + " productores, " + hilos + " consumidores, " + N + " elementos");
+		System.out.printf("%-20s %10.1f ms %8.2f Mops/s%n", "LockFreeQueue", sinCandados / 1e6, N / (sinCandados / 1e3));
+		System.out.printf("%-20s %10.1f ms %8.2f Mops/s%n", "LinkedQueue sync", sincronizada / 1e6, N / (sincronizada / 1e3));
+	}
+
+	/**
+	 * Pasa N elementos por la cola con pHilos productores y pHilos consumidores
+	 * @return Tiempo en nanosegundos desde que arrancan los hilos hasta que se saca el ultimo elemento
+	 */
+	private static long medir(ILinkedQueue<Integer> pCola, int pHilos) throws InterruptedException
+	{
+		int porProductor = N / pHilos;
+		int total = porProductor * pHilos;
+		AtomicInteger sacados = new AtomicInteger();
+		CountDownLatch inicio = new CountDownLatch(1);
+		Thread[] trabajadores = new Thread[2 * pHilos];
+		for(int p = 0; p < pHilos; p++)
+		{
+			trabajadores[p] = new Thread(() ->
+			{
+				esperar(inicio);
+				for(int i = 0; i < porProductor; i++) pCola.enqueue(i);
+			});
+		}
+		for(int c = 0; c < pHilos; c++)
+		{
+			trabajadores[pHilos + c] = new Thread(() ->
+			{
+				esperar(inicio);
+				while(sacados.get() < total)
+				{
+					if(sacar(pCola) != null) sacados.incrementAndGet();
+				}
+			});
+		}
+		for(Thread t : trabajadores) t.start();
+		long comienzo = System.nanoTime();
+		inicio.countDown();
+		for(Thread t : trabajadores) t.join();
+		return System.nanoTime() - comienzo;
+	}
+
+	/**
+	 * Saca un elemento o devuelve null si la cola esta vacia, sin lanzar excepciones
+	 */
+	private static Integer sacar(ILinkedQueue<Integer> pCola)
+	{
+		if(pCola instanceof LockFreeQueue) return ((LockFreeQueue<Integer>) pCola).poll();
+		return ((ColaSincronizada<Integer>) pCola).poll();
+	}
+
+	private static void esperar(CountDownLatch pInicio)
+	{
+		try
+		{
+			pInicio.await();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * LinkedQueue con todas sus operaciones sincronizadas sobre la misma cola
+	 */
+	private static class ColaSincronizada<E> extends LinkedQueue<E>
+	{
+		public synchronized void enqueue(E pItem)
+		{
+			super.enqueue(pItem);
+		}
+
+		public synchronized E dequeue()
+		{
+			return super.dequeue();
+		}
+
+		public synchronized E poll()
+		{
+			return isEmpty() ? null : super.dequeue();
+		}
+
+		public synchronized E peek()
+		{
+			return super.peek();
+		}
+
+		public synchronized int getSize()
+		{
+			return super.getSize();
+		}
+	}
+}
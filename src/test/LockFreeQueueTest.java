@@ -0,0 +1,143 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.LockFreeQueue;
+
+class LockFreeQueueTest
+{
+	/**
+	 * Numero de hilos productores y consumidores de la prueba de esfuerzo
+	 */
+	private static final int HILOS = 4;
+
+	/**
+	 * Elementos que agrega cada productor
+	 */
+	private static final int POR_PRODUCTOR = 50000;
+
+	/**
+	 * Cola de prueba
+	 */
+	private LockFreeQueue<Integer> cola;
+
+	/**
+	 * Escenario 1: Crea una cola con 1, 2 y 3
+	 */
+	public void setupEscenario1( )
+	{
+		cola = new LockFreeQueue<Integer>();
+		cola.enqueue(1);
+		cola.enqueue(2);
+		cola.enqueue(3);
+	}
+
+	/**
+	 * Prueba 1: Verifica las operaciones de la cola en un solo hilo
+	 */
+	@Test
+	void testOperaciones()
+	{
+		setupEscenario1();
+		assertEquals(3, cola.getSize());
+		assertEquals(1, (int) cola.peek());
+		assertEquals("1 2 3 ", cola.toString());
+		assertEquals(1, (int) cola.dequeue());
+		assertEquals(2, (int) cola.poll());
+		assertEquals(3, (int) cola.dequeue());
+		assertTrue(cola.isEmpty());
+		assertEquals(0, cola.getSize());
+		assertNull(cola.poll());
+		assertThrows(NoSuchElementException.class, () -> cola.dequeue());
+		assertThrows(NoSuchElementException.class, () -> cola.peek());
+		assertThrows(IllegalArgumentException.class, () -> cola.enqueue(null));
+	}
+
+	/**
+	 * Prueba 2: Varios productores y consumidores al tiempo. Verifica que cada elemento salga exactamente una vez
+	 * y que cada consumidor vea los elementos de un mismo productor en el orden en que se agregaron
+	 */
+	@Test
+	void testVariosProductoresYConsumidores() throws InterruptedException
+	{
+		cola = new LockFreeQueue<Integer>();
+		int total = HILOS * POR_PRODUCTOR;
+		AtomicInteger[] vistos = new AtomicInteger[total];
+		for(int i = 0; i < total; i++) vistos[i] = new AtomicInteger();
+		AtomicInteger sacados = new AtomicInteger();
+		AtomicInteger desordenados = new AtomicInteger();
+		CountDownLatch inicio = new CountDownLatch(1);
+
+		Thread[] hilos = new Thread[2 * HILOS];
+		for(int p = 0; p < HILOS; p++)
+		{
+			int productor = p;
+			hilos[p] = new Thread(() ->
+			{
+				esperar(inicio);
+				for(int i = 0; i < POR_PRODUCTOR; i++)
+				{
+					// el elemento codifica el productor y su numero de secuencia
+					cola.enqueue(productor * POR_PRODUCTOR + i);
+				}
+			});
+		}
+		for(int c = 0; c < HILOS; c++)
+		{
+			hilos[HILOS + c] = new Thread(() ->
+			{
+				esperar(inicio);
+				int[] ultimo = new int[HILOS];
+				Arrays.fill(ultimo, -1);
+				while(sacados.get() < total)
+				{
+					Integer item = cola.poll();
+					if(item == null)
+					{
+						Thread.yield();
+						continue;
+					}
+					sacados.incrementAndGet();
+					vistos[item].incrementAndGet();
+					int productor = item / POR_PRODUCTOR;
+					int secuencia = item % POR_PRODUCTOR;
+					if(secuencia <= ultimo[productor]) desordenados.incrementAndGet();
+					ultimo[productor] = secuencia;
+				}
+			});
+		}
+		for(Thread hilo : hilos) hilo.start();
+		inicio.countDown();
+		for(Thread hilo : hilos) hilo.join(60000);
+
+		assertEquals(total, sacados.get());
+		for(int i = 0; i < total; i++)
+		{
+			assertEquals(1, vistos[i].get(), "element " + i);
+		}
+		assertEquals(0, desordenados.get());
+		assertTrue(cola.isEmpty());
+		assertEquals(0, cola.getSize());
+	}
+
+	/**
+	 * Espera la senal de inicio para que todos los hilos arranquen al tiempo
+	 */
+	private static void esperar(CountDownLatch pInicio)
+	{
+		try
+		{
+			pInicio.await();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
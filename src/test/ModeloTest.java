@@ -0,0 +1,341 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+import model.LlaveFecha;
+import model.data_structures.CompressedBitmap;
+import model.data_structures.Diccionario;
+import model.logic.FechaISO;
+import model.logic.IndiceBitmap;
+import model.logic.Modelo;
+import model.logic.SnapshotComparendos;
+
+class ModeloTest
+{
+	/**
+	 * Modelo de prueba
+	 */
+	private Modelo modelo;
+
+	/**
+	 * Escribe un GeoJSON con los features dados y crea el modelo que lo carga, sin copia binaria
+	 */
+	private void cargar(String... pFeatures) throws IOException
+	{
+		Modelo.PATH = ArchivosGeoJSON.escribir(ArchivosGeoJSON.coleccion(pFeatures)).getPath();
+		modelo = new Modelo();
+		modelo.cambiarUsarSnapshot(false);
+	}
+
+	/**
+	 * Escenario 1: Escribe un GeoJSON con seis comparendos, dos de ellos con la misma fecha, y lo carga sin copia binaria
+	 */
+	public void setupEscenario1( ) throws IOException
+	{
+		cargar(ArchivosGeoJSON.feature(6, "2018-05-07T23:59:59.000Z", -74.10, 4.60),
+				ArchivosGeoJSON.feature(1, "2018-04-30T10:00:00.000Z", -74.05, 4.70),
+				ArchivosGeoJSON.feature(5, "2018-05-03T08:00:00.000Z", -74.20, 4.65),
+				ArchivosGeoJSON.feature(3, "2018-05-01T00:00:00.000Z", -74.08, 4.61),
+				ArchivosGeoJSON.feature(2, "2018-05-03T08:00:00.000Z", -74.09, 4.62),
+				ArchivosGeoJSON.feature(4, "2018-05-08T00:00:00.000Z", -74.15, 4.55));
+	}
+
+	/**
+	 * Escenario 2: Escribe un GeoJSON con cinco comparendos de distintas clases de vehiculo, infracciones y localidades y lo carga sin copia binaria
+	 */
+	public void setupEscenario2( ) throws IOException
+	{
+		cargar(ArchivosGeoJSON.feature(5, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "MOTOCICLETA", "C02", "SUBA"),
+				ArchivosGeoJSON.feature(1, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "MOTOCICLETA", "C02", "KENNEDY"),
+				ArchivosGeoJSON.feature(4, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "AUTOMOVIL", "C02", "SUBA"),
+				ArchivosGeoJSON.feature(2, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "MOTOCICLETA", "C02", "SUBA"),
+				ArchivosGeoJSON.feature(3, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "MOTOCICLETA", "C31", "SUBA"));
+	}
+
+	/**
+	 * Escenario 3: Escribe un GeoJSON de tres comparendos con una fecha invalida en el segundo y lo carga con copia binaria
+	 */
+	public void setupEscenario3( ) throws IOException
+	{
+		cargar(ArchivosGeoJSON.feature(1, "2018-05-01T00:00:00.000Z", -74.10, 4.60),
+				ArchivosGeoJSON.feature(2, "2018-XX-01T00:00:00.000Z", -74.10, 4.60),
+				ArchivosGeoJSON.feature(3, "2018-05-01T00:00:00.000Z", -74.10, 4.60));
+		modelo.cambiarUsarSnapshot(true);
+		SnapshotComparendos.darArchivo(Modelo.PATH).deleteOnExit();
+	}
+
+	/**
+	 * Prueba 1: Verifica el orden de LlaveFecha por fecha y luego por objectid
+	 */
+	@Test
+	void testLlaveFecha()
+	{
+		assertTrue(new LlaveFecha(1, 9).compareTo(new LlaveFecha(2, 1)) < 0);
+		assertTrue(new LlaveFecha(2, 1).compareTo(new LlaveFecha(2, 3)) < 0);
+		assertEquals(0, new LlaveFecha(2, 3).compareTo(new LlaveFecha(2, 3)));
+		assertTrue(LlaveFecha.desde(2).compareTo(new LlaveFecha(2, Integer.MIN_VALUE + 1)) < 0);
+		assertTrue(LlaveFecha.hasta(2).compareTo(LlaveFecha.desde(3)) < 0);
+	}
+
+	/**
+	 * Prueba 2: Verifica el rango y el conteo por fechas, con los extremos inclusivos
+	 */
+	@Test
+	void testEntreFechas() throws IOException, ParseException
+	{
+		setupEscenario1();
+		long inicio = FechaISO.parsear("2018-05-01T00:00:00");
+		long fin = FechaISO.parsear("2018-05-07T23:59:59");
+		StringBuilder ids = new StringBuilder();
+		for(Comparendo c : modelo.darComparendosEntreFechas(inicio, fin))
+		{
+			ids.append(c.getObjective()).append(' ');
+		}
+		assertEquals("3 2 5 6 ", ids.toString());
+		assertEquals(4, modelo.darNumeroComparendosEntreFechas(inicio, fin));
+		assertEquals(0, modelo.darNumeroComparendosEntreFechas(fin, inicio));
+		assertEquals(6, modelo.darIndiceFecha().size());
+	}
+
+	/**
+	 * Prueba 3: Verifica el ultimo comparendo hasta una fecha y el primero desde una fecha
+	 */
+	@Test
+	void testAnteriorYPosterior() throws IOException, ParseException
+	{
+		setupEscenario1();
+		long empate = FechaISO.parsear("2018-05-03T08:00:00");
+		assertEquals(5, modelo.darUltimoComparendoHasta(empate).getObjective());
+		assertEquals(2, modelo.darPrimerComparendoDesde(empate).getObjective());
+		assertEquals(3, modelo.darUltimoComparendoHasta(empate - 1).getObjective());
+		assertEquals(4, modelo.darPrimerComparendoDesde(FechaISO.parsear("2018-05-07T23:59:59") + 1).getObjective());
+		assertNull(modelo.darUltimoComparendoHasta(FechaISO.parsear("2018-01-01T00:00:00")));
+		assertNull(modelo.darPrimerComparendoDesde(FechaISO.parsear("2019-01-01T00:00:00")));
+	}
+
+	/**
+	 * Da los objectid de los comparendos ordenados
+	 */
+	private String objectIds(Iterable<Comparendo> pComparendos)
+	{
+		TreeSet<Integer> ids = new TreeSet<Integer>();
+		for(Comparendo c : pComparendos)
+		{
+			ids.add(c.getObjective());
+		}
+		return ids.toString();
+	}
+
+	/**
+	 * Prueba 4: Verifica las consultas por rectangulo, radio en metros y poligono
+	 */
+	@Test
+	void testConsultasEspaciales() throws IOException
+	{
+		setupEscenario1();
+		assertEquals("[2, 3, 6]", objectIds(modelo.darComparendosEnCaja(4.59, -74.11, 4.63, -74.07)));
+		// desde 6: 2 y 3 estan a unos 2480 m, 4 a unos 7850 m y 1 y 5 a mas de 12 km
+		assertEquals("[6]", objectIds(modelo.darComparendosEnRadio(4.60, -74.10, 2000)));
+		assertEquals("[2, 3, 6]", objectIds(modelo.darComparendosEnRadio(4.60, -74.10, 3000)));
+		assertEquals("[2, 3, 4, 6]", objectIds(modelo.darComparendosEnRadio(4.60, -74.10, 8000)));
+		assertEquals("[]", objectIds(modelo.darComparendosEnRadio(4.80, -74.10, 100)));
+		double[] latitudes = {4.58, 4.68, 4.58};
+		double[] longitudes = {-74.25, -74.25, -74.05};
+		assertEquals("[5, 6]", objectIds(modelo.darComparendosEnPoligono(latitudes, longitudes)));
+		assertEquals(6, modelo.darIndiceEspacial().size());
+	}
+
+	/**
+	 * Prueba 5: Verifica los comparendos mas cercanos a un punto, en orden de distancia
+	 */
+	@Test
+	void testMasCercanos() throws IOException
+	{
+		setupEscenario1();
+		StringBuilder ids = new StringBuilder();
+		for(Comparendo c : modelo.darComparendosMasCercanos(4.61, -74.085, 3))
+		{
+			ids.append(c.getObjective()).append(' ');
+		}
+		assertEquals("3 2 6 ", ids.toString());
+		assertEquals(6, modelo.darComparendosMasCercanos(4.605, -74.09, 100).getSize());
+	}
+
+	/**
+	 * Prueba 6: Verifica que la consulta por rectangulo con la curva de Hilbert de lo mismo que con el arbol k-d
+	 */
+	@Test
+	void testCajaHilbert() throws IOException
+	{
+		setupEscenario1();
+		assertEquals("[2, 3, 6]", objectIds(modelo.darComparendosEnCajaHilbert(4.59, -74.11, 4.63, -74.07)));
+		assertEquals(objectIds(modelo.darComparendosEnCaja(4.5, -74.3, 4.66, -74.0)), objectIds(modelo.darComparendosEnCajaHilbert(4.5, -74.3, 4.66, -74.0)));
+		assertEquals("[]", objectIds(modelo.darComparendosEnCajaHilbert(4.63, -74.11, 4.59, -74.07)));
+		assertEquals(6, modelo.darIndiceHilbert().size());
+	}
+
+	/**
+	 * Prueba 7: Verifica los filtros por valores de las columnas categoricas con el indice de conjuntos de filas
+	 */
+	@Test
+	void testFiltrosCategoricos() throws IOException
+	{
+		setupEscenario2();
+		int[] columnas = {ComparendoStore.LOCALIDAD, ComparendoStore.CLASE_VEHICULO, ComparendoStore.INFRACCION};
+		assertEquals("[2, 5]", objectIds(modelo.darComparendosConValores(columnas, new String[] {"SUBA", "MOTOCICLETA", "C02"})));
+		assertEquals("[]", objectIds(modelo.darComparendosConValores(columnas, new String[] {"SUBA", "MOTOCICLETA", "NO EXISTE"})));
+		assertEquals(5, modelo.darComparendosConValores(new int[0], new String[0]).getSize());
+
+		// las filas estan en orden de objectid: fila i tiene el objectid i + 1
+		IndiceBitmap indice = modelo.darIndiceBitmap();
+		CompressedBitmap suba = indice.darFilas(ComparendoStore.LOCALIDAD, "SUBA");
+		CompressedBitmap automovil = indice.darFilas(ComparendoStore.CLASE_VEHICULO, "AUTOMOVIL");
+		CompressedBitmap c31 = indice.darFilas(ComparendoStore.INFRACCION, "C31");
+		assertEquals("[3, 4]", objectIds(indice.darComparendos(automovil.or(c31))));
+		assertEquals("[2, 5]", objectIds(indice.darComparendos(suba.andNot(automovil.or(c31)))));
+		assertEquals("[1]", objectIds(indice.darComparendos(suba.not(indice.size()))));
+		assertThrows(IllegalArgumentException.class, () -> indice.darFilasConTodos(columnas, new String[] {"SUBA"}));
+
+		// los conjuntos del indice no se pueden modificar
+		assertThrows(UnsupportedOperationException.class, () -> suba.add(0));
+		assertThrows(UnsupportedOperationException.class, () -> indice.darFilasConTodos(new int[] {ComparendoStore.LOCALIDAD}, new String[] {"SUBA"}).add(0));
+		assertFalse(suba.or(c31).isReadOnly());
+
+		// despues de cargar otro archivo las filas del indice anterior siguen apuntando a sus comparendos
+		setupEscenario1();
+		assertEquals(6, modelo.darNumeroComparendos());
+		assertEquals("[1]", objectIds(indice.darComparendos(suba.not(indice.size()))));
+		assertEquals("KENNEDY", indice.darComparendos(suba.not(indice.size())).peek().getLocalidad());
+		assertThrows(IndexOutOfBoundsException.class, () -> indice.darComparendos(CompressedBitmap.of(indice.size())));
+	}
+
+	/**
+	 * Prueba 8: Verifica las busquedas por palabras y prefijos de la descripcion de la infraccion
+	 */
+	@Test
+	void testBuscarDescripcion() throws IOException
+	{
+		setupEscenario1();
+		assertEquals("[1, 2, 3, 4, 5, 6]", objectIds(modelo.darComparendosConPalabras("Descripción")));
+		assertEquals(6, modelo.darComparendosConPrefijos("desc").getSize());
+		assertEquals(0, modelo.darComparendosConPalabras("DESCRIPCION ESTACIONAR").getSize());
+		assertEquals(1, modelo.darIndiceTexto().darNumeroPalabras());
+	}
+
+	/**
+	 * Prueba 9: Verifica que una carga fallida no deje copia binaria y que un modelo nuevo vuelva a leer el GeoJSON
+	 */
+	@Test
+	void testCargaFallidaSinSnapshot() throws IOException
+	{
+		setupEscenario3();
+		assertEquals(0, modelo.darNumeroComparendos());
+		assertFalse(SnapshotComparendos.darArchivo(Modelo.PATH).exists());
+		assertEquals(0, new Modelo().darNumeroComparendos());
+	}
+
+	/**
+	 * Prueba 10: Verifica que todos los modos de carga lean el archivo como UTF-8, sin importar la codificacion de la plataforma
+	 */
+	@Test
+	void testCodificacionUTF8() throws IOException
+	{
+		cargar(ArchivosGeoJSON.feature(1, "2018-05-01T00:00:00.000Z", -74.10, 4.60, "DESCRIPCION", "AUTOMÓVIL", "C02", "ENGATIVÁ"));
+		for(Modelo.ModoCarga modo : Modelo.ModoCarga.values())
+		{
+			modelo = new Modelo();
+			modelo.cambiarUsarSnapshot(false);
+			modelo.cambiarModoCarga(modo);
+			assertEquals("AUTOMÓVIL", modelo.darComparendos().darValor(ComparendoStore.CLASE_VEHICULO, 0), modo.name());
+			assertEquals("ENGATIVÁ", modelo.darComparendos().darValor(ComparendoStore.LOCALIDAD, 0), modo.name());
+		}
+	}
+
+	/**
+	 * Prueba 11: Verifica que despues de una carga fallida la siguiente consulta vuelva a leer el archivo,
+	 * aunque el archivo corregido tenga el mismo tamanio y la misma fecha de modificacion
+	 */
+	@Test
+	void testReintentoCargaFallida() throws IOException
+	{
+		setupEscenario3();
+		modelo.cambiarUsarSnapshot(false);
+		assertEquals(0, modelo.darNumeroComparendos());
+
+		File archivo = new File(Modelo.PATH);
+		long modificacion = archivo.lastModified();
+		String texto = new String(Files.readAllBytes(archivo.toPath()), StandardCharsets.UTF_8).replace("2018-XX-01", "2018-05-01");
+		Files.write(archivo.toPath(), texto.getBytes(StandardCharsets.UTF_8));
+		assertTrue(archivo.setLastModified(modificacion));
+		assertEquals(3, modelo.darNumeroComparendos());
+	}
+
+	/**
+	 * Prueba 12: Verifica que cada carga llene sus propios diccionarios y que una columna con mas valores distintos de los que caben
+	 * en un codigo short sea una carga fallida en todos los modos, sin que la excepcion salga del modelo
+	 */
+	@Test
+	void testDiccionariosPorCarga() throws IOException
+	{
+		setupEscenario1();
+		ComparendoStore primera = modelo.darComparendos();
+		cargar(ArchivosGeoJSON.feature(1, ArchivosGeoJSON.FECHA, -74.10, 4.60, "OTRA", "BUS", "C14", "USME"));
+		ComparendoStore segunda = modelo.darComparendos();
+		assertEquals(1, segunda.darDiccionario(ComparendoStore.LOCALIDAD).size());
+		assertEquals(Diccionario.NULO, segunda.darDiccionario(ComparendoStore.LOCALIDAD).buscar("SUBA"));
+		assertNotEquals(Diccionario.NULO, primera.darDiccionario(ComparendoStore.LOCALIDAD).buscar("SUBA"));
+
+		String[] features = new String[Short.MAX_VALUE + 1];
+		for(int i = 0; i < features.length; i++)
+		{
+			features[i] = ArchivosGeoJSON.feature(i, ArchivosGeoJSON.FECHA, -74.10, 4.60, "D" + i, "BUS", "C14", "USME");
+		}
+		cargar(features);
+		for(Modelo.ModoCarga modo : Modelo.ModoCarga.values())
+		{
+			modelo = new Modelo();
+			modelo.cambiarUsarSnapshot(false);
+			modelo.cambiarModoCarga(modo);
+			assertEquals(0, modelo.darNumeroComparendos(), modo.name());
+		}
+	}
+
+	/**
+	 * Prueba 13: Verifica que la fila de cada objectid se derive de su rank en el indice, tambien con objectid repetidos
+	 */
+	@Test
+	void testFilasPorObjectId() throws IOException
+	{
+		setupEscenario1();
+		assertEquals(3, modelo.darFila(4));
+		assertEquals(-1, modelo.darFila(9));
+		assertArrayEquals(new int[] {1, 2, 3}, modelo.darFilasEntreDosObjectId(2, 4));
+
+		cargar(ArchivosGeoJSON.feature(3, ArchivosGeoJSON.FECHA, -74.10, 4.60),
+				ArchivosGeoJSON.feature(1, ArchivosGeoJSON.FECHA, -74.10, 4.60),
+				ArchivosGeoJSON.feature(3, ArchivosGeoJSON.FECHA, -74.20, 4.70),
+				ArchivosGeoJSON.feature(2, ArchivosGeoJSON.FECHA, -74.10, 4.60));
+		assertEquals(3, modelo.darNumeroComparendos());
+		assertEquals(3, modelo.darFila(3));
+		assertEquals(-74.20, modelo.darComparendos().darComparendo(modelo.darFila(3)).getLongitud(), 1e-9);
+		assertArrayEquals(new int[] {1, 3}, modelo.darFilasEntreDosObjectId(2, 5));
+		int[] objectIds = new int[3];
+		int i = 0;
+		for(Comparendo comparendo : modelo.darComparendosEntreDosObjectId(0, 3))
+		{
+			objectIds[i++] = comparendo.getObjective();
+		}
+		assertArrayEquals(new int[] {1, 2, 3}, objectIds);
+		assertTrue(modelo.darObjectidMayor().startsWith("3, "));
+	}
+}
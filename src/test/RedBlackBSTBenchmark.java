@@ -0,0 +1,293 @@
+package test;
+
+import java.util.Random;
+
+import model.data_structures.RedBlackBST;
+
+/**
+ * Compara los tiempos de put, floor, ceiling, rank y select del arbol RedBlackBST (iterativo, con pila de camino explicita)
+ * contra la version recursiva original del arbol, que se conserva aqui como referencia.
+ * Se ejecuta con su metodo main, no es una prueba unitaria.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class RedBlackBSTBenchmark
+{
+	/**
+	 * Numero de llaves a insertar
+	 */
+	private static final int N = 1000000;
+
+	/**
+	 * Numero de repeticiones de cada medicion, se reporta la mejor
+	 */
+	private static final int REPETICIONES = 5;
+
+	/**
+	 * Ejecuta la comparacion
+	 * @param args Se ignoran
+	 */
+	public static void main(String[] args)
+	{
+		Random random = new Random(2020);
+		int[] llaves = new int[N];
+		for(int i = 0; i < N; i++)
+		{
+			llaves[i] = random.nextInt();
+		}
+
+		long[] iterativo = new long[5];
+		long[] recursivo = new long[5];
+		long control = 0;
+		for(int r = 0; r < REPETICIONES; r++)
+		{
+			control += medirIterativo(llaves, iterativo);
+			control += medirRecursivo(llaves, recursivo);
+		}
+
+		String[] operaciones = {"put", "floor", "ceiling", "rank", "select"};
+		System.out.println("Operacion   Iterativo(ms)   Recursivo(ms)");
+		for(int i = 0; i < operaciones.length; i++)
+		{
+			System.out.printf("%-10s %14.1f %15.1f%n", operaciones[i], iterativo[i] / 1e6, recursivo[i] / 1e6);
+		}
+		System.out.println("control " + control);
+	}
+
+	/**
+	 * Mide las operaciones sobre RedBlackBST y guarda el mejor tiempo de cada una
+	 * @param llaves Llaves a insertar y consultar
+	 * @param mejores Mejor tiempo en nanosegundos de cada operacion
+	 * @return Valor de control para que las consultas no se eliminen
+	 */
+	private static long medirIterativo(int[] llaves, long[] mejores)
+	{
+		long control = 0;
+		RedBlackBST<Integer, Integer> arbol = new RedBlackBST<Integer, Integer>();
+		long inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) arbol.put(llaves[i], i);
+		mejores[0] = mejor(mejores[0], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.floor(llaves[i] | 1);
+		mejores[1] = mejor(mejores[1], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.ceiling(llaves[i] & ~1);
+		mejores[2] = mejor(mejores[2], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.rank(llaves[i]);
+		mejores[3] = mejor(mejores[3], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < arbol.size(); i++) control += arbol.select(i);
+		mejores[4] = mejor(mejores[4], System.nanoTime() - inicio);
+		return control;
+	}
+
+	/**
+	 * Mide las operaciones sobre el arbol recursivo de referencia y guarda el mejor tiempo de cada una
+	 * @param llaves Llaves a insertar y consultar
+	 * @param mejores Mejor tiempo en nanosegundos de cada operacion
+	 * @return Valor de control para que las consultas no se eliminen
+	 */
+	private static long medirRecursivo(int[] llaves, long[] mejores)
+	{
+		long control = 0;
+		RecursiveRedBlackBST<Integer, Integer> arbol = new RecursiveRedBlackBST<Integer, Integer>();
+		long inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) arbol.put(llaves[i], i);
+		mejores[0] = mejor(mejores[0], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.floor(llaves[i] | 1);
+		mejores[1] = mejor(mejores[1], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.ceiling(llaves[i] & ~1);
+		mejores[2] = mejor(mejores[2], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < llaves.length; i++) control += arbol.rank(llaves[i]);
+		mejores[3] = mejor(mejores[3], System.nanoTime() - inicio);
+
+		inicio = System.nanoTime();
+		for(int i = 0; i < arbol.size(); i++) control += arbol.select(i);
+		mejores[4] = mejor(mejores[4], System.nanoTime() - inicio);
+		return control;
+	}
+
+	/**
+	 * Da el menor de dos tiempos, un tiempo de 0 significa que aun no hay medicion
+	 * @param actual Mejor tiempo hasta ahora
+	 * @param nuevo Tiempo medido
+	 * @return Mejor tiempo
+	 */
+	private static long mejor(long actual, long nuevo)
+	{
+		return (actual == 0 || nuevo < actual) ? nuevo : actual;
+	}
+
+	/**
+	 * Version recursiva de put, floor, ceiling, rank y select tal como estaba en RedBlackBST.
+	 * @param <Key> Key de tipo generico
+	 * @param <Value> Value de tipo generico
+	 */
+	private static class RecursiveRedBlackBST<Key extends Comparable<Key>, Value>
+	{
+		private static final boolean RED   = true;
+		private static final boolean BLACK = false;
+
+		private Node root;
+
+		private class Node
+		{
+			private Key key;
+			private Value val;
+			private Node left, right;
+			private boolean color;
+			private int size;
+
+			public Node(Key key, Value val, boolean color, int size)
+			{
+				this.key = key;
+				this.val = val;
+				this.color = color;
+				this.size = size;
+			}
+		}
+
+		private boolean isRed(Node x)
+		{
+			if (x == null) return false;
+			return x.color == RED;
+		}
+
+		private int size(Node x)
+		{
+			if (x == null) return 0;
+			return x.size;
+		}
+
+		public int size()
+		{
+			return size(root);
+		}
+
+		public void put(Key key, Value val)
+		{
+			root = put(root, key, val);
+			root.color = BLACK;
+		}
+
+		private Node put(Node h, Key key, Value val)
+		{
+			if (h == null) return new Node(key, val, RED, 1);
+
+			int cmp = key.compareTo(h.key);
+			if      (cmp < 0) h.left  = put(h.left,  key, val);
+			else if (cmp > 0) h.right = put(h.right, key, val);
+			else              h.val   = val;
+
+			if (isRed(h.right) && !isRed(h.left))      h = rotateLeft(h);
+			if (isRed(h.left)  &&  isRed(h.left.left)) h = rotateRight(h);
+			if (isRed(h.left)  &&  isRed(h.right))     flipColors(h);
+			h.size = size(h.left) + size(h.right) + 1;
+
+			return h;
+		}
+
+		private Node rotateRight(Node h)
+		{
+			Node x = h.left;
+			h.left = x.right;
+			x.right = h;
+			x.color = x.right.color;
+			x.right.color = RED;
+			x.size = h.size;
+			h.size = size(h.left) + size(h.right) + 1;
+			return x;
+		}
+
+		private Node rotateLeft(Node h)
+		{
+			Node x = h.right;
+			h.right = x.left;
+			x.left = h;
+			x.color = x.left.color;
+			x.left.color = RED;
+			x.size = h.size;
+			h.size = size(h.left) + size(h.right) + 1;
+			return x;
+		}
+
+		private void flipColors(Node h)
+		{
+			h.color = !h.color;
+			h.left.color = !h.left.color;
+			h.right.color = !h.right.color;
+		}
+
+		public Key floor(Key key)
+		{
+			Node x = floor(root, key);
+			return (x == null) ? null : x.key;
+		}
+
+		private Node floor(Node x, Key key)
+		{
+			if (x == null) return null;
+			int cmp = key.compareTo(x.key);
+			if (cmp == 0) return x;
+			if (cmp < 0)  return floor(x.left, key);
+			Node t = floor(x.right, key);
+			if (t != null) return t;
+			else           return x;
+		}
+
+		public Key ceiling(Key key)
+		{
+			Node x = ceiling(root, key);
+			return (x == null) ? null : x.key;
+		}
+
+		private Node ceiling(Node x, Key key)
+		{
+			if (x == null) return null;
+			int cmp = key.compareTo(x.key);
+			if (cmp == 0) return x;
+			if (cmp > 0)  return ceiling(x.right, key);
+			Node t = ceiling(x.left, key);
+			if (t != null) return t;
+			else           return x;
+		}
+
+		public Key select(int rank)
+		{
+			return select(root, rank);
+		}
+
+		private Key select(Node x, int rank)
+		{
+			if (x == null) return null;
+			int leftSize = size(x.left);
+			if      (leftSize > rank) return select(x.left,  rank);
+			else if (leftSize < rank) return select(x.right, rank - leftSize - 1);
+			else                      return x.key;
+		}
+
+		public int rank(Key key)
+		{
+			return rank(key, root);
+		}
+
+		private int rank(Key key, Node x)
+		{
+			if (x == null) return 0;
+			int cmp = key.compareTo(x.key);
+			if      (cmp < 0) return rank(key, x.left);
+			else if (cmp > 0) return 1 + size(x.left) + rank(key, x.right);
+			else              return size(x.left);
+		}
+	}
+}
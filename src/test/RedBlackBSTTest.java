@@ -1,8 +1,16 @@
 package test;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
+import model.data_structures.ArrayQueue;
+import model.data_structures.LinkedQueue;
+import model.data_structures.RangeView;
 import model.data_structures.RedBlackBST;
 
 class RedBlackBSTTest 
@@ -267,4 +275,192 @@ class RedBlackBSTTest
 		int valor2 = arbolRojoNegro2.max();
 		assertEquals(6, valor2);
 	}
+
+	/**
+	 * Prueba 13: Verifica que la vista de un rango del arbol Rojo - Negro consulte solo las llaves entre lo y hi
+	 */
+	@Test
+	void testRange() 
+	{
+		setupEscenario2();
+		RangeView<Integer, String> rango = arbolRojoNegro2.range(2, 4);
+		assertEquals(3, rango.size());
+		assertEquals(2, (int) rango.min());
+		assertEquals(4, (int) rango.max());
+		assertEquals("O", rango.get(3));
+		assertNull(rango.get(6));
+		assertFalse(rango.contains(1));
+
+		int cont = 0;
+		for(String valor : rango.values())
+		{
+			assertEquals(arbolRojoNegro2.get(2 + cont), valor);
+			cont++;
+		}
+		assertEquals(3, cont);
+
+		assertTrue(arbolRojoNegro2.range(7, 10).isEmpty());
+	}
+
+	/**
+	 * Prueba 14: Verifica que los iteradores de llaves y valores recorran el arbol Rojo - Negro en orden y respeten los limites del rango
+	 */
+	@Test
+	void testKeysValues() 
+	{
+		setupEscenario1();
+		int esperado = 1;
+		for(int llave : arbolRojoNegro1.keys())
+		{
+			assertEquals(esperado, llave);
+			esperado++;
+		}
+		assertEquals(6, esperado);
+
+		esperado = 1000;
+		for(int valor : arbolRojoNegro1.Values())
+		{
+			assertEquals(esperado, valor);
+			esperado += 1000;
+		}
+
+		Iterator<Integer> it = arbolRojoNegro1.keys(2, 3).iterator();
+		assertEquals(2, (int) it.next());
+		assertEquals(3, (int) it.next());
+		assertFalse(it.hasNext());
+
+		assertFalse(arbolRojoNegro1.keys(6, 9).iterator().hasNext());
+		assertFalse(arbolRojoNegro1.values(4, 2).iterator().hasNext());
+
+		setupEscenario3();
+		assertFalse(arbolRojoNegro3.keys().iterator().hasNext());
+	}
+
+	/**
+	 * Prueba 15: Verifica que las parejas llave - valor y el forEach del arbol Rojo - Negro entreguen cada llave con su valor
+	 */
+	@Test
+	void testEntriesForEach() 
+	{
+		setupEscenario2();
+		int cont = 0;
+		for(Map.Entry<Integer, String> entrada : arbolRojoNegro2.entries())
+		{
+			cont++;
+			assertEquals(cont, (int) entrada.getKey());
+			assertEquals(arbolRojoNegro2.get(cont), entrada.getValue());
+		}
+		assertEquals(6, cont);
+
+		Iterator<Map.Entry<Integer, String>> it = arbolRojoNegro2.entries(5, 9).iterator();
+		assertEquals("Buen", it.next().getValue());
+		assertEquals("Dia", it.next().getValue());
+		assertFalse(it.hasNext());
+
+		StringBuilder visitados = new StringBuilder();
+		arbolRojoNegro2.forEach(2, 4, (llave, valor) -> visitados.append(llave).append(valor));
+		assertEquals("2Elina3O4Carlos", visitados.toString());
+	}
+
+	/**
+	 * Prueba 16: Verifica que la construccion del arbol Rojo - Negro desde arreglos ordenados y desordenados de un arbol valido
+	 */
+	@Test
+	void testConstruccionOrdenada() 
+	{
+		Integer[] llaves = new Integer[100];
+		Integer[] valores = new Integer[100];
+		for(int i = 0; i < llaves.length; i++)
+		{
+			llaves[i] = i;
+			valores[i] = i * 10;
+		}
+		RedBlackBST<Integer, Integer> arbol = new RedBlackBST<Integer, Integer>(llaves, valores);
+		assertTrue(arbol.check());
+		assertEquals(100, arbol.size());
+		assertEquals(0, (int) arbol.min());
+		assertEquals(99, (int) arbol.max());
+		assertEquals(370, (int) arbol.get(37));
+
+		arbol.put(100, 1000);
+		arbol.delete(50);
+		assertTrue(arbol.check());
+
+		String[] desordenadas = {"C", "A", "B", "A", "D"};
+		String[] palabras = {"Tres", "Uno", "Dos", "Otro", null};
+		RedBlackBST<String, String> arbol2 = new RedBlackBST<String, String>(desordenadas, palabras);
+		assertTrue(arbol2.check());
+		assertEquals(3, arbol2.size());
+		assertEquals("Otro", arbol2.get("A"));
+		assertFalse(arbol2.contains("D"));
+	}
+
+	/**
+	 * Prueba 17: Verifica que las operaciones iterativas mantengan un arbol valido tras muchas inserciones y eliminaciones
+	 */
+	@Test
+	void testOperacionesIterativas() 
+	{
+		RedBlackBST<Integer, Integer> arbol = new RedBlackBST<Integer, Integer>();
+		for(int i = 0; i < 2000; i++)
+		{
+			arbol.put((i * 7919) % 2000, i);
+		}
+		for(int i = 0; i < 2000; i += 3)
+		{
+			arbol.delete(i);
+		}
+		arbol.deleteMin();
+		arbol.deleteMax();
+		assertTrue(arbol.check());
+		assertEquals(1331, arbol.size());
+		assertEquals(2, (int) arbol.min());
+		assertEquals(1997, (int) arbol.max());
+		assertEquals(5, (int) arbol.floor(6));
+		assertEquals(7, (int) arbol.ceiling(6));
+		assertEquals(2, arbol.rank(5));
+		assertEquals(5, (int) arbol.select(2));
+	}
+
+	/**
+	 * Prueba 18: Verifica que los rangos se puedan recoger en una ArrayQueue o en una LinkedQueue
+	 */
+	@Test
+	void testRangoEnCola() 
+	{
+		RedBlackBST<Integer, Integer> arbol = new RedBlackBST<Integer, Integer>();
+		for(int i = 0; i < 100; i++)
+		{
+			arbol.put(i, 10 * i);
+		}
+		ArrayQueue<Integer> llaves = arbol.keys(20, 39, new ArrayQueue<Integer>(1));
+		assertEquals(20, llaves.getSize());
+		assertEquals(20, (int) llaves.seeItem(0));
+		assertEquals(39, (int) llaves.seeItem(19));
+
+		LinkedQueue<Object> valores = arbol.values(95, 200, new LinkedQueue<Object>());
+		assertEquals("950 960 970 980 990 ", valores.toString());
+		assertTrue(arbol.keys(200, 300, new ArrayQueue<Integer>()).isEmpty());
+	}
+
+	/**
+	 * Prueba 19: Verifica que los iteradores del arbol Rojo - Negro fallen si el arbol cambia mientras recorren
+	 * y que cambiar solo el valor de una llave no los afecte
+	 */
+	@Test
+	void testIteradorModificado() 
+	{
+		setupEscenario2();
+		Iterator<Integer> llaves = arbolRojoNegro2.keys().iterator();
+		assertEquals(1, (int) llaves.next());
+		arbolRojoNegro2.put(2, "Otro");
+		assertEquals(2, (int) llaves.next());
+		arbolRojoNegro2.delete(4);
+		assertThrows(ConcurrentModificationException.class, () -> llaves.next());
+
+		Iterator<String> valores = arbolRojoNegro2.values(1, 6).iterator();
+		arbolRojoNegro2.put(7, "Nuevo");
+		assertThrows(ConcurrentModificationException.class, () -> valores.next());
+		assertThrows(ConcurrentModificationException.class, () -> arbolRojoNegro2.forEach((llave, valor) -> arbolRojoNegro2.deleteMin()));
+	}
 }
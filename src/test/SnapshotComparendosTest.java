@@ -0,0 +1,101 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import model.Comparendo;
+import model.ComparendoStore;
+import model.logic.SnapshotComparendos;
+
+class SnapshotComparendosTest
+{
+	/**
+	 * Comparendos ordenados por objectid
+	 */
+	private ComparendoStore comparendos;
+
+	/**
+	 * Archivo temporal de la copia binaria
+	 */
+	private File archivo;
+
+	/**
+	 * Escenario 1: Crea tres comparendos, uno sin fecha ni localidad, y el archivo temporal de la copia
+	 */
+	public void setupEscenario1( ) throws IOException
+	{
+		comparendos = new ComparendoStore();
+		comparendos.agregar(new Comparendo(1, new Date(1520955000000L), "Descripción 1", "LAPIZ", "AUTOMÓVIL", "Público", "C35", "FONTIBON", "BOGOTA", -74.1, 4.6));
+		comparendos.agregar(new Comparendo(5, null, "Descripción 2", "LAPIZ", "MOTOCICLETA", "Particular", "C02", null, "BOGOTA", -74.2, 4.7));
+		comparendos.agregar(new Comparendo(9, new Date(1520955000123L), "Descripción 1", "DEAP", "AUTOMÓVIL", "Público", "C35", "SUBA", "BOGOTA", -74.3, 4.8));
+		archivo = File.createTempFile("comparendos", SnapshotComparendos.EXTENSION);
+		archivo.deleteOnExit();
+	}
+
+	/**
+	 * Prueba 1: Verifica que la copia leida tenga los mismos comparendos que se escribieron
+	 */
+	@Test
+	void testEscribirLeer() throws IOException
+	{
+		setupEscenario1();
+		SnapshotComparendos.escribir(archivo, comparendos, 100, 200);
+		ComparendoStore leidos = SnapshotComparendos.leer(archivo, 100, 200);
+
+		assertNotNull(leidos);
+		assertEquals(comparendos.size(), leidos.size());
+		for(int i = 0; i < leidos.size(); i++)
+		{
+			assertEquals(comparendos.darComparendo(i).toString(), leidos.darComparendo(i).toString());
+		}
+		assertNull(leidos.darComparendo(1).getFecha_hora());
+		assertNull(leidos.darComparendo(1).getLocalidad());
+		assertEquals(leidos.darCodigo(ComparendoStore.CLASE_VEHICULO, 0), leidos.darCodigo(ComparendoStore.CLASE_VEHICULO, 2));
+	}
+
+	/**
+	 * Prueba 2: Verifica que no se use una copia de un archivo que cambio o que no existe
+	 */
+	@Test
+	void testCopiaDesactualizada() throws IOException
+	{
+		setupEscenario1();
+		SnapshotComparendos.escribir(archivo, comparendos, 100, 200);
+		assertNull(SnapshotComparendos.leer(archivo, 101, 200));
+		assertNull(SnapshotComparendos.leer(archivo, 100, 201));
+
+		archivo.delete();
+		assertNull(SnapshotComparendos.leer(archivo, 100, 200));
+	}
+
+	/**
+	 * Prueba 3: Verifica que una copia con un numero de filas o un codigo que no corresponden al archivo se rechace con IOException
+	 */
+	@Test
+	void testCopiaDanada() throws IOException
+	{
+		setupEscenario1();
+		SnapshotComparendos.escribir(archivo, comparendos, 100, 200);
+		try(RandomAccessFile copia = new RandomAccessFile(archivo, "rw"))
+		{
+			// n esta despues de MAGIA, VERSION, tamanio y fecha de modificacion
+			copia.seek(4 + 4 + 8 + 8);
+			copia.writeInt(Integer.MAX_VALUE);
+		}
+		assertThrows(IOException.class, () -> SnapshotComparendos.leer(archivo, 100, 200));
+
+		SnapshotComparendos.escribir(archivo, comparendos, 100, 200);
+		try(RandomAccessFile copia = new RandomAccessFile(archivo, "rw"))
+		{
+			// ultimo codigo de la columna MUNICIPIO, que solo tiene un valor
+			copia.seek(copia.length() - 2);
+			copia.writeShort(7);
+		}
+		assertThrows(IOException.class, () -> SnapshotComparendos.leer(archivo, 100, 200));
+	}
+}
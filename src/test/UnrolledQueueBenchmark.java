@@ -0,0 +1,105 @@
+package test;
+
+import model.data_structures.ArrayQueue;
+import model.data_structures.ILinkedQueue;
+import model.data_structures.LinkedQueue;
+import model.data_structures.UnrolledQueue;
+
+/**
+ * Compara UnrolledQueue contra LinkedQueue (y ArrayQueue como referencia): tiempo de llenar la cola,
+ * tiempo de recorrerla con su iterador y memoria usada por elemento.
+ * Los elementos son los mismos objetos en todas las colas, asi la memoria medida es solo la de la estructura.
+ * Se ejecuta con su metodo main, no es una prueba unitaria.
+ * @author Julian Padilla - Pablo Pastrana
+ */
+public class UnrolledQueueBenchmark
+{
+	/**
+	 * Numero de elementos de cada cola
+	 */
+	private static final int N = 2000000;
+
+	/**
+	 * Numero de repeticiones de cada medicion, se reporta la mejor
+	 */
+	private static final int REPETICIONES = 5;
+
+	/**
+	 * Ejecuta la comparacion
+	 * @param args Se ignoran
+	 */
+	public static void main(String[] args)
+	{
+		Integer[] elementos = new Integer[N];
+		for(int i = 0; i < N; i++)
+		{
+			elementos[i] = i;
+		}
+
+		String[] nombres = {"LinkedQueue", "UnrolledQueue", "ArrayQueue"};
+		long control = 0;
+		System.out.println("Cola            llenar(ms)   recorrer(ms)   bytes/elemento");
+		for(int c = 0; c < nombres.length; c++)
+		{
+			long llenar = Long.MAX_VALUE;
+			long recorrer = Long.MAX_VALUE;
+			for(int r = 0; r < REPETICIONES; r++)
+			{
+				long inicio = System.nanoTime();
+				ILinkedQueue<Integer> cola = llenar(c, elementos);
+				llenar = Math.min(llenar, System.nanoTime() - inicio);
+
+				inicio = System.nanoTime();
+				for(Integer item : cola) control += item;
+				recorrer = Math.min(recorrer, System.nanoTime() - inicio);
+			}
+			double bytes = medirMemoria(c, elementos);
+			System.out.printf("%-14s %11.1f %14.1f %16.1f%n", nombres[c], llenar / 1e6, recorrer / 1e6, bytes);
+		}
+		System.out.println("control " + control);
+	}
+
+	/**
+	 * Crea la cola del tipo dado con los elementos
+	 */
+	private static ILinkedQueue<Integer> llenar(int pTipo, Integer[] pElementos)
+	{
+		ILinkedQueue<Integer> cola = (pTipo == 0) ? new LinkedQueue<Integer>() : (pTipo == 1) ? new UnrolledQueue<Integer>() : new ArrayQueue<Integer>();
+		for(Integer e : pElementos) cola.enqueue(e);
+		return cola;
+	}
+
+	/**
+	 * Mide la memoria que ocupa una cola llena comparando el heap usado antes y despues de crearla
+	 * @return Bytes por elemento
+	 */
+	private static double medirMemoria(int pTipo, Integer[] pElementos)
+	{
+		long antes = usada();
+		ILinkedQueue<Integer> cola = llenar(pTipo, pElementos);
+		long despues = usada();
+		if(cola.getSize() != pElementos.length) throw new IllegalStateException();
+		return (despues - antes) / (double) pElementos.length;
+	}
+
+	/**
+	 * Memoria usada del heap despues de pedir recolectar basura varias veces
+	 */
+	private static long usada()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 4; i++)
+		{
+			System.gc();
+			try
+			{
+				Thread.sleep(50);
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
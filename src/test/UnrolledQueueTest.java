@@ -0,0 +1,91 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import model.data_structures.UnrolledQueue;
+
+class UnrolledQueueTest
+{
+	/**
+	 * Cola de prueba
+	 */
+	private UnrolledQueue<Integer> cola;
+
+	/**
+	 * Escenario 1: Crea una cola con los numeros de 0 a 199, que ocupan cuatro segmentos, y saca los primeros 70
+	 */
+	public void setupEscenario1( )
+	{
+		cola = new UnrolledQueue<Integer>();
+		for(int i = 0; i < 200; i++)
+		{
+			cola.enqueue(i);
+		}
+		for(int i = 0; i < 70; i++)
+		{
+			cola.dequeue();
+		}
+	}
+
+	/**
+	 * Prueba 1: Verifica el orden FIFO a traves de varios segmentos
+	 */
+	@Test
+	void testOrden()
+	{
+		setupEscenario1();
+		assertEquals(130, cola.getSize());
+		assertEquals(70, (int) cola.peek());
+		int esperado = 70;
+		for(int item : cola)
+		{
+			assertEquals(esperado++, item);
+		}
+		assertEquals(200, esperado);
+		assertEquals(70, (int) cola.seeItem(0));
+		assertEquals(128, (int) cola.seeItem(58));
+		assertEquals(199, (int) cola.seeItem(129));
+		assertThrows(IndexOutOfBoundsException.class, () -> cola.seeItem(130));
+	}
+
+	/**
+	 * Prueba 2: Verifica que la cola se pueda vaciar y volver a llenar
+	 */
+	@Test
+	void testVaciar()
+	{
+		setupEscenario1();
+		for(int i = 70; i < 200; i++)
+		{
+			assertEquals(i, (int) cola.dequeue());
+		}
+		assertTrue(cola.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> cola.dequeue());
+		assertThrows(NoSuchElementException.class, () -> cola.peek());
+		assertFalse(cola.iterator().hasNext());
+
+		cola.enqueue(1);
+		cola.enqueue(2);
+		assertEquals("1 2 ", cola.toString());
+		assertEquals(1, (int) cola.dequeue());
+		assertEquals(2, (int) cola.dequeue());
+	}
+
+	/**
+	 * Prueba 3: Verifica que el iterador falle si la cola cambia mientras se recorre
+	 */
+	@Test
+	void testIteradorModificado()
+	{
+		setupEscenario1();
+		Iterator<Integer> it = cola.iterator();
+		it.next();
+		cola.dequeue();
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+	}
+}